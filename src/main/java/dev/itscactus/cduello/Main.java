@@ -4,13 +4,16 @@ import dev.itscactus.cduello.commands.DuelAdminCommand;
 import dev.itscactus.cduello.commands.DuelloCommand;
 import dev.itscactus.cduello.listeners.DuelListener;
 import dev.itscactus.cduello.listeners.LeaderboardListener;
+import dev.itscactus.cduello.listeners.StatsListener;
 import dev.itscactus.cduello.managers.ArenaManager;
 import dev.itscactus.cduello.managers.DuelManager;
 import dev.itscactus.cduello.managers.EconomyManager;
+import dev.itscactus.cduello.managers.RatingManager;
 import dev.itscactus.cduello.managers.StatsManager;
 import dev.itscactus.cduello.placeholders.DuelloPlaceholders;
 import dev.itscactus.cduello.utils.DatabaseManager;
 import dev.itscactus.cduello.utils.MessageManager;
+import dev.itscactus.cduello.utils.TimingWheel;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -22,19 +25,15 @@ public class Main extends JavaPlugin {
     private ArenaManager arenaManager;
     private DuelManager duelManager;
     private StatsManager statsManager;
+    private RatingManager ratingManager;
     private EconomyManager economyManager;
+    private TimingWheel timingWheel;
 
     @Override
     public void onEnable() {
         // Config dosyasını yükle
         saveDefaultConfig();
         
-        // Veritabanı yapılandırmasını kontrol et
-        if (!getConfig().contains("database.migration-completed")) {
-            getConfig().set("database.migration-completed", false);
-            saveConfig();
-        }
-        
         // Veritabanı yöneticisini başlat
         databaseManager = new DatabaseManager(this);
         
@@ -48,7 +47,17 @@ public class Main extends JavaPlugin {
         arenaManager = new ArenaManager(this);
         
         // İstatistik yöneticisini başlat
-        statsManager = new StatsManager(this, databaseManager);
+        statsManager = new StatsManager(this, databaseManager.getStatsRepository(), databaseManager.getPlayerDirectory());
+        
+        // İçe aktarılan istatistikler bellekteki kopyalara uygulanır
+        databaseManager.getDataTransfer().setStatsImportListener(statsManager::applyImported);
+        
+        // Puan yöneticisini başlat
+        ratingManager = new RatingManager(this, databaseManager.getRatingRepository());
+        
+        // Zaman çarkını başlat (istek zaman aşımı, geri sayım ve süre sınırları)
+        timingWheel = new TimingWheel(getLogger(), getConfig().getInt("duels.timing-wheel-size", 512));
+        timingWheel.start(this);
         
         // Düello yöneticisini başlat
         duelManager = new DuelManager(this, economyManager);
@@ -64,14 +73,15 @@ public class Main extends JavaPlugin {
         PluginManager pluginManager = getServer().getPluginManager();
         DuelListener duelListener = new DuelListener(this, duelManager);
         pluginManager.registerEvents(duelListener, this);
-        pluginManager.registerEvents(new LeaderboardListener(this, databaseManager), this);
+        pluginManager.registerEvents(new LeaderboardListener(this, databaseManager.getStatsRepository()), this);
+        pluginManager.registerEvents(new StatsListener(statsManager, ratingManager), this);
         
         // DuelListener'ı DuelManager'a ayarla
         duelManager.setDuelListener(duelListener);
         
         // PlaceholderAPI entegrasyonu
         if (Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null) {
-            new DuelloPlaceholders(this, statsManager, databaseManager).register();
+            new DuelloPlaceholders(this, statsManager, ratingManager, databaseManager.getStatsRepository()).register();
             getLogger().info("PlaceholderAPI entegrasyonu aktif edildi!");
         }
         
@@ -85,11 +95,21 @@ public class Main extends JavaPlugin {
             duelManager.endAllDuels("Plugin devre dışı bırakıldı");
         }
         
+        // Bekleyen zamanlayıcıları bırak
+        if (timingWheel != null) {
+            timingWheel.stop();
+        }
+        
         // İstatistikleri kaydet
         if (statsManager != null) {
             statsManager.shutdown();
         }
         
+        // Puanları kaydet
+        if (ratingManager != null) {
+            ratingManager.shutdown();
+        }
+        
         // Veritabanı bağlantısını kapat
         if (databaseManager != null) {
             databaseManager.closeConnection();
@@ -114,6 +134,10 @@ public class Main extends JavaPlugin {
         return statsManager;
     }
     
+    public RatingManager getRatingManager() {
+        return ratingManager;
+    }
+    
     public DatabaseManager getDatabaseManager() {
         return databaseManager;
     }
@@ -121,4 +145,8 @@ public class Main extends JavaPlugin {
     public EconomyManager getEconomyManager() {
         return economyManager;
     }
+    
+    public TimingWheel getTimingWheel() {
+        return timingWheel;
+    }
 } 
\ No newline at end of file
@@ -2,7 +2,19 @@ package dev.itscactus.cduello.commands;
 
 import dev.itscactus.cduello.Main;
 import dev.itscactus.cduello.managers.ArenaManager;
+import dev.itscactus.cduello.managers.ArenaPool;
+import dev.itscactus.cduello.managers.MatchmakingQueue;
+import dev.itscactus.cduello.managers.RatingManager;
+import dev.itscactus.cduello.managers.StatsManager;
 import dev.itscactus.cduello.models.Arena;
+import dev.itscactus.cduello.storage.DataTransfer;
+import dev.itscactus.cduello.storage.DatabaseBackup;
+import dev.itscactus.cduello.storage.DuelHistoryWriter;
+import dev.itscactus.cduello.storage.ProgressListener;
+import dev.itscactus.cduello.storage.StorageExecutor;
+import dev.itscactus.cduello.storage.migration.MigrationRunner;
+import dev.itscactus.cduello.utils.TeleportPipeline;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.command.Command;
@@ -68,6 +80,18 @@ public class DuelAdminCommand implements CommandExecutor, TabCompleter {
             case "stats":
                 handleStatsCommand(player, Arrays.copyOfRange(args, 1, args.length));
                 break;
+            case "storage":
+                handleStorageCommand(player);
+                break;
+            case "backup":
+                handleBackupCommand(player);
+                break;
+            case "export":
+                handleExportCommand(player, Arrays.copyOfRange(args, 1, args.length));
+                break;
+            case "import":
+                handleImportCommand(player, Arrays.copyOfRange(args, 1, args.length));
+                break;
             default:
                 plugin.getMessageManager().sendMessage(player, "admin-help");
                 break;
@@ -244,12 +268,43 @@ public class DuelAdminCommand implements CommandExecutor, TabCompleter {
                 }
                 break;
                 
+            case "usage":
+                showArenaUsage(player);
+                break;
+                
             default:
                 plugin.getMessageManager().sendMessage(player, "arena-help");
                 break;
         }
     }
     
+    /**
+     * Arena havuzunun doluluğunu ve arena başına kullanım oranını gösterir
+     * 
+     * @param player Komutu kullanan oyuncu
+     */
+    private void showArenaUsage(Player player) {
+        ArenaPool pool = arenaManager.getPool();
+        long now = System.currentTimeMillis();
+        
+        player.sendMessage(ChatColor.GREEN + "Arena kullanımı (" + pool.getStrategy() + "):");
+        player.sendMessage(ChatColor.GOLD + "- Dolu/boş/kullanılabilir: " + ChatColor.WHITE + pool.getBusyCount() + "/" + pool.getFreeCount() + "/" + pool.getAvailableCount()
+                + " (bekleyen düello: " + pool.getWaitingCount() + ", ort. bekleme: " + pool.getAverageWaitMillis() + " ms, ayırma: " + pool.getReservations() + ")");
+        
+        TeleportPipeline teleports = plugin.getDuelManager().getTeleportPipeline();
+        player.sendMessage(ChatColor.GOLD + "- Işınlanma: " + ChatColor.WHITE + teleports.getTeleportCount() + " (başarısız: " + teleports.getFailedCount()
+                + String.format(", ort/en uzun/son: %.1f/%.1f/%.1f ms, chunk bekleme ort: %.1f ms", teleports.getAverageMillis(), teleports.getMaxMillis(),
+                        teleports.getLastMillis(), teleports.getAverageChunkWaitMillis())
+                + ", yüklü tutulan chunk: " + teleports.getHeldChunkCount() + ")");
+        
+        for (ArenaPool.Slot slot : pool.getSlots().values()) {
+            String status = !slot.isAvailable() ? ChatColor.GRAY + "Devre Dışı"
+                    : slot.isBusy() ? ChatColor.RED + "Dolu" : ChatColor.GREEN + "Boş";
+            player.sendMessage(ChatColor.GOLD + "- " + slot.getArena().getId() + " (" + slot.getArena().getWorldName() + ") " + status
+                    + ChatColor.WHITE + " kullanım: %" + String.format("%.1f", slot.getUtilization(now) * 100) + ", düello: " + slot.getUses());
+        }
+    }
+    
     /**
      * İstatistik komutlarını işler
      * 
@@ -278,6 +333,163 @@ public class DuelAdminCommand implements CommandExecutor, TabCompleter {
         }
     }
     
+    /**
+     * Depolama yürütücüsünün kuyruk durumunu gösterir
+     * 
+     * @param player Komutu kullanan oyuncu
+     */
+    private void handleStorageCommand(Player player) {
+        StorageExecutor executor = plugin.getDatabaseManager().getExecutor();
+        
+        player.sendMessage(ChatColor.GREEN + "Depolama durumu:");
+        player.sendMessage(ChatColor.GOLD + "- Arka uç: " + ChatColor.WHITE + plugin.getDatabaseManager().getDialect().getName());
+        player.sendMessage(ChatColor.GOLD + "- Yazma kuyruğu: " + ChatColor.WHITE + executor.getWriteQueueDepth() + "/" + executor.getWriteQueueCapacity());
+        player.sendMessage(ChatColor.GOLD + "- Okuma kuyruğu: " + ChatColor.WHITE + executor.getReadQueueDepth() + "/" + executor.getReadQueueCapacity());
+        player.sendMessage(ChatColor.GOLD + "- Tamamlanan yazma/okuma: " + ChatColor.WHITE + executor.getCompletedWrites() + "/" + executor.getCompletedReads());
+        player.sendMessage(ChatColor.GOLD + "- Reddedilen görevler: " + ChatColor.WHITE + executor.getRejectedTasks() + " (" + executor.getPolicy() + ")");
+        
+        StatsManager statsManager = plugin.getStatsManager();
+        player.sendMessage(ChatColor.GOLD + "- İstatistik önbelleği (bellekte/çevrimdışı): " + ChatColor.WHITE + statsManager.getResidentCount() + "/" + statsManager.getOfflineCacheSize()
+                + " (isabet/ıska: " + statsManager.getCacheHits() + "/" + statsManager.getCacheMisses() + ", kirli: " + statsManager.getDirtyCount() + ")");
+        int journalEntries = statsManager.getJournalEntryCount();
+        player.sendMessage(ChatColor.GOLD + "- İstatistik günlüğü: " + ChatColor.WHITE + (journalEntries >= 0 ? journalEntries + " kayıt" : "kapalı"));
+        
+        MigrationRunner migrationRunner = plugin.getDatabaseManager().getMigrationRunner();
+        player.sendMessage(ChatColor.GOLD + "- Şema sürümü: " + ChatColor.WHITE + "v" + migrationRunner.getSchemaVersion() + " (arka planda süren geçiş: " + migrationRunner.getPendingBackgroundCount() + ")");
+        
+        DuelHistoryWriter historyWriter = plugin.getDatabaseManager().getHistoryWriter();
+        player.sendMessage(ChatColor.GOLD + "- Düello geçmişi (bekleyen/yazılan): " + ChatColor.WHITE + historyWriter.getPendingCount() + "/" + historyWriter.getWrittenRecords());
+        
+        MatchmakingQueue queue = plugin.getDuelManager().getMatchmakingQueue();
+        player.sendMessage(ChatColor.GOLD + "- Eşleştirme sırası: " + ChatColor.WHITE + queue.size() + " oyuncu (tick son/en uzun: "
+                + queue.getLastTickMicros() + "/" + queue.getMaxTickMicros() + " µs, eşleşme: " + queue.getMatchesMade() + ")");
+        
+        RatingManager ratingManager = plugin.getRatingManager();
+        player.sendMessage(ChatColor.GOLD + "- Puanlar (bellekte/kirli): " + ChatColor.WHITE + ratingManager.getResidentCount() + "/" + ratingManager.getDirtyCount()
+                + " (puanlanan düello: " + ratingManager.getRatedDuels() + ")");
+    }
+    
+    /**
+     * Sunucuyu durdurmadan veritabanı yedeği alır, ilerlemeyi %25'lik adımlarla bildirir
+     * 
+     * @param player Komutu kullanan oyuncu
+     */
+    private void handleBackupCommand(Player player) {
+        DatabaseBackup backup = plugin.getDatabaseManager().getBackup();
+        if (backup.isRunning()) {
+            player.sendMessage(ChatColor.RED + "Bir yedekleme zaten sürüyor.");
+            return;
+        }
+        
+        player.sendMessage(ChatColor.YELLOW + "Veritabanı yedeği alınıyor...");
+        
+        int[] lastStep = {0};
+        backup.start((percent, copied, total) -> {
+            if (percent / 25 <= lastStep[0] || percent >= 100) {
+                return;
+            }
+            lastStep[0] = percent / 25;
+            Bukkit.getScheduler().runTask(plugin, () -> player.sendMessage(ChatColor.GOLD + "Yedekleme: %" + percent
+                    + ChatColor.GRAY + " (" + copied + "/" + total + " satır)"));
+        }).whenComplete((result, ex) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (ex != null) {
+                player.sendMessage(ChatColor.RED + "Yedek alınamadı: " + ex.getMessage());
+                return;
+            }
+            player.sendMessage(ChatColor.GREEN + "Yedek alındı: " + ChatColor.WHITE + result.getFile().getName()
+                    + ChatColor.GRAY + " (" + (result.getFile().length() / 1024) + " KiB, "
+                    + String.format("%.1f", result.getDurationMillis() / 1000.0) + " sn)");
+        }));
+    }
+    
+    /**
+     * Bir veri kümesini aktarım klasörüne dışa aktarır
+     * 
+     * @param player Komutu kullanan oyuncu
+     * @param args Komut argümanları
+     */
+    private void handleExportCommand(Player player, String[] args) {
+        DataTransfer.Dataset dataset = args.length > 0 ? DataTransfer.Dataset.fromKey(args[0]) : null;
+        DataTransfer.Format format = args.length > 1 ? DataTransfer.Format.fromName(args[1]) : DataTransfer.Format.NDJSON;
+        if (dataset == null || format == null) {
+            player.sendMessage(ChatColor.RED + "Kullanım: /dueladmin export <stats|arenas|history> [ndjson|csv]");
+            return;
+        }
+        
+        player.sendMessage(ChatColor.YELLOW + "Dışa aktarma başladı: " + dataset.getKey() + " (" + format.getExtension() + ")");
+        plugin.getDatabaseManager().getDataTransfer().export(dataset, format, transferProgress(player, "Dışa aktarma"))
+                .whenComplete((result, ex) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (ex != null) {
+                        player.sendMessage(ChatColor.RED + "Dışa aktarma başarısız: " + ex.getMessage());
+                        return;
+                    }
+                    player.sendMessage(ChatColor.GREEN + "Dışa aktarıldı: " + ChatColor.WHITE + result.getFile().getName()
+                            + ChatColor.GRAY + " (" + result.getRows() + " satır, "
+                            + String.format("%.1f", result.getDurationMillis() / 1000.0) + " sn)");
+                }));
+    }
+    
+    /**
+     * Aktarım klasöründeki bir dosyayı içe aktarır, --dry-run ile yalnızca doğrular
+     * 
+     * @param player Komutu kullanan oyuncu
+     * @param args Komut argümanları
+     */
+    private void handleImportCommand(Player player, String[] args) {
+        DataTransfer.Dataset dataset = args.length > 1 ? DataTransfer.Dataset.fromKey(args[0]) : null;
+        if (dataset == null) {
+            player.sendMessage(ChatColor.RED + "Kullanım: /dueladmin import <stats|arenas|history> <dosya> [--dry-run]");
+            return;
+        }
+        
+        boolean dryRun = args.length > 2 && args[2].equalsIgnoreCase("--dry-run");
+        
+        player.sendMessage(ChatColor.YELLOW + (dryRun ? "İçe aktarma denemesi başladı: " : "İçe aktarma başladı: ") + args[1]);
+        plugin.getDatabaseManager().getDataTransfer().importFile(dataset, args[1], dryRun, transferProgress(player, "İçe aktarma"))
+                .whenComplete((result, ex) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (ex != null) {
+                        player.sendMessage(ChatColor.RED + "İçe aktarma başarısız: " + ex.getMessage());
+                        return;
+                    }
+                    
+                    player.sendMessage(ChatColor.GREEN + (dryRun ? "Deneme tamamlandı, yazılacak satır: " : "İçe aktarılan satır: ")
+                            + ChatColor.WHITE + result.getRows() + ChatColor.GRAY + " (geçersiz: " + result.getInvalidRows() + ", "
+                            + String.format("%.1f", result.getDurationMillis() / 1000.0) + " sn)");
+                    if (result.getFirstError() != null) {
+                        player.sendMessage(ChatColor.RED + "İlk hata: " + result.getFirstError());
+                    }
+                    
+                    if (dryRun) {
+                        return;
+                    }
+                    
+                    // Bellekteki kopyalar artık veritabanıyla uyuşmuyor
+                    if (dataset == DataTransfer.Dataset.STATS) {
+                        plugin.getStatsManager().invalidateCaches();
+                    } else if (dataset == DataTransfer.Dataset.ARENAS) {
+                        arenaManager.reload();
+                    }
+                }));
+    }
+    
+    /**
+     * Aktarım ilerlemesini %25'lik adımlarla oyuncuya bildiren dinleyici oluşturur
+     * 
+     * @param player Bildirilecek oyuncu
+     * @param label İşlem adı
+     * @return İlerleme dinleyicisi
+     */
+    private ProgressListener transferProgress(Player player, String label) {
+        int[] lastStep = {0};
+        return (percent, done, total) -> {
+            if (percent / 25 <= lastStep[0] || percent >= 100) {
+                return;
+            }
+            lastStep[0] = percent / 25;
+            Bukkit.getScheduler().runTask(plugin, () -> player.sendMessage(ChatColor.GOLD + label + ": %" + percent));
+        };
+    }
+    
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         if (!(sender instanceof Player)) {
@@ -293,23 +505,34 @@ public class DuelAdminCommand implements CommandExecutor, TabCompleter {
         List<String> completions = new ArrayList<>();
         
         if (args.length == 1) {
-            List<String> subCommands = Arrays.asList("reload", "arena", "stats");
+            List<String> subCommands = Arrays.asList("reload", "arena", "stats", "storage", "backup", "export", "import");
             return filterCompletions(subCommands, args[0]);
         }
         
         if (args.length == 2) {
             if (args[0].equalsIgnoreCase("arena")) {
                 List<String> arenaSubCommands = Arrays.asList(
-                    "create", "setpos1", "setpos2", "enable", "disable", "delete", "list"
+                    "create", "setpos1", "setpos2", "enable", "disable", "delete", "list", "usage"
                 );
                 return filterCompletions(arenaSubCommands, args[1]);
             } else if (args[0].equalsIgnoreCase("stats")) {
                 List<String> statsSubCommands = Arrays.asList("reload");
                 return filterCompletions(statsSubCommands, args[1]);
+            } else if (args[0].equalsIgnoreCase("export") || args[0].equalsIgnoreCase("import")) {
+                return filterCompletions(Arrays.asList("stats", "arenas", "history"), args[1]);
             }
         }
         
         if (args.length == 3) {
+            if (args[0].equalsIgnoreCase("export")) {
+                return filterCompletions(Arrays.asList("ndjson", "csv"), args[2]);
+            }
+            if (args[0].equalsIgnoreCase("import")) {
+                // Aktarım klasöründeki dosyalar
+                String[] files = plugin.getDatabaseManager().getDataTransfer().getFolder().list();
+                return files != null ? filterCompletions(Arrays.asList(files), args[2]) : completions;
+            }
+            
             if (args[0].equalsIgnoreCase("arena") && 
                (args[1].equalsIgnoreCase("setpos1") || 
                 args[1].equalsIgnoreCase("setpos2") || 
@@ -322,6 +545,10 @@ public class DuelAdminCommand implements CommandExecutor, TabCompleter {
             }
         }
         
+        if (args.length == 4 && args[0].equalsIgnoreCase("import")) {
+            return filterCompletions(Arrays.asList("--dry-run"), args[3]);
+        }
+        
         return completions;
     }
     
@@ -4,6 +4,9 @@ import dev.itscactus.cduello.Main;
 import dev.itscactus.cduello.managers.ArenaManager;
 import dev.itscactus.cduello.managers.DuelManager;
 import dev.itscactus.cduello.managers.EconomyManager;
+import dev.itscactus.cduello.models.DuelRequest;
+import dev.itscactus.cduello.models.LeaderboardCategory;
+import dev.itscactus.cduello.models.Rating;
 import dev.itscactus.cduello.utils.LeaderboardGUI;
 import dev.itscactus.cduello.utils.MessageManager;
 import dev.itscactus.cduello.utils.MessageUtils;
@@ -25,6 +28,7 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.logging.Level;
 
 public class DuelloCommand implements CommandExecutor, TabCompleter {
 
@@ -39,8 +43,9 @@ public class DuelloCommand implements CommandExecutor, TabCompleter {
     private final Map<UUID, Location> pos2Selectors = new ConcurrentHashMap<>();
     
     // Önceden hazırlanmış listeler (performans için)
-    private final List<String> SUBCOMMANDS = Arrays.asList("kabul", "reddet", "istatistik", "yardım");
-    private final List<String> ADMIN_SUBCOMMANDS = Arrays.asList("kabul", "reddet", "istatistik", "yardım", "admin", "arena");
+    private final List<String> SUBCOMMANDS = Arrays.asList("kabul", "reddet", "iptal", "sıra", "istatistik", "yardım");
+    private final List<String> ADMIN_SUBCOMMANDS = Arrays.asList("kabul", "reddet", "iptal", "sıra", "istatistik", "yardım", "admin", "arena");
+    private final List<String> QUEUE_OPTIONS = Arrays.asList("ayrıl");
     private final List<String> ADMIN_COMMANDS = Arrays.asList("reload");
     private final List<String> ARENA_SUBCOMMANDS = Arrays.asList("liste", "oluştur", "sil", "yenidenadlandır", "bilgi", "pos1", "pos2", "etkinleştir", "devreDışıBırak");
     private final List<String> EMPTY_LIST = Collections.emptyList();
@@ -83,11 +88,20 @@ public class DuelloCommand implements CommandExecutor, TabCompleter {
         switch (subCommand) {
             case "accept":
             case "kabul":
-                handleAccept(player);
+                handleAccept(player, args);
                 break;
             case "deny":
             case "reddet":
-                handleDeny(player);
+                handleDeny(player, args);
+                break;
+            case "cancel":
+            case "iptal":
+                handleCancel(player, args);
+                break;
+            case "queue":
+            case "sıra":
+            case "sira":
+                handleQueue(player, args);
                 break;
             case "stats":
             case "istatistik":
@@ -116,7 +130,7 @@ public class DuelloCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
-    private void handleAccept(Player player) {
+    private void handleAccept(Player player, String[] args) {
         if (duelManager.isInDuel(player.getUniqueId())) {
             messageManager.sendMessage(player, "already-in-duel");
             return;
@@ -127,26 +141,92 @@ public class DuelloCommand implements CommandExecutor, TabCompleter {
             return;
         }
 
-        duelManager.acceptDuelRequest(player);
+        duelManager.acceptDuelRequest(player, args.length >= 2 ? args[1] : null);
     }
 
-    private void handleDeny(Player player) {
+    private void handleDeny(Player player, String[] args) {
         if (!duelManager.hasPendingRequests(player)) {
             messageManager.sendMessage(player, "no-pending-requests");
             return;
         }
 
-        duelManager.denyDuelRequest(player);
+        duelManager.denyDuelRequest(player, args.length >= 2 ? args[1] : null);
+    }
+
+    private void handleCancel(Player player, String[] args) {
+        if (args.length < 2) {
+            messageManager.sendMessage(player, "cancel-usage");
+            return;
+        }
+
+        duelManager.cancelDuelRequest(player, args[1]);
+    }
+
+    private void handleQueue(Player player, String[] args) {
+        // Argümansız komut sıradaysa çıkarır, değilse parasız sıraya ekler
+        if (args.length < 2) {
+            if (!duelManager.leaveQueue(player)) {
+                duelManager.joinQueue(player, 0.0);
+            }
+            return;
+        }
+
+        String option = args[1].toLowerCase();
+        if (option.equals("leave") || option.equals("ayrıl") || option.equals("ayril")) {
+            if (!duelManager.leaveQueue(player)) {
+                messageManager.sendMessage(player, "queue-not-queued");
+            }
+            return;
+        }
+
+        try {
+            double amount = Double.parseDouble(args[1]);
+            if (amount > 0 && amount < economyManager.getMinBetAmount()) {
+                Map<String, String> placeholders = new HashMap<>();
+                placeholders.put("amount", economyManager.formatMoney(economyManager.getMinBetAmount()));
+                messageManager.sendMessage(player, "bet-too-low", placeholders);
+                return;
+            }
+            if (amount > economyManager.getMaxBetAmount()) {
+                Map<String, String> placeholders = new HashMap<>();
+                placeholders.put("amount", economyManager.formatMoney(economyManager.getMaxBetAmount()));
+                messageManager.sendMessage(player, "bet-too-high", placeholders);
+                return;
+            }
+            duelManager.joinQueue(player, Math.max(0.0, amount));
+        } catch (NumberFormatException e) {
+            messageManager.sendMessage(player, "invalid-amount");
+        }
     }
 
     private void handleStats(Player player, String[] args) {
         if (args.length >= 2) {
             Player target = Bukkit.getPlayer(args[1]);
-            if (target == null) {
+            if (target != null) {
+                duelManager.showStats(player, target);
+                return;
+            }
+            
+            // Çevrimdışı oyuncu ad sözlüğünden bulunur
+            UUID targetUuid = plugin.getDatabaseManager().getPlayerDirectory().findByName(args[1]);
+            if (targetUuid == null) {
                 messageManager.sendMessage(player, "player-not-found");
                 return;
             }
-            duelManager.showStats(player, target);
+            
+            String targetName = plugin.getDatabaseManager().getPlayerDirectory().getName(targetUuid);
+            plugin.getStatsManager().getPlayerStats(targetUuid)
+                    .thenCombine(plugin.getRatingManager().getRating(targetUuid, Rating.DEFAULT_LADDER), (stats, rating) ->
+                            Bukkit.getScheduler().runTask(plugin, () -> {
+                                if (player.isOnline()) {
+                                    duelManager.showStats(player, targetName, stats, rating);
+                                }
+                            }))
+                    .exceptionally(ex -> {
+                        plugin.getLogger().log(Level.SEVERE, "İstatistikler gösterilemedi: " + targetName, ex);
+                        Bukkit.getScheduler().runTask(plugin, () -> messageManager.sendMessage(player, "stats-unavailable"));
+                        return null;
+                    });
         } else {
             duelManager.showStats(player, player);
         }
@@ -186,6 +266,8 @@ public class DuelloCommand implements CommandExecutor, TabCompleter {
         
         messageManager.sendMessage(player, "help-duel-accept");
         messageManager.sendMessage(player, "help-duel-deny");
+        messageManager.sendMessage(player, "help-duel-cancel");
+        messageManager.sendMessage(player, "help-duel-queue");
         messageManager.sendMessage(player, "help-duel-stats");
         
         if (player.hasPermission("cduello.admin")) {
@@ -447,7 +529,7 @@ public class DuelloCommand implements CommandExecutor, TabCompleter {
      */
     private void openLeaderboard(Player player) {
         // Varsayılan olarak galibiyet sıralaması göster
-        new LeaderboardGUI(plugin, plugin.getDatabaseManager(), "wins").open(player);
+        new LeaderboardGUI(plugin, plugin.getDatabaseManager().getStatsRepository(), LeaderboardCategory.WINS).open(player);
     }
 
     @Override
@@ -491,6 +573,20 @@ public class DuelloCommand implements CommandExecutor, TabCompleter {
             
             if (subCommand.equals("istatistik") || subCommand.equals("stats")) {
                 return filterCompletions(getOnlinePlayerNames(), args[1]);
+            } else if (subCommand.equals("kabul") || subCommand.equals("accept") ||
+                       subCommand.equals("reddet") || subCommand.equals("deny")) {
+                List<String> senders = new ArrayList<>();
+                for (DuelRequest request : duelManager.getIncomingRequests(player.getUniqueId())) {
+                    Player requestSender = Bukkit.getPlayer(request.getSender());
+                    if (requestSender != null) {
+                        senders.add(requestSender.getName());
+                    }
+                }
+                return filterCompletions(senders, args[1]);
+            } else if (subCommand.equals("iptal") || subCommand.equals("cancel")) {
+                return filterCompletions(getOnlinePlayerNames(), args[1]);
+            } else if (subCommand.equals("sıra") || subCommand.equals("sira") || subCommand.equals("queue")) {
+                return filterCompletions(QUEUE_OPTIONS, args[1]);
             } else if (subCommand.equals("admin") && player.hasPermission("cduello.admin")) {
                 return filterCompletions(ADMIN_COMMANDS, args[1]);
             } else if (subCommand.equals("arena") && player.hasPermission("cduello.admin")) {
@@ -49,10 +49,6 @@ public class DuelListener implements Listener {
         Player player = event.getEntity();
         UUID playerUuid = player.getUniqueId();
         
-        if (!duelManager.isInDuel(playerUuid)) {
-            return;
-        }
-        
         Duel duel = duelManager.getActiveDuel(playerUuid);
         if (duel == null) {
             return;
@@ -99,12 +95,12 @@ public class DuelListener implements Listener {
                 // Set spawn location with a slight delay to ensure it works
                 event.setRespawnLocation(respawnLoc);
                 
-                // Schedule a teleport just to be sure (belt and suspenders approach)
+                // Schedule a teleport just to be sure (belt and suspenders approach), without blocking on chunk loads
                 new BukkitRunnable() {
                     @Override
                     public void run() {
                         if (player.isOnline()) {
-                            player.teleport(respawnLoc);
+                            duelManager.getTeleportPipeline().teleport(player, respawnLoc);
                         }
                     }
                 }.runTaskLater(plugin, 1L);
@@ -122,9 +118,10 @@ public class DuelListener implements Listener {
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
         
-        if (!duelManager.isInDuel(player.getUniqueId())) {
-            return;
-        }
+        // Drop every request the player sent or received, their queue slot and any arena wait
+        duelManager.clearRequests(player);
+        duelManager.getMatchmakingQueue().leave(player.getUniqueId());
+        duelManager.cancelArenaWait(player);
         
         Duel duel = duelManager.getActiveDuel(player.getUniqueId());
         if (duel == null) {
@@ -132,7 +129,7 @@ public class DuelListener implements Listener {
         }
         
         // End the duel with the opponent as the winner
-        duelManager.endDuel(duel, duel.getOpponent(player.getUniqueId()));
+        duelManager.endDuel(duel, duel.getOpponent(player.getUniqueId()), Duel.EndReason.QUIT);
     }
 
     /**
@@ -147,31 +144,31 @@ public class DuelListener implements Listener {
         Player damaged = (Player) event.getEntity();
         Player damager = (Player) event.getDamager();
         
-        boolean damagedInDuel = duelManager.isInDuel(damaged.getUniqueId());
-        boolean damagerInDuel = duelManager.isInDuel(damager.getUniqueId());
-        
-        // If either player is not in a duel
-        if (!damagedInDuel || !damagerInDuel) {
-            // If the damager is in a duel but the damaged is not, cancel
-            if (damagerInDuel) {
-                event.setCancelled(true);
-            }
-            // If the damaged is in a duel but the damager is not, cancel
-            else if (damagedInDuel) {
-                event.setCancelled(true);
-            }
-            return;
-        }
-        
-        // Both players are in a duel, but check if they're in the same duel
+        // One lookup per player; both null means neither is duelling
         Duel damagedDuel = duelManager.getActiveDuel(damaged.getUniqueId());
         Duel damagerDuel = duelManager.getActiveDuel(damager.getUniqueId());
         
-        if (damagedDuel != damagerDuel || !damagedDuel.hasPlayer(damager.getUniqueId())) {
+        // Cancel unless both players are in the same duel
+        if (damagedDuel != damagerDuel) {
             event.setCancelled(true);
         }
     }
 
+    /**
+     * Record damage that actually landed in a duel, for stalemate detection and damage-based outcomes
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDuelDamage(EntityDamageByEntityEvent event) {
+        if (!(event.getEntity() instanceof Player) || !(event.getDamager() instanceof Player)) {
+            return;
+        }
+        
+        Duel duel = duelManager.getActiveDuel(event.getDamager().getUniqueId());
+        if (duel != null && duel.getState() == Duel.DuelState.ACTIVE && duel.hasPlayer(event.getEntity().getUniqueId())) {
+            duel.addDamageDealt(event.getDamager().getUniqueId(), event.getFinalDamage());
+        }
+    }
+
     /**
      * Handle player commands during a duel
      */
@@ -1,7 +1,8 @@
 package dev.itscactus.cduello.listeners;
 
 import dev.itscactus.cduello.Main;
-import dev.itscactus.cduello.utils.DatabaseManager;
+import dev.itscactus.cduello.models.LeaderboardCategory;
+import dev.itscactus.cduello.storage.StatsRepository;
 import dev.itscactus.cduello.utils.LeaderboardGUI;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -15,17 +16,17 @@ import org.bukkit.inventory.ItemStack;
  */
 public class LeaderboardListener implements Listener {
     private final Main plugin;
-    private final DatabaseManager databaseManager;
+    private final StatsRepository statsRepository;
     
     /**
      * Yapıcı metot
      * 
      * @param plugin Plugin ana sınıfı
-     * @param databaseManager Veritabanı yöneticisi
+     * @param statsRepository İstatistik deposu
      */
-    public LeaderboardListener(Main plugin, DatabaseManager databaseManager) {
+    public LeaderboardListener(Main plugin, StatsRepository statsRepository) {
         this.plugin = plugin;
-        this.databaseManager = databaseManager;
+        this.statsRepository = statsRepository;
     }
     
     /**
@@ -42,10 +43,7 @@ public class LeaderboardListener implements Listener {
         String title = event.getView().getTitle();
         
         // Sıralama menüsü kontrolü
-        if (title.contains("En Çok Galibiyet") || 
-            title.contains("En Çok Para Kazananlar") || 
-            title.contains("En İyi Oran") || 
-            title.contains("Düello Sıralaması")) {
+        if (LeaderboardCategory.fromTitle(title) != null || title.contains("Düello Sıralaması")) {
             
             event.setCancelled(true); // Klik etkileşimini iptal et
             
@@ -57,17 +55,11 @@ public class LeaderboardListener implements Listener {
             ItemStack clickedItem = event.getCurrentItem();
             
             // Filtre butonları kontrolleri
-            if (clickedItem.getType() == Material.DIAMOND_SWORD) {
-                // Galibiyet sıralaması
-                new LeaderboardGUI(plugin, databaseManager, "wins").open(player);
-            } 
-            else if (clickedItem.getType() == Material.GOLD_INGOT) {
-                // Para sıralaması
-                new LeaderboardGUI(plugin, databaseManager, "money_won").open(player);
-            } 
-            else if (clickedItem.getType() == Material.EXPERIENCE_BOTTLE) {
-                // Oran sıralaması
-                new LeaderboardGUI(plugin, databaseManager, "win_ratio").open(player);
+            for (LeaderboardCategory category : LeaderboardCategory.values()) {
+                if (clickedItem.getType() == category.getIcon()) {
+                    new LeaderboardGUI(plugin, statsRepository, category).open(player);
+                    break;
+                }
             }
         }
     }
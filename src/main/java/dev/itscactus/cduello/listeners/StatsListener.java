@@ -0,0 +1,62 @@
+package dev.itscactus.cduello.listeners;
+
+import dev.itscactus.cduello.managers.RatingManager;
+import dev.itscactus.cduello.managers.StatsManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Oyuncu istatistiklerini giriş öncesinde belleğe alan, ad sözlüğünü girişte güncelleyen
+ * ve çıkışta istatistiklerin bellekten atılmasını planlayan dinleyici
+ */
+public class StatsListener implements Listener {
+    private final StatsManager statsManager;
+    private final RatingManager ratingManager;
+
+    public StatsListener(StatsManager statsManager, RatingManager ratingManager) {
+        this.statsManager = statsManager;
+        this.ratingManager = ratingManager;
+    }
+
+    /**
+     * Giriş kabul edildiyse istatistikleri oyuncu dünyaya girmeden yükler.
+     * Olay kendi thread'inde çalıştığı için burada beklemek ana thread'i etkilemez.
+     *
+     * @param event Giriş öncesi olayı
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+
+        statsManager.prefetch(event.getUniqueId(), event.getName());
+        ratingManager.prefetch(event.getUniqueId());
+    }
+
+    /**
+     * Oyuncunun adı değiştiyse ad sözlüğünü günceller
+     *
+     * @param event Giriş olayı
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        statsManager.handleJoin(event.getPlayer());
+        ratingManager.handleJoin(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Düello sonuçları yazılabilsin diye diğer dinleyicilerden sonra çalışır
+     *
+     * @param event Çıkış olayı
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        statsManager.handleQuit(event.getPlayer());
+        ratingManager.handleQuit(event.getPlayer().getUniqueId());
+    }
+}
@@ -2,12 +2,11 @@ package dev.itscactus.cduello.managers;
 
 import dev.itscactus.cduello.Main;
 import dev.itscactus.cduello.models.Arena;
-import dev.itscactus.cduello.utils.DatabaseManager;
+import dev.itscactus.cduello.storage.ArenaRepository;
 import dev.itscactus.cduello.utils.MessageManager;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 
@@ -24,116 +23,37 @@ public class ArenaManager {
 
     private final Main plugin;
     private final MessageManager messageManager;
-    private final DatabaseManager databaseManager;
+    private final ArenaRepository arenaRepository;
     private final Map<String, Arena> arenas = new ConcurrentHashMap<>();
+    // Arenaların doluluğu, düellolar buradan arena ayırır
+    private final ArenaPool pool;
     private boolean enabled;
     private boolean isLoading = false;
     private boolean isSaving = false;
-    private boolean migrationCompleted = false;
 
     public ArenaManager(Main plugin) {
         this.plugin = plugin;
         this.messageManager = plugin.getMessageManager();
-        this.databaseManager = new DatabaseManager(plugin);
+        this.arenaRepository = plugin.getDatabaseManager().getArenaRepository();
         this.enabled = plugin.getConfig().getBoolean("duels.arenas.enabled", false);
-        
-        // Config'den veritabanına taşıma işlemini kontrol et
-        checkConfigMigration();
+        this.pool = new ArenaPool(readStrategy(), plugin.getConfig().getInt("duels.arenas.max-waiting", 50));
         
         // Arenaları yükle
         loadArenas();
     }
 
     /**
-     * Config'den veritabanına geçiş kontrolü yapar
+     * Arena seçim yöntemini config'den okur
+     *
+     * @return Seçim yöntemi, geçersizse en uzun süredir kullanılmayan
      */
-    private void checkConfigMigration() {
-        if (plugin.getConfig().getBoolean("database.migration-completed", false)) {
-            migrationCompleted = true;
-            return;
-        }
-        
-        // Debug mesajı
-        if (plugin.getConfig().getBoolean("debug", false)) {
-            plugin.getLogger().info("Config'den veritabanına arena verilerini taşıma işlemi başlatılıyor...");
-        }
-        
-        // Config'deki arena verileri
-        ConfigurationSection arenasSection = plugin.getConfig().getConfigurationSection("duels.arenas.list");
-        if (arenasSection != null) {
-            Map<String, Arena> configArenas = new HashMap<>();
-            
-            for (String arenaId : arenasSection.getKeys(false)) {
-                ConfigurationSection arenaSection = arenasSection.getConfigurationSection(arenaId);
-                
-                if (arenaSection == null) {
-                    continue;
-                }
-                
-                String name = arenaSection.getString("name", arenaId);
-                String worldName = arenaSection.getString("world", "world");
-                
-                World world = Bukkit.getWorld(worldName);
-                
-                if (world == null) {
-                    plugin.getLogger().warning("Arena için dünya bulunamadı: " + worldName);
-                    continue;
-                }
-                
-                ConfigurationSection pos1Section = arenaSection.getConfigurationSection("pos1");
-                ConfigurationSection pos2Section = arenaSection.getConfigurationSection("pos2");
-                
-                if (pos1Section == null || pos2Section == null) {
-                    plugin.getLogger().warning("Arena için konum bilgisi eksik: " + arenaId);
-                    continue;
-                }
-                
-                double x1 = pos1Section.getDouble("x");
-                double y1 = pos1Section.getDouble("y");
-                double z1 = pos1Section.getDouble("z");
-                
-                double x2 = pos2Section.getDouble("x");
-                double y2 = pos2Section.getDouble("y");
-                double z2 = pos2Section.getDouble("z");
-                
-                Location pos1 = new Location(world, x1, y1, z1);
-                Location pos2 = new Location(world, x2, y2, z2);
-                
-                Arena arena = new Arena(arenaId, name, world, pos1, pos2);
-                
-                boolean arenaEnabled = arenaSection.getBoolean("enabled", true);
-                arena.setEnabled(arenaEnabled);
-                
-                configArenas.put(arenaId, arena);
-            }
-            
-            // Arenaları veritabanına aktar
-            if (!configArenas.isEmpty()) {
-                databaseManager.saveAllArenas(configArenas).thenAccept(success -> {
-                    if (success) {
-                        if (plugin.getConfig().getBoolean("debug", false)) {
-                            plugin.getLogger().info(configArenas.size() + " arena başarıyla veritabanına aktarıldı.");
-                        }
-                        
-                        // Migrasyon tamamlandı işaretini ekle
-                        plugin.getConfig().set("database.migration-completed", true);
-                        plugin.saveConfig();
-                        migrationCompleted = true;
-                    } else {
-                        plugin.getLogger().warning("Arenaların bir kısmı veya tamamı veritabanına aktarılamadı!");
-                    }
-                });
-            } else {
-                // Migrasyon tamamlandı işaretini ekle (aktarılacak arena yoksa)
-                plugin.getConfig().set("database.migration-completed", true);
-                plugin.saveConfig();
-                migrationCompleted = true;
-            }
-        } else {
-            // Migrasyon tamamlandı işaretini ekle (config'de arena yoksa)
-            plugin.getConfig().set("database.migration-completed", true);
-            plugin.saveConfig();
-            migrationCompleted = true;
+    private ArenaPool.Strategy readStrategy() {
+        String strategyName = plugin.getConfig().getString("duels.arenas.selection", "LEAST_RECENTLY_USED");
+        try {
+            return ArenaPool.Strategy.valueOf(strategyName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Geçersiz arena seçim yöntemi: " + strategyName + ", LEAST_RECENTLY_USED kullanılıyor.");
+            return ArenaPool.Strategy.LEAST_RECENTLY_USED;
         }
     }
 
@@ -152,10 +72,13 @@ public class ArenaManager {
             plugin.getLogger().info("Veritabanından arenalar yükleniyor...");
         }
         
-        databaseManager.loadArenas().thenAccept(loadedArenas -> {
+        arenaRepository.loadArenas().thenAccept(loadedArenas -> {
             arenas.clear();
             arenas.putAll(loadedArenas);
             
+            // Havuz ana thread'de yeniden kurulur
+            Bukkit.getScheduler().runTask(plugin, () -> pool.rebuild(arenas.values()));
+            
             // Debug mesajı
             if (plugin.getConfig().getBoolean("debug", false)) {
                 plugin.getLogger().info(arenas.size() + " arena başarıyla yüklendi.");
@@ -189,7 +112,7 @@ public class ArenaManager {
             plugin.getLogger().info("Arenalar veritabanına kaydediliyor...");
         }
         
-        databaseManager.saveAllArenas(arenas).thenAccept(success -> {
+        arenaRepository.saveAllArenas(arenas).thenAccept(success -> {
             if (success) {
                 if (plugin.getConfig().getBoolean("debug", false)) {
                     plugin.getLogger().info("Tüm arenalar başarıyla kaydedildi.");
@@ -226,9 +149,10 @@ public class ArenaManager {
 
         Arena arena = new Arena(arenaId, name, world, pos1, pos2);
         arenas.put(arenaId, arena);
+        pool.refresh(arena);
         
         // Veritabanına kaydet
-        databaseManager.saveArena(arena).thenAccept(success -> {
+        arenaRepository.saveArena(arena).thenAccept(success -> {
             if (!success) {
                 plugin.getLogger().warning("Arena veritabanına kaydedilemedi: " + arenaId);
             }
@@ -249,9 +173,10 @@ public class ArenaManager {
         }
 
         arenas.put(arena.getId(), arena);
+        pool.refresh(arena);
         
         // Veritabanına kaydet
-        databaseManager.saveArena(arena).thenAccept(success -> {
+        arenaRepository.saveArena(arena).thenAccept(success -> {
             if (!success) {
                 plugin.getLogger().warning("Arena veritabanına kaydedilemedi: " + arena.getId());
             }
@@ -272,9 +197,10 @@ public class ArenaManager {
         }
 
         arenas.remove(arenaId);
+        pool.remove(arenaId);
         
         // Veritabanından sil
-        databaseManager.deleteArena(arenaId).thenAccept(success -> {
+        arenaRepository.deleteArena(arenaId).thenAccept(success -> {
             if (!success) {
                 plugin.getLogger().warning("Arena veritabanından silinemedi: " + arenaId);
             }
@@ -299,7 +225,7 @@ public class ArenaManager {
         arena.setName(newName);
         
         // Veritabanına kaydet
-        databaseManager.saveArena(arena).thenAccept(success -> {
+        arenaRepository.saveArena(arena).thenAccept(success -> {
             if (!success) {
                 plugin.getLogger().warning("Arena güncellenemedi: " + arenaId);
             }
@@ -322,9 +248,10 @@ public class ArenaManager {
         }
 
         arena.setPos1(location);
+        pool.refresh(arena);
         
         // Veritabanına kaydet
-        databaseManager.saveArena(arena).thenAccept(success -> {
+        arenaRepository.saveArena(arena).thenAccept(success -> {
             if (!success) {
                 plugin.getLogger().warning("Arena konumu güncellenemedi: " + arenaId);
             }
@@ -347,9 +274,10 @@ public class ArenaManager {
         }
 
         arena.setPos2(location);
+        pool.refresh(arena);
         
         // Veritabanına kaydet
-        databaseManager.saveArena(arena).thenAccept(success -> {
+        arenaRepository.saveArena(arena).thenAccept(success -> {
             if (!success) {
                 plugin.getLogger().warning("Arena pozisyonu veritabanına kaydedilemedi: " + arenaId);
             }
@@ -367,9 +295,10 @@ public class ArenaManager {
     public CompletableFuture<Boolean> saveArena(Arena arena) {
         // Arenaları güncelle
         arenas.put(arena.getId(), arena);
+        pool.refresh(arena);
         
         // Veritabanına kaydet
-        return databaseManager.saveArena(arena);
+        return arenaRepository.saveArena(arena);
     }
 
     /**
@@ -444,9 +373,10 @@ public class ArenaManager {
         }
 
         arena.setEnabled(enabled);
+        pool.refresh(arena);
         
         // Veritabanına kaydet
-        databaseManager.saveArena(arena).thenAccept(success -> {
+        arenaRepository.saveArena(arena).thenAccept(success -> {
             if (!success) {
                 plugin.getLogger().warning("Arena durumu güncellenemedi: " + arenaId);
             }
@@ -484,6 +414,13 @@ public class ArenaManager {
         return arenas;
     }
 
+    /**
+     * @return Arena doluluk havuzu
+     */
+    public ArenaPool getPool() {
+        return pool;
+    }
+
     /**
      * Bir arenayı ID'sine göre alır
      *
@@ -502,15 +439,6 @@ public class ArenaManager {
     public Set<String> getArenaIds() {
         return arenas.keySet();
     }
-    
-    /**
-     * Veritabanı bağlantısını kapatır
-     */
-    public void close() {
-        if (databaseManager != null) {
-            databaseManager.closeConnection();
-        }
-    }
 
     /**
      * Arenaları yeniden yükler
@@ -523,6 +451,7 @@ public class ArenaManager {
         
         // Enable durumunu config'den yeniden oku
         this.enabled = plugin.getConfig().getBoolean("duels.arenas.enabled", false);
+        pool.configure(readStrategy(), plugin.getConfig().getInt("duels.arenas.max-waiting", 50));
         
         // Arenaları yeniden yükle
         loadArenas();
@@ -0,0 +1,557 @@
+package dev.itscactus.cduello.managers;
+
+import dev.itscactus.cduello.models.Arena;
+import org.bukkit.Location;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Arenaların doluluğunu tutan havuz.
+ * <p>
+ * Boş arenalar üç listede tutulur: rastgele seçim için bir dizi, en uzun süredir kullanılmayan başta olacak şekilde
+ * sıralı bir küme ve dünya başına aynı sırada kümeler. Ayırma ve bırakma bu listelerde sabit zamanda yapılır;
+ * en az yüklü dünya seçimi dünya sayısı, en yakın arena seçimi ise oyuncunun dünyasındaki boş arena sayısı kadar
+ * sürer. Arena konumları havuza alınırken bir kez okunur, seçim sırasında {@link Location} kopyalanmaz.
+ * <p>
+ * Tüm arenalar doluyken düellolar bekleme sırasına alınır ve bir arena boşaldığında sırayla başlatılır.
+ * Tüm metotlar ana thread'den çağrılmalıdır.
+ */
+public class ArenaPool {
+
+    /**
+     * Boş arenalar arasından seçim yöntemi
+     */
+    public enum Strategy {
+        /** Rastgele boş arena */
+        RANDOM,
+        /** En uzun süredir kullanılmayan boş arena */
+        LEAST_RECENTLY_USED,
+        /** En az dolu arenası olan dünyadaki boş arena */
+        LEAST_LOADED_WORLD,
+        /** Oyuncuların bulunduğu dünyada, oyunculara en yakın boş arena */
+        NEAREST
+    }
+
+    /**
+     * Havuzdaki bir arenanın doluluk ve kullanım bilgisi
+     */
+    public static final class Slot {
+        private Arena arena;
+        private String worldName;
+        // İki başlangıç noktasının ortası
+        private double centerX;
+        private double centerZ;
+        private boolean available;
+        private int freeIndex = -1;
+        private UUID duelId;
+        private final long addedAt;
+        private long busySince;
+        private long busyMillis;
+        private long lastReleased;
+        private int uses;
+
+        private Slot(Arena arena, long addedAt) {
+            this.addedAt = addedAt;
+            update(arena);
+        }
+
+        private void update(Arena arena) {
+            Location pos1 = arena.getPos1();
+            Location pos2 = arena.getPos2();
+            this.arena = arena;
+            this.worldName = arena.getWorldName();
+            this.centerX = (pos1.getX() + pos2.getX()) / 2.0;
+            this.centerZ = (pos1.getZ() + pos2.getZ()) / 2.0;
+            this.available = arena.isEnabled() && pos1.getWorld() != null && pos2.getWorld() != null;
+        }
+
+        public Arena getArena() {
+            return arena;
+        }
+
+        /**
+         * @return Arena etkin ve konumları yüklü bir dünyadaysa true
+         */
+        public boolean isAvailable() {
+            return available;
+        }
+
+        /**
+         * @return Arenada düello sürüyorsa true
+         */
+        public boolean isBusy() {
+            return duelId != null;
+        }
+
+        /**
+         * @return Arenanın ayrılma sayısı
+         */
+        public int getUses() {
+            return uses;
+        }
+
+        /**
+         * @return Arenanın son boşaldığı an (epoch milisaniye), hiç kullanılmadıysa 0
+         */
+        public long getLastReleased() {
+            return lastReleased;
+        }
+
+        /**
+         * Arenanın havuza alındığından beri dolu geçirdiği sürenin oranı
+         *
+         * @param now Şimdiki zaman (epoch milisaniye)
+         * @return 0 ile 1 arasında kullanım oranı
+         */
+        public double getUtilization(long now) {
+            long total = now - addedAt;
+            if (total <= 0) {
+                return 0.0;
+            }
+
+            long busy = busyMillis + (duelId != null ? now - busySince : 0L);
+            return Math.min(1.0, (double) busy / total);
+        }
+    }
+
+    private static final class Waiting {
+        private final UUID player1;
+        private final UUID player2;
+        private final Runnable onArenaFree;
+        private final long since;
+        private boolean cancelled;
+
+        private Waiting(UUID player1, UUID player2, Runnable onArenaFree, long since) {
+            this.player1 = player1;
+            this.player2 = player2;
+            this.onArenaFree = onArenaFree;
+            this.since = since;
+        }
+    }
+
+    private final Map<String, Slot> slots = new HashMap<>();
+    private final Map<UUID, Slot> slotsByDuel = new HashMap<>();
+    // Boş arenalar: rastgele seçim ve yerinde silme için dizi
+    private final List<Slot> free = new ArrayList<>();
+    // Boş arenalar, en uzun süredir kullanılmayan başta
+    private final LinkedHashSet<Slot> freeByRecency = new LinkedHashSet<>();
+    // Dünya -> boş arenalar (aynı sırayla) ve dünya -> dolu arena sayısı
+    private final Map<String, LinkedHashSet<Slot>> freeByWorld = new HashMap<>();
+    private final Map<String, Integer> busyByWorld = new HashMap<>();
+    private final ArrayDeque<Waiting> waiting = new ArrayDeque<>();
+    private final Map<UUID, Waiting> waitingByPlayer = new HashMap<>();
+
+    private Strategy strategy;
+    private int maxWaiting;
+    private int availableCount;
+    private long reservations;
+    private long servedWaits;
+    private long totalWaitMillis;
+
+    /**
+     * @param strategy Seçim yöntemi
+     * @param maxWaiting Bekleme sırasının en fazla düello sayısı (0 = sınırsız)
+     */
+    public ArenaPool(Strategy strategy, int maxWaiting) {
+        this.strategy = strategy;
+        this.maxWaiting = maxWaiting;
+    }
+
+    /**
+     * Seçim yöntemini ve bekleme sırası sınırını değiştirir
+     *
+     * @param strategy Seçim yöntemi
+     * @param maxWaiting Bekleme sırasının en fazla düello sayısı (0 = sınırsız)
+     */
+    public void configure(Strategy strategy, int maxWaiting) {
+        this.strategy = strategy;
+        this.maxWaiting = maxWaiting;
+    }
+
+    /**
+     * @return Etkin seçim yöntemi
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Havuzu verilen arenalarla yeniden kurar; dolu arenalar düelloları bitene kadar dolu kalır
+     *
+     * @param arenas Tüm arenalar
+     */
+    public void rebuild(Collection<Arena> arenas) {
+        Set<String> removed = new HashSet<>(slots.keySet());
+        for (Arena arena : arenas) {
+            removed.remove(arena.getId());
+            refresh(arena);
+        }
+        for (String arenaId : removed) {
+            remove(arenaId);
+        }
+    }
+
+    /**
+     * Bir arenayı havuza ekler veya değişen ayarlarını (konum, etkinlik) havuza yansıtır.
+     * Arena boş ve kullanılabilir hale geldiyse bekleyen düellolara verilir.
+     *
+     * @param arena Arena
+     */
+    public void refresh(Arena arena) {
+        Slot slot = slots.get(arena.getId());
+        if (slot == null) {
+            slot = new Slot(arena, System.currentTimeMillis());
+            slots.put(arena.getId(), slot);
+            if (slot.available) {
+                availableCount++;
+                addFree(slot);
+                serveWaiting();
+            }
+            return;
+        }
+
+        boolean wasAvailable = slot.available;
+        String oldWorld = slot.worldName;
+        if (!slot.isBusy() && wasAvailable) {
+            removeFree(slot);
+        }
+        slot.update(arena);
+        if (slot.isBusy() && !oldWorld.equals(slot.worldName)) {
+            // Dolu arena başka dünyaya taşındıysa doluluk sayısı da taşınır
+            busyByWorld.computeIfPresent(oldWorld, (world, count) -> count > 1 ? count - 1 : null);
+            busyByWorld.merge(slot.worldName, 1, Integer::sum);
+        }
+        if (slot.available != wasAvailable) {
+            availableCount += slot.available ? 1 : -1;
+        }
+        if (!slot.isBusy() && slot.available) {
+            addFree(slot);
+            serveWaiting();
+        }
+    }
+
+    /**
+     * Bir arenayı havuzdan çıkarır; arenada düello sürüyorsa düello bitene kadar ayrılmış kalır
+     *
+     * @param arenaId Arena ID'si
+     */
+    public void remove(String arenaId) {
+        Slot slot = slots.remove(arenaId);
+        if (slot == null) {
+            return;
+        }
+
+        if (slot.available) {
+            availableCount--;
+            if (!slot.isBusy()) {
+                removeFree(slot);
+            }
+        }
+    }
+
+    /**
+     * @return Havuzda kullanılabilir (etkin ve konumları geçerli) arena varsa true
+     */
+    public boolean hasArenas() {
+        return availableCount > 0;
+    }
+
+    /**
+     * Yeni bir düellonun beklemeden arena alıp alamayacağını döndürür. Sırada bekleyen varsa yeni düello da
+     * sıranın sonuna girer.
+     *
+     * @return Boş arena varsa ve bekleyen yoksa true
+     */
+    public boolean canReserve() {
+        return !free.isEmpty() && waiting.isEmpty();
+    }
+
+    /**
+     * Düello için seçim yöntemine göre boş bir arena ayırır
+     *
+     * @param duelId Düello ID'si
+     * @param near1 Birinci oyuncunun konumu
+     * @param near2 İkinci oyuncunun konumu
+     * @return Ayrılan arena, boş arena yoksa null
+     */
+    public Arena reserve(UUID duelId, Location near1, Location near2) {
+        if (free.isEmpty() || slotsByDuel.containsKey(duelId)) {
+            return null;
+        }
+
+        Slot slot = select(near1, near2);
+        removeFree(slot);
+
+        long now = System.currentTimeMillis();
+        slot.duelId = duelId;
+        slot.busySince = now;
+        slot.uses++;
+        slotsByDuel.put(duelId, slot);
+        busyByWorld.merge(slot.worldName, 1, Integer::sum);
+        reservations++;
+        return slot.arena;
+    }
+
+    /**
+     * Düellonun arenasını bırakır
+     *
+     * @param duelId Düello ID'si
+     * @return Bir arena bırakıldıysa true
+     */
+    public boolean release(UUID duelId) {
+        Slot slot = slotsByDuel.remove(duelId);
+        if (slot == null) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        slot.busyMillis += now - slot.busySince;
+        slot.duelId = null;
+        slot.lastReleased = now;
+        busyByWorld.computeIfPresent(slot.worldName, (world, count) -> count > 1 ? count - 1 : null);
+
+        // Bu arada silinmediyse ve hâlâ etkinse yeniden boş listelere girer (en son kullanılan olarak)
+        if (slots.get(slot.arena.getId()) == slot && slot.available) {
+            addFree(slot);
+        }
+        return true;
+    }
+
+    private Slot select(Location near1, Location near2) {
+        switch (strategy) {
+            case RANDOM:
+                return free.get(ThreadLocalRandom.current().nextInt(free.size()));
+            case LEAST_LOADED_WORLD: {
+                LinkedHashSet<Slot> best = null;
+                int bestBusy = Integer.MAX_VALUE;
+                for (Map.Entry<String, LinkedHashSet<Slot>> entry : freeByWorld.entrySet()) {
+                    int busy = busyByWorld.getOrDefault(entry.getKey(), 0);
+                    if (busy < bestBusy || (busy == bestBusy && entry.getValue().size() > best.size())) {
+                        best = entry.getValue();
+                        bestBusy = busy;
+                    }
+                }
+                return best.iterator().next();
+            }
+            case NEAREST: {
+                Slot nearest = nearest(near1, near2);
+                if (nearest != null) {
+                    return nearest;
+                }
+                // Oyuncuların dünyasında boş arena yoksa en uzun süredir kullanılmayanı al
+                return freeByRecency.iterator().next();
+            }
+            case LEAST_RECENTLY_USED:
+            default:
+                return freeByRecency.iterator().next();
+        }
+    }
+
+    private Slot nearest(Location near1, Location near2) {
+        if (near1 == null || near1.getWorld() == null) {
+            return null;
+        }
+
+        LinkedHashSet<Slot> candidates = freeByWorld.get(near1.getWorld().getName());
+        if (candidates == null) {
+            return null;
+        }
+
+        // İki oyuncu aynı dünyadaysa ortalarına, değilse birinci oyuncuya en yakın arena
+        double x = near1.getX();
+        double z = near1.getZ();
+        if (near2 != null && near1.getWorld().equals(near2.getWorld())) {
+            x = (x + near2.getX()) / 2.0;
+            z = (z + near2.getZ()) / 2.0;
+        }
+
+        Slot best = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (Slot slot : candidates) {
+            double dx = slot.centerX - x;
+            double dz = slot.centerZ - z;
+            double distance = dx * dx + dz * dz;
+            if (distance < bestDistance) {
+                best = slot;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private void addFree(Slot slot) {
+        slot.freeIndex = free.size();
+        free.add(slot);
+        freeByRecency.add(slot);
+        freeByWorld.computeIfAbsent(slot.worldName, k -> new LinkedHashSet<>()).add(slot);
+    }
+
+    private void removeFree(Slot slot) {
+        // Son elemanı silinenin yerine taşı
+        int index = slot.freeIndex;
+        Slot last = free.remove(free.size() - 1);
+        if (last != slot) {
+            free.set(index, last);
+            last.freeIndex = index;
+        }
+        slot.freeIndex = -1;
+
+        freeByRecency.remove(slot);
+        LinkedHashSet<Slot> worldSlots = freeByWorld.get(slot.worldName);
+        if (worldSlots != null) {
+            worldSlots.remove(slot);
+            if (worldSlots.isEmpty()) {
+                freeByWorld.remove(slot.worldName);
+            }
+        }
+    }
+
+    /**
+     * İki oyuncuyu boş arena bekleme sırasına alır
+     *
+     * @param player1 Birinci oyuncu
+     * @param player2 İkinci oyuncu
+     * @param onArenaFree Sıra geldiğinde çalışacak görev; arenayı kendisi ayırmalıdır
+     * @return Sıradaki yeri (1'den başlar), sıra doluysa veya oyunculardan biri zaten bekliyorsa -1
+     */
+    public int enqueue(UUID player1, UUID player2, Runnable onArenaFree) {
+        if ((maxWaiting > 0 && waitingByPlayer.size() / 2 >= maxWaiting)
+                || waitingByPlayer.containsKey(player1) || waitingByPlayer.containsKey(player2)) {
+            return -1;
+        }
+
+        Waiting entry = new Waiting(player1, player2, onArenaFree, System.currentTimeMillis());
+        waiting.addLast(entry);
+        waitingByPlayer.put(player1, entry);
+        waitingByPlayer.put(player2, entry);
+        return waitingByPlayer.size() / 2;
+    }
+
+    /**
+     * Oyuncunun beklediği düelloyu sıradan çıkarır
+     *
+     * @param player Oyuncu
+     * @return Birlikte beklediği rakip, oyuncu beklemiyorsa null
+     */
+    public UUID cancelWaiting(UUID player) {
+        Waiting entry = waitingByPlayer.remove(player);
+        if (entry == null) {
+            return null;
+        }
+
+        // Sıradan silme bir sonraki hizmete bırakılır
+        entry.cancelled = true;
+        UUID opponent = entry.player1.equals(player) ? entry.player2 : entry.player1;
+        waitingByPlayer.remove(opponent);
+        return opponent;
+    }
+
+    /**
+     * @return Oyuncu boş arena bekliyorsa true
+     */
+    public boolean isWaiting(UUID player) {
+        return waitingByPlayer.containsKey(player);
+    }
+
+    /**
+     * Boş arena kaldıkça bekleyen düelloları sırayla başlatır
+     */
+    public void serveWaiting() {
+        while (!free.isEmpty() && !waiting.isEmpty()) {
+            Waiting entry = waiting.pollFirst();
+            if (entry.cancelled) {
+                continue;
+            }
+
+            waitingByPlayer.remove(entry.player1);
+            waitingByPlayer.remove(entry.player2);
+            servedWaits++;
+            totalWaitMillis += System.currentTimeMillis() - entry.since;
+            entry.onArenaFree.run();
+        }
+
+        // Yalnızca iptal edilmişler kaldıysa sırayı boşalt
+        if (waitingByPlayer.isEmpty()) {
+            waiting.clear();
+        }
+    }
+
+    /**
+     * Bekleme sırasını boşaltır
+     */
+    public void clearWaiting() {
+        for (Waiting entry : waiting) {
+            entry.cancelled = true;
+        }
+        waiting.clear();
+        waitingByPlayer.clear();
+    }
+
+    /**
+     * @return Arena ID'si -> havuz bilgisi (salt okunur)
+     */
+    public Map<String, Slot> getSlots() {
+        return Collections.unmodifiableMap(slots);
+    }
+
+    /**
+     * @return Düellonun bulunduğu arena, yoksa null
+     */
+    public Arena getArena(UUID duelId) {
+        Slot slot = slotsByDuel.get(duelId);
+        return slot != null ? slot.arena : null;
+    }
+
+    /**
+     * @return Boş arena sayısı
+     */
+    public int getFreeCount() {
+        return free.size();
+    }
+
+    /**
+     * @return Dolu arena sayısı
+     */
+    public int getBusyCount() {
+        return slotsByDuel.size();
+    }
+
+    /**
+     * @return Kullanılabilir arena sayısı
+     */
+    public int getAvailableCount() {
+        return availableCount;
+    }
+
+    /**
+     * @return Boş arena bekleyen düello sayısı
+     */
+    public int getWaitingCount() {
+        return waitingByPlayer.size() / 2;
+    }
+
+    /**
+     * @return Toplam arena ayırma sayısı
+     */
+    public long getReservations() {
+        return reservations;
+    }
+
+    /**
+     * @return Sırası gelen bekleyen düelloların ortalama bekleme süresi (milisaniye)
+     */
+    public long getAverageWaitMillis() {
+        return servedWaits > 0 ? totalWaitMillis / servedWaits : 0L;
+    }
+}
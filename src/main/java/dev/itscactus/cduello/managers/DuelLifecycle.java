@@ -0,0 +1,182 @@
+package dev.itscactus.cduello.managers;
+
+import dev.itscactus.cduello.models.Duel;
+import dev.itscactus.cduello.models.Duel.DuelState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Düelloların yaşam döngüsünü yöneten durum makinesi.
+ * <p>
+ * Durum değişiklikleri düello üzerinde atomik karşılaştır-ve-değiştir ile yapılır; bir geçişi yalnızca bir çağıran
+ * kazanır ve aktif düello, oyuncu ve geri sayım dizinlerini yalnızca o günceller. Böylece aynı anda gelen
+ * çıkış, ölüm ve yönetici iptalleri bir düelloyu iki kez bitiremez veya oyuncuları dizinlerde bırakamaz.
+ * <p>
+ * Geçişler: PENDING -> COUNTDOWN -> ACTIVE -> ENDING -> RESTORING -> FINISHED veya CANCELLED.
+ * Geri sayımda iptal edilen düello COUNTDOWN'dan doğrudan ENDING'e geçer.
+ */
+public class DuelLifecycle {
+
+    /**
+     * Başarılı her geçişten sonra çağrılan kanca
+     */
+    public interface Hook {
+        void onTransition(Duel duel, DuelState from, DuelState to);
+    }
+
+    private final Logger logger;
+    private final Map<UUID, Duel> activeDuels = new ConcurrentHashMap<>();
+    // Oyuncu -> düello dizini; her vuruşta tek arama yapılır
+    private final Map<UUID, Duel> duelsByPlayer = new ConcurrentHashMap<>();
+    private final Set<UUID> playersInCountdown = ConcurrentHashMap.newKeySet();
+    private final List<Hook> hooks = new CopyOnWriteArrayList<>();
+
+    public DuelLifecycle(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Geçişlerden sonra çağrılacak bir kanca ekler
+     *
+     * @param hook Kanca
+     */
+    public void addHook(Hook hook) {
+        hooks.add(hook);
+    }
+
+    /**
+     * Yeni bir düelloyu kaydeder ve geri sayıma alır (PENDING -> COUNTDOWN)
+     *
+     * @param duel Düello
+     * @return Oyunculardan biri zaten bir düellodaysa veya düello kayıtlıysa false
+     */
+    public boolean register(Duel duel) {
+        synchronized (this) {
+            if (duelsByPlayer.containsKey(duel.getChallenger()) || duelsByPlayer.containsKey(duel.getChallenged())) {
+                return false;
+            }
+            if (!duel.compareAndSetState(DuelState.PENDING, DuelState.COUNTDOWN)) {
+                return false;
+            }
+
+            activeDuels.put(duel.getId(), duel);
+            duelsByPlayer.put(duel.getChallenger(), duel);
+            duelsByPlayer.put(duel.getChallenged(), duel);
+            playersInCountdown.add(duel.getChallenger());
+            playersInCountdown.add(duel.getChallenged());
+        }
+
+        fire(duel, DuelState.PENDING, DuelState.COUNTDOWN);
+        return true;
+    }
+
+    /**
+     * Düelloyu beklenen durumdan yeni duruma geçirir
+     *
+     * @param duel Düello
+     * @param from Beklenen durum
+     * @param to Yeni durum
+     * @return Geçişi bu çağrı yaptıysa true
+     * @throws IllegalArgumentException Geçiş durum makinesinde tanımlı değilse
+     */
+    public boolean transition(Duel duel, DuelState from, DuelState to) {
+        if (!from.canTransitionTo(to)) {
+            throw new IllegalArgumentException("Geçersiz düello durumu geçişi: " + from + " -> " + to);
+        }
+        if (!duel.compareAndSetState(from, to)) {
+            return false;
+        }
+
+        apply(duel, from, to);
+        fire(duel, from, to);
+        return true;
+    }
+
+    /**
+     * Düellonun bitişini talep eder (COUNTDOWN veya ACTIVE -> ENDING).
+     * Aynı düello için yalnızca bir çağrı başarılı olur.
+     *
+     * @param duel Düello
+     * @return Düellonun bitişten önceki durumu; düello zaten bitiyorsa null
+     */
+    public DuelState beginEnding(Duel duel) {
+        while (true) {
+            DuelState current = duel.getState();
+            if (!current.canTransitionTo(DuelState.ENDING)) {
+                return null;
+            }
+            if (duel.compareAndSetState(current, DuelState.ENDING)) {
+                apply(duel, current, DuelState.ENDING);
+                fire(duel, current, DuelState.ENDING);
+                return current;
+            }
+        }
+    }
+
+    private void apply(Duel duel, DuelState from, DuelState to) {
+        if (from == DuelState.COUNTDOWN) {
+            playersInCountdown.remove(duel.getChallenger());
+            playersInCountdown.remove(duel.getChallenged());
+        }
+
+        if (to.isTerminal()) {
+            duelsByPlayer.remove(duel.getChallenger(), duel);
+            duelsByPlayer.remove(duel.getChallenged(), duel);
+            activeDuels.remove(duel.getId(), duel);
+        }
+    }
+
+    private void fire(Duel duel, DuelState from, DuelState to) {
+        for (Hook hook : hooks) {
+            try {
+                hook.onTransition(duel, from, to);
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Düello durum kancası hata verdi (" + from + " -> " + to + ")", e);
+            }
+        }
+    }
+
+    /**
+     * @return Oyuncunun kayıtlı düellosu (bitiş aşamasındakiler dahil), yoksa null
+     */
+    public Duel getDuel(UUID playerUuid) {
+        return duelsByPlayer.get(playerUuid);
+    }
+
+    /**
+     * @return Oyuncu kayıtlı bir düellodaysa true
+     */
+    public boolean isInDuel(UUID playerUuid) {
+        return duelsByPlayer.containsKey(playerUuid);
+    }
+
+    /**
+     * @return Oyuncu geri sayımdaysa true
+     */
+    public boolean isInCountdown(UUID playerUuid) {
+        return playersInCountdown.contains(playerUuid);
+    }
+
+    /**
+     * @return Geri sayımdaki oyuncular (salt okunur görünüm)
+     */
+    public Set<UUID> getCountdownPlayers() {
+        return Collections.unmodifiableSet(playersInCountdown);
+    }
+
+    /**
+     * @return Kayıtlı düelloların anlık kopyası
+     */
+    public List<Duel> getActiveDuels() {
+        return new ArrayList<>(activeDuels.values());
+    }
+}
@@ -2,21 +2,24 @@ package dev.itscactus.cduello.managers;
 
 import dev.itscactus.cduello.Main;
 import dev.itscactus.cduello.models.Duel;
+import dev.itscactus.cduello.models.DuelRecord;
 import dev.itscactus.cduello.models.DuelRequest;
 import dev.itscactus.cduello.models.PlayerStats;
+import dev.itscactus.cduello.models.Rating;
 import dev.itscactus.cduello.models.Arena;
 import dev.itscactus.cduello.utils.MessageManager;
 import dev.itscactus.cduello.utils.MessageUtils;
+import dev.itscactus.cduello.utils.TeleportPipeline;
+import dev.itscactus.cduello.utils.TimingWheel;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.Location;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
 
 import dev.itscactus.cduello.listeners.DuelListener;
 
@@ -25,11 +28,22 @@ public class DuelManager {
     private final Main plugin;
     private final EconomyManager economyManager;
     private final MessageManager messageManager;
-    private final Map<UUID, DuelRequest> pendingRequests = new ConcurrentHashMap<>();
-    private final Map<UUID, Duel> activeDuels = new ConcurrentHashMap<>();
-    private final Map<UUID, PlayerStats> playerStats = new ConcurrentHashMap<>();
-    private final Set<UUID> playersInDuel = new HashSet<>();
-    private final Set<UUID> playersInCountdown = new HashSet<>();
+    private final StatsManager statsManager;
+    private final RatingManager ratingManager;
+    private final DuelRequestStore pendingRequests = new DuelRequestStore();
+    // Düello durumları ve aktif düello, oyuncu ve geri sayım dizinleri
+    private final DuelLifecycle lifecycle;
+    private final DuelWatchdog watchdog;
+    private final MatchmakingQueue matchmakingQueue;
+    // Düello başına geri sayım adımı veya süre sınırı zamanlayıcısı
+    private final Map<UUID, TimingWheel.Timeout> duelTimers = new ConcurrentHashMap<>();
+    private final Map<UUID, TimingWheel.Timeout> requestCooldowns = new ConcurrentHashMap<>();
+    private final TimingWheel timingWheel;
+    private final TeleportPipeline teleportPipeline;
+    // Düello -> oyuncuların arenaya ışınlanması
+    private final Map<UUID, CompletableFuture<Boolean>> arenaArrivals = new ConcurrentHashMap<>();
+    // Dönüş ışınlanması süren düellolar; dönüş chunk'ları ışınlanmalar bitince bırakılır
+    private final Set<UUID> returningDuels = new HashSet<>();
     private ArenaManager arenaManager;
     private DuelListener duelListener;
 
@@ -37,6 +51,27 @@ public class DuelManager {
         this.plugin = plugin;
         this.economyManager = economyManager;
         this.messageManager = plugin.getMessageManager();
+        this.statsManager = plugin.getStatsManager();
+        this.ratingManager = plugin.getRatingManager();
+        this.timingWheel = plugin.getTimingWheel();
+        this.teleportPipeline = new TeleportPipeline(plugin);
+        this.lifecycle = new DuelLifecycle(plugin.getLogger());
+        
+        // Biten düellonun tuttuğu dönüş chunk'ları bırakılır; dönüş ışınlanması sürüyorsa ışınlanmalar bitince bırakılır
+        lifecycle.addHook((duel, from, to) -> {
+            if (to.isTerminal()) {
+                arenaArrivals.remove(duel.getId());
+                if (!returningDuels.contains(duel.getId())) {
+                    teleportPipeline.releaseAll(duel.getId());
+                }
+            }
+        });
+        this.watchdog = new DuelWatchdog(plugin, this, lifecycle, timingWheel);
+        this.watchdog.start();
+        this.matchmakingQueue = new MatchmakingQueue(plugin, this, lifecycle, timingWheel);
+        if (ratingManager.isEnabled()) {
+            this.matchmakingQueue.setRatingProvider(ratingManager::getMatchmakingRating);
+        }
     }
 
     /**
@@ -46,6 +81,14 @@ public class DuelManager {
      */
     public void setArenaManager(ArenaManager arenaManager) {
         this.arenaManager = arenaManager;
+        
+        // Biten düellonun arenası bırakılır; oyuncular arenadan çıktıktan sonra bekleyen düelloya verilir
+        ArenaPool arenaPool = arenaManager.getPool();
+        lifecycle.addHook((duel, from, to) -> {
+            if (to.isTerminal() && arenaPool.release(duel.getId()) && arenaPool.getWaitingCount() > 0) {
+                Bukkit.getScheduler().runTask(plugin, arenaPool::serveWaiting);
+            }
+        });
     }
 
     /**
@@ -55,6 +98,34 @@ public class DuelManager {
      */
     public void setDuelListener(DuelListener duelListener) {
         this.duelListener = duelListener;
+        
+        // Geri sayıma giriş ve çıkışlarda listener'ın kopyasını güncelle
+        lifecycle.addHook((duel, from, to) -> {
+            if (from == Duel.DuelState.COUNTDOWN || to == Duel.DuelState.COUNTDOWN) {
+                duelListener.updateCountdownPlayers(lifecycle.getCountdownPlayers());
+            }
+        });
+    }
+
+    /**
+     * @return Düello durum makinesi (kanca eklemek için)
+     */
+    public DuelLifecycle getLifecycle() {
+        return lifecycle;
+    }
+
+    /**
+     * @return Işınlanma hattı
+     */
+    public TeleportPipeline getTeleportPipeline() {
+        return teleportPipeline;
+    }
+
+    /**
+     * @return Eşleştirme sırası
+     */
+    public MatchmakingQueue getMatchmakingQueue() {
+        return matchmakingQueue;
     }
 
     /**
@@ -90,6 +161,12 @@ public class DuelManager {
             return;
         }
 
+        // Gönderen bekleme süresinde mi kontrol et
+        if (requestCooldowns.containsKey(sender.getUniqueId())) {
+            messageManager.sendMessage(sender, "request-cooldown");
+            return;
+        }
+
         // Para düellosu kontrolleri
         if (betAmount > 0) {
             if (!economyManager.isEconomyEnabled()) {
@@ -124,17 +201,24 @@ public class DuelManager {
             request.setBetAmount(betAmount);
         }
 
-        // Varsa eski isteği kaldır
-        for (Map.Entry<UUID, DuelRequest> entry : pendingRequests.entrySet()) {
-            DuelRequest existingRequest = entry.getValue();
-            if (existingRequest.getSender().equals(senderUuid) && existingRequest.getTarget().equals(targetUuid)) {
-                pendingRequests.remove(entry.getKey());
-                break;
-            }
+        // Yeni isteği ekle (aynı oyuncuya bekleyen eski istek varsa yerine geçer)
+        int maxOutgoing = plugin.getConfig().getInt("duels.requests.max-outgoing", 3);
+        int maxIncoming = plugin.getConfig().getInt("duels.requests.max-incoming", 5);
+        DuelRequestStore.AddResult result = pendingRequests.add(request, maxOutgoing, maxIncoming);
+
+        if (result == DuelRequestStore.AddResult.SENDER_LIMIT) {
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("limit", String.valueOf(maxOutgoing));
+            messageManager.sendMessage(sender, "request-limit-reached", placeholders);
+            return;
         }
 
-        // Yeni isteği ekle
-        pendingRequests.put(targetUuid, request);
+        if (result == DuelRequestStore.AddResult.TARGET_LIMIT) {
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("player", target.getName());
+            messageManager.sendMessage(sender, "target-request-limit", placeholders);
+            return;
+        }
 
         // Mesajları gönder
         Map<String, String> placeholders = new HashMap<>();
@@ -156,75 +240,83 @@ public class DuelManager {
             messageManager.sendMessage(target, "duel-request-received", placeholders);
         }
 
-        // Zaman aşımı için görev zamanlama
+        // Gönderen için bekleme süresi başlat
+        int cooldown = plugin.getConfig().getInt("duels.request-cooldown", 0);
+        if (cooldown > 0) {
+            requestCooldowns.put(senderUuid, timingWheel.schedule(cooldown * 20L, () -> requestCooldowns.remove(senderUuid)));
+        }
+
+        // Zaman aşımı için görev zamanlama (kabul, red veya iptalde zamanlayıcı çarktan hemen çıkarılır)
         int timeout = plugin.getConfig().getInt("duels.request-timeout", 30);
         
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                // İstek hala geçerli mi kontrol et
-                if (pendingRequests.containsKey(targetUuid)) {
-                    DuelRequest expiredRequest = pendingRequests.get(targetUuid);
-                    if (expiredRequest.equals(request)) {
-                        pendingRequests.remove(targetUuid);
-
-                        // Hedef ve gönderici hala çevrimiçi mi kontrol et
-                        Player expiredSender = Bukkit.getPlayer(senderUuid);
-                        Player expiredTarget = Bukkit.getPlayer(targetUuid);
-
-                        // Mesajları gönder
-                        if (expiredSender != null) {
-                            Map<String, String> timeoutPlaceholders = new HashMap<>();
-                            timeoutPlaceholders.put("player", target.getName());
-                            messageManager.sendMessage(expiredSender, "duel-request-timeout-sender", timeoutPlaceholders);
-                        }
+        request.setExpiry(timingWheel.schedule(timeout * 20L, () -> {
+            if (!pendingRequests.remove(request)) {
+                return;
+            }
 
-                        if (expiredTarget != null) {
-                            Map<String, String> timeoutPlaceholders = new HashMap<>();
-                            timeoutPlaceholders.put("player", sender.getName());
-                            messageManager.sendMessage(expiredTarget, "duel-request-timeout-target", timeoutPlaceholders);
-                        }
-                    }
-                }
+            // Hedef ve gönderici hala çevrimiçi mi kontrol et
+            Player expiredSender = Bukkit.getPlayer(senderUuid);
+            Player expiredTarget = Bukkit.getPlayer(targetUuid);
+
+            // Mesajları gönder
+            if (expiredSender != null) {
+                Map<String, String> timeoutPlaceholders = new HashMap<>();
+                timeoutPlaceholders.put("player", target.getName());
+                messageManager.sendMessage(expiredSender, "duel-request-timeout-sender", timeoutPlaceholders);
             }
-        }.runTaskLater(plugin, timeout * 20L);
+
+            if (expiredTarget != null) {
+                Map<String, String> timeoutPlaceholders = new HashMap<>();
+                timeoutPlaceholders.put("player", sender.getName());
+                messageManager.sendMessage(expiredTarget, "duel-request-timeout-target", timeoutPlaceholders);
+            }
+        }));
     }
 
     /**
-     * Bir düello isteğini kabul eder
+     * En son gelen düello isteğini kabul eder
      *
      * @param player İsteği kabul eden oyuncu
      */
     public void acceptDuelRequest(Player player) {
+        acceptDuelRequest(player, null);
+    }
+
+    /**
+     * Bir düello isteğini kabul eder
+     *
+     * @param player İsteği kabul eden oyuncu
+     * @param senderName İsteği gönderen oyuncunun adı; null ise en son gelen istek
+     */
+    public void acceptDuelRequest(Player player, String senderName) {
         UUID playerUuid = player.getUniqueId();
 
         // İsteğin varlığını kontrol et
-        if (!pendingRequests.containsKey(playerUuid)) {
-            messageManager.sendMessage(player, "no-pending-requests");
+        DuelRequest request = findIncomingRequest(player, senderName);
+        if (request == null) {
             return;
         }
 
-        DuelRequest request = pendingRequests.get(playerUuid);
         UUID senderUuid = request.getSender();
         Player sender = Bukkit.getPlayer(senderUuid);
 
         // Göndericinin çevrimiçi olup olmadığını kontrol et
         if (sender == null) {
-            pendingRequests.remove(playerUuid);
+            pendingRequests.remove(request);
             messageManager.sendMessage(player, "sender-offline");
             return;
         }
 
         // Oyuncunun zaten düelloda olup olmadığını kontrol et
         if (isInDuel(playerUuid)) {
-            pendingRequests.remove(playerUuid);
+            pendingRequests.remove(request);
             messageManager.sendMessage(player, "already-in-duel");
             return;
         }
 
         // Göndericinin zaten düelloda olup olmadığını kontrol et
         if (isInDuel(senderUuid)) {
-            pendingRequests.remove(playerUuid);
+            pendingRequests.remove(request);
             messageManager.sendMessage(player, "duel-status-changed");
             return;
         }
@@ -234,7 +326,7 @@ public class DuelManager {
         if (request.isMoneyDuel()) {
             // Gönderenin hala yeterli parası var mı kontrol et
             if (!economyManager.hasSufficientFunds(sender, betAmount)) {
-                pendingRequests.remove(playerUuid);
+                pendingRequests.remove(request);
                 Map<String, String> placeholders = new HashMap<>();
                 placeholders.put("player", sender.getName());
                 messageManager.sendMessage(player, "sender-insufficient-funds", placeholders);
@@ -243,7 +335,7 @@ public class DuelManager {
 
             // Kabul edenin yeterli parası var mı kontrol et
             if (!economyManager.hasSufficientFunds(player, betAmount)) {
-                pendingRequests.remove(playerUuid);
+                pendingRequests.remove(request);
                 Map<String, String> placeholders = new HashMap<>();
                 placeholders.put("amount", economyManager.formatMoney(betAmount));
                 messageManager.sendMessage(player, "insufficient-funds", placeholders);
@@ -252,7 +344,7 @@ public class DuelManager {
         }
 
         // İsteği kaldır
-        pendingRequests.remove(playerUuid);
+        pendingRequests.remove(request);
 
         // Kabul mesajını gönder
         Map<String, String> placeholders = new HashMap<>();
@@ -268,21 +360,28 @@ public class DuelManager {
     }
 
     /**
-     * Bir düello isteğini reddeder
+     * En son gelen düello isteğini reddeder
      *
      * @param player İsteği reddeden oyuncu
      */
     public void denyDuelRequest(Player player) {
-        UUID playerUuid = player.getUniqueId();
+        denyDuelRequest(player, null);
+    }
 
+    /**
+     * Bir düello isteğini reddeder
+     *
+     * @param player İsteği reddeden oyuncu
+     * @param senderName İsteği gönderen oyuncunun adı; null ise en son gelen istek
+     */
+    public void denyDuelRequest(Player player, String senderName) {
         // İsteğin varlığını kontrol et
-        if (!pendingRequests.containsKey(playerUuid)) {
-            messageManager.sendMessage(player, "no-pending-requests");
+        DuelRequest request = findIncomingRequest(player, senderName);
+        if (request == null) {
             return;
         }
 
-        DuelRequest request = pendingRequests.get(playerUuid);
-        pendingRequests.remove(playerUuid);
+        pendingRequests.remove(request);
 
         // Göndericiye mesaj gönder
         Player sender = Bukkit.getPlayer(request.getSender());
@@ -296,6 +395,172 @@ public class DuelManager {
         messageManager.sendMessage(player, "duel-request-denied-target");
     }
 
+    /**
+     * Oyuncuya gelen isteği bulur; bulunamazsa oyuncuya mesaj gönderir
+     *
+     * @param player İsteği alan oyuncu
+     * @param senderName İsteği gönderen oyuncunun adı; null ise en son gelen istek
+     * @return İstek, yoksa null
+     */
+    private DuelRequest findIncomingRequest(Player player, String senderName) {
+        if (senderName == null) {
+            DuelRequest latest = pendingRequests.getLatest(player.getUniqueId());
+            if (latest == null) {
+                messageManager.sendMessage(player, "no-pending-requests");
+            }
+            return latest;
+        }
+
+        Player sender = Bukkit.getPlayerExact(senderName);
+        DuelRequest request = sender != null ? pendingRequests.get(player.getUniqueId(), sender.getUniqueId()) : null;
+        if (request == null) {
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("player", senderName);
+            messageManager.sendMessage(player, "no-request-from", placeholders);
+        }
+        return request;
+    }
+
+    /**
+     * Oyuncunun gönderdiği bir düello isteğini geri çeker
+     *
+     * @param player İsteği gönderen oyuncu
+     * @param targetName İsteğin gönderildiği oyuncunun adı
+     */
+    public void cancelDuelRequest(Player player, String targetName) {
+        Player target = Bukkit.getPlayerExact(targetName);
+        DuelRequest request = target != null ? pendingRequests.get(target.getUniqueId(), player.getUniqueId()) : null;
+
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("player", targetName);
+
+        if (request == null || !pendingRequests.remove(request)) {
+            messageManager.sendMessage(player, "no-request-to", placeholders);
+            return;
+        }
+
+        messageManager.sendMessage(player, "duel-request-cancelled-sender", placeholders);
+
+        placeholders.put("player", player.getName());
+        messageManager.sendMessage(target, "duel-request-cancelled-target", placeholders);
+    }
+
+    /**
+     * Oyundan çıkan oyuncunun gelen ve giden tüm isteklerini kaldırır ve karşı tarafa bildirir
+     *
+     * @param player Çıkan oyuncu
+     */
+    public void clearRequests(Player player) {
+        UUID playerUuid = player.getUniqueId();
+
+        for (DuelRequest request : pendingRequests.removeAll(playerUuid)) {
+            UUID otherUuid = request.getSender().equals(playerUuid) ? request.getTarget() : request.getSender();
+            Player other = Bukkit.getPlayer(otherUuid);
+            if (other != null) {
+                Map<String, String> placeholders = new HashMap<>();
+                placeholders.put("player", player.getName());
+                messageManager.sendMessage(other, "duel-request-cancelled-quit", placeholders);
+            }
+        }
+    }
+
+    /**
+     * Oyuncuyu eşleştirme sırasına ekler
+     *
+     * @param player Oyuncu
+     * @param betAmount İstenen bahis (0 ise parasız); sıranın bahis kademesine aşağı yuvarlanır
+     */
+    public void joinQueue(Player player, double betAmount) {
+        if (!matchmakingQueue.isEnabled()) {
+            messageManager.sendMessage(player, "queue-disabled");
+            return;
+        }
+
+        if (isInDuel(player.getUniqueId())) {
+            messageManager.sendMessage(player, "already-in-duel");
+            return;
+        }
+
+        if (betAmount > 0) {
+            if (!economyManager.isEconomyEnabled()) {
+                messageManager.sendMessage(player, "economy-not-enabled");
+                return;
+            }
+
+            if (!economyManager.hasSufficientFunds(player, betAmount)) {
+                Map<String, String> placeholders = new HashMap<>();
+                placeholders.put("amount", economyManager.formatMoney(betAmount));
+                messageManager.sendMessage(player, "insufficient-funds", placeholders);
+                return;
+            }
+        }
+
+        double tierAmount = matchmakingQueue.join(player, betAmount);
+        if (tierAmount > 0) {
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("amount", economyManager.formatMoney(tierAmount));
+            messageManager.sendMessage(player, "queue-joined-money", placeholders);
+        } else {
+            messageManager.sendMessage(player, "queue-joined");
+        }
+    }
+
+    /**
+     * Oyuncuyu eşleştirme sırasından veya boş arena bekleme sırasından çıkarır
+     *
+     * @param player Oyuncu
+     * @return Oyuncu sıradaysa true
+     */
+    public boolean leaveQueue(Player player) {
+        if (cancelArenaWait(player)) {
+            return true;
+        }
+        
+        if (!matchmakingQueue.leave(player.getUniqueId())) {
+            return false;
+        }
+
+        messageManager.sendMessage(player, "queue-left");
+        return true;
+    }
+
+    /**
+     * Sıranın eşleştirdiği oyuncunun kademenin bahsini hâlâ karşılayıp karşılayamadığını kontrol eder,
+     * karşılayamıyorsa oyuncuyu bilgilendirir
+     *
+     * @param player Oyuncu
+     * @param betAmount Kademenin bahis miktarı
+     * @return Bahis karşılanabiliyorsa (veya bahis yoksa) true
+     */
+    boolean checkQueuedFunds(Player player, double betAmount) {
+        if (betAmount <= 0 || economyManager.hasSufficientFunds(player, betAmount)) {
+            return true;
+        }
+
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("amount", economyManager.formatMoney(betAmount));
+        messageManager.sendMessage(player, "insufficient-funds", placeholders);
+        return false;
+    }
+
+    /**
+     * Sıranın eşleştirdiği iki oyuncu arasında düello başlatır.
+     * Bahis kontrolü sıra tarafından {@link #checkQueuedFunds} ile önceden yapılır.
+     *
+     * @param player1 İlk oyuncu
+     * @param player2 İkinci oyuncu
+     * @param betAmount Kademenin bahis miktarı
+     */
+    void startQueuedDuel(Player player1, Player player2, double betAmount) {
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("player", player2.getName());
+        messageManager.sendMessage(player1, "queue-matched", placeholders);
+        placeholders.put("player", player1.getName());
+        messageManager.sendMessage(player2, "queue-matched", placeholders);
+
+        startDuel(player1, player2, betAmount);
+    }
+
     /**
      * İki oyuncu arasında düello başlatır (para ödülü olmadan)
      */
@@ -304,210 +569,368 @@ public class DuelManager {
     }
 
     /**
-     * İki oyuncu arasında düello başlatır (belirlenen para ödülü ile)
-     * Bu metot performans için optimize edilmiştir
+     * İki oyuncu arasında düello başlatır (belirlenen para ödülü ile).
+     * Arenalar kullanılıyor ve hepsi doluysa düello boş arena bekleme sırasına alınır.
      */
     private void startDuel(Player player1, Player player2, double betAmount) {
+        ArenaPool arenaPool = useArenas() ? arenaManager.getPool() : null;
+        if (arenaPool != null && !arenaPool.canReserve()) {
+            UUID player1Uuid = player1.getUniqueId();
+            UUID player2Uuid = player2.getUniqueId();
+            int position = arenaPool.enqueue(player1Uuid, player2Uuid,
+                    () -> resumeArenaWait(player1Uuid, player2Uuid, betAmount));
+            
+            if (position < 0) {
+                messageManager.sendMessage(player1, "arena-wait-full");
+                messageManager.sendMessage(player2, "arena-wait-full");
+                return;
+            }
+            
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("position", String.valueOf(position));
+            messageManager.sendMessage(player1, "arena-wait", placeholders);
+            messageManager.sendMessage(player2, "arena-wait", placeholders);
+            return;
+        }
+        
+        beginDuel(player1, player2, betAmount, arenaPool);
+    }
+
+    /**
+     * Boş arena bekleyen düellonun sırası geldiğinde oyuncuları yeniden doğrular ve düelloyu başlatır
+     *
+     * @param player1Uuid Birinci oyuncu
+     * @param player2Uuid İkinci oyuncu
+     * @param betAmount Bahis miktarı
+     */
+    private void resumeArenaWait(UUID player1Uuid, UUID player2Uuid, double betAmount) {
+        Player player1 = Bukkit.getPlayer(player1Uuid);
+        Player player2 = Bukkit.getPlayer(player2Uuid);
+        
+        // Beklerken çıkan, başka düelloya giren veya bahsi karşılayamayan olursa vazgeç
+        boolean valid = player1 != null && player2 != null && !isInDuel(player1Uuid) && !isInDuel(player2Uuid)
+                && (betAmount <= 0 || (economyManager.hasSufficientFunds(player1, betAmount)
+                        && economyManager.hasSufficientFunds(player2, betAmount)));
+        if (!valid) {
+            if (player1 != null) {
+                messageManager.sendMessage(player1, "arena-wait-cancelled");
+            }
+            if (player2 != null) {
+                messageManager.sendMessage(player2, "arena-wait-cancelled");
+            }
+            return;
+        }
+        
+        beginDuel(player1, player2, betAmount, arenaManager.getPool());
+    }
+
+    /**
+     * Oyuncunun boş arena beklediği düelloyu iptal eder ve rakibini bilgilendirir
+     *
+     * @param player Oyuncu
+     * @return Oyuncu arena bekliyorsa true
+     */
+    public boolean cancelArenaWait(Player player) {
+        if (arenaManager == null) {
+            return false;
+        }
+        
+        UUID opponentUuid = arenaManager.getPool().cancelWaiting(player.getUniqueId());
+        if (opponentUuid == null) {
+            return false;
+        }
+        
+        messageManager.sendMessage(player, "arena-wait-cancelled");
+        Player opponent = Bukkit.getPlayer(opponentUuid);
+        if (opponent != null) {
+            messageManager.sendMessage(opponent, "arena-wait-cancelled");
+        }
+        return true;
+    }
+
+    /**
+     * @return Arena sistemi açık ve kullanılabilir arena varsa true
+     */
+    private boolean useArenas() {
+        return plugin.getConfig().getBoolean("duels.arenas.enabled", true) &&
+               arenaManager != null &&
+               arenaManager.isEnabled() &&
+               arenaManager.getPool().hasArenas();
+    }
+
+    /**
+     * Düelloyu kaydeder, varsa arena ayırıp oyuncuları ışınlar ve geri sayımı başlatır
+     *
+     * @param arenaPool Arena havuzu, arena kullanılmıyorsa null
+     */
+    private void beginDuel(Player player1, Player player2, double betAmount, ArenaPool arenaPool) {
         // Oyuncuların lokasyonlarını sakla
         Location player1Loc = player1.getLocation().clone();
         Location player2Loc = player2.getLocation().clone();
         
-        // Oyuncuları düelloda işaretle
-        UUID player1Uuid = player1.getUniqueId();
-        UUID player2Uuid = player2.getUniqueId();
-        
-        playersInDuel.add(player1Uuid);
-        playersInDuel.add(player2Uuid);
-        
         // Düello oluştur
         Duel duel = new Duel(player1, player2, player1Loc, player2Loc, betAmount);
         
-        // Düelloyu aktif düellolar listesine ekle
-        activeDuels.put(duel.getId(), duel);
-        
-        // Arena kullanımını kontrol et
-        boolean useArenas = plugin.getConfig().getBoolean("duels.arenas.enabled", true) && 
-                           arenaManager != null && 
-                           arenaManager.isEnabled() && 
-                           !arenaManager.getArenas().isEmpty();
-        
-        // Debug log
-        if (plugin.getConfig().getBoolean("debug", false)) {
-            plugin.getLogger().info("Arena usage check: " + useArenas + 
-                                    " (config: " + plugin.getConfig().getBoolean("duels.arenas.enabled", true) + 
-                                    ", manager: " + (arenaManager != null) + 
-                                    ", enabled: " + (arenaManager != null && arenaManager.isEnabled()) + 
-                                    ", arenas: " + (arenaManager != null && !arenaManager.getArenas().isEmpty()) + ")");
+        // Düelloyu kaydet ve oyuncuları geri sayıma al; oyunculardan biri bu arada başka düelloya girdiyse vazgeç
+        if (!lifecycle.register(duel)) {
+            messageManager.sendMessage(player1, "duel-status-changed");
+            messageManager.sendMessage(player2, "duel-status-changed");
+            return;
         }
         
-        Map<String, String> placeholders = null;
         Arena selectedArena = null;
         
-        if (useArenas) {
-            // Uygun arenaları filtrele (etkin olanlar)
-            List<Arena> availableArenas = arenaManager.getArenas().values().stream()
-                    .filter(Arena::isEnabled)
-                    .filter(arena -> arena.getPos1() != null && arena.getPos2() != null)
-                    .collect(Collectors.toList());
+        if (arenaPool != null) {
+            // Boş arenayı havuzdan ayır, düello bitince yaşam döngüsü kancası bırakır
+            selectedArena = arenaPool.reserve(duel.getId(), player1Loc, player2Loc);
             
-            // Debug log
-            if (plugin.getConfig().getBoolean("debug", false)) {
-                plugin.getLogger().info("Available arenas: " + availableArenas.size());
-                for (Arena arena : availableArenas) {
-                    plugin.getLogger().info(" - " + arena.getName() + " (enabled: " + arena.isEnabled() + 
-                                           ", pos1: " + (arena.getPos1() != null) + 
-                                           ", pos2: " + (arena.getPos2() != null) + ")");
-                }
-            }
-            
-            if (!availableArenas.isEmpty()) {
-                // Rastgele arena seç (çok sayıda arena olduğunda performans için optimizasyon)
-                int randomIndex = ThreadLocalRandom.current().nextInt(availableArenas.size());
-                selectedArena = availableArenas.get(randomIndex);
+            if (selectedArena != null) {
+                duel.setArenaId(selectedArena.getId());
                 
                 // Debug log
                 if (plugin.getConfig().getBoolean("debug", false)) {
-                    plugin.getLogger().info("Selected arena: " + selectedArena.getName());
+                    plugin.getLogger().info("Selected arena: " + selectedArena.getName() + " (" + arenaPool.getStrategy()
+                            + ", free: " + arenaPool.getFreeCount() + "/" + arenaPool.getAvailableCount() + ")");
                 }
                 
-                // Arena konumlarının null olmadığından emin ol
-                if (selectedArena.getPos1() != null && selectedArena.getPos2() != null) {
-                    // Oyuncuların hala çevrimiçi olduğundan emin ol
-                    if (player1.isOnline() && player2.isOnline()) {
-                        try {
-                            // Clone and add 0.5 offset to center players on blocks and ensure they're on solid ground
-                            Location pos1 = selectedArena.getPos1().clone().add(0.5, 0.1, 0.5);
-                            Location pos2 = selectedArena.getPos2().clone().add(0.5, 0.1, 0.5);
-                            
-                            // Debug log
-                            if (plugin.getConfig().getBoolean("debug", false)) {
-                                plugin.getLogger().info("Teleporting players to arena:");
-                                plugin.getLogger().info(" - Player1: " + player1.getName() + " to " + 
-                                                      pos1.getWorld().getName() + "," + 
-                                                      pos1.getX() + "," + pos1.getY() + "," + pos1.getZ());
-                                plugin.getLogger().info(" - Player2: " + player2.getName() + " to " + 
-                                                      pos2.getWorld().getName() + "," + 
-                                                      pos2.getX() + "," + pos2.getY() + "," + pos2.getZ());
+                // Oyuncuların hala çevrimiçi olduğundan emin ol
+                if (player1.isOnline() && player2.isOnline()) {
+                    try {
+                        // Add 0.5 offset to center players on blocks and ensure they're on solid ground (getters return copies)
+                        Location pos1 = selectedArena.getPos1().add(0.5, 0.1, 0.5);
+                        Location pos2 = selectedArena.getPos2().add(0.5, 0.1, 0.5);
+                        
+                        // Debug log
+                        if (plugin.getConfig().getBoolean("debug", false)) {
+                            plugin.getLogger().info("Teleporting players to arena:");
+                            plugin.getLogger().info(" - Player1: " + player1.getName() + " to " + 
+                                                  pos1.getWorld().getName() + "," + 
+                                                  pos1.getX() + "," + pos1.getY() + "," + pos1.getZ());
+                            plugin.getLogger().info(" - Player2: " + player2.getName() + " to " + 
+                                                  pos2.getWorld().getName() + "," + 
+                                                  pos2.getX() + "," + pos2.getY() + "," + pos2.getZ());
+                        }
+                        
+                        // First save original locations to return to later, and keep their chunks loaded for the return
+                        duel.setChallengerLocation(player1Loc);
+                        duel.setChallengedLocation(player2Loc);
+                        teleportPipeline.hold(duel.getId(), player1Loc);
+                        teleportPipeline.hold(duel.getId(), player2Loc);
+                        
+                        // Arena chunk'ları arka planda yüklenir, yükleme geri sayımla örtüşür
+                        String arenaName = selectedArena.getName();
+                        CompletableFuture<Boolean> arrival = teleportPipeline.teleport(player1, pos1)
+                                .thenCombine(teleportPipeline.teleport(player2, pos2), (first, second) -> first && second);
+                        arenaArrivals.put(duel.getId(), arrival);
+                        
+                        arrival.thenAccept(arrived -> {
+                            if (!arrived) {
+                                return;
                             }
                             
-                            // First save original locations to return to later
-                            duel.setChallengerLocation(player1Loc);
-                            duel.setChallengedLocation(player2Loc);
-                            
-                            // Then teleport players with a slight delay to ensure the teleport completes
-                            new BukkitRunnable() {
-                                @Override
-                                public void run() {
-                                    if (player1.isOnline()) {
-                                        player1.teleport(pos1);
-                                    }
-                                }
-                            }.runTask(plugin);
-                            
-                            new BukkitRunnable() {
-                                @Override
-                                public void run() {
-                                    if (player2.isOnline()) {
-                                        player2.teleport(pos2);
-                                    }
-                                }
-                            }.runTask(plugin);
-                            
-                            // Arena bilgisini placeholders'a ekle
-                            placeholders = new HashMap<>();
-                            placeholders.put("arena", selectedArena.getName());
-                            
                             // Teleport mesajı gönder
-                            messageManager.sendMessage(player1, "teleported-to-arena", placeholders);
-                            messageManager.sendMessage(player2, "teleported-to-arena", placeholders);
-                        } catch (Exception e) {
-                            // Log any teleport errors
-                            plugin.getLogger().severe("Error teleporting players to arena: " + e.getMessage());
-                            e.printStackTrace();
-                        }
+                            Map<String, String> arenaPlaceholders = new HashMap<>();
+                            arenaPlaceholders.put("arena", arenaName);
+                            messageManager.sendMessage(player1, "teleported-to-arena", arenaPlaceholders);
+                            messageManager.sendMessage(player2, "teleported-to-arena", arenaPlaceholders);
+                        });
+                    } catch (Exception e) {
+                        // Log any teleport errors
+                        plugin.getLogger().severe("Error teleporting players to arena: " + e.getMessage());
+                        e.printStackTrace();
                     }
                 }
             }
         }
         
-        // Oyuncuları geri sayıma ekle
-        addPlayersToCountdown(player1, player2);
-        
         // Geri sayımı başlat
         int countdown = plugin.getConfig().getInt("duels.countdown", 5);
         
-        // Geri sayım görevi
-        new BukkitRunnable() {
-            int secondsLeft = countdown;
-            
-            @Override
-            public void run() {
-                // Oyunculardan biri çevrimiçi değilse, düelloyu iptal et
-                if (!player1.isOnline() || !player2.isOnline()) {
-                    endDuelPrematurely(duel);
-                    cancel();
+        // Geri sayım adımları zaman çarkı üzerinden saniyede bir çalışır
+        duelTimers.put(duel.getId(), timingWheel.schedule(1L,
+                () -> countdownStep(duel, player1, player2, betAmount, countdown)));
+    }
+
+    /**
+     * Geri sayımın bir adımını çalıştırır ve bir sonrakini zamanlar
+     *
+     * @param duel Düello
+     * @param player1 Birinci oyuncu
+     * @param player2 İkinci oyuncu
+     * @param betAmount Bahis miktarı
+     * @param secondsLeft Kalan saniye
+     */
+    private void countdownStep(Duel duel, Player player1, Player player2, double betAmount, int secondsLeft) {
+        // Oyunculardan biri çevrimiçi değilse, düelloyu iptal et
+        if (!player1.isOnline() || !player2.isOnline()) {
+            endDuelPrematurely(duel, Duel.EndReason.DISCONNECT);
+            return;
+        }
+        
+        // Geri sayım tamamlandı, düelloyu başlat
+        if (secondsLeft <= 0) {
+            // Arena ışınlanması sürüyorsa oyuncular varana kadar saniyede bir yeniden dene
+            CompletableFuture<Boolean> arrival = arenaArrivals.get(duel.getId());
+            if (arrival != null && (!arrival.isDone() || !arrival.join())) {
+                int maxWait = plugin.getConfig().getInt("duels.teleport.max-wait", 10);
+                if (arrival.isDone() || -secondsLeft >= maxWait) {
+                    endWithoutWinner(duel, Duel.EndReason.CANCELLED, "arena-teleport-failed");
                     return;
                 }
                 
-                // Geri sayım tamamlandı, düelloyu başlat
-                if (secondsLeft <= 0) {
-                    // Düello durumunu güncelle
-                    duel.setState(Duel.DuelState.ACTIVE);
-                    
-                    // Oyuncuları hareketsiz moddan çıkar
-                    removePlayersFromCountdown(player1, player2);
-                    
-                    // Düello başlangıç mesajını gönder
-                    if (betAmount > 0) {
-                        // Para ödüllü düello
-                        Map<String, String> msgPlaceholders = new HashMap<>();
-                        msgPlaceholders.put("amount", economyManager.formatMoney(betAmount));
-                        
-                        messageManager.sendMessage(player1, "duel-started-money", msgPlaceholders);
-                        messageManager.sendMessage(player2, "duel-started-money", msgPlaceholders);
-                        
-                        // Yüksek değerli düello ise duyuru yap
-                        double announcementThreshold = plugin.getConfig().getDouble("economy.announcement-threshold", 200000.0);
-                        
-                        if (betAmount * 2 >= announcementThreshold) {
-                            Map<String, String> announcePlaceholders = new HashMap<>();
-                            announcePlaceholders.put("player1", player1.getName());
-                            announcePlaceholders.put("player2", player2.getName());
-                            announcePlaceholders.put("amount", economyManager.formatMoney(betAmount * 2));
-                            
-                            // Sunucudaki herkese duyur
-                            for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-                                messageManager.sendMessage(onlinePlayer, "high-value-duel-announcement", announcePlaceholders);
-                            }
-                        }
-                    } else {
-                        // Normal düello
-                        messageManager.sendMessage(player1, "duel-started");
-                        messageManager.sendMessage(player2, "duel-started");
-                    }
-                    
-                    cancel();
-                } else {
-                    // Geri sayım mesajını gönder
-                    Map<String, String> countPlaceholders = new HashMap<>();
-                    countPlaceholders.put("seconds", String.valueOf(secondsLeft));
+                duelTimers.put(duel.getId(), timingWheel.schedule(20L,
+                        () -> countdownStep(duel, player1, player2, betAmount, secondsLeft - 1)));
+                return;
+            }
+            
+            // Düello durumunu güncelle (oyuncular hareketsiz moddan çıkar)
+            if (!lifecycle.transition(duel, Duel.DuelState.COUNTDOWN, Duel.DuelState.ACTIVE)) {
+                return;
+            }
+            duel.markStarted();
+            
+            // Düello başlangıç mesajını gönder
+            if (betAmount > 0) {
+                // Para ödüllü düello
+                Map<String, String> msgPlaceholders = new HashMap<>();
+                msgPlaceholders.put("amount", economyManager.formatMoney(betAmount));
+                
+                messageManager.sendMessage(player1, "duel-started-money", msgPlaceholders);
+                messageManager.sendMessage(player2, "duel-started-money", msgPlaceholders);
+                
+                // Yüksek değerli düello ise duyuru yap
+                double announcementThreshold = plugin.getConfig().getDouble("economy.announcement-threshold", 200000.0);
+                
+                if (betAmount * 2 >= announcementThreshold) {
+                    Map<String, String> announcePlaceholders = new HashMap<>();
+                    announcePlaceholders.put("player1", player1.getName());
+                    announcePlaceholders.put("player2", player2.getName());
+                    announcePlaceholders.put("amount", economyManager.formatMoney(betAmount * 2));
                     
-                    if (betAmount > 0) {
-                        // Para ödüllü düello
-                        countPlaceholders.put("amount", economyManager.formatMoney(betAmount));
-                        
-                        messageManager.sendMessage(player1, "duel-countdown-money", countPlaceholders);
-                        messageManager.sendMessage(player2, "duel-countdown-money", countPlaceholders);
-                    } else {
-                        // Normal düello
-                        messageManager.sendMessage(player1, "duel-countdown", countPlaceholders);
-                        messageManager.sendMessage(player2, "duel-countdown", countPlaceholders);
+                    // Sunucudaki herkese duyur
+                    for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
+                        messageManager.sendMessage(onlinePlayer, "high-value-duel-announcement", announcePlaceholders);
                     }
-                    
-                    secondsLeft--;
                 }
+            } else {
+                // Normal düello
+                messageManager.sendMessage(player1, "duel-started");
+                messageManager.sendMessage(player2, "duel-started");
+            }
+            
+            // Süre sınırını başlat
+            int maxDuration = plugin.getConfig().getInt("duel.max-duration", 300);
+            if (maxDuration > 0) {
+                duelTimers.put(duel.getId(), timingWheel.schedule(maxDuration * 20L, () -> expireDuel(duel)));
+            } else {
+                duelTimers.remove(duel.getId());
             }
-        }.runTaskTimer(plugin, 0L, 20L);
+        } else {
+            // Geri sayım mesajını gönder
+            Map<String, String> countPlaceholders = new HashMap<>();
+            countPlaceholders.put("seconds", String.valueOf(secondsLeft));
+            
+            if (betAmount > 0) {
+                // Para ödüllü düello
+                countPlaceholders.put("amount", economyManager.formatMoney(betAmount));
+                
+                messageManager.sendMessage(player1, "duel-countdown-money", countPlaceholders);
+                messageManager.sendMessage(player2, "duel-countdown-money", countPlaceholders);
+            } else {
+                // Normal düello
+                messageManager.sendMessage(player1, "duel-countdown", countPlaceholders);
+                messageManager.sendMessage(player2, "duel-countdown", countPlaceholders);
+            }
+            
+            duelTimers.put(duel.getId(), timingWheel.schedule(20L,
+                    () -> countdownStep(duel, player1, player2, betAmount, secondsLeft - 1)));
+        }
+    }
+
+    /**
+     * Süre sınırını aşan düelloyu kazanansız bitirir ve bahisleri iade eder
+     *
+     * @param duel Düello
+     */
+    private void expireDuel(Duel duel) {
+        endWithoutWinner(duel, Duel.EndReason.TIMEOUT, "duel-time-expired");
+    }
+
+    /**
+     * Bekçinin çıkmaz saydığı düelloyu bitirir
+     *
+     * @param duel Düello
+     * @param winnerUuid Kazanan (hasara göre), kazanan yoksa null
+     */
+    public void endStalemate(Duel duel, UUID winnerUuid) {
+        if (winnerUuid != null) {
+            endDuel(duel, winnerUuid, Duel.EndReason.STALEMATE);
+        } else {
+            endWithoutWinner(duel, Duel.EndReason.STALEMATE, "duel-stalemate");
+        }
+    }
+
+    /**
+     * Düelloyu kazanansız bitirir, bahisleri iade eder ve oyuncuları geri ışınlar
+     *
+     * @param duel Düello
+     * @param reason Bitiş nedeni
+     * @param messageKey Oyunculara gönderilecek mesaj
+     */
+    private void endWithoutWinner(Duel duel, Duel.EndReason reason, String messageKey) {
+        // Oyuncular bitiş durumuna geçmeden önce, dönüş chunk'ları hâlâ tutulurken ışınlanır
+        endDuelPrematurely(duel, reason, () -> {
+            Player challenger = Bukkit.getPlayer(duel.getChallenger());
+            Player challenged = Bukkit.getPlayer(duel.getChallenged());
+
+            if (challenger != null) {
+                messageManager.sendMessage(challenger, messageKey);
+            }
+
+            if (challenged != null) {
+                messageManager.sendMessage(challenged, messageKey);
+            }
+
+            if (plugin.getConfig().getBoolean("duels.teleport-back", true)) {
+                returnPlayers(duel, challenger, duel.getChallengerLocation(), challenged, duel.getChallengedLocation());
+            }
+        });
+    }
+
+    /**
+     * Oyuncuları başlangıç konumlarına ışınlar; düellonun tuttuğu dönüş chunk'ları ışınlanmalar bitince bırakılır.
+     * Düello bitiş durumuna geçmeden önce çağrılmalıdır.
+     *
+     * @param duel Düello
+     * @param first Birinci oyuncu (çevrimdışıysa null)
+     * @param firstLocation Birinci oyuncunun dönüş konumu
+     * @param second İkinci oyuncu (çevrimdışıysa null)
+     * @param secondLocation İkinci oyuncunun dönüş konumu
+     */
+    private void returnPlayers(Duel duel, Player first, Location firstLocation, Player second, Location secondLocation) {
+        List<CompletableFuture<Boolean>> returns = new ArrayList<>();
+        if (first != null) {
+            returns.add(teleportPipeline.teleport(first, firstLocation));
+        }
+        if (second != null) {
+            returns.add(teleportPipeline.teleport(second, secondLocation));
+        }
+
+        UUID duelId = duel.getId();
+        returningDuels.add(duelId);
+        CompletableFuture.allOf(returns.toArray(new CompletableFuture[0])).whenComplete((v, ex) -> {
+            // Işınlanmalar ana thread'de tamamlanır; eklenti kapanıyorsa biletler sunucu tarafından kaldırılır
+            if (Bukkit.isPrimaryThread()) {
+                releaseReturnChunks(duelId);
+            } else if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> releaseReturnChunks(duelId));
+            }
+        });
+    }
+
+    private void releaseReturnChunks(UUID duelId) {
+        returningDuels.remove(duelId);
+        teleportPipeline.releaseAll(duelId);
     }
 
     /**
@@ -517,26 +940,34 @@ public class DuelManager {
      * @param winnerUuid Kazananın UUID'si
      */
     public void endDuel(Duel duel, UUID winnerUuid) {
-        if (duel.getState() != Duel.DuelState.ACTIVE) {
+        endDuel(duel, winnerUuid, Duel.EndReason.DEATH);
+    }
+
+    /**
+     * Bir düelloyu bitirir
+     *
+     * @param duel Düello
+     * @param winnerUuid Kazananın UUID'si
+     * @param reason Bitiş nedeni
+     */
+    public void endDuel(Duel duel, UUID winnerUuid, Duel.EndReason reason) {
+        // Bitişi yalnızca bir çağıran talep edebilir (ölüm, çıkış ve iptal aynı anda gelse bile)
+        if (!lifecycle.transition(duel, Duel.DuelState.ACTIVE, Duel.DuelState.ENDING)) {
             return;
         }
 
         // Düello durumunu güncelle
-        duel.setState(Duel.DuelState.FINISHED);
         duel.setWinner(winnerUuid);
+        duel.markEnded(reason);
+        cancelDuelTimer(duel);
+        
+        // Geçmişe ekle (yalnızca kuyruğa alınır, G/Ç beklenmez)
+        plugin.getDatabaseManager().getHistoryWriter().append(DuelRecord.of(duel));
 
         UUID loserUuid = duel.getOpponent(winnerUuid);
-
-        // Oyuncuları listeden çıkar
-        playersInDuel.remove(winnerUuid);
-        playersInDuel.remove(loserUuid);
-
-        // İstatistikleri güncelle
-        PlayerStats winnerStats = getPlayerStats(winnerUuid);
-        PlayerStats loserStats = getPlayerStats(loserUuid);
-
-        winnerStats.addWin();
-        loserStats.addLoss();
+        
+        // Puanları arka planda güncelle
+        ratingManager.recordResult(winnerUuid, loserUuid, ratingManager.getLadder(duel.getBetAmount()));
 
         // Kazanan ve kaybedene mesaj gönder
         Player winner = Bukkit.getPlayer(winnerUuid);
@@ -547,9 +978,9 @@ public class DuelManager {
             double totalPot = duel.getTotalPot();
             double winnerAmount = duel.getWinnerAmount(economyManager.getWinnerPercentage());
             
-            // Para istatistiklerini güncelle
-            winnerStats.addMoneyWon(winnerAmount);
-            loserStats.addMoneyLost(duel.getBetAmount());
+            // İstatistikleri güncelle (günlüğe yazılır ve kalıcı hale gelir)
+            statsManager.recordWin(winnerUuid, winnerAmount);
+            statsManager.recordLoss(loserUuid, duel.getBetAmount());
             
             // Parayı öde
             economyManager.depositMoney(Bukkit.getOfflinePlayer(winnerUuid), winnerAmount);
@@ -580,6 +1011,10 @@ public class DuelManager {
                 }
             }
         } else {
+            // İstatistikleri güncelle
+            statsManager.recordWin(winnerUuid, 0);
+            statsManager.recordLoss(loserUuid, 0);
+
             // Normal düello mesajları
             if (winner != null) {
                 messageManager.sendMessage(winner, "duel-won");
@@ -590,17 +1025,17 @@ public class DuelManager {
             }
         }
 
+        lifecycle.transition(duel, Duel.DuelState.ENDING, Duel.DuelState.RESTORING);
+
         // Orijinal lokasyonlara geri ışınlama
         boolean teleportBack = plugin.getConfig().getBoolean("duels.teleport-back", true);
         
         if (teleportBack) {
-            if (winner != null) {
-                winner.teleport(duel.getChallengerLocation());
-            }
-            
-            if (loser != null) {
-                loser.teleport(duel.getChallengedLocation());
-            }
+            // Herkes kendi başlangıç konumuna döner (chunk'lar düello boyunca ve dönüş bitene kadar yüklü tutulur)
+            boolean winnerIsChallenger = winnerUuid.equals(duel.getChallenger());
+            returnPlayers(duel,
+                    winner, winnerIsChallenger ? duel.getChallengerLocation() : duel.getChallengedLocation(),
+                    loser, winnerIsChallenger ? duel.getChallengedLocation() : duel.getChallengerLocation());
         }
 
         // Oyuncuları iyileştirme
@@ -631,27 +1066,41 @@ public class DuelManager {
             }
         }
 
-        // Aktif düellolar listesinden kaldır
-        activeDuels.remove(duel.getId());
+        // Aktif düellolar listesinden ve oyuncu dizininden kaldır
+        lifecycle.transition(duel, Duel.DuelState.RESTORING, Duel.DuelState.FINISHED);
+    }
 
-        // Düellodan sonra playersInCountdown'u güncelle
-        if (duelListener != null) {
-            duelListener.updateCountdownPlayers(playersInCountdown);
-        }
+    /**
+     * Bir düelloyu erken bitirir (oyuncu çıktı vb.)
+     *
+     * @param duel Düello
+     * @param reason Bitiş nedeni
+     * @return Düelloyu bu çağrı bitirdiyse true; düello zaten bitiyorsa false
+     */
+    private boolean endDuelPrematurely(Duel duel, Duel.EndReason reason) {
+        return endDuelPrematurely(duel, reason, null);
     }
 
     /**
      * Bir düelloyu erken bitirir (oyuncu çıktı vb.)
      *
      * @param duel Düello
+     * @param reason Bitiş nedeni
+     * @param restore Düello bitiş durumuna geçmeden önce çalıştırılacak geri yükleme (mesaj, ışınlanma), yoksa null
+     * @return Düelloyu bu çağrı bitirdiyse true; düello zaten bitiyorsa false
      */
-    private void endDuelPrematurely(Duel duel) {
-        // Düello durumunu güncelle
-        duel.setState(Duel.DuelState.CANCELLED);
+    private boolean endDuelPrematurely(Duel duel, Duel.EndReason reason, Runnable restore) {
+        // Bitişi talep et; geri sayımdaysa oyuncular hareketsiz moddan çıkar
+        if (lifecycle.beginEnding(duel) == null) {
+            return false;
+        }
 
-        // Oyuncuları listeden çıkar
-        playersInDuel.remove(duel.getChallenger());
-        playersInDuel.remove(duel.getChallenged());
+        // Düello durumunu güncelle
+        duel.markEnded(reason);
+        cancelDuelTimer(duel);
+        
+        // Geçmişe ekle (yalnızca kuyruğa alınır, G/Ç beklenmez)
+        plugin.getDatabaseManager().getHistoryWriter().append(DuelRecord.of(duel));
 
         // Para iadesi yap (para düellosu ise)
         if (duel.isMoneyDuel()) {
@@ -660,52 +1109,36 @@ public class DuelManager {
             economyManager.depositMoney(Bukkit.getOfflinePlayer(duel.getChallenged()), betAmount);
         }
 
-        // Aktif düellolar listesinden kaldır
-        activeDuels.remove(duel.getId());
-    }
+        lifecycle.transition(duel, Duel.DuelState.ENDING, Duel.DuelState.RESTORING);
+        if (restore != null) {
+            restore.run();
+        }
 
-    /**
-     * Bir oyuncunun sayım sürecinde olup olmadığını kontrol eder
-     *
-     * @param playerUuid Kontrol edilecek oyuncunun UUID'si
-     * @return Oyuncu sayım sürecindeyse true, değilse false
-     */
-    public boolean isInCountdown(UUID playerUuid) {
-        return playersInCountdown.contains(playerUuid);
+        // Aktif düellolar listesinden ve oyuncu dizininden kaldır
+        lifecycle.transition(duel, Duel.DuelState.RESTORING, Duel.DuelState.CANCELLED);
+        return true;
     }
 
     /**
-     * Oyuncuları geri sayım durumuna ekler
+     * Düellonun bekleyen geri sayım adımını veya süre sınırını iptal eder
      *
-     * @param player1 Birinci oyuncu
-     * @param player2 İkinci oyuncu
+     * @param duel Düello
      */
-    private void addPlayersToCountdown(Player player1, Player player2) {
-        // Eski metodu koruyalım
-        playersInCountdown.add(player1.getUniqueId());
-        playersInCountdown.add(player2.getUniqueId());
-        
-        // Optimize edilmiş versiyonu da güncelleyelim
-        if (duelListener != null) {
-            duelListener.updateCountdownPlayers(playersInCountdown);
+    private void cancelDuelTimer(Duel duel) {
+        TimingWheel.Timeout timer = duelTimers.remove(duel.getId());
+        if (timer != null) {
+            timer.cancel();
         }
     }
 
     /**
-     * Oyuncuları geri sayım durumundan çıkarır
+     * Bir oyuncunun sayım sürecinde olup olmadığını kontrol eder
      *
-     * @param player1 Birinci oyuncu
-     * @param player2 İkinci oyuncu
+     * @param playerUuid Kontrol edilecek oyuncunun UUID'si
+     * @return Oyuncu sayım sürecindeyse true, değilse false
      */
-    private void removePlayersFromCountdown(Player player1, Player player2) {
-        // Eski metodu koruyalım
-        playersInCountdown.remove(player1.getUniqueId());
-        playersInCountdown.remove(player2.getUniqueId());
-        
-        // Optimize edilmiş versiyonu da güncelleyelim
-        if (duelListener != null) {
-            duelListener.updateCountdownPlayers(playersInCountdown);
-        }
+    public boolean isInCountdown(UUID playerUuid) {
+        return lifecycle.isInCountdown(playerUuid);
     }
 
     /**
@@ -715,17 +1148,17 @@ public class DuelManager {
      * @return Bekleyen istek varsa true, yoksa false
      */
     public boolean hasPendingRequests(Player player) {
-        return pendingRequests.containsKey(player.getUniqueId());
+        return pendingRequests.hasIncoming(player.getUniqueId());
     }
 
     /**
-     * Bir oyuncunun istatistiklerini getirir
+     * Bir oyuncuya gelen bekleyen düello isteklerini getirir
      *
-     * @param uuid Oyuncu UUID
-     * @return Oyuncu istatistikleri
+     * @param playerUuid Oyuncu UUID
+     * @return Gelen istekler, eskiden yeniye
      */
-    private PlayerStats getPlayerStats(UUID uuid) {
-        return playerStats.computeIfAbsent(uuid, k -> new PlayerStats(uuid));
+    public List<DuelRequest> getIncomingRequests(UUID playerUuid) {
+        return pendingRequests.getIncoming(playerUuid);
     }
 
     /**
@@ -735,9 +1168,30 @@ public class DuelManager {
      * @param target İstatistikleri görüntülenen oyuncu
      */
     public void showStats(Player viewer, Player target) {
-        UUID targetUuid = target.getUniqueId();
-        PlayerStats stats = getPlayerStats(targetUuid);
+        String targetName = target.getName();
+        statsManager.getPlayerStats(target)
+                .thenCombine(ratingManager.getRating(target.getUniqueId(), Rating.DEFAULT_LADDER), (stats, rating) ->
+                        Bukkit.getScheduler().runTask(plugin, () -> {
+                            if (viewer.isOnline()) {
+                                showStats(viewer, targetName, stats, rating);
+                            }
+                        }))
+                .exceptionally(ex -> {
+                    plugin.getLogger().log(Level.SEVERE, "İstatistikler gösterilemedi: " + targetName, ex);
+                    Bukkit.getScheduler().runTask(plugin, () -> messageManager.sendMessage(viewer, "stats-unavailable"));
+                    return null;
+                });
+    }
 
+    /**
+     * Verilen istatistikleri gösterir (çevrimdışı oyuncular için)
+     *
+     * @param viewer İstatistikleri görüntüleyen oyuncu
+     * @param targetName İstatistikleri görüntülenen oyuncunun adı
+     * @param stats Oyuncu istatistikleri
+     * @param rating Oyuncunun varsayılan sıralamadaki puanı
+     */
+    public void showStats(Player viewer, String targetName, PlayerStats stats, Rating rating) {
         int wins = stats.getWins();
         int losses = stats.getLosses();
         int totalDuels = wins + losses;
@@ -747,7 +1201,7 @@ public class DuelManager {
         double netEarnings = stats.getNetEarnings();
 
         Map<String, String> placeholders = new HashMap<>();
-        placeholders.put("player", target.getName());
+        placeholders.put("player", targetName);
         placeholders.put("wins", String.valueOf(wins));
         placeholders.put("losses", String.valueOf(losses));
         placeholders.put("total", String.valueOf(totalDuels));
@@ -765,6 +1219,14 @@ public class DuelManager {
         messageManager.sendMessage(viewer, "stats-total", placeholders);
         messageManager.sendMessage(viewer, "stats-winrate", placeholders);
         
+        if (ratingManager.isEnabled() && rating != null) {
+            synchronized (rating) {
+                placeholders.put("rating", String.valueOf(Math.round(rating.getRating())));
+                placeholders.put("deviation", String.valueOf(Math.round(rating.getDeviation())));
+            }
+            messageManager.sendMessage(viewer, "stats-rating", placeholders);
+        }
+        
         if (economyManager.isEconomyEnabled()) {
             messageManager.sendMessage(viewer, "stats-money-won", placeholders);
             messageManager.sendMessage(viewer, "stats-money-lost", placeholders);
@@ -781,12 +1243,7 @@ public class DuelManager {
      * @return Aktif düello
      */
     public Duel getActiveDuel(UUID playerUuid) {
-        for (Duel duel : activeDuels.values()) {
-            if (duel.hasPlayer(playerUuid)) {
-                return duel;
-            }
-        }
-        return null;
+        return lifecycle.getDuel(playerUuid);
     }
 
     /**
@@ -796,17 +1253,31 @@ public class DuelManager {
      * @return Düelloda ise true, değilse false
      */
     public boolean isInDuel(UUID playerUuid) {
-        return playersInDuel.contains(playerUuid);
+        return lifecycle.isInDuel(playerUuid);
     }
 
     /**
-     * Tüm aktif düelloları sonlandırır
+     * Kayıtlı tüm düelloları getirir
+     *
+     * @return Düelloların anlık kopyası
+     */
+    public List<Duel> getActiveDuels() {
+        return lifecycle.getActiveDuels();
+    }
+
+    /**
+     * Tüm aktif düelloları sonlandırır, sırayı temizler ve düello gözlemcisini durdurur; eklenti kapanırken çağrılır
      * 
      * @param reason Sonlandırma nedeni
      */
     public void endAllDuels(String reason) {
+        // Bitecek düelloların arenaları bekleyenlere verilmesin
+        if (arenaManager != null) {
+            arenaManager.getPool().clearWaiting();
+        }
+        
         // Kopyayla çalış ki ConcurrentModificationException oluşmasın
-        List<Duel> duels = new ArrayList<>(activeDuels.values());
+        List<Duel> duels = lifecycle.getActiveDuels();
         
         for (Duel duel : duels) {
             // Her düelloyu iptal et
@@ -827,10 +1298,14 @@ public class DuelManager {
             }
             
             // Düelloyu sonlandır
-            endDuelPrematurely(duel);
+            endDuelPrematurely(duel, Duel.EndReason.CANCELLED);
         }
         
-        // Tüm bekleyen istekleri temizle
+        // Tüm bekleyen istekleri ve sırayı temizle
         pendingRequests.clear();
+        matchmakingQueue.clear();
+        
+        // Zaman çarkı durdurulmadan örneklemeyi bırak
+        watchdog.stop();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,176 @@
+package dev.itscactus.cduello.managers;
+
+import dev.itscactus.cduello.models.DuelRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bekleyen düello isteklerini hem hedefe hem gönderene göre dizinleyen depo.
+ * Bir oyuncunun birden fazla gelen isteği olabilir; aynı gönderen-hedef çifti için yalnızca en son istek tutulur.
+ * En son gelen istek ekleme sırasının sonundan okunduğu için sınır kapalıyken de sabit zamanda bulunur.
+ */
+public class DuelRequestStore {
+    
+    /**
+     * Ekleme sonucu
+     */
+    public enum AddResult {
+        ADDED,
+        REPLACED,
+        SENDER_LIMIT,
+        TARGET_LIMIT
+    }
+    
+    // Hedef -> (gönderen -> istek), ekleme sırasıyla
+    private final Map<UUID, LinkedHashMap<UUID, DuelRequest>> byTarget = new HashMap<>();
+    // Gönderen -> (hedef -> istek)
+    private final Map<UUID, Map<UUID, DuelRequest>> bySender = new HashMap<>();
+    
+    /**
+     * Bir isteği ekler; aynı çift için bekleyen istek varsa yerine geçer
+     * 
+     * @param request Yeni istek
+     * @param maxOutgoing Gönderen başına en fazla bekleyen istek (0 veya altı sınırsız)
+     * @param maxIncoming Hedef başına en fazla bekleyen istek (0 veya altı sınırsız)
+     * @return Ekleme sonucu; sınır aşıldıysa istek eklenmez
+     */
+    public synchronized AddResult add(DuelRequest request, int maxOutgoing, int maxIncoming) {
+        UUID sender = request.getSender();
+        UUID target = request.getTarget();
+        
+        Map<UUID, DuelRequest> outgoing = bySender.get(sender);
+        LinkedHashMap<UUID, DuelRequest> incoming = byTarget.get(target);
+        boolean replacing = outgoing != null && outgoing.containsKey(target);
+        
+        if (!replacing) {
+            if (maxOutgoing > 0 && outgoing != null && outgoing.size() >= maxOutgoing) {
+                return AddResult.SENDER_LIMIT;
+            }
+            if (maxIncoming > 0 && incoming != null && incoming.size() >= maxIncoming) {
+                return AddResult.TARGET_LIMIT;
+            }
+        }
+        
+        // Eski isteği çıkarıp yeniden eklemek onu en yeni konumuna taşır
+        DuelRequest previous = byTarget.computeIfAbsent(target, k -> new LinkedHashMap<>()).remove(sender);
+        if (previous != null) {
+            previous.cancelExpiry();
+        }
+        byTarget.get(target).put(sender, request);
+        bySender.computeIfAbsent(sender, k -> new HashMap<>()).put(target, request);
+        
+        return replacing ? AddResult.REPLACED : AddResult.ADDED;
+    }
+    
+    /**
+     * @return Göndericiden hedefe bekleyen istek, yoksa null
+     */
+    public synchronized DuelRequest get(UUID target, UUID sender) {
+        Map<UUID, DuelRequest> incoming = byTarget.get(target);
+        return incoming != null ? incoming.get(sender) : null;
+    }
+    
+    /**
+     * @return Hedefe gelen en son istek, yoksa null
+     */
+    public synchronized DuelRequest getLatest(UUID target) {
+        // Boşalan harita silindiği için varsa en az bir istek içerir; ekleme sırasının sonu en yenisidir
+        LinkedHashMap<UUID, DuelRequest> incoming = byTarget.get(target);
+        return incoming != null ? incoming.sequencedValues().getLast() : null;
+    }
+    
+    /**
+     * @return Oyuncuya gelen istekler, eskiden yeniye
+     */
+    public synchronized List<DuelRequest> getIncoming(UUID target) {
+        Map<UUID, DuelRequest> incoming = byTarget.get(target);
+        return incoming != null ? new ArrayList<>(incoming.values()) : Collections.emptyList();
+    }
+    
+    /**
+     * @return Oyuncunun gönderdiği istekler
+     */
+    public synchronized List<DuelRequest> getOutgoing(UUID sender) {
+        Map<UUID, DuelRequest> outgoing = bySender.get(sender);
+        return outgoing != null ? new ArrayList<>(outgoing.values()) : Collections.emptyList();
+    }
+    
+    /**
+     * @return Oyuncunun bekleyen gelen isteği varsa true
+     */
+    public synchronized boolean hasIncoming(UUID target) {
+        return byTarget.containsKey(target);
+    }
+    
+    /**
+     * Verilen isteği, hâlâ bekleyen istek buysa kaldırır
+     * 
+     * @param request Kaldırılacak istek
+     * @return Kaldırıldıysa true; istek zaten yoksa veya yenisiyle değiştirildiyse false
+     */
+    public synchronized boolean remove(DuelRequest request) {
+        if (get(request.getTarget(), request.getSender()) != request) {
+            return false;
+        }
+        
+        unlink(request.getTarget(), request.getSender());
+        return true;
+    }
+    
+    /**
+     * Bir oyuncunun gelen ve giden tüm isteklerini kaldırır
+     * 
+     * @param player Oyuncu UUID
+     * @return Kaldırılan istekler
+     */
+    public synchronized List<DuelRequest> removeAll(UUID player) {
+        List<DuelRequest> removed = new ArrayList<>();
+        removed.addAll(getIncoming(player));
+        removed.addAll(getOutgoing(player));
+        
+        for (DuelRequest request : removed) {
+            unlink(request.getTarget(), request.getSender());
+        }
+        return removed;
+    }
+    
+    /**
+     * Tüm istekleri kaldırır
+     */
+    public synchronized void clear() {
+        for (Map<UUID, DuelRequest> incoming : byTarget.values()) {
+            for (DuelRequest request : incoming.values()) {
+                request.cancelExpiry();
+            }
+        }
+        byTarget.clear();
+        bySender.clear();
+    }
+    
+    private void unlink(UUID target, UUID sender) {
+        Map<UUID, DuelRequest> incoming = byTarget.get(target);
+        if (incoming != null) {
+            DuelRequest removed = incoming.remove(sender);
+            if (removed != null) {
+                removed.cancelExpiry();
+            }
+            if (incoming.isEmpty()) {
+                byTarget.remove(target);
+            }
+        }
+        
+        Map<UUID, DuelRequest> outgoing = bySender.get(sender);
+        if (outgoing != null) {
+            outgoing.remove(target);
+            if (outgoing.isEmpty()) {
+                bySender.remove(sender);
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package dev.itscactus.cduello.managers;
+
+import dev.itscactus.cduello.Main;
+import dev.itscactus.cduello.models.Duel;
+import dev.itscactus.cduello.utils.TimingWheel;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aktif düelloları belirli aralıklarla örnekleyip kimsenin savaşmadığı (çıkmaz) düelloları bitiren bekçi.
+ * <p>
+ * Her örnekte oyuncuların konumu ve o ana kadar verdikleri toplam hasar, düello başına sabit boyutlu bir halka
+ * tampona yazılır. Tampon dolduğunda pencere boyunca neredeyse hiç hasar verilmemişse ve iki oyuncu da
+ * yerinden kıpırdamamışsa veya oyuncular hiç yakınlaşmamışsa düello çıkmaz sayılır ve yapılandırılan sonuçla
+ * bitirilir. Azami düello süresi ayrıca her düello için zaman çarkında tutulur.
+ */
+public class DuelWatchdog {
+
+    /**
+     * Çıkmaz düellonun sonucu
+     */
+    public enum Outcome {
+        /** Kazanan yok, bahisler iade edilir */
+        REFUND,
+        /** Daha çok hasar veren kazanır; eşitse iade edilir */
+        DAMAGE
+    }
+
+    private final Main plugin;
+    private final DuelManager duelManager;
+    private final TimingWheel timingWheel;
+    private final Map<UUID, SampleBuffer> samples = new ConcurrentHashMap<>();
+
+    private boolean enabled;
+    private long intervalTicks;
+    private int windowSize;
+    private double minDamage;
+    private double minMovement;
+    private double engageDistance;
+    private Outcome outcome;
+    private TimingWheel.Timeout sampleTask;
+
+    public DuelWatchdog(Main plugin, DuelManager duelManager, DuelLifecycle lifecycle, TimingWheel timingWheel) {
+        this.plugin = plugin;
+        this.duelManager = duelManager;
+        this.timingWheel = timingWheel;
+        loadConfig();
+
+        // Tamponlar düello başlarken açılır ve bitişi talep edildiğinde bırakılır
+        lifecycle.addHook((duel, from, to) -> {
+            if (to == Duel.DuelState.ACTIVE) {
+                samples.put(duel.getId(), new SampleBuffer(windowSize));
+            } else if (from == Duel.DuelState.ACTIVE) {
+                samples.remove(duel.getId());
+            }
+        });
+    }
+
+    private void loadConfig() {
+        enabled = plugin.getConfig().getBoolean("duel.stalemate.enabled", true);
+        intervalTicks = Math.max(1, plugin.getConfig().getInt("duel.stalemate.sample-interval", 5)) * 20L;
+        windowSize = Math.max(2, plugin.getConfig().getInt("duel.stalemate.window", 12));
+        minDamage = plugin.getConfig().getDouble("duel.stalemate.min-damage", 2.0);
+        minMovement = plugin.getConfig().getDouble("duel.stalemate.min-movement", 3.0);
+        engageDistance = plugin.getConfig().getDouble("duel.stalemate.engage-distance", 12.0);
+
+        String outcomeName = plugin.getConfig().getString("duel.stalemate.outcome", "REFUND");
+        try {
+            outcome = Outcome.valueOf(outcomeName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Geçersiz çıkmaz sonucu: " + outcomeName + ", REFUND kullanılıyor.");
+            outcome = Outcome.REFUND;
+        }
+    }
+
+    /**
+     * Örnekleme döngüsünü başlatır
+     */
+    public void start() {
+        if (enabled && sampleTask == null) {
+            sampleTask = timingWheel.schedule(intervalTicks, this::sampleAll);
+        }
+    }
+
+    /**
+     * Örnekleme döngüsünü durdurur
+     */
+    public void stop() {
+        if (sampleTask != null) {
+            sampleTask.cancel();
+            sampleTask = null;
+        }
+        samples.clear();
+    }
+
+    private void sampleAll() {
+        sampleTask = timingWheel.schedule(intervalTicks, this::sampleAll);
+
+        for (Duel duel : duelManager.getActiveDuels()) {
+            SampleBuffer buffer = samples.get(duel.getId());
+            if (buffer == null || duel.getState() != Duel.DuelState.ACTIVE) {
+                continue;
+            }
+
+            Player challenger = Bukkit.getPlayer(duel.getChallenger());
+            Player challenged = Bukkit.getPlayer(duel.getChallenged());
+            if (challenger == null || challenged == null) {
+                continue;
+            }
+
+            Location loc1 = challenger.getLocation();
+            Location loc2 = challenged.getLocation();
+            buffer.add(loc1.getX(), loc1.getZ(), loc2.getX(), loc2.getZ(),
+                    duel.getDamageDealt(duel.getChallenger()) + duel.getDamageDealt(duel.getChallenged()));
+
+            if (isStalled(buffer, loc1, loc2)) {
+                resolve(duel);
+            }
+        }
+    }
+
+    private boolean isStalled(SampleBuffer buffer, Location loc1, Location loc2) {
+        if (!buffer.isFull() || buffer.damageInWindow() >= minDamage) {
+            return false;
+        }
+
+        // Farklı dünyalardaki oyuncular hiç yakınlaşamaz
+        boolean sameWorld = loc1.getWorld() != null && loc1.getWorld().equals(loc2.getWorld());
+        // Biri kamp yaparken diğeri onu kovalıyorsa düello sürüyordur
+        boolean camping = buffer.maxMovement(0) < minMovement && buffer.maxMovement(1) < minMovement;
+        boolean neverEngaged = !sameWorld || buffer.minSeparation() > engageDistance;
+        return camping || neverEngaged;
+    }
+
+    private void resolve(Duel duel) {
+        if (plugin.getConfig().getBoolean("debug", false)) {
+            plugin.getLogger().info("Düelloda çıkmaz tespit edildi: " + duel.getId() + ", sonuç: " + outcome);
+        }
+
+        UUID winner = null;
+        if (outcome == Outcome.DAMAGE) {
+            double challengerDamage = duel.getDamageDealt(duel.getChallenger());
+            double challengedDamage = duel.getDamageDealt(duel.getChallenged());
+            if (challengerDamage > challengedDamage) {
+                winner = duel.getChallenger();
+            } else if (challengedDamage > challengerDamage) {
+                winner = duel.getChallenged();
+            }
+        }
+
+        duelManager.endStalemate(duel, winner);
+    }
+
+    /**
+     * Düello başına sabit boyutlu örnek tamponu. Konumlar yalnızca x/z olarak, hasar birikimli toplam olarak tutulur.
+     */
+    private static final class SampleBuffer {
+        private final double[] x1;
+        private final double[] z1;
+        private final double[] x2;
+        private final double[] z2;
+        private final double[] damage;
+        private int head = 0;
+        private int count = 0;
+
+        SampleBuffer(int size) {
+            x1 = new double[size];
+            z1 = new double[size];
+            x2 = new double[size];
+            z2 = new double[size];
+            damage = new double[size];
+        }
+
+        void add(double px1, double pz1, double px2, double pz2, double totalDamage) {
+            x1[head] = px1;
+            z1[head] = pz1;
+            x2[head] = px2;
+            z2[head] = pz2;
+            damage[head] = totalDamage;
+            head = (head + 1) % damage.length;
+            if (count < damage.length) {
+                count++;
+            }
+        }
+
+        boolean isFull() {
+            return count == damage.length;
+        }
+
+        private int oldest() {
+            return (head - count + damage.length) % damage.length;
+        }
+
+        private int newest() {
+            return (head - 1 + damage.length) % damage.length;
+        }
+
+        double damageInWindow() {
+            return damage[newest()] - damage[oldest()];
+        }
+
+        /**
+         * @param player 0 meydan okuyan, 1 meydan okunan
+         * @return Pencerenin ilk örneğinden en uzak yatay mesafe
+         */
+        double maxMovement(int player) {
+            double[] xs = player == 0 ? x1 : x2;
+            double[] zs = player == 0 ? z1 : z2;
+            int start = oldest();
+
+            double max = 0;
+            for (int i = 0; i < count; i++) {
+                int index = (start + i) % damage.length;
+                max = Math.max(max, Math.hypot(xs[index] - xs[start], zs[index] - zs[start]));
+            }
+            return max;
+        }
+
+        /**
+         * @return Pencere boyunca oyuncular arasındaki en kısa yatay mesafe
+         */
+        double minSeparation() {
+            double min = Double.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                min = Math.min(min, Math.hypot(x1[i] - x2[i], z1[i] - z2[i]));
+            }
+            return min;
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package dev.itscactus.cduello.managers;
+
+import dev.itscactus.cduello.Main;
+import dev.itscactus.cduello.models.Duel;
+import dev.itscactus.cduello.utils.TimingWheel;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Oyuncuları puan ve bahis kademesine göre eşleştiren sıra.
+ * <p>
+ * Her bahis kademesi için oyuncular puan kovalarında ({@code TreeMap}) tutulur; bir oyuncu için rakip, kendi
+ * arama penceresindeki kovalarda aranır ve pencere beklendikçe genişler. Sıra her tick'te zaman çarkından
+ * ilerletilir ve tick başına en fazla {@code max-checks-per-tick} oyuncu, {@code tick-budget-micros} süresini
+ * aşmadan incelenir; kalanlar bir sonraki tick'te sırayla devam eder.
+ * <p>
+ * Tüm metotlar ana thread'den çağrılmalıdır.
+ */
+public class MatchmakingQueue {
+
+    /**
+     * Oyuncunun bir bahis kademesindeki eşleştirme puanını veren kaynak
+     */
+    @FunctionalInterface
+    public interface RatingProvider {
+        int getRating(UUID uuid, double betAmount);
+    }
+
+    private static final class Entry {
+        private final UUID uuid;
+        private final int tier;
+        private int rating;
+        private int bucket;
+        private final long joinedAt;
+        private boolean removed;
+        // Tarama kuyruğunda bekliyorsa true
+        private boolean scanQueued;
+
+        private Entry(UUID uuid, int tier, int rating, int bucket, long joinedAt) {
+            this.uuid = uuid;
+            this.tier = tier;
+            this.rating = rating;
+            this.bucket = bucket;
+            this.joinedAt = joinedAt;
+        }
+    }
+
+    // Kovadaki bekleme sırası: önce katılma zamanı, eşitse UUID
+    private static final Comparator<Entry> BY_WAIT =
+            Comparator.<Entry>comparingLong(entry -> entry.joinedAt).thenComparing(entry -> entry.uuid);
+
+    private final Main plugin;
+    private final DuelManager duelManager;
+    private final TimingWheel timingWheel;
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    // Kademe -> (puan kovası -> oyuncular, katılma sırasıyla)
+    private final List<TreeMap<Integer, TreeSet<Entry>>> tiers = new ArrayList<>();
+    // Tick'ler arasında sırayla incelenecek oyuncular
+    private final ArrayDeque<Entry> scanOrder = new ArrayDeque<>();
+
+    private final boolean enabled;
+    private final double[] betTiers;
+    private final int bucketWidth;
+    private final int baseWindow;
+    private final double widenPerSecond;
+    private final int maxWindow;
+    private final int maxChecksPerTick;
+    private final long tickBudgetNanos;
+    private RatingProvider ratingProvider;
+
+    private TimingWheel.Timeout tickTask;
+    private long lastTickNanos;
+    private long maxTickNanos;
+    private long matchesMade;
+
+    public MatchmakingQueue(Main plugin, DuelManager duelManager, DuelLifecycle lifecycle, TimingWheel timingWheel) {
+        this.plugin = plugin;
+        this.duelManager = duelManager;
+        this.timingWheel = timingWheel;
+
+        this.enabled = plugin.getConfig().getBoolean("matchmaking.enabled", true);
+        this.bucketWidth = Math.max(1, plugin.getConfig().getInt("matchmaking.bucket-width", 50));
+        this.baseWindow = Math.max(0, plugin.getConfig().getInt("matchmaking.base-window", 100));
+        this.widenPerSecond = Math.max(0, plugin.getConfig().getDouble("matchmaking.widen-per-second", 10.0));
+        this.maxWindow = Math.max(baseWindow, plugin.getConfig().getInt("matchmaking.max-window", 600));
+        this.maxChecksPerTick = Math.max(1, plugin.getConfig().getInt("matchmaking.max-checks-per-tick", 200));
+        this.tickBudgetNanos = Math.max(50, plugin.getConfig().getLong("matchmaking.tick-budget-micros", 500)) * 1000L;
+
+        List<Double> configuredTiers = plugin.getConfig().getDoubleList("matchmaking.bet-tiers");
+        if (configuredTiers.isEmpty() || configuredTiers.get(0) > 0) {
+            configuredTiers = new ArrayList<>(configuredTiers);
+            configuredTiers.add(0, 0.0);
+        }
+        this.betTiers = configuredTiers.stream().mapToDouble(Double::doubleValue).sorted().distinct().toArray();
+        for (int i = 0; i < betTiers.length; i++) {
+            tiers.add(new TreeMap<>());
+        }
+
+        // Puan motoru bağlanana kadar herkes aynı varsayılan puanla eşleşir
+        int defaultRating = plugin.getConfig().getInt("matchmaking.default-rating", 1500);
+        this.ratingProvider = (uuid, betAmount) -> defaultRating;
+
+        // Başka yoldan düelloya giren oyuncu sırada kalmaz
+        lifecycle.addHook((duel, from, to) -> {
+            if (to == Duel.DuelState.COUNTDOWN) {
+                leave(duel.getChallenger());
+                leave(duel.getChallenged());
+            }
+        });
+    }
+
+    /**
+     * Oyuncuların puanını veren kaynağı ayarlar
+     *
+     * @param ratingProvider Oyuncu UUID'si ve kademe bahsi -> puan
+     */
+    public void setRatingProvider(RatingProvider ratingProvider) {
+        this.ratingProvider = ratingProvider;
+    }
+
+    /**
+     * @return Eşleştirme etkinse true
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Oyuncuyu sıraya ekler
+     *
+     * @param player Oyuncu
+     * @param bet İstenen bahis; en yakın alt kademeye yuvarlanır
+     * @return Oyuncunun girdiği kademenin bahis miktarı
+     */
+    public double join(Player player, double bet) {
+        leave(player.getUniqueId());
+
+        int tier = 0;
+        for (int i = betTiers.length - 1; i >= 0; i--) {
+            if (betTiers[i] <= bet) {
+                tier = i;
+                break;
+            }
+        }
+
+        int rating = ratingProvider.getRating(player.getUniqueId(), betTiers[tier]);
+        Entry entry = new Entry(player.getUniqueId(), tier, rating, Math.floorDiv(rating, bucketWidth), System.currentTimeMillis());
+        entries.put(entry.uuid, entry);
+        insertByWait(entry);
+        entry.scanQueued = true;
+        scanOrder.addLast(entry);
+
+        if (tickTask == null) {
+            tickTask = timingWheel.schedule(1L, this::tick);
+        }
+        return betTiers[tier];
+    }
+
+    /**
+     * Eşleşmesi gerçekleşmeyen oyuncuyu aynı kayıtla sıraya geri koyar; katılma zamanı, genişlemiş penceresi
+     * ve tarama sırasındaki yeri korunur
+     *
+     * @param entry Sıradan çıkarılmış kayıt
+     */
+    private void requeue(Entry entry) {
+        if (entries.containsKey(entry.uuid)) {
+            return;
+        }
+
+        entry.removed = false;
+        entries.put(entry.uuid, entry);
+        insertByWait(entry);
+        if (!entry.scanQueued) {
+            entry.scanQueued = true;
+            scanOrder.addLast(entry);
+        }
+
+        if (tickTask == null) {
+            tickTask = timingWheel.schedule(1L, this::tick);
+        }
+    }
+
+    /**
+     * Kaydı kovasına bekleme sırasındaki yerine ekler (O(log b)); kovanın başı her zaman en uzun bekleyen oyuncudur
+     *
+     * @param entry Kayıt
+     */
+    private void insertByWait(Entry entry) {
+        tiers.get(entry.tier).computeIfAbsent(entry.bucket, k -> new TreeSet<>(BY_WAIT)).add(entry);
+    }
+
+    /**
+     * Kaydı kovasından çıkarır, boşalan kova silinir
+     *
+     * @param entry Kayıt
+     */
+    private void removeFromBucket(Entry entry) {
+        NavigableMap<Integer, TreeSet<Entry>> buckets = tiers.get(entry.tier);
+        TreeSet<Entry> bucket = buckets.get(entry.bucket);
+        if (bucket != null) {
+            bucket.remove(entry);
+            if (bucket.isEmpty()) {
+                buckets.remove(entry.bucket);
+            }
+        }
+    }
+
+    /**
+     * Oyuncunun puanını kaynaktan yeniden okur; puan katıldıktan sonra yüklendiyse kayıt doğru kovaya taşınır
+     *
+     * @param entry Kayıt
+     */
+    private void refreshRating(Entry entry) {
+        int rating = ratingProvider.getRating(entry.uuid, betTiers[entry.tier]);
+        if (rating == entry.rating) {
+            return;
+        }
+
+        int bucket = Math.floorDiv(rating, bucketWidth);
+        if (bucket == entry.bucket) {
+            entry.rating = rating;
+            return;
+        }
+
+        removeFromBucket(entry);
+        entry.rating = rating;
+        entry.bucket = bucket;
+        insertByWait(entry);
+    }
+
+    /**
+     * Oyuncuyu sıradan çıkarır
+     *
+     * @param uuid Oyuncu UUID'si
+     * @return Oyuncu sıradaysa true
+     */
+    public boolean leave(UUID uuid) {
+        Entry entry = entries.remove(uuid);
+        if (entry == null) {
+            return false;
+        }
+
+        entry.removed = true;
+        removeFromBucket(entry);
+        return true;
+    }
+
+    /**
+     * @return Oyuncu sıradaysa true
+     */
+    public boolean isQueued(UUID uuid) {
+        return entries.containsKey(uuid);
+    }
+
+    /**
+     * Sırayı bir tick ilerletir: bütçe dolana kadar sıradaki oyunculara rakip arar
+     */
+    private void tick() {
+        if (entries.isEmpty()) {
+            // Boş sıra çarkta yer tutmaz; ilk katılan yeniden başlatır
+            tickTask = null;
+            scanOrder.clear();
+            return;
+        }
+        tickTask = timingWheel.schedule(1L, this::tick);
+
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        int checks = Math.min(maxChecksPerTick, scanOrder.size());
+
+        for (int i = 0; i < checks; i++) {
+            Entry entry = scanOrder.pollFirst();
+            if (entry == null) {
+                break;
+            }
+            entry.scanQueued = false;
+            if (entry.removed) {
+                continue;
+            }
+
+            // Katılırken puan henüz yüklenmemiş olabilir
+            refreshRating(entry);
+
+            Entry opponent = findOpponent(entry, now);
+            if (opponent != null) {
+                leave(entry.uuid);
+                leave(opponent.uuid);
+                startMatch(entry, opponent);
+            } else {
+                entry.scanQueued = true;
+                scanOrder.addLast(entry);
+            }
+
+            if (System.nanoTime() - start > tickBudgetNanos) {
+                break;
+            }
+        }
+
+        lastTickNanos = System.nanoTime() - start;
+        maxTickNanos = Math.max(maxTickNanos, lastTickNanos);
+    }
+
+    private int window(Entry entry, long now) {
+        double waitedSeconds = (now - entry.joinedAt) / 1000.0;
+        return (int) Math.min(maxWindow, baseWindow + widenPerSecond * waitedSeconds);
+    }
+
+    /**
+     * Oyuncunun penceresindeki kovalarda, karşı tarafın penceresine de uyan en yakın puanlı rakibi bulur.
+     * Her kovada bekleme sırasıyla ilerlenir ve ilk uygun oyuncuda durulur; kova sınırdaysa baştaki oyuncu
+     * pencerenin dışında kalabilir, arkasındaki pencere içindeki oyuncular böylece atlanmaz. Tek puanlı yoğun
+     * bir kovada ilk aday genellikle uygundur, bu yüzden arama çoğunlukla kova başına tek karşılaştırmadır.
+     */
+    private Entry findOpponent(Entry entry, long now) {
+        int window = window(entry, now);
+        NavigableMap<Integer, TreeSet<Entry>> candidates = tiers.get(entry.tier).subMap(
+                Math.floorDiv(entry.rating - window, bucketWidth), true,
+                Math.floorDiv(entry.rating + window, bucketWidth), true);
+
+        Entry best = null;
+        int bestDiff = Integer.MAX_VALUE;
+        for (TreeSet<Entry> bucket : candidates.values()) {
+            for (Entry candidate : bucket) {
+                if (candidate == entry) {
+                    continue;
+                }
+
+                int diff = Math.abs(candidate.rating - entry.rating);
+                if (diff <= window && diff <= window(candidate, now)) {
+                    if (diff < bestDiff) {
+                        best = candidate;
+                        bestDiff = diff;
+                    }
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    private void startMatch(Entry first, Entry second) {
+        Player player1 = Bukkit.getPlayer(first.uuid);
+        Player player2 = Bukkit.getPlayer(second.uuid);
+
+        // Çıkmış oyuncu sıradan zaten düşmüş olmalı; yine de çevrimiçi olanı sıraya geri koy
+        if (player1 == null || player2 == null) {
+            if (player1 != null) {
+                requeue(first);
+            }
+            if (player2 != null) {
+                requeue(second);
+            }
+            return;
+        }
+
+        // Bahsi artık karşılayamayan oyuncu bilgilendirilir, diğeri bekleme süresini kaybetmeden sıraya döner
+        double betAmount = betTiers[first.tier];
+        boolean player1Funds = duelManager.checkQueuedFunds(player1, betAmount);
+        boolean player2Funds = duelManager.checkQueuedFunds(player2, betAmount);
+        if (!player1Funds || !player2Funds) {
+            if (player1Funds) {
+                requeue(first);
+            }
+            if (player2Funds) {
+                requeue(second);
+            }
+            return;
+        }
+
+        matchesMade++;
+        duelManager.startQueuedDuel(player1, player2, betAmount);
+    }
+
+    /**
+     * Sıradaki herkesi çıkarır ve tick görevini durdurur
+     */
+    public void clear() {
+        for (Entry entry : entries.values()) {
+            entry.removed = true;
+        }
+        for (Entry entry : scanOrder) {
+            entry.scanQueued = false;
+        }
+        entries.clear();
+        for (TreeMap<Integer, TreeSet<Entry>> buckets : tiers) {
+            buckets.clear();
+        }
+        scanOrder.clear();
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+    }
+
+    /**
+     * @return Sıradaki oyuncu sayısı
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return Bahis kademeleri, artan sırayla
+     */
+    public double[] getBetTiers() {
+        return betTiers.clone();
+    }
+
+    /**
+     * @return Son tick'in süresi (mikrosaniye)
+     */
+    public long getLastTickMicros() {
+        return lastTickNanos / 1000L;
+    }
+
+    /**
+     * @return En uzun tick süresi (mikrosaniye)
+     */
+    public long getMaxTickMicros() {
+        return maxTickNanos / 1000L;
+    }
+
+    /**
+     * @return Kurulan eşleşme sayısı
+     */
+    public long getMatchesMade() {
+        return matchesMade;
+    }
+}
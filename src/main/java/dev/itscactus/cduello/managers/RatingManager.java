@@ -0,0 +1,449 @@
+package dev.itscactus.cduello.managers;
+
+import dev.itscactus.cduello.Main;
+import dev.itscactus.cduello.models.Rating;
+import dev.itscactus.cduello.storage.RatingRepository;
+import dev.itscactus.cduello.utils.RatingCalculator;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Sıralama (ladder) başına oyuncu puanlarını yöneten sınıf.
+ * <p>
+ * Düello bitince sonuç ana thread'den alınır, puanlar arka planda yüklenip {@link RatingCalculator} ile sabit
+ * zamanda güncellenir. Değişen puanlar kirli işaretlenir ve istatistiklerle aynı aralıkla partiler halinde
+ * yazılır (write-behind). Çevrimiçi oyuncuların puanları girişte belleğe alınır; eşleştirme ve placeholderlar
+ * bellekten okur. Çevrimdışı oyuncuların kirli olmayan puanları yazma turunda bellekten atılır; giriş öncesinde
+ * yüklenen puanlar oyuncu girene, çıkana veya {@code stats.cache.evict-delay} dolana kadar tutulur.
+ * <p>
+ * Kitler olmadığı için sıralamalar kurallara göre ayrılır: normal düellolar varsayılan sıralamayı, para
+ * düelloları {@code ratings.money-ladder} sıralamasını kullanır.
+ */
+public class RatingManager {
+    private final Main plugin;
+    private final RatingRepository ratingRepository;
+    private final RatingCalculator calculator;
+    private final boolean enabled;
+    private final String moneyLadder;
+    private final Set<String> ladders;
+    private final int batchSize;
+    private final long prefetchGraceMillis;
+    // Sıralama -> (oyuncu -> puan)
+    private final Map<String, Map<UUID, Rating>> ratings = new ConcurrentHashMap<>();
+    // Puan nesneleri kimlikleriyle tutulur; bellekten atılmış bir nesnenin değişikliği de yazılır
+    private final Set<Rating> dirtyRatings = ConcurrentHashMap.newKeySet();
+    // Puanı işlenen veya yazılmakta olan oyuncular (oyuncu -> işlem sayısı); bunların puanları bellekten atılmaz
+    private final Map<UUID, Integer> pinned = new ConcurrentHashMap<>();
+    // Çevrimiçi oyuncular; yazma turu arka planda çalıştığı için Bukkit yerine giriş/çıkış olaylarıyla tutulur
+    private final Set<UUID> onlinePlayers = ConcurrentHashMap.newKeySet();
+    // Giriş öncesinde puanı yüklenen ama henüz girmemiş oyuncular (oyuncu -> yükleme zamanı)
+    private final Map<UUID, Long> prefetched = new ConcurrentHashMap<>();
+    private final AtomicLong ratedDuels = new AtomicLong();
+    private BukkitTask flushTask;
+
+    /**
+     * Puan yöneticisini başlatır
+     *
+     * @param plugin Plugin ana sınıfı
+     * @param ratingRepository Puan deposu
+     */
+    public RatingManager(Main plugin, RatingRepository ratingRepository) {
+        this.plugin = plugin;
+        this.ratingRepository = ratingRepository;
+        this.enabled = plugin.getConfig().getBoolean("ratings.enabled", true);
+        this.moneyLadder = plugin.getConfig().getString("ratings.money-ladder", "money");
+        this.batchSize = Math.max(1, plugin.getConfig().getInt("stats.flush-batch-size", 500));
+        this.prefetchGraceMillis = Math.max(0, plugin.getConfig().getLong("stats.cache.evict-delay", 60L)) * 1000L;
+
+        Set<String> configured = new LinkedHashSet<>();
+        configured.add(Rating.DEFAULT_LADDER);
+        if (moneyLadder != null && !moneyLadder.isEmpty()) {
+            configured.add(moneyLadder);
+        }
+        this.ladders = Collections.unmodifiableSet(configured);
+
+        RatingCalculator.Algorithm algorithm;
+        String algorithmName = plugin.getConfig().getString("ratings.system", "GLICKO2");
+        try {
+            algorithm = RatingCalculator.Algorithm.valueOf(algorithmName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Geçersiz puanlama sistemi: " + algorithmName + ", GLICKO2 kullanılıyor.");
+            algorithm = RatingCalculator.Algorithm.GLICKO2;
+        }
+
+        this.calculator = new RatingCalculator(
+                algorithm,
+                plugin.getConfig().getDouble("ratings.initial-rating", 1500.0),
+                plugin.getConfig().getDouble("ratings.initial-deviation", 350.0),
+                plugin.getConfig().getDouble("ratings.initial-volatility", 0.06),
+                plugin.getConfig().getDouble("ratings.min-deviation", 30.0),
+                plugin.getConfig().getDouble("ratings.tau", 0.5),
+                plugin.getConfig().getDouble("ratings.elo-k-factor", 32.0),
+                Math.max(0, plugin.getConfig().getLong("ratings.rating-period-hours", 24L)) * 3600_000L);
+
+        for (String ladder : ladders) {
+            ratings.put(ladder, new ConcurrentHashMap<>());
+        }
+
+        // Eklenti yeniden yüklendiyse zaten çevrimiçi olan oyuncuları yükle
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            onlinePlayers.add(player.getUniqueId());
+            prefetch(player.getUniqueId());
+        }
+
+        // Kirli puanlar istatistiklerle aynı aralıkla yazılır
+        long flushInterval = Math.max(1, plugin.getConfig().getInt("stats.flush-interval", 5)) * 20L; // Tick cinsinden
+        flushTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::flush, flushInterval, flushInterval);
+    }
+
+    /**
+     * @return Puanlama etkinse true
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Tanımlı sıralamalar, varsayılan sıralama ilk sırada
+     */
+    public Set<String> getLadders() {
+        return ladders;
+    }
+
+    /**
+     * Düellonun puanlanacağı sıralamayı döndürür
+     *
+     * @param betAmount Düellonun bahsi
+     * @return Sıralama adı
+     */
+    public String getLadder(double betAmount) {
+        return betAmount > 0 && ladders.contains(moneyLadder) ? moneyLadder : Rating.DEFAULT_LADDER;
+    }
+
+    /**
+     * Oyuncunun tüm sıralamalardaki puanlarını arka planda belleğe alır
+     *
+     * @param uuid Oyuncu UUID'si
+     */
+    public void prefetch(UUID uuid) {
+        if (!enabled) {
+            return;
+        }
+
+        // Oyuncu henüz çevrimiçi görünmediği için girişe kadar bellekten atılmaz
+        if (!onlinePlayers.contains(uuid)) {
+            prefetched.put(uuid, System.currentTimeMillis());
+        }
+
+        for (String ladder : ladders) {
+            load(uuid, ladder);
+        }
+    }
+
+    /**
+     * Oyuncuyu çevrimiçi olarak işaretler
+     *
+     * @param uuid Oyuncu UUID'si
+     */
+    public void handleJoin(UUID uuid) {
+        onlinePlayers.add(uuid);
+        prefetched.remove(uuid);
+    }
+
+    /**
+     * Oyuncuyu çevrimdışı olarak işaretler; puanları bir sonraki yazma turunda bellekten atılabilir
+     *
+     * @param uuid Oyuncu UUID'si
+     */
+    public void handleQuit(UUID uuid) {
+        onlinePlayers.remove(uuid);
+        prefetched.remove(uuid);
+    }
+
+    private void load(UUID uuid, String ladder) {
+        getRating(uuid, ladder).exceptionally(ex -> {
+            // Bellekte olmayan puan ilk kullanımda yeniden yüklenir
+            plugin.getLogger().log(Level.SEVERE, "Oyuncu puanı yüklenirken hata oluştu: " + uuid + " (" + ladder + ")", ex);
+            return null;
+        });
+    }
+
+    /**
+     * Oyuncunun bir sıralamadaki puanını alır, bellekte yoksa yükler
+     *
+     * @param uuid Oyuncu UUID'si
+     * @param ladder Sıralama adı
+     * @return Puan; oyuncu bu sıralamada hiç oynamadıysa başlangıç puanı, yükleme başarısız olursa hata ile tamamlanır
+     */
+    public CompletableFuture<Rating> getRating(UUID uuid, String ladder) {
+        Map<UUID, Rating> ladderRatings = ratings.get(ladder);
+        if (ladderRatings == null) {
+            return CompletableFuture.completedFuture(calculator.createInitial(uuid, ladder));
+        }
+
+        Rating cached = ladderRatings.get(uuid);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return ratingRepository.loadRating(uuid, ladder).thenApply(loaded -> {
+            Rating rating = loaded != null ? loaded : calculator.createInitial(uuid, ladder);
+
+            // Bu arada yüklenmişse mevcut olanı kullan
+            Rating existing = ladderRatings.putIfAbsent(uuid, rating);
+            return existing != null ? existing : rating;
+        });
+    }
+
+    /**
+     * Oyuncunun bellekteki puanını beklemeden döndürür
+     *
+     * @param uuid Oyuncu UUID'si
+     * @param ladder Sıralama adı
+     * @return Puan, bellekte yoksa null
+     */
+    public Rating getCachedRating(UUID uuid, String ladder) {
+        Map<UUID, Rating> ladderRatings = ratings.get(ladder);
+        return ladderRatings != null ? ladderRatings.get(uuid) : null;
+    }
+
+    /**
+     * Eşleştirme sırasının kullandığı puanı döndürür; puan henüz yüklenmediyse yükleme başlatılır ve o ana
+     * kadar başlangıç puanı kullanılır, sıra bir sonraki taramada oyuncuyu gerçek puanına taşır
+     *
+     * @param uuid Oyuncu UUID'si
+     * @param betAmount Sıranın bahis kademesi
+     * @return Tam sayıya yuvarlanmış puan
+     */
+    public int getMatchmakingRating(UUID uuid, double betAmount) {
+        String ladder = getLadder(betAmount);
+        Rating rating = getCachedRating(uuid, ladder);
+        if (rating == null) {
+            if (enabled && ladders.contains(ladder)) {
+                load(uuid, ladder);
+            }
+            rating = calculator.createInitial(uuid, ladder);
+        }
+
+        synchronized (rating) {
+            return (int) Math.round(rating.getRating());
+        }
+    }
+
+    /**
+     * Oyuncunun sıralamadaki yerini veritabanından bulur
+     *
+     * @param uuid Oyuncu UUID'si
+     * @param ladder Sıralama adı
+     * @return Sıra (1'den başlar), sıralamada yoksa -1
+     */
+    public CompletableFuture<Integer> getRank(UUID uuid, String ladder) {
+        return ratingRepository.getRank(uuid, ladder);
+    }
+
+    /**
+     * Bir düello sonucunu arka planda puanlara işler
+     *
+     * @param winnerUuid Kazanan
+     * @param loserUuid Kaybeden
+     * @param ladder Sıralama adı
+     */
+    public void recordResult(UUID winnerUuid, UUID loserUuid, String ladder) {
+        if (!enabled || !ladders.contains(ladder)) {
+            return;
+        }
+
+        long endedAt = System.currentTimeMillis();
+
+        // İşlem bitene kadar puanlar bellekten atılmaz, aksi halde yeniden yükleme ikinci bir nesne oluşturur
+        pin(winnerUuid);
+        pin(loserUuid);
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () ->
+                getRating(winnerUuid, ladder).thenCombine(getRating(loserUuid, ladder), (winner, loser) -> {
+                    apply(winner, loser, endedAt);
+                    return null;
+                }).whenComplete((v, ex) -> {
+                    // Yükleme başarısızsa sonuç başlangıç puanına işlenmez
+                    if (ex != null) {
+                        plugin.getLogger().log(Level.SEVERE, "Düello sonucu puanlara işlenemedi: " + winnerUuid + " / " + loserUuid, ex);
+                    }
+                    unpin(winnerUuid);
+                    unpin(loserUuid);
+                }));
+    }
+
+    private void apply(Rating winner, Rating loser, long endedAt) {
+        // Kilitler her zaman aynı sırayla alınır
+        boolean winnerFirst = winner.getPlayerUuid().compareTo(loser.getPlayerUuid()) < 0;
+        Rating first = winnerFirst ? winner : loser;
+        Rating second = winnerFirst ? loser : winner;
+
+        double winnerBefore;
+        double loserBefore;
+        synchronized (first) {
+            synchronized (second) {
+                winnerBefore = winner.getRating();
+                loserBefore = loser.getRating();
+                calculator.apply(winner, loser, endedAt);
+            }
+        }
+
+        dirtyRatings.add(winner);
+        dirtyRatings.add(loser);
+        ratedDuels.incrementAndGet();
+
+        if (plugin.getConfig().getBoolean("debug", false)) {
+            plugin.getLogger().info(String.format("Puan güncellendi (%s): %s %.1f -> %.1f, %s %.1f -> %.1f",
+                    winner.getLadder(), winner.getPlayerUuid(), winnerBefore, winner.getRating(),
+                    loser.getPlayerUuid(), loserBefore, loser.getRating()));
+        }
+    }
+
+    /**
+     * Kirli puanları partiler halinde yazar ve çevrimdışı oyuncuların kirli olmayan puanlarını bellekten atar
+     *
+     * @return Tüm partiler başarılı olursa true döner
+     */
+    public CompletableFuture<Boolean> flush() {
+        List<CompletableFuture<Boolean>> writes = new ArrayList<>();
+        List<Rating> originals = new ArrayList<>();
+        List<Rating> batch = new ArrayList<>();
+
+        Iterator<Rating> iterator = dirtyRatings.iterator();
+        while (iterator.hasNext()) {
+            Rating rating = iterator.next();
+
+            // Yazım bitene kadar bellekten atılmasın, sonra anlık görüntüden önce kaldır
+            pin(rating.getPlayerUuid());
+            iterator.remove();
+
+            synchronized (rating) {
+                batch.add(rating.snapshot());
+            }
+            originals.add(rating);
+
+            if (batch.size() >= batchSize) {
+                writes.add(writeBatch(batch, originals));
+                batch = new ArrayList<>();
+                originals = new ArrayList<>();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            writes.add(writeBatch(batch, originals));
+        }
+
+        evictOffline();
+
+        return CompletableFuture.allOf(writes.toArray(new CompletableFuture[0]))
+                .thenApply(v -> writes.stream().allMatch(CompletableFuture::join));
+    }
+
+    /**
+     * Bir partiyi yazar, başarısız olursa puanları bir sonraki tur için yeniden kirli işaretler
+     */
+    private CompletableFuture<Boolean> writeBatch(List<Rating> batch, List<Rating> originals) {
+        return ratingRepository.saveRatingsBatch(batch).thenApply(success -> {
+            if (!success) {
+                dirtyRatings.addAll(originals);
+            }
+            originals.forEach(rating -> unpin(rating.getPlayerUuid()));
+            return success;
+        });
+    }
+
+    /**
+     * Çevrimdışı oyuncuların kirli olmayan, işlenmeyen ve yazılmayan puanlarını bellekten atar.
+     * Giriş öncesinde yüklenen puanlar süre dolana kadar tutulur.
+     */
+    private void evictOffline() {
+        // Girişi reddedilen veya girmeden ayrılan oyuncular için çıkış olayı gelmez
+        long expiredBefore = System.currentTimeMillis() - prefetchGraceMillis;
+        prefetched.values().removeIf(prefetchedAt -> prefetchedAt < expiredBefore);
+
+        for (Map<UUID, Rating> ladderRatings : ratings.values()) {
+            for (Map.Entry<UUID, Rating> entry : ladderRatings.entrySet()) {
+                UUID uuid = entry.getKey();
+                Rating rating = entry.getValue();
+                if (onlinePlayers.contains(uuid) || prefetched.containsKey(uuid)) {
+                    continue;
+                }
+
+                // Kontrol ve silme sabitleme ile aynı anahtar kilidi altında yapılır
+                pinned.compute(uuid, (key, count) -> {
+                    if (count == null && !dirtyRatings.contains(rating)) {
+                        ladderRatings.remove(key, rating);
+                    }
+                    return count;
+                });
+            }
+        }
+    }
+
+    private void pin(UUID uuid) {
+        pinned.merge(uuid, 1, Integer::sum);
+    }
+
+    private void unpin(UUID uuid) {
+        pinned.computeIfPresent(uuid, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * @return Bu oturumda puanlanan düello sayısı
+     */
+    public long getRatedDuels() {
+        return ratedDuels.get();
+    }
+
+    /**
+     * @return Yazılmayı bekleyen puan sayısı
+     */
+    public int getDirtyCount() {
+        return dirtyRatings.size();
+    }
+
+    /**
+     * @return Bellekteki puan sayısı (tüm sıralamalar)
+     */
+    public int getResidentCount() {
+        int count = 0;
+        for (Map<UUID, Rating> ladderRatings : ratings.values()) {
+            count += ladderRatings.size();
+        }
+        return count;
+    }
+
+    /**
+     * Plugin devre dışı bırakıldığında kirli puanları yazar
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+
+        try {
+            flush().get(plugin.getConfig().getLong("database.executor.shutdown-timeout-ms", 10000L), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            plugin.getLogger().warning("Puanlar kapanışta yazılamadı, son değişiklikler kaybolabilir.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,74 +1,505 @@
 package dev.itscactus.cduello.managers;
 
 import dev.itscactus.cduello.Main;
+import dev.itscactus.cduello.models.LeaderboardCategory;
 import dev.itscactus.cduello.models.PlayerStats;
-import dev.itscactus.cduello.utils.DatabaseManager;
+import dev.itscactus.cduello.storage.PlayerDirectory;
+import dev.itscactus.cduello.storage.StatsJournal;
+import dev.itscactus.cduello.storage.StatsSnapshot;
+import dev.itscactus.cduello.storage.StatsRepository;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 
-import java.util.HashMap;
+import java.io.File;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
+import java.util.stream.Collectors;
 
 /**
- * Oyuncu istatistiklerini yöneten sınıf
+ * Oyuncu istatistiklerini yöneten sınıf.
+ * Değişen istatistikler kirli olarak işaretlenir ve düzenli aralıklarla
+ * yalnızca kirli satırlar toplu olarak veritabanına yazılır (write-behind).
+ * <p>
+ * Bellekte yalnızca çevrimiçi oyuncuların istatistikleri tutulur: giriş öncesinde yüklenir,
+ * çıkıştan bir süre sonra yazılıp bellekten atılır. Çevrimdışı oyuncular sınırlı bir LRU önbellekten okunur.
+ * <p>
+ * Düello sonuçları ayrıca {@link StatsJournal} dosyasına eklenir; sunucu çökerse veritabanına yazılmamış
+ * değişiklikler bir sonraki açılışta günlükten geri yüklenir.
+ * <p>
+ * Temiz kapanışta bellekteki istatistikler ve sıralama başı listeleri {@link StatsSnapshot} dosyasına yazılır;
+ * bir sonraki açılışta bunlar veritabanına gitmeden yüklenir.
  */
 public class StatsManager {
     private final Main plugin;
-    private final DatabaseManager databaseManager;
+    private final StatsRepository statsRepository;
+    private final PlayerDirectory playerDirectory;
     private final Map<UUID, PlayerStats> playerStats;
-    private BukkitTask saveTask;
-    private boolean saveScheduled;
+    private final Map<UUID, String> playerNames;
+    private final Set<UUID> dirtyStats;
+    private final Map<UUID, BukkitTask> pendingEvictions;
+    private final Map<UUID, PlayerStats> offlineCache;
+    private final Map<LeaderboardCategory, List<Map.Entry<PlayerStats, String>>> leaderboards;
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final int batchSize;
+    private final long evictDelayTicks;
+    private final long prefetchTimeoutMillis;
+    private final long loadRetryDelayTicks;
+    private final int loadRetryAttempts;
+    private final StatsJournal journal;
+    // Kayıt ekleme + bellek güncellemesi okuma kilidi, kontrol noktası alma yazma kilidi altında yapılır
+    private final ReadWriteLock journalLock = new ReentrantReadWriteLock();
+    private volatile long journalCheckpoint;
+    // Günlük dolduğu için başlatılan yazım sürüyorsa true; dolu günlükteki her kayıt ayrı yazım başlatmaz
+    private final AtomicBoolean journalFullFlush = new AtomicBoolean(false);
+    private CompletableFuture<Boolean> lastFlush = CompletableFuture.completedFuture(true);
+    private BukkitTask flushTask;
     
     /**
      * İstatistik yöneticisini başlatır
      * 
      * @param plugin Plugin ana sınıfı
-     * @param databaseManager Veritabanı yöneticisi
+     * @param statsRepository İstatistik deposu
+     * @param playerDirectory Oyuncu ad sözlüğü
      */
-    public StatsManager(Main plugin, DatabaseManager databaseManager) {
+    public StatsManager(Main plugin, StatsRepository statsRepository, PlayerDirectory playerDirectory) {
         this.plugin = plugin;
-        this.databaseManager = databaseManager;
-        this.playerStats = new HashMap<>();
-        this.saveScheduled = false;
+        this.statsRepository = statsRepository;
+        this.playerDirectory = playerDirectory;
+        this.playerStats = new ConcurrentHashMap<>();
+        this.playerNames = new ConcurrentHashMap<>();
+        this.dirtyStats = ConcurrentHashMap.newKeySet();
+        this.pendingEvictions = new ConcurrentHashMap<>();
+        this.batchSize = Math.max(1, plugin.getConfig().getInt("stats.flush-batch-size", 500));
+        this.evictDelayTicks = Math.max(0, plugin.getConfig().getInt("stats.cache.evict-delay", 60)) * 20L; // Tick cinsinden
+        this.prefetchTimeoutMillis = Math.max(0, plugin.getConfig().getLong("stats.cache.prefetch-timeout-ms", 2000L));
+        this.loadRetryDelayTicks = Math.max(1, plugin.getConfig().getInt("stats.cache.load-retry-delay", 5)) * 20L; // Tick cinsinden
+        this.loadRetryAttempts = Math.max(0, plugin.getConfig().getInt("stats.cache.load-retry-attempts", 5));
         
-        // İstatistikleri yükle
-        loadStats();
+        int offlineCacheSize = Math.max(1, plugin.getConfig().getInt("stats.cache.offline-size", 500));
+        this.offlineCache = Collections.synchronizedMap(new LinkedHashMap<UUID, PlayerStats>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, PlayerStats> eldest) {
+                return size() > offlineCacheSize;
+            }
+        });
+        
+        this.leaderboards = new EnumMap<>(LeaderboardCategory.class);
+        
+        // Çökmeden kalan değişiklikleri oyuncular yüklenmeden önce veritabanına uygula
+        this.journal = plugin.getConfig().getBoolean("stats.journal.enabled", true) ? openJournal() : null;
+        
+        // Geçerli bir anlık görüntü varsa bellekteki durumu ondan kur
+        StatsSnapshot snapshot = plugin.getConfig().getBoolean("stats.snapshot.enabled", true) ? loadSnapshot() : null;
+        if (snapshot != null) {
+            offlineCache.putAll(snapshot.getResidents());
+            leaderboards.putAll(snapshot.getLeaderboards());
+        }
+        
+        // Eklenti yeniden yüklendiyse zaten çevrimiçi olan oyuncuları yükle
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            playerNames.put(player.getUniqueId(), player.getName());
+            loadResident(player.getUniqueId());
+        }
         
         // Düzenli kaydetme görevini başlat
-        startSaveTask();
+        startFlushTask();
     }
     
     /**
-     * Veritabanındaki tüm istatistikleri yükler
+     * İstatistik günlüğünü açar ve kontrol noktasından sonraki kayıtları veritabanına uygular
+     * 
+     * @return Açılan günlük, açılamaz veya uygulanamazsa null (günlük bu oturumda kapalı kalır)
      */
-    private void loadStats() {
-        databaseManager.loadAllPlayerStats().thenAccept(stats -> {
-            // İstatistikleri belleğe al
-            playerStats.putAll(stats);
+    private StatsJournal openJournal() {
+        StatsJournal opened = new StatsJournal(
+                new File(plugin.getDataFolder(), "stats.journal"),
+                plugin.getLogger(),
+                Math.max(1, plugin.getConfig().getInt("stats.journal.size-kb", 4096)) * 1024,
+                plugin.getConfig().getLong("stats.journal.commit-interval-ms", 5L));
+        
+        try {
+            List<StatsJournal.Entry> entries = opened.open();
+            long checkpoint = statsRepository.loadJournalCheckpoint().get();
+            
+            // Kontrol noktasından önceki kayıtlar zaten veritabanında
+            opened.truncate(checkpoint);
+            List<StatsJournal.Entry> pending = entries.stream()
+                    .filter(entry -> entry.getSeq() > checkpoint)
+                    .collect(Collectors.toList());
+            
+            long applied = checkpoint;
+            if (!pending.isEmpty()) {
+                long last = pending.get(pending.size() - 1).getSeq();
+                if (!statsRepository.applyJournal(pending, last).get()) {
+                    // Uygulanmamış kayıtlar bir sonraki kontrol noktasıyla silinmesin diye günlüğü kapat
+                    plugin.getLogger().severe("İstatistik günlüğü uygulanamadı, kayıtlar bir sonraki açılışa bırakıldı.");
+                    opened.close();
+                    return null;
+                }
+                
+                opened.truncate(last);
+                applied = last;
+                plugin.getLogger().info(pending.size() + " istatistik değişikliği günlükten geri yüklendi.");
+            }
+            
+            opened.ensureSeqAfter(applied);
+            journalCheckpoint = applied;
+            return opened;
+        } catch (IOException | ExecutionException e) {
+            plugin.getLogger().log(Level.SEVERE, "İstatistik günlüğü açılamadı, günlük bu oturumda kapalı!", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        opened.close();
+        return null;
+    }
+    
+    /**
+     * Kapanışta yazılan anlık görüntüyü okur. Görüntü tek kullanımlıktır; okunduktan sonra silinir.
+     * 
+     * @return Geçerli görüntü, yoksa veya veritabanıyla uyuşmuyorsa null (veriler SQL'den yüklenir)
+     */
+    private StatsSnapshot loadSnapshot() {
+        long maxAgeMillis = Math.max(0, plugin.getConfig().getLong("stats.snapshot.max-age", 600L)) * 1000L;
+        
+        try {
+            StatsSnapshot snapshot = StatsSnapshot.consume(getSnapshotFile(), journalCheckpoint, maxAgeMillis);
             
             if (plugin.getConfig().getBoolean("debug", false)) {
-                plugin.getLogger().info(stats.size() + " oyuncunun istatistikleri bellekte yüklendi.");
+                plugin.getLogger().info(snapshot != null
+                        ? "İstatistik anlık görüntüsü yüklendi: " + snapshot.getResidents().size() + " oyuncu, "
+                                + snapshot.getLeaderboards().size() + " sıralama"
+                        : "Geçerli bir istatistik anlık görüntüsü yok, veriler veritabanından yüklenecek.");
             }
-        });
+            
+            return snapshot;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "İstatistik anlık görüntüsü okunamadı, veriler veritabanından yüklenecek.", e);
+            return null;
+        }
+    }
+    
+    /**
+     * Bellekteki istatistikleri ve sıralama başı listelerini anlık görüntüye yazar.
+     * Yalnızca tüm değişiklikler veritabanına yazıldıktan sonra çağrılmalıdır.
+     */
+    private void writeSnapshot() {
+        List<PlayerStats> residents = new ArrayList<>(playerStats.size());
+        for (PlayerStats stats : playerStats.values()) {
+            synchronized (stats) {
+                residents.add(stats.snapshot());
+            }
+        }
+        
+        Map<LeaderboardCategory, List<Map.Entry<PlayerStats, String>>> boards;
+        synchronized (leaderboards) {
+            boards = new EnumMap<>(leaderboards);
+        }
+        
+        try {
+            StatsSnapshot.write(getSnapshotFile(), journalCheckpoint, residents, boards);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "İstatistik anlık görüntüsü yazılamadı", e);
+        }
+    }
+    
+    private File getSnapshotFile() {
+        return new File(plugin.getDataFolder(), "stats.snapshot");
     }
     
     /**
-     * Düzenli kaydetme görevini başlatır
+     * Kirli istatistikleri düzenli olarak yazan görevi başlatır
      */
-    private void startSaveTask() {
+    private void startFlushTask() {
         // Eski görevi iptal et
-        if (saveTask != null) {
-            saveTask.cancel();
+        if (flushTask != null) {
+            flushTask.cancel();
         }
         
         // Yeni görevi başlat
-        int saveInterval = plugin.getConfig().getInt("stats.save-interval", 300) * 20; // Tick cinsinden
+        long flushInterval = Math.max(1, plugin.getConfig().getInt("stats.flush-interval", 5)) * 20L; // Tick cinsinden
+        
+        flushTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::flushDirtyStats, flushInterval, flushInterval);
+    }
+    
+    /**
+     * Giriş yapmak üzere olan oyuncunun istatistiklerini yükler.
+     * AsyncPlayerPreLoginEvent thread'inden çağrılır; oyuncu dünyaya girmeden istatistikler bellekte olsun diye
+     * yükleme en fazla {@code stats.cache.prefetch-timeout-ms} kadar beklenir. Giriş sonradan reddedilirse
+     * çıkış olayı gelmeyeceği için bellekten atma hemen planlanır, oyuncu girince iptal edilir.
+     * 
+     * @param uuid Oyuncu UUID'si
+     * @param playerName Oyuncu adı
+     */
+    public void prefetch(UUID uuid, String playerName) {
+        playerNames.put(uuid, playerName);
         
-        saveTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::saveAllStats, saveInterval, saveInterval);
+        // Çıkıştan kısa süre sonra geri döndüyse önceki planın yerini alır
+        scheduleEviction(uuid);
+        
+        try {
+            loadResident(uuid).get(prefetchTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Yükleme arka planda tamamlanır, ilk erişim gerekirse bekler
+            plugin.getLogger().warning("İstatistikler zamanında yüklenemedi: " + playerName);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            plugin.getLogger().log(Level.SEVERE, "İstatistikler yüklenirken hata oluştu: " + playerName, e.getCause());
+        }
+    }
+    
+    /**
+     * Oyuncunun istatistiklerini bellekte tutulacak şekilde yükler
+     * 
+     * @param uuid Oyuncu UUID'si
+     * @return Bellekteki istatistikler
+     */
+    private CompletableFuture<PlayerStats> loadResident(UUID uuid) {
+        PlayerStats cached = playerStats.get(uuid);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        
+        // Çevrimdışıyken okunmuşsa önbellekteki kaydı taşı
+        PlayerStats offline = offlineCache.remove(uuid);
+        if (offline != null) {
+            PlayerStats existing = playerStats.putIfAbsent(uuid, offline);
+            return CompletableFuture.completedFuture(existing != null ? existing : offline);
+        }
+        
+        return statsRepository.loadPlayerStats(uuid).thenApply(stats -> {
+            // Belleğe ekle (bu arada eklenmişse mevcut olanı kullan)
+            PlayerStats existing = playerStats.putIfAbsent(uuid, stats);
+            return existing != null ? existing : stats;
+        });
+    }
+    
+    /**
+     * Giriş öncesinde planlanan bellekten atmayı iptal eder ve oyuncunun adı sözlükteki addan
+     * farklıysa (veya oyuncu yeniyse) sözlüğü günceller
+     * 
+     * @param player Giriş yapan oyuncu
+     */
+    public void handleJoin(Player player) {
+        UUID uuid = player.getUniqueId();
+        String name = player.getName();
+        playerNames.put(uuid, name);
+        
+        BukkitTask eviction = pendingEvictions.remove(uuid);
+        if (eviction != null) {
+            eviction.cancel();
+        }
+        
+        if (!name.equals(playerDirectory.getName(uuid))) {
+            statsRepository.savePlayerName(uuid, name);
+        }
+    }
+    
+    /**
+     * Çıkış yapan oyuncunun istatistiklerinin {@code stats.cache.evict-delay} saniye sonra
+     * yazılıp bellekten atılmasını planlar
+     * 
+     * @param player Çıkış yapan oyuncu
+     */
+    public void handleQuit(Player player) {
+        UUID uuid = player.getUniqueId();
+        if (!playerStats.containsKey(uuid)) {
+            return;
+        }
+        
+        playerNames.put(uuid, player.getName());
+        scheduleEviction(uuid);
+    }
+    
+    /**
+     * Oyuncunun istatistiklerinin {@code stats.cache.evict-delay} saniye sonra bellekten atılmasını planlar
+     * 
+     * @param uuid Oyuncu UUID'si
+     */
+    private void scheduleEviction(UUID uuid) {
+        BukkitTask previous = pendingEvictions.put(uuid,
+                Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, () -> evict(uuid), evictDelayTicks));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+    
+    /**
+     * Oyuncunun istatistiklerini bellekten atar. Yazılmamış değişiklik varsa önce yazılır.
+     * 
+     * @param uuid Oyuncu UUID'si
+     */
+    private void evict(UUID uuid) {
+        if (Bukkit.getPlayer(uuid) != null) {
+            pendingEvictions.remove(uuid);
+            return;
+        }
+        
+        if (dirtyStats.contains(uuid)) {
+            // Yazma başarısız olursa satır tekrar kirli işaretlenir ve bir sonraki denemeye kalır
+            flushDirtyStats().thenAccept(success -> {
+                if (!pendingEvictions.containsKey(uuid)) {
+                    return;
+                }
+                if (success) {
+                    evict(uuid);
+                } else if (plugin.isEnabled()) {
+                    pendingEvictions.put(uuid, Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, () -> evict(uuid), evictDelayTicks));
+                }
+            });
+            return;
+        }
+        
+        pendingEvictions.remove(uuid);
+        PlayerStats stats = playerStats.remove(uuid);
+        playerNames.remove(uuid);
+        
+        // Kısa süre içinde tekrar sorgulanabilir
+        if (stats != null) {
+            offlineCache.put(uuid, stats);
+        }
+    }
+    
+    /**
+     * Bir oyuncunun istatistiklerini kirli olarak işaretler
+     * 
+     * @param uuid Oyuncu UUID'si
+     */
+    private void markDirty(UUID uuid) {
+        dirtyStats.add(uuid);
+    }
+    
+    /**
+     * Yalnızca değişmiş istatistikleri toplu olarak veritabanına yazar.
+     * Partiler ve kapsadıkları günlük kontrol noktası tek bir transaction ile yazılır, ardından günlük kesilir.
+     * Yazımlar sırayla yapılır; başarısız bir yazımın satırları bir sonraki yazımdan önce yeniden kirli işaretlenir.
+     * 
+     * @return Yazım başarılı olursa true döner
+     */
+    public synchronized CompletableFuture<Boolean> flushDirtyStats() {
+        CompletableFuture<Boolean> flush = lastFlush.handle((success, ex) -> null).thenCompose(v -> writeDirtyStats());
+        lastFlush = flush;
+        return flush;
+    }
+    
+    /**
+     * Kirli istatistikleri ve günlük kontrol noktasını tek transaction ile yazar
+     * 
+     * @return Yazım başarılı olursa true döner
+     */
+    private CompletableFuture<Boolean> writeDirtyStats() {
+        List<List<Map.Entry<PlayerStats, String>>> batches;
+        long checkpoint;
+        
+        // Kirli küme, kapsadığı son günlük kaydıyla birlikte alınır
+        journalLock.writeLock().lock();
+        try {
+            checkpoint = journal != null ? journal.getLastSeq() : -1;
+            
+            if (dirtyStats.isEmpty() && checkpoint <= journalCheckpoint) {
+                return CompletableFuture.completedFuture(true);
+            }
+            
+            batches = collectDirtyBatches();
+        } finally {
+            journalLock.writeLock().unlock();
+        }
+        
+        return statsRepository.savePlayerStatsBatches(batches, checkpoint).thenApply(success -> {
+            if (!success) {
+                // Satırlar bir sonraki tur için yeniden kirli işaretlenir, kontrol noktası ilerlemez
+                batches.forEach(batch -> batch.forEach(entry -> markDirty(entry.getKey().getPlayerUuid())));
+            } else if (journal != null) {
+                advanceCheckpoint(checkpoint);
+            }
+            return success;
+        });
+    }
+    
+    /**
+     * Kirli istatistiklerin anlık görüntülerini partilere ayırır
+     * 
+     * @return İstatistik partileri
+     */
+    private List<List<Map.Entry<PlayerStats, String>>> collectDirtyBatches() {
+        List<List<Map.Entry<PlayerStats, String>>> batches = new ArrayList<>();
+        List<Map.Entry<PlayerStats, String>> batch = new ArrayList<>();
+        
+        Iterator<UUID> iterator = dirtyStats.iterator();
+        while (iterator.hasNext()) {
+            UUID uuid = iterator.next();
+            
+            // Anlık görüntüden önce kaldır, sonradan gelen değişiklikler yeniden işaretlenir
+            iterator.remove();
+            
+            PlayerStats stats = playerStats.get(uuid);
+            if (stats == null) {
+                continue;
+            }
+            
+            PlayerStats snapshot;
+            synchronized (stats) {
+                snapshot = stats.snapshot();
+            }
+            
+            batch.add(new AbstractMap.SimpleEntry<>(snapshot, getPlayerName(uuid)));
+            
+            if (batch.size() >= batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+    
+    /**
+     * Kontrol noktasını ilerletir ve günlüğü keser
+     * 
+     * @param checkpoint Veritabanına yansımış son sıra numarası
+     */
+    private synchronized void advanceCheckpoint(long checkpoint) {
+        if (checkpoint > journalCheckpoint) {
+            journalCheckpoint = checkpoint;
+            journal.truncate(checkpoint);
+        }
+    }
+    
+    /**
+     * Oyuncu adını bellekteki kayıttan veya ad sözlüğünden alır
+     * 
+     * @param uuid Oyuncu UUID'si
+     * @return Oyuncu adı, bilinmiyorsa null (sözlükteki ad değiştirilmez)
+     */
+    private String getPlayerName(UUID uuid) {
+        String playerName = playerNames.get(uuid);
+        return playerName != null ? playerName : playerDirectory.getName(uuid);
     }
     
     /**
@@ -83,22 +514,8 @@ public class StatsManager {
             plugin.getLogger().info("Tüm oyuncu istatistikleri kaydediliyor...");
         }
         
-        for (Map.Entry<UUID, PlayerStats> entry : playerStats.entrySet()) {
-            UUID uuid = entry.getKey();
-            PlayerStats stats = entry.getValue();
-            
-            // Oyuncu adını al
-            String playerName = Bukkit.getOfflinePlayer(uuid).getName();
-            if (playerName == null) {
-                playerName = uuid.toString();
-            }
-            
-            // Veritabanına kaydet
-            databaseManager.savePlayerStats(stats, playerName).exceptionally(ex -> {
-                plugin.getLogger().log(Level.SEVERE, "Oyuncu istatistikleri kaydedilirken hata: " + uuid, ex);
-                return false;
-            });
-        }
+        dirtyStats.addAll(playerStats.keySet());
+        flushDirtyStats();
     }
     
     /**
@@ -112,11 +529,8 @@ public class StatsManager {
             return;
         }
         
-        PlayerStats stats = playerStats.get(uuid);
-        databaseManager.savePlayerStats(stats, player.getName()).exceptionally(ex -> {
-            plugin.getLogger().log(Level.SEVERE, "Oyuncu istatistikleri kaydedilirken hata: " + player.getName(), ex);
-            return false;
-        });
+        playerNames.put(uuid, player.getName());
+        markDirty(uuid);
     }
     
     /**
@@ -127,16 +541,40 @@ public class StatsManager {
      */
     public CompletableFuture<PlayerStats> getPlayerStats(Player player) {
         UUID uuid = player.getUniqueId();
+        playerNames.put(uuid, player.getName());
         
-        // Eğer belleğe yüklenmişse hemen döndür
-        if (playerStats.containsKey(uuid)) {
-            return CompletableFuture.completedFuture(playerStats.get(uuid));
+        // Çevrimiçi oyuncunun istatistikleri bellekte tutulur
+        return loadResident(uuid);
+    }
+    
+    /**
+     * Herhangi bir oyuncunun istatistiklerini salt okunur olarak alır.
+     * Çevrimdışı oyuncular bellekte kalıcı tutulmaz, LRU önbellekten okunur.
+     * 
+     * @param uuid Oyuncu UUID'si
+     * @return İstatistikler
+     */
+    public CompletableFuture<PlayerStats> getPlayerStats(UUID uuid) {
+        PlayerStats resident = playerStats.get(uuid);
+        if (resident != null) {
+            return CompletableFuture.completedFuture(resident);
         }
         
-        // Veritabanından yükle
-        return databaseManager.loadPlayerStats(uuid).thenApply(stats -> {
-            // Belleğe ekle
-            playerStats.put(uuid, stats);
+        PlayerStats cached = offlineCache.get(uuid);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached);
+        }
+        
+        cacheMisses.incrementAndGet();
+        return statsRepository.loadPlayerStats(uuid).thenApply(stats -> {
+            // Bu arada oyuncu giriş yaptıysa bellekteki kaydı kullan
+            PlayerStats current = playerStats.get(uuid);
+            if (current != null) {
+                return current;
+            }
+            
+            offlineCache.put(uuid, stats);
             return stats;
         });
     }
@@ -148,13 +586,8 @@ public class StatsManager {
      * @param bet Bahis miktarı
      */
     public void recordWin(Player player, double bet) {
-        getPlayerStats(player).thenAccept(stats -> {
-            stats.incrementWins();
-            stats.addMoneyWon(bet);
-            
-            // Otomatik kaydetme
-            scheduleSave();
-        });
+        playerNames.put(player.getUniqueId(), player.getName());
+        recordWin(player.getUniqueId(), bet);
     }
     
     /**
@@ -164,31 +597,205 @@ public class StatsManager {
      * @param bet Bahis miktarı
      */
     public void recordLoss(Player player, double bet) {
-        getPlayerStats(player).thenAccept(stats -> {
-            stats.incrementLosses();
-            stats.addMoneyLost(bet);
+        playerNames.put(player.getUniqueId(), player.getName());
+        recordLoss(player.getUniqueId(), bet);
+    }
+    
+    /**
+     * Bir oyuncunun kazanmasını kaydeder (oyuncu çevrimdışı olabilir)
+     * 
+     * @param uuid Kazanan oyuncunun UUID'si
+     * @param moneyWon Kazanılan para
+     */
+    public void recordWin(UUID uuid, double moneyWon) {
+        recordResult(uuid, 1, 0, moneyWon, 0);
+    }
+    
+    /**
+     * Bir oyuncunun kaybetmesini kaydeder (oyuncu çevrimdışı olabilir)
+     * 
+     * @param uuid Kaybeden oyuncunun UUID'si
+     * @param moneyLost Kaybedilen para
+     */
+    public void recordLoss(UUID uuid, double moneyLost) {
+        recordResult(uuid, 0, 1, 0, moneyLost);
+    }
+    
+    /**
+     * Sonucu bellekteki istatistiklere uygular; kayıt bellekte değilse önce yüklenir.
+     * Oyuncu çevrimdışıysa kayıt normal tahliye sırasıyla yazılıp bellekten atılır.
+     * Yükleme başarısız olursa sonuç boş bir kayda işlenmez, {@code stats.cache.load-retry-delay} saniye sonra
+     * yükleme yeniden denenir.
+     */
+    private void recordResult(UUID uuid, int wins, int losses, double moneyWon, double moneyLost) {
+        recordResult(uuid, wins, losses, moneyWon, moneyLost, 0);
+    }
+    
+    private void recordResult(UUID uuid, int wins, int losses, double moneyWon, double moneyLost, int attempt) {
+        loadResident(uuid).thenAccept(stats -> {
+            record(stats, wins, losses, moneyWon, moneyLost);
             
-            // Otomatik kaydetme
-            scheduleSave();
+            if (Bukkit.getPlayer(uuid) == null && !pendingEvictions.containsKey(uuid)) {
+                scheduleEviction(uuid);
+            }
+        }).exceptionally(ex -> {
+            if (attempt < loadRetryAttempts && plugin.isEnabled()) {
+                plugin.getLogger().log(Level.WARNING, "İstatistikler yüklenemedi, düello sonucu daha sonra işlenecek: " + uuid, ex);
+                Bukkit.getScheduler().runTaskLaterAsynchronously(plugin,
+                        () -> recordResult(uuid, wins, losses, moneyWon, moneyLost, attempt + 1), loadRetryDelayTicks);
+            } else {
+                plugin.getLogger().log(Level.SEVERE, String.format(
+                        "Düello sonucu istatistiklere işlenemedi: %s (galibiyet: %d, mağlubiyet: %d, kazanılan: %.2f, kaybedilen: %.2f)",
+                        uuid, wins, losses, moneyWon, moneyLost), ex);
+            }
+            return null;
         });
     }
     
     /**
-     * Otomatik kaydetmeyi planlar
+     * Değişikliği günlüğe ekler, bellekteki istatistiklere uygular ve satırı kirli işaretler
+     * 
+     * @param stats Bellekteki istatistikler
+     * @param wins Galibiyet farkı
+     * @param losses Mağlubiyet farkı
+     * @param moneyWon Kazanılan para
+     * @param moneyLost Kaybedilen para
      */
-    private void scheduleSave() {
-        // Eğer zaten bir kayıt planlanmışsa tekrar planlama
-        if (saveScheduled) {
-            return;
+    private void record(PlayerStats stats, int wins, int losses, double moneyWon, double moneyLost) {
+        boolean journaled = true;
+        journalLock.readLock().lock();
+        try {
+            synchronized (stats) {
+                if (journal != null) {
+                    journaled = journal.append(stats.getPlayerUuid(), wins, losses, moneyWon, moneyLost) >= 0;
+                }
+                
+                stats.setWins(stats.getWins() + wins);
+                stats.setLosses(stats.getLosses() + losses);
+                stats.addMoneyWon(moneyWon);
+                stats.addMoneyLost(moneyLost);
+            }
+            
+            markDirty(stats.getPlayerUuid());
+        } finally {
+            journalLock.readLock().unlock();
         }
         
-        saveScheduled = true;
+        // Günlüğe yazılamayan değişiklik çökmeye karşı korunmaz; hemen yazılır ve kontrol noktası günlükte yer açar
+        if (!journaled && journalFullFlush.compareAndSet(false, true)) {
+            flushDirtyStats().whenComplete((success, ex) -> journalFullFlush.set(false));
+        }
+    }
+    
+    /**
+     * İçe aktarılan istatistikleri bellekteki kopyalara uygular. İçe aktarma satırları mutlak değerlerle yazar;
+     * bellekteki eski değerler kalsaydı bir sonraki yazma turu içe aktarılan satırın üzerine yazardı.
+     * Değiştirilen satırlar kirli işaretlenip hemen yazılır, böylece günlükteki eski değişiklikler de kontrol
+     * noktasının gerisinde kalır.
+     * 
+     * @param imported İçe aktarılan istatistikler
+     */
+    public void applyImported(List<PlayerStats> imported) {
+        int replaced = 0;
+        for (PlayerStats importedStats : imported) {
+            UUID uuid = importedStats.getPlayerUuid();
+            offlineCache.remove(uuid);
+            
+            PlayerStats stats = playerStats.get(uuid);
+            if (stats == null) {
+                continue;
+            }
+            
+            synchronized (stats) {
+                stats.setWins(importedStats.getWins());
+                stats.setLosses(importedStats.getLosses());
+                stats.setMoneyWon(importedStats.getMoneyWon());
+                stats.setMoneyLost(importedStats.getMoneyLost());
+            }
+            markDirty(uuid);
+            replaced++;
+        }
         
-        // 1 saniye sonra kaydet
-        Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, () -> {
-            saveAllStats();
-            saveScheduled = false;
-        }, 20L);
+        if (replaced > 0) {
+            flushDirtyStats();
+            
+            // Debug log
+            if (plugin.getConfig().getBoolean("debug", false)) {
+                plugin.getLogger().info("İçe aktarılan istatistikler bellekteki " + replaced + " oyuncuya uygulandı");
+            }
+        }
+    }
+    
+    /**
+     * Önbellekteki sıralama başı listesini döndürür
+     * 
+     * @param category Sıralama kategorisi
+     * @return İstatistik ve oyuncu adı çiftleri, sıralama sırasıyla (henüz yüklenmediyse boş)
+     */
+    public List<Map.Entry<PlayerStats, String>> getCachedLeaderboard(LeaderboardCategory category) {
+        synchronized (leaderboards) {
+            return leaderboards.getOrDefault(category, Collections.emptyList());
+        }
+    }
+    
+    /**
+     * Sıralama başı listesini önbelleğe alır
+     * 
+     * @param category Sıralama kategorisi
+     * @param entries İstatistik ve oyuncu adı çiftleri, sıralama sırasıyla
+     */
+    public void cacheLeaderboard(LeaderboardCategory category, List<Map.Entry<PlayerStats, String>> entries) {
+        synchronized (leaderboards) {
+            leaderboards.put(category, Collections.unmodifiableList(new ArrayList<>(entries)));
+        }
+    }
+    
+    /**
+     * Çevrimdışı önbelleği ve sıralama listelerini boşaltır (veritabanı dışarıdan değiştirildiğinde)
+     */
+    public void invalidateCaches() {
+        offlineCache.clear();
+        synchronized (leaderboards) {
+            leaderboards.clear();
+        }
+    }
+    
+    /**
+     * Yazılmayı bekleyen kirli istatistik sayısını döndürür
+     * 
+     * @return Kirli satır sayısı
+     */
+    public int getDirtyCount() {
+        return dirtyStats.size();
+    }
+    
+    /**
+     * @return Bellekte tutulan (çevrimiçi veya çıkış süresi dolmamış) oyuncu sayısı
+     */
+    public int getResidentCount() {
+        return playerStats.size();
+    }
+    
+    /**
+     * @return Çevrimdışı önbellekteki oyuncu sayısı
+     */
+    public int getOfflineCacheSize() {
+        return offlineCache.size();
+    }
+    
+    /**
+     * @return Günlükte kontrol noktasını bekleyen kayıt sayısı, günlük kapalıysa -1
+     */
+    public int getJournalEntryCount() {
+        return journal != null ? journal.getEntryCount() : -1;
+    }
+    
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+    
+    public long getCacheMisses() {
+        return cacheMisses.get();
     }
     
     /**
@@ -196,11 +803,30 @@ public class StatsManager {
      */
     public void shutdown() {
         // Kayıt görevini iptal et
-        if (saveTask != null) {
-            saveTask.cancel();
+        if (flushTask != null) {
+            flushTask.cancel();
         }
         
-        // Senkron olarak tüm verileri kaydet
-        saveAllStats();
+        // Bekleyen atma görevleri anlamsız, tüm kirli satırlar aşağıda yazılır
+        pendingEvictions.values().forEach(BukkitTask::cancel);
+        pendingEvictions.clear();
+        
+        // Kirli satırları yaz ve günlüğü kapatmadan önce kontrol noktasını bekle
+        try {
+            boolean flushed = flushDirtyStats().get(plugin.getConfig().getLong("database.executor.shutdown-timeout-ms", 10000L), TimeUnit.MILLISECONDS);
+            
+            // Anlık görüntü yalnızca veritabanıyla aynı durumu yansıtıyorsa yazılır
+            if (flushed && dirtyStats.isEmpty() && plugin.getConfig().getBoolean("stats.snapshot.enabled", true)) {
+                writeSnapshot();
+            }
+        } catch (TimeoutException | ExecutionException e) {
+            plugin.getLogger().warning("İstatistikler kapanışta yazılamadı, değişiklikler bir sonraki açılışta günlükten yüklenecek.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        if (journal != null) {
+            journal.close();
+        }
     }
-} 
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Represents an active duel between two players
@@ -14,10 +15,16 @@ public class Duel {
     private final UUID challenged;
     private Location challengerLocation;
     private Location challengedLocation;
-    private DuelState state;
+    private final AtomicReference<DuelState> state = new AtomicReference<>(DuelState.PENDING);
     private UUID winner;
     private double betAmount;
     private boolean moneyDuel;
+    private String arenaId;
+    private long startedAt;
+    private long endedAt;
+    private EndReason endReason;
+    private double challengerDamage;
+    private double challengedDamage;
 
     /**
      * Create a new duel
@@ -32,7 +39,6 @@ public class Duel {
         this.challenged = challenged.getUniqueId();
         this.challengerLocation = challenger.getLocation();
         this.challengedLocation = challenged.getLocation();
-        this.state = DuelState.PENDING;
         this.winner = null;
         this.betAmount = 0.0;
         this.moneyDuel = false;
@@ -53,7 +59,6 @@ public class Duel {
         this.challenged = challenged.getUniqueId();
         this.challengerLocation = challengerLocation;
         this.challengedLocation = challengedLocation;
-        this.state = DuelState.PENDING;
         this.winner = null;
         this.betAmount = betAmount;
         this.moneyDuel = betAmount > 0;
@@ -128,16 +133,19 @@ public class Duel {
      * @return The state of the duel
      */
     public DuelState getState() {
-        return state;
+        return state.get();
     }
 
     /**
-     * Set the state of the duel
+     * Atomically move the duel to a new state if it is still in the expected one.
+     * Only the lifecycle engine should call this so that indexes stay in step with the state.
      *
-     * @param state The new state of the duel
+     * @param expected The state the duel must currently be in
+     * @param next The new state of the duel
+     * @return true if this call performed the transition
      */
-    public void setState(DuelState state) {
-        this.state = state;
+    public boolean compareAndSetState(DuelState expected, DuelState next) {
+        return state.compareAndSet(expected, next);
     }
 
     /**
@@ -205,6 +213,97 @@ public class Duel {
         return getTotalPot() * (percentage / 100.0);
     }
 
+    /**
+     * Get the id of the arena the duel is fought in
+     *
+     * @return The arena id, or null if the duel is fought in place
+     */
+    public String getArenaId() {
+        return arenaId;
+    }
+
+    /**
+     * Set the id of the arena the duel is fought in
+     *
+     * @param arenaId The arena id
+     */
+    public void setArenaId(String arenaId) {
+        this.arenaId = arenaId;
+    }
+
+    /**
+     * Get the time the duel became active
+     *
+     * @return Epoch milliseconds, or 0 if the duel never started
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Mark the duel as started now
+     */
+    public void markStarted() {
+        this.startedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Get the time the duel ended
+     *
+     * @return Epoch milliseconds, or 0 if the duel has not ended
+     */
+    public long getEndedAt() {
+        return endedAt;
+    }
+
+    /**
+     * Get the reason the duel ended
+     *
+     * @return The end reason, or null if the duel has not ended
+     */
+    public EndReason getEndReason() {
+        return endReason;
+    }
+
+    /**
+     * Mark the duel as ended now
+     *
+     * @param endReason The reason the duel ended
+     */
+    public void markEnded(EndReason endReason) {
+        this.endReason = endReason;
+        this.endedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Record damage dealt by a player to their opponent
+     *
+     * @param playerUuid The UUID of the player who dealt the damage
+     * @param amount The final damage amount
+     */
+    public void addDamageDealt(UUID playerUuid, double amount) {
+        if (challenger.equals(playerUuid)) {
+            challengerDamage += amount;
+        } else if (challenged.equals(playerUuid)) {
+            challengedDamage += amount;
+        }
+    }
+
+    /**
+     * Get the total damage a player has dealt in this duel
+     *
+     * @param playerUuid The UUID of the player
+     * @return The damage dealt, or 0 if the player is not in this duel
+     */
+    public double getDamageDealt(UUID playerUuid) {
+        if (challenger.equals(playerUuid)) {
+            return challengerDamage;
+        } else if (challenged.equals(playerUuid)) {
+            return challengedDamage;
+        }
+        return 0;
+    }
+
     /**
      * Check if a player is in this duel
      *
@@ -234,9 +333,67 @@ public class Duel {
      * Enum representing the state of a duel
      */
     public enum DuelState {
+        /** Created but not yet registered */
         PENDING,
+        /** Registered, players are frozen until the countdown ends */
+        COUNTDOWN,
+        /** The fight is running */
         ACTIVE,
+        /** An end was claimed; results and payouts are being applied */
+        ENDING,
+        /** Players are being teleported back, healed and cleaned up */
+        RESTORING,
+        /** Ended with a winner */
         FINISHED,
-        CANCELLED
+        /** Ended without a winner */
+        CANCELLED;
+
+        /**
+         * Check whether a duel in this state may move to the given state
+         *
+         * @param next The target state
+         * @return true if the transition is allowed
+         */
+        public boolean canTransitionTo(DuelState next) {
+            switch (this) {
+                case PENDING:
+                    return next == COUNTDOWN || next == CANCELLED;
+                case COUNTDOWN:
+                    return next == ACTIVE || next == ENDING;
+                case ACTIVE:
+                    return next == ENDING;
+                case ENDING:
+                    return next == RESTORING;
+                case RESTORING:
+                    return next == FINISHED || next == CANCELLED;
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * @return true if the duel is over
+         */
+        public boolean isTerminal() {
+            return this == FINISHED || this == CANCELLED;
+        }
+    }
+
+    /**
+     * Enum representing why a duel ended
+     */
+    public enum EndReason {
+        /** The loser died */
+        DEATH,
+        /** The loser left the server during the fight */
+        QUIT,
+        /** A player went offline before the fight started */
+        DISCONNECT,
+        /** The duel was cancelled by an admin or plugin shutdown */
+        CANCELLED,
+        /** The duel hit its maximum duration without a winner */
+        TIMEOUT,
+        /** The watchdog ended a duel in which neither player was fighting */
+        STALEMATE
     }
 } 
\ No newline at end of file
@@ -0,0 +1,92 @@
+package dev.itscactus.cduello.models;
+
+import java.util.UUID;
+
+/**
+ * An immutable record of a finished duel, as stored in the duel history
+ */
+public class DuelRecord {
+    private final UUID duelId;
+    private final UUID challenger;
+    private final UUID challenged;
+    private final UUID winner;
+    private final String arenaId;
+    private final double betAmount;
+    private final long startedAt;
+    private final long endedAt;
+    private final Duel.EndReason endReason;
+
+    /**
+     * Create a new duel record
+     *
+     * @param duelId The UUID of the duel
+     * @param challenger The UUID of the challenger
+     * @param challenged The UUID of the challenged player
+     * @param winner The UUID of the winner, or null if nobody won
+     * @param arenaId The arena id, or null if the duel was fought in place
+     * @param betAmount The amount each player bet
+     * @param startedAt Epoch milliseconds the fight started, or 0 if it never started
+     * @param endedAt Epoch milliseconds the duel ended
+     * @param endReason The reason the duel ended
+     */
+    public DuelRecord(UUID duelId, UUID challenger, UUID challenged, UUID winner, String arenaId,
+                      double betAmount, long startedAt, long endedAt, Duel.EndReason endReason) {
+        this.duelId = duelId;
+        this.challenger = challenger;
+        this.challenged = challenged;
+        this.winner = winner;
+        this.arenaId = arenaId;
+        this.betAmount = betAmount;
+        this.startedAt = startedAt;
+        this.endedAt = endedAt;
+        this.endReason = endReason;
+    }
+
+    /**
+     * Create a record from an ended duel
+     *
+     * @param duel The ended duel
+     * @return The duel record
+     */
+    public static DuelRecord of(Duel duel) {
+        long endedAt = duel.getEndedAt() > 0 ? duel.getEndedAt() : System.currentTimeMillis();
+        return new DuelRecord(duel.getId(), duel.getChallenger(), duel.getChallenged(), duel.getWinner(),
+                duel.getArenaId(), duel.getBetAmount(), duel.getStartedAt(), endedAt, duel.getEndReason());
+    }
+
+    public UUID getDuelId() {
+        return duelId;
+    }
+
+    public UUID getChallenger() {
+        return challenger;
+    }
+
+    public UUID getChallenged() {
+        return challenged;
+    }
+
+    public UUID getWinner() {
+        return winner;
+    }
+
+    public String getArenaId() {
+        return arenaId;
+    }
+
+    public double getBetAmount() {
+        return betAmount;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public long getEndedAt() {
+        return endedAt;
+    }
+
+    public Duel.EndReason getEndReason() {
+        return endReason;
+    }
+}
@@ -1,5 +1,7 @@
 package dev.itscactus.cduello.models;
 
+import dev.itscactus.cduello.utils.TimingWheel;
+
 import java.util.Objects;
 import java.util.UUID;
 
@@ -11,6 +13,7 @@ public class DuelRequest {
     private final UUID target;
     private final long timestamp;
     private double betAmount;
+    private TimingWheel.Timeout expiry;
 
     /**
      * Create a new duel request
@@ -64,6 +67,24 @@ public class DuelRequest {
         return betAmount > 0;
     }
 
+    /**
+     * Set the timer that expires this request
+     *
+     * @param expiry The scheduled expiry
+     */
+    public void setExpiry(TimingWheel.Timeout expiry) {
+        this.expiry = expiry;
+    }
+
+    /**
+     * Cancel the expiry timer, if any
+     */
+    public void cancelExpiry() {
+        if (expiry != null) {
+            expiry.cancel();
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,146 @@
+package dev.itscactus.cduello.models;
+
+import org.bukkit.Material;
+
+/**
+ * Sıralama kategorilerini temsil eder.
+ * Her kategori player_stats tablosunda indekslenmiş bir sütuna karşılık gelir; RATING ise player_ratings
+ * tablosunda varsayılan sıralamanın puanına karşılık gelir.
+ */
+public enum LeaderboardCategory {
+    WINS("wins", "En Çok Galibiyet", "Galibiyet Sıralaması", Material.DIAMOND_SWORD, false),
+    LOSSES("losses", "En Çok Mağlubiyet", "Mağlubiyet Sıralaması", Material.SKELETON_SKULL, false),
+    MONEY_WON("money_won", "En Çok Para Kazananlar", "Para Sıralaması", Material.GOLD_INGOT, false),
+    NET_EARNINGS("net_earnings", "En Yüksek Net Kazanç", "Net Kazanç Sıralaması", Material.EMERALD, false),
+    WIN_RATIO("win_ratio", "En İyi Oran", "Oran Sıralaması", Material.EXPERIENCE_BOTTLE, true),
+    TOTAL_DUELS("total_duels", "En Çok Düello", "Düello Sayısı Sıralaması", Material.IRON_SWORD, false),
+    RATING("rating", "En Yüksek Puan", "Puan Sıralaması", Material.NETHER_STAR, false);
+
+    private final String column;
+    private final String title;
+    private final String buttonName;
+    private final Material icon;
+    private final boolean minGamesRequired;
+
+    LeaderboardCategory(String column, String title, String buttonName, Material icon, boolean minGamesRequired) {
+        this.column = column;
+        this.title = title;
+        this.buttonName = buttonName;
+        this.icon = icon;
+        this.minGamesRequired = minGamesRequired;
+    }
+
+    /**
+     * Kategorinin sıralama sütununu döndürür, aynı zamanda yapılandırma ve placeholder anahtarıdır
+     *
+     * @return Sütun adı
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Sıralama menüsünün başlığını döndürür
+     *
+     * @return Menü başlığı
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Filtre butonunun adını döndürür
+     *
+     * @return Buton adı
+     */
+    public String getButtonName() {
+        return buttonName;
+    }
+
+    /**
+     * Filtre butonunun materyalini döndürür
+     *
+     * @return Materyal
+     */
+    public Material getIcon() {
+        return icon;
+    }
+
+    /**
+     * Sıralamaya girmek için en az düello sayısı şartı olup olmadığını döndürür
+     *
+     * @return Şart varsa true
+     */
+    public boolean isMinGamesRequired() {
+        return minGamesRequired;
+    }
+
+    /**
+     * Kategorinin player_stats tablosunda indekslenmiş bir sütunu olup olmadığını döndürür
+     *
+     * @return Sütun player_stats tablosundaysa true, puan sıralaması için false
+     */
+    public boolean isStatsColumn() {
+        return this != RATING;
+    }
+
+    /**
+     * Sıralama sütununun oyuncu istatistiklerindeki değerini döndürür
+     *
+     * @param stats Oyuncu istatistikleri
+     * @return Sıralama değeri
+     */
+    public double getValue(PlayerStats stats) {
+        switch (this) {
+            case LOSSES:
+                return stats.getLosses();
+            case MONEY_WON:
+                return stats.getMoneyWon();
+            case NET_EARNINGS:
+                return stats.getNetEarnings();
+            case WIN_RATIO:
+                return stats.getWinRatio();
+            case TOTAL_DUELS:
+                return stats.getTotalDuels();
+            case RATING:
+                return stats.getRating();
+            case WINS:
+            default:
+                return stats.getWins();
+        }
+    }
+
+    /**
+     * Anahtardan kategori bulur
+     *
+     * @param key Sütun adı veya enum adı (büyük/küçük harf duyarsız)
+     * @return Kategori, bulunamazsa WINS
+     */
+    public static LeaderboardCategory fromKey(String key) {
+        if (key != null) {
+            for (LeaderboardCategory category : values()) {
+                if (category.column.equalsIgnoreCase(key) || category.name().equalsIgnoreCase(key)) {
+                    return category;
+                }
+            }
+        }
+        return WINS;
+    }
+
+    /**
+     * Menü başlığından kategori bulur
+     *
+     * @param title Envanter başlığı
+     * @return Kategori, başlık bir sıralama menüsüne ait değilse null
+     */
+    public static LeaderboardCategory fromTitle(String title) {
+        if (title != null) {
+            for (LeaderboardCategory category : values()) {
+                if (title.contains(category.title)) {
+                    return category;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -11,6 +11,7 @@ public class PlayerStats {
     private int losses;
     private double moneyWon;
     private double moneyLost;
+    private double rating;
 
     /**
      * Create new player stats
@@ -138,6 +139,24 @@ public class PlayerStats {
         losses++;
     }
 
+    /**
+     * Set the total money won
+     *
+     * @param moneyWon The money won
+     */
+    public void setMoneyWon(double moneyWon) {
+        this.moneyWon = moneyWon;
+    }
+
+    /**
+     * Set the total money lost
+     *
+     * @param moneyLost The money lost
+     */
+    public void setMoneyLost(double moneyLost) {
+        this.moneyLost = moneyLost;
+    }
+
     public void addMoneyWon(double amount) {
         this.moneyWon += amount;
     }
@@ -145,4 +164,36 @@ public class PlayerStats {
     public void addMoneyLost(double amount) {
         this.moneyLost += amount;
     }
+
+    /**
+     * Get the rating on the default ladder. Only filled in for rating leaderboard entries;
+     * ratings themselves live in the rating manager.
+     *
+     * @return The rating, or 0 if not loaded
+     */
+    public double getRating() {
+        return rating;
+    }
+
+    /**
+     * Set the rating shown on the rating leaderboard
+     *
+     * @param rating The rating
+     */
+    public void setRating(double rating) {
+        this.rating = rating;
+    }
+
+    /**
+     * Create a detached copy of these stats, used to hand a consistent view to the storage thread
+     *
+     * @return A copy of the stats
+     */
+    public PlayerStats snapshot() {
+        PlayerStats copy = new PlayerStats(playerUuid, wins, losses);
+        copy.moneyWon = moneyWon;
+        copy.moneyLost = moneyLost;
+        copy.rating = rating;
+        return copy;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,94 @@
+package dev.itscactus.cduello.models;
+
+import java.util.UUID;
+
+/**
+ * Represents a player's skill rating on a single ladder.
+ * Ratings are kept on the Glicko scale (1500 average); under Elo the deviation and volatility stay unchanged.
+ */
+public class Rating {
+    /** Ladder used for ordinary duels and for the rating leaderboard */
+    public static final String DEFAULT_LADDER = "default";
+
+    private final UUID playerUuid;
+    private final String ladder;
+    private double rating;
+    private double deviation;
+    private double volatility;
+    private int games;
+    private long lastPlayed;
+
+    /**
+     * Create a rating with existing data
+     *
+     * @param playerUuid The UUID of the player
+     * @param ladder The ladder name
+     * @param rating The rating
+     * @param deviation The rating deviation
+     * @param volatility The rating volatility
+     * @param games The number of rated games played
+     * @param lastPlayed When the last rated game ended (epoch millis, 0 if never)
+     */
+    public Rating(UUID playerUuid, String ladder, double rating, double deviation, double volatility, int games, long lastPlayed) {
+        this.playerUuid = playerUuid;
+        this.ladder = ladder;
+        this.rating = rating;
+        this.deviation = deviation;
+        this.volatility = volatility;
+        this.games = games;
+        this.lastPlayed = lastPlayed;
+    }
+
+    public UUID getPlayerUuid() {
+        return playerUuid;
+    }
+
+    public String getLadder() {
+        return ladder;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    public double getDeviation() {
+        return deviation;
+    }
+
+    public double getVolatility() {
+        return volatility;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public long getLastPlayed() {
+        return lastPlayed;
+    }
+
+    /**
+     * Replace the rating after a rated game
+     *
+     * @param rating The new rating
+     * @param deviation The new rating deviation
+     * @param volatility The new volatility
+     * @param playedAt When the game ended (epoch millis)
+     */
+    public void update(double rating, double deviation, double volatility, long playedAt) {
+        this.rating = rating;
+        this.deviation = deviation;
+        this.volatility = volatility;
+        this.games++;
+        this.lastPlayed = playedAt;
+    }
+
+    /**
+     * Create a detached copy of this rating, used to hand a consistent view to the storage thread
+     *
+     * @return A copy of the rating
+     */
+    public Rating snapshot() {
+        return new Rating(playerUuid, ladder, rating, deviation, volatility, games, lastPlayed);
+    }
+}
@@ -1,15 +1,22 @@
 package dev.itscactus.cduello.placeholders;
 
 import dev.itscactus.cduello.Main;
+import dev.itscactus.cduello.managers.RatingManager;
 import dev.itscactus.cduello.managers.StatsManager;
+import dev.itscactus.cduello.models.LeaderboardCategory;
 import dev.itscactus.cduello.models.PlayerStats;
-import dev.itscactus.cduello.utils.DatabaseManager;
+import dev.itscactus.cduello.models.Rating;
+import dev.itscactus.cduello.storage.StatsRepository;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 
 import java.text.DecimalFormat;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
@@ -20,26 +27,50 @@ import java.util.logging.Level;
 public class DuelloPlaceholders extends PlaceholderExpansion {
     private final Main plugin;
     private final StatsManager statsManager;
-    private final DatabaseManager databaseManager;
+    private final RatingManager ratingManager;
+    private final StatsRepository statsRepository;
     private final DecimalFormat decimalFormat = new DecimalFormat("#,##0.00");
     private final DecimalFormat percentFormat = new DecimalFormat("#0.0%");
     
-    // Önbellek
-    private final Map<Integer, String> leaderboardCache = new ConcurrentHashMap<>();
-    private long lastCacheUpdate = 0;
+    // Önbellek (sıralama başı listeleri StatsManager'da tutulur, kapanışta anlık görüntüye yazılır)
+    private final Map<LeaderboardCategory, Long> lastCacheUpdate = new ConcurrentHashMap<>();
+    // Oyuncu ve kategori/sıralama -> sıra; en az kullanılan kayıt atılır (LRU)
+    private final Map<String, CachedRank> rankCache;
     private static final long CACHE_DURATION = 60 * 1000; // 1 dakika (milisaniye)
+    private static final int LEADERBOARD_SIZE = 10;
+    private static final int RANK_CACHE_SIZE = 1000;
+    
+    /**
+     * Önbellekteki sıra ve hesaplandığı zaman
+     */
+    private static final class CachedRank {
+        private final long updatedAt;
+        private volatile int rank = -1;
+        
+        private CachedRank(long updatedAt) {
+            this.updatedAt = updatedAt;
+        }
+    }
     
     /**
      * PlaceholderAPI için yapıcı metot
      * 
      * @param plugin Plugin ana sınıfı
      * @param statsManager İstatistik yöneticisi
-     * @param databaseManager Veritabanı yöneticisi
+     * @param ratingManager Puan yöneticisi
+     * @param statsRepository İstatistik deposu
      */
-    public DuelloPlaceholders(Main plugin, StatsManager statsManager, DatabaseManager databaseManager) {
+    public DuelloPlaceholders(Main plugin, StatsManager statsManager, RatingManager ratingManager, StatsRepository statsRepository) {
         this.plugin = plugin;
         this.statsManager = statsManager;
-        this.databaseManager = databaseManager;
+        this.ratingManager = ratingManager;
+        this.statsRepository = statsRepository;
+        this.rankCache = Collections.synchronizedMap(new LinkedHashMap<String, CachedRank>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedRank> eldest) {
+                return size() > RANK_CACHE_SIZE;
+            }
+        });
     }
 
     @Override
@@ -129,14 +160,45 @@ public class DuelloPlaceholders extends PlaceholderExpansion {
             }
         }
         
-        // Sıralama placeholderları
+        // Puan placeholderları: rating, rating_<sıralama>, rating_deviation, rating_deviation_<sıralama>
+        if (offlinePlayer != null && (params.equals("rating") || params.startsWith("rating_"))) {
+            String key = params.substring("rating".length());
+            boolean deviation = key.startsWith("_deviation");
+            if (deviation) {
+                key = key.substring("_deviation".length());
+            }
+            String ladder = key.startsWith("_") ? key.substring(1) : Rating.DEFAULT_LADDER;
+            return getRatingPlaceholder(offlinePlayer.getUniqueId(), ladder, deviation);
+        }
+        
+        // Oyuncunun puan sıralamasındaki yeri: ladder_rank_<sıralama>
+        if (offlinePlayer != null && params.startsWith("ladder_rank_")) {
+            return getLadderRankPlaceholder(offlinePlayer.getUniqueId(), params.substring("ladder_rank_".length()));
+        }
+        
+        // Oyuncunun sırası: rank_<kategori>
+        if (offlinePlayer != null && params.startsWith("rank_")) {
+            LeaderboardCategory category = LeaderboardCategory.fromKey(params.substring("rank_".length()));
+            return getRankPlaceholder(offlinePlayer.getUniqueId(), category);
+        }
+        
+        // Sıralama placeholderları: siralama_<n> veya siralama_<kategori>_<n>
         if (params.startsWith("siralama_")) {
+            String key = params.substring("siralama_".length());
+            LeaderboardCategory category = LeaderboardCategory.WINS;
+            
+            int separator = key.lastIndexOf('_');
+            if (separator > 0) {
+                category = LeaderboardCategory.fromKey(key.substring(0, separator));
+                key = key.substring(separator + 1);
+            }
+            
             try {
                 // Sıralama numarasını al
-                int position = Integer.parseInt(params.substring("siralama_".length()));
+                int position = Integer.parseInt(key);
                 
                 // Önbellekten al
-                return getLeaderboardPlaceholder(position);
+                return getLeaderboardPlaceholder(category, position);
             } catch (NumberFormatException e) {
                 return "Geçersiz Sıralama";
             }
@@ -148,37 +210,123 @@ public class DuelloPlaceholders extends PlaceholderExpansion {
     /**
      * Sıralama placeholderını cache mekanizması ile alır
      * 
+     * @param category Sıralama kategorisi
      * @param position Sıralama pozisyonu (1'den başlar)
      * @return Sıralamadaki oyuncu adı, yoksa "Yok"
      */
-    private String getLeaderboardPlaceholder(int position) {
+    private String getLeaderboardPlaceholder(LeaderboardCategory category, int position) {
         // Cache süresi dolmuşsa güncelle
-        if (System.currentTimeMillis() - lastCacheUpdate > CACHE_DURATION) {
-            updateLeaderboardCache();
+        if (System.currentTimeMillis() - lastCacheUpdate.getOrDefault(category, 0L) > CACHE_DURATION) {
+            updateLeaderboardCache(category);
         }
         
-        // Cache'den al
-        return leaderboardCache.getOrDefault(position, "Yok");
+        // Cache'den al, açılışta anlık görüntüden gelen liste yenilenene kadar kullanılır
+        List<Map.Entry<PlayerStats, String>> entries = statsManager.getCachedLeaderboard(category);
+        if (position < 1 || position > entries.size()) {
+            return "Yok";
+        }
+        return entries.get(position - 1).getValue();
     }
     
     /**
-     * Sıralama önbelleğini günceller
+     * Sıralama önbelleğini tek bir aralık sorgusuyla günceller
+     * 
+     * @param category Sıralama kategorisi
      */
-    private void updateLeaderboardCache() {
-        for (int i = 1; i <= 10; i++) {
-            final int position = i;
-            
-            // Asenkron olarak al ve cache'e ekle
-            databaseManager.getPlayerAtRank(position, "wins").thenAccept(entry -> {
-                if (entry != null) {
-                    leaderboardCache.put(position, entry.getValue());
-                } else {
-                    leaderboardCache.put(position, "Yok");
-                }
-            });
+    private void updateLeaderboardCache(LeaderboardCategory category) {
+        // Cache güncelleme zamanını kaydet, sorgu sürerken tekrar tetiklenmesin
+        lastCacheUpdate.put(category, System.currentTimeMillis());
+        
+        // Asenkron olarak al ve cache'e ekle
+        statsRepository.getRankRange(1, LEADERBOARD_SIZE, category)
+                .thenAccept(entries -> statsManager.cacheLeaderboard(category, entries));
+    }
+    
+    /**
+     * Oyuncunun sırasını cache mekanizması ile alır
+     * 
+     * @param uuid Oyuncu UUID'si
+     * @param category Sıralama kategorisi
+     * @return Sıra, sıralamada değilse veya henüz hesaplanmadıysa "-"
+     */
+    private String getRankPlaceholder(UUID uuid, LeaderboardCategory category) {
+        String key = uuid + ":" + category.getColumn();
+        
+        // Cache süresi dolmuşsa güncelle
+        CachedRank cached = rankCache.get(key);
+        if (cached == null || System.currentTimeMillis() - cached.updatedAt > CACHE_DURATION) {
+            CachedRank refreshed = refreshRank(key, cached);
+            statsRepository.getRank(uuid, category).thenAccept(rank -> refreshed.rank = rank);
+            cached = refreshed;
+        }
+        
+        int rank = cached.rank;
+        return rank > 0 ? String.valueOf(rank) : "-";
+    }
+    
+    /**
+     * Oyuncunun puanını bellekten alır; bellekte yoksa arka planda yükletir
+     * 
+     * @param uuid Oyuncu UUID'si
+     * @param ladder Sıralama adı
+     * @param deviation Puan yerine sapma istenirse true
+     * @return Yuvarlanmış değer, henüz yüklenmediyse "-"
+     */
+    private String getRatingPlaceholder(UUID uuid, String ladder, boolean deviation) {
+        if (!ratingManager.isEnabled() || !ratingManager.getLadders().contains(ladder)) {
+            return "-";
+        }
+        
+        Rating rating = ratingManager.getCachedRating(uuid, ladder);
+        if (rating == null) {
+            ratingManager.getRating(uuid, ladder);
+            return "-";
+        }
+        
+        synchronized (rating) {
+            return String.valueOf(Math.round(deviation ? rating.getDeviation() : rating.getRating()));
+        }
+    }
+    
+    /**
+     * Oyuncunun bir puan sıralamasındaki yerini cache mekanizması ile alır
+     * 
+     * @param uuid Oyuncu UUID'si
+     * @param ladder Sıralama adı
+     * @return Sıra, sıralamada değilse veya henüz hesaplanmadıysa "-"
+     */
+    private String getLadderRankPlaceholder(UUID uuid, String ladder) {
+        if (!ratingManager.isEnabled() || !ratingManager.getLadders().contains(ladder)) {
+            return "-";
+        }
+        
+        String key = uuid + ":ladder:" + ladder;
+        
+        // Cache süresi dolmuşsa güncelle
+        CachedRank cached = rankCache.get(key);
+        if (cached == null || System.currentTimeMillis() - cached.updatedAt > CACHE_DURATION) {
+            CachedRank refreshed = refreshRank(key, cached);
+            ratingManager.getRank(uuid, ladder).thenAccept(rank -> refreshed.rank = rank);
+            cached = refreshed;
         }
         
-        // Cache güncelleme zamanını kaydet
-        lastCacheUpdate = System.currentTimeMillis();
+        int rank = cached.rank;
+        return rank > 0 ? String.valueOf(rank) : "-";
+    }
+    
+    /**
+     * Süresi dolan sıra kaydını yenisiyle değiştirir; yeni sıra gelene kadar eski değer gösterilir
+     * 
+     * @param key Önbellek anahtarı
+     * @param previous Önceki kayıt, yoksa null
+     * @return Yeni kayıt
+     */
+    private CachedRank refreshRank(String key, CachedRank previous) {
+        CachedRank refreshed = new CachedRank(System.currentTimeMillis());
+        if (previous != null) {
+            refreshed.rank = previous.rank;
+        }
+        rankCache.put(key, refreshed);
+        return refreshed;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package dev.itscactus.cduello.storage;
+
+import dev.itscactus.cduello.models.Arena;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Arenaların kalıcı depolaması.
+ * Tüm işlemler asenkron yürütülür, hata durumunda günlüğe yazılır ve güvenli bir varsayılan döner.
+ */
+public interface ArenaRepository {
+
+    /**
+     * Tüm arenaları yükler
+     *
+     * @return Arena haritası
+     */
+    CompletableFuture<Map<String, Arena>> loadArenas();
+
+    /**
+     * Arena ekler veya günceller
+     *
+     * @param arena Arena
+     * @return İşlem başarılı olursa true döner
+     */
+    CompletableFuture<Boolean> saveArena(Arena arena);
+
+    /**
+     * Tüm arenaları tek bir transaction ile kaydeder
+     *
+     * @param arenas Arena haritası
+     * @return İşlem başarılı olursa true döner
+     */
+    CompletableFuture<Boolean> saveAllArenas(Map<String, Arena> arenas);
+
+    /**
+     * Arenayı siler
+     *
+     * @param arenaId Arena ID'si
+     * @return Arena silindiyse true döner
+     */
+    CompletableFuture<Boolean> deleteArena(String arenaId);
+}
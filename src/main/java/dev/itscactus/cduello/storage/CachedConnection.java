@@ -0,0 +1,147 @@
+package dev.itscactus.cduello.storage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Uzun ömürlü hazırlanmış sorguları saklayan bağlantı sarmalayıcısı.
+ * Her bağlantı tek bir depolama thread'ine ait olduğu için önbellek senkronizasyon gerektirmez.
+ */
+public class CachedConnection {
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+    private long lastUsed = System.currentTimeMillis();
+
+    /**
+     * Bağlantıyı sarmalar
+     *
+     * @param connection JDBC bağlantısı
+     * @param maxStatements Önbellekte tutulacak en fazla sorgu sayısı
+     */
+    public CachedConnection(Connection connection, int maxStatements) {
+        this.connection = connection;
+        int capacity = Math.max(1, maxStatements);
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Önbellekteki hazırlanmış sorguyu döndürür, yoksa hazırlar.
+     * Dönen sorgu önbelleğe aittir, çağıran tarafından kapatılmamalıdır.
+     *
+     * @param sql SQL sorgusu
+     * @return Parametreleri temizlenmiş hazırlanmış sorgu
+     * @throws SQLException Sorgu hazırlanamazsa
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement != null && !statement.isClosed()) {
+            statement.clearParameters();
+            statement.clearBatch();
+            return statement;
+        }
+
+        statement = connection.prepareStatement(sql);
+        statements.put(sql, statement);
+        return statement;
+    }
+
+    /**
+     * Görevi tek bir transaction içinde çalıştırır, hata olursa geri alır
+     *
+     * @param task Görev
+     * @return Görevin sonucu
+     * @throws SQLException Görev veya commit başarısız olursa
+     */
+    public <T> T inTransaction(StorageExecutor.SqlTask<T> task) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            T result = task.execute(this);
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                e.addSuppressed(rollbackEx);
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    public Statement createStatement() throws SQLException {
+        return connection.createStatement();
+    }
+
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        connection.setAutoCommit(autoCommit);
+    }
+
+    public void commit() throws SQLException {
+        connection.commit();
+    }
+
+    public void rollback() throws SQLException {
+        connection.rollback();
+    }
+
+    public boolean isClosed() throws SQLException {
+        return connection.isClosed();
+    }
+
+    /**
+     * Bağlantıyı kullanılmış olarak işaretler ve önceki kullanımdan bu yana geçen süreyi döndürür
+     *
+     * @return Boşta geçen süre (milisaniye)
+     */
+    long touch() {
+        long now = System.currentTimeMillis();
+        long idle = now - lastUsed;
+        lastUsed = now;
+        return idle;
+    }
+
+    /**
+     * Sarmalanan JDBC bağlantısını döndürür
+     *
+     * @return JDBC bağlantısı
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Önbellekteki sorguları ve bağlantıyı kapatır
+     *
+     * @throws SQLException Bağlantı kapatılamazsa
+     */
+    public void close() throws SQLException {
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+        connection.close();
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // Kapatılamayan sorgu bağlantı ile birlikte kapanır
+        }
+    }
+}
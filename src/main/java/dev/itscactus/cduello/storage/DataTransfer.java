@@ -0,0 +1,797 @@
+package dev.itscactus.cduello.storage;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import dev.itscactus.cduello.Main;
+import dev.itscactus.cduello.models.PlayerStats;
+import org.bukkit.Bukkit;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.text.SimpleDateFormat;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Oyuncu istatistiklerini, arenaları ve düello geçmişini NDJSON veya CSV olarak dışa/içe aktaran sınıf.
+ * <p>
+ * Dosyalar sunucudan bağımsızdır: oyuncular iç kimlikleriyle değil UUID'leriyle yazılır ve içe aktarırken
+ * hedef sunucunun {@link PlayerDirectory} kimliklerine çözülür. Satırlar anahtar sırasıyla sabit boyutlu parçalar
+ * halinde okunur ve her parça tek bir batch ve transaction olarak yazılır; bellek kullanımı satır sayısından bağımsızdır.
+ * Dışa aktarma her parçayı ayrı bir okuma olarak yapar, bu yüzden sürerken yazılan satırlar dosyaya girebilir.
+ */
+public class DataTransfer {
+
+    /**
+     * Aktarılabilen veri kümeleri
+     */
+    public enum Dataset {
+        STATS("stats",
+                new Column("uuid", ColumnType.UUID, false),
+                new Column("name", ColumnType.STRING, true),
+                new Column("wins", ColumnType.INT, false),
+                new Column("losses", ColumnType.INT, false),
+                new Column("money_won", ColumnType.DOUBLE, false),
+                new Column("money_lost", ColumnType.DOUBLE, false)),
+        ARENAS("arenas",
+                new Column("id", ColumnType.STRING, false),
+                new Column("name", ColumnType.STRING, false),
+                new Column("world", ColumnType.STRING, false),
+                new Column("pos1_x", ColumnType.DOUBLE, false),
+                new Column("pos1_y", ColumnType.DOUBLE, false),
+                new Column("pos1_z", ColumnType.DOUBLE, false),
+                new Column("pos2_x", ColumnType.DOUBLE, false),
+                new Column("pos2_y", ColumnType.DOUBLE, false),
+                new Column("pos2_z", ColumnType.DOUBLE, false),
+                new Column("enabled", ColumnType.INT, false)),
+        HISTORY("history",
+                new Column("duel_id", ColumnType.UUID, false),
+                new Column("challenger", ColumnType.UUID, false),
+                new Column("challenged", ColumnType.UUID, false),
+                new Column("winner", ColumnType.UUID, true),
+                new Column("arena_id", ColumnType.STRING, true),
+                new Column("bet", ColumnType.DOUBLE, false),
+                new Column("started_at", ColumnType.LONG, true),
+                new Column("ended_at", ColumnType.LONG, false),
+                new Column("end_reason", ColumnType.STRING, false));
+
+        private final String key;
+        private final Column[] columns;
+
+        Dataset(String key, Column... columns) {
+            this.key = key;
+            this.columns = columns;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Komut anahtarından veri kümesini bulur
+         *
+         * @param key Anahtar (stats, arenas, history)
+         * @return Veri kümesi, bilinmiyorsa null
+         */
+        public static Dataset fromKey(String key) {
+            for (Dataset dataset : values()) {
+                if (dataset.key.equalsIgnoreCase(key)) {
+                    return dataset;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Dosya biçimleri
+     */
+    public enum Format {
+        NDJSON("ndjson"),
+        CSV("csv");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @param name Biçim adı veya dosya uzantısı
+         * @return Biçim, bilinmiyorsa null
+         */
+        public static Format fromName(String name) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (lower.equals("json") || lower.equals("ndjson") || lower.equals("jsonl")) {
+                return NDJSON;
+            }
+            return lower.equals("csv") ? CSV : null;
+        }
+    }
+
+    private enum ColumnType {
+        STRING, INT, LONG, DOUBLE, UUID
+    }
+
+    private static final class Column {
+        private final String name;
+        private final ColumnType type;
+        private final boolean nullable;
+
+        Column(String name, ColumnType type, boolean nullable) {
+            this.name = name;
+            this.type = type;
+            this.nullable = nullable;
+        }
+    }
+
+    /**
+     * Tamamlanan bir aktarımın bilgileri
+     */
+    public static final class Result {
+        private final File file;
+        private final long rows;
+        private final long invalidRows;
+        private final String firstError;
+        private final long durationMillis;
+
+        Result(File file, long rows, long invalidRows, String firstError, long durationMillis) {
+            this.file = file;
+            this.rows = rows;
+            this.invalidRows = invalidRows;
+            this.firstError = firstError;
+            this.durationMillis = durationMillis;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * @return Yazılan (veya deneme modunda yazılacak) satır sayısı
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * @return Geçersiz olduğu için atlanan satır sayısı
+         */
+        public long getInvalidRows() {
+            return invalidRows;
+        }
+
+        /**
+         * @return İlk geçersiz satırın açıklaması, yoksa null
+         */
+        public String getFirstError() {
+            return firstError;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+    }
+
+    private static final String[] ARENA_KEY = {"id"};
+    private static final String[] ARENA_COLUMNS =
+            {"id", "name", "world", "pos1_x", "pos1_y", "pos1_z", "pos2_x", "pos2_y", "pos2_z", "enabled"};
+    private static final String INSERT_HISTORY =
+            "INSERT INTO duel_history (duel_id, challenger_id, challenged_id, winner_id, arena_id, bet, started_at, ended_at, end_reason) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final Main plugin;
+    private final StorageExecutor executor;
+    private final PlayerDirectory playerDirectory;
+    private final StatsRepository statsRepository;
+    private final String upsertArena;
+    private final File folder;
+    private final int chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    // Yazılan her istatistik parçası bildirilir, bellekteki kopyalar içe aktarılan değerlerle değiştirilir
+    private volatile Consumer<List<PlayerStats>> statsImportListener;
+
+    /**
+     * @param plugin Plugin ana sınıfı
+     * @param executor Depolama yürütücüsü
+     * @param dialect Arka uç lehçesi
+     * @param playerDirectory Oyuncu kimliği sözlüğü
+     * @param statsRepository İstatistik deposu
+     */
+    public DataTransfer(Main plugin, StorageExecutor executor, SqlDialect dialect,
+                        PlayerDirectory playerDirectory, StatsRepository statsRepository) {
+        this.plugin = plugin;
+        this.executor = executor;
+        this.playerDirectory = playerDirectory;
+        this.statsRepository = statsRepository;
+        this.upsertArena = dialect.upsert("arenas", ARENA_KEY, ARENA_COLUMNS);
+        this.folder = new File(plugin.getDataFolder(), plugin.getConfig().getString("database.transfer.folder", "transfer"));
+        this.chunkSize = Math.max(1, plugin.getConfig().getInt("database.transfer.chunk-size", 1000));
+    }
+
+    /**
+     * İçe aktarılan istatistik parçalarını alacak dinleyiciyi ayarlar. Dinleyici her parça yazıldıktan sonra
+     * aktarım thread'inden çağrılır.
+     *
+     * @param statsImportListener Dinleyici, null olabilir
+     */
+    public void setStatsImportListener(Consumer<List<PlayerStats>> statsImportListener) {
+        this.statsImportListener = statsImportListener;
+    }
+
+    /**
+     * @return Aktarım dosyalarının klasörü
+     */
+    public File getFolder() {
+        return folder;
+    }
+
+    /**
+     * @return Şu anda bir aktarım sürüyorsa true
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Veri kümesini aktarım klasöründe yeni bir dosyaya yazar
+     *
+     * @param dataset Veri kümesi
+     * @param format Dosya biçimi
+     * @param listener İlerleme dinleyicisi, null olabilir
+     * @return Aktarım tamamlandığında sonucu
+     */
+    public CompletableFuture<Result> export(Dataset dataset, Format format, ProgressListener listener) {
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File target = new File(folder, dataset.getKey() + "-" + stamp + "." + format.getExtension());
+        return runExclusive(() -> runExport(dataset, format, target, listener));
+    }
+
+    /**
+     * Aktarım klasöründeki bir dosyayı içe aktarır. Biçim dosya uzantısından belirlenir.
+     * Geçersiz satırlar atlanır ve sonuçta sayılır. İstatistik ve arena satırları anahtarlarına göre güncellenir,
+     * geçmiş kayıtları her zaman eklenir (aynı dosyayı iki kez içe aktarmak kayıtları çoğaltır).
+     * <p>
+     * Bellekte tutulan oyuncuların istatistikleri her parça yazıldıktan sonra içe aktarılan değerlerle değiştirilir
+     * ({@link #setStatsImportListener}), böylece bir sonraki yazma turu içe aktarılan satırın üzerine yazmaz.
+     *
+     * @param dataset Veri kümesi
+     * @param fileName Aktarım klasöründeki dosya adı
+     * @param dryRun true ise dosya yalnızca doğrulanır, veritabanına yazılmaz
+     * @param listener İlerleme dinleyicisi, null olabilir
+     * @return Aktarım tamamlandığında sonucu
+     */
+    public CompletableFuture<Result> importFile(Dataset dataset, String fileName, boolean dryRun, ProgressListener listener) {
+        return runExclusive(() -> {
+            File source = new File(folder, fileName);
+
+            // Aktarım klasörünün dışına çıkan yollar kabul edilmez
+            if (!source.getCanonicalFile().toPath().startsWith(folder.getCanonicalFile().toPath())) {
+                throw new IOException("Dosya aktarım klasörünün dışında: " + fileName);
+            }
+            if (!source.isFile()) {
+                throw new IOException("Dosya bulunamadı: " + fileName);
+            }
+
+            int dot = fileName.lastIndexOf('.');
+            Format format = dot >= 0 ? Format.fromName(fileName.substring(dot + 1)) : null;
+            if (format == null) {
+                throw new IOException("Dosya uzantısı .ndjson, .jsonl veya .csv olmalı: " + fileName);
+            }
+
+            return runImport(dataset, format, source, dryRun, listener);
+        });
+    }
+
+    @FunctionalInterface
+    private interface TransferTask {
+        Result run() throws Exception;
+    }
+
+    /**
+     * Aktarımı asenkron bir thread'de çalıştırır; aynı anda yalnızca bir aktarım yapılabilir
+     */
+    private CompletableFuture<Result> runExclusive(TransferTask task) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+
+        if (!running.compareAndSet(false, true)) {
+            future.completeExceptionally(new IllegalStateException("Başka bir aktarım zaten sürüyor"));
+            return future;
+        }
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                future.complete(task.run());
+            } catch (Throwable t) {
+                future.completeExceptionally(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+            } finally {
+                running.set(false);
+            }
+        });
+
+        return future;
+    }
+
+    private Result runExport(Dataset dataset, Format format, File target, ProgressListener listener) throws Exception {
+        long startedAt = System.currentTimeMillis();
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            throw new IOException("Aktarım klasörü oluşturulamadı: " + folder);
+        }
+
+        long total = executor.submitRead(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM " + tableName(dataset))) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        }).join();
+
+        File temp = new File(folder, target.getName() + ".tmp");
+        long written = 0;
+        int lastPercent = -1;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+            if (format == Format.CSV) {
+                writeCsvHeader(writer, dataset);
+            }
+
+            Object cursor = dataset == Dataset.ARENAS ? "" : (Object) 0L;
+            while (true) {
+                Object chunkCursor = cursor;
+                List<Object[]> rows = executor.submitRead(connection -> readChunk(connection, dataset, chunkCursor)).join();
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                for (Object[] row : rows) {
+                    // İlk değer anahtar imlecidir, dosyaya yazılmaz
+                    cursor = row[0];
+                    if (format == Format.CSV) {
+                        writeCsvRow(writer, dataset, row);
+                    } else {
+                        writeJsonRow(writer, dataset, row);
+                    }
+                }
+
+                written += rows.size();
+                lastPercent = report(listener, written, total, lastPercent);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp.toPath());
+            throw e;
+        }
+
+        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        plugin.getLogger().info(dataset.getKey() + " dışa aktarıldı: " + target.getName() + " (" + written + " satır)");
+        return new Result(target, written, 0, null, System.currentTimeMillis() - startedAt);
+    }
+
+    private static String tableName(Dataset dataset) {
+        switch (dataset) {
+            case STATS:
+                return "player_stats";
+            case ARENAS:
+                return "arenas";
+            default:
+                return "duel_history";
+        }
+    }
+
+    /**
+     * Anahtar imlecinden sonraki parçayı okur. Her satırın ilk değeri imleçtir, kalanlar veri kümesinin sütunlarıdır.
+     */
+    private List<Object[]> readChunk(CachedConnection connection, Dataset dataset, Object cursor) throws SQLException {
+        PreparedStatement ps;
+        switch (dataset) {
+            case STATS:
+                ps = connection.prepare(
+                        "SELECT s.player_id AS cursor_key, p.uuid, p.name, s.wins, s.losses, s.money_won, s.money_lost " +
+                        "FROM player_stats s JOIN players p ON p.id = s.player_id " +
+                        "WHERE s.player_id > ? ORDER BY s.player_id LIMIT ?");
+                break;
+            case ARENAS:
+                ps = connection.prepare(
+                        "SELECT id AS cursor_key, id, name, world, pos1_x, pos1_y, pos1_z, pos2_x, pos2_y, pos2_z, enabled " +
+                        "FROM arenas WHERE id > ? ORDER BY id LIMIT ?");
+                break;
+            default:
+                ps = connection.prepare(
+                        "SELECT h.id AS cursor_key, h.duel_id, c.uuid AS challenger, d.uuid AS challenged, w.uuid AS winner, " +
+                        "h.arena_id, h.bet, h.started_at, h.ended_at, h.end_reason " +
+                        "FROM duel_history h " +
+                        "JOIN players c ON c.id = h.challenger_id " +
+                        "JOIN players d ON d.id = h.challenged_id " +
+                        "LEFT JOIN players w ON w.id = h.winner_id " +
+                        "WHERE h.id > ? ORDER BY h.id LIMIT ?");
+                break;
+        }
+
+        ps.setObject(1, cursor);
+        ps.setInt(2, chunkSize);
+
+        List<Object[]> rows = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                Column[] columns = dataset.columns;
+                Object[] row = new Object[columns.length + 1];
+                row[0] = dataset == Dataset.ARENAS ? rs.getString(1) : (Object) rs.getLong(1);
+
+                for (int i = 0; i < columns.length; i++) {
+                    row[i + 1] = readValue(rs, i + 2, columns[i].type);
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static Object readValue(ResultSet rs, int index, ColumnType type) throws SQLException {
+        Object value;
+        switch (type) {
+            case UUID:
+                byte[] bytes = rs.getBytes(index);
+                return bytes != null ? UuidCodec.fromBytes(bytes).toString() : null;
+            case INT:
+                value = rs.getInt(index);
+                break;
+            case LONG:
+                value = rs.getLong(index);
+                break;
+            case DOUBLE:
+                value = rs.getDouble(index);
+                break;
+            default:
+                return rs.getString(index);
+        }
+        return rs.wasNull() ? null : value;
+    }
+
+    private static void writeJsonRow(BufferedWriter writer, Dataset dataset, Object[] row) throws IOException {
+        JsonObject json = new JsonObject();
+        for (int i = 0; i < dataset.columns.length; i++) {
+            Object value = row[i + 1];
+            String name = dataset.columns[i].name;
+            if (value == null) {
+                json.add(name, JsonNull.INSTANCE);
+            } else if (value instanceof Number) {
+                json.addProperty(name, (Number) value);
+            } else {
+                json.addProperty(name, value.toString());
+            }
+        }
+        writer.write(json.toString());
+        writer.newLine();
+    }
+
+    private static void writeCsvHeader(BufferedWriter writer, Dataset dataset) throws IOException {
+        for (int i = 0; i < dataset.columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(dataset.columns[i].name);
+        }
+        writer.newLine();
+    }
+
+    private static void writeCsvRow(BufferedWriter writer, Dataset dataset, Object[] row) throws IOException {
+        for (int i = 0; i < dataset.columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = row[i + 1];
+            if (value != null) {
+                writer.write(csvEscape(value.toString()));
+            }
+        }
+        writer.newLine();
+    }
+
+    private static String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private Result runImport(Dataset dataset, Format format, File source, boolean dryRun, ProgressListener listener) throws Exception {
+        long startedAt = System.currentTimeMillis();
+        long fileSize = Math.max(1, source.length());
+        long consumed = 0;
+        long lineNumber = 0;
+        long imported = 0;
+        long invalid = 0;
+        String firstError = null;
+        int lastPercent = -1;
+
+        try (BufferedReader reader = Files.newBufferedReader(source.toPath(), StandardCharsets.UTF_8)) {
+            int[] csvIndexes = null;
+            if (format == Format.CSV) {
+                List<String> header = readCsvRecord(reader);
+                if (header == null) {
+                    throw new IOException("CSV dosyası boş");
+                }
+                lineNumber++;
+                consumed += String.join(",", header).length() + 1;
+                csvIndexes = mapCsvHeader(dataset, header);
+            }
+
+            List<Object[]> chunk = new ArrayList<>(chunkSize);
+            while (true) {
+                List<String> record = null;
+                String line = null;
+                if (format == Format.CSV) {
+                    record = readCsvRecord(reader);
+                } else {
+                    line = reader.readLine();
+                }
+                if (record == null && line == null) {
+                    break;
+                }
+
+                lineNumber++;
+                // Bayt sayısı değil karakter sayısı; yalnızca ilerleme tahmini için
+                consumed += (line != null ? line.length() : String.join(",", record).length()) + 1;
+
+                if (line != null ? line.trim().isEmpty() : record.size() == 1 && record.get(0).isEmpty()) {
+                    continue;
+                }
+
+                try {
+                    chunk.add(format == Format.CSV ? parseCsvRow(dataset, csvIndexes, record) : parseJsonRow(dataset, line));
+                } catch (RuntimeException e) {
+                    invalid++;
+                    if (firstError == null) {
+                        firstError = "satır " + lineNumber + ": " + e.getMessage();
+                    }
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    imported += writeChunk(dataset, chunk, dryRun);
+                    chunk.clear();
+                    lastPercent = report(listener, consumed, fileSize, lastPercent);
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                imported += writeChunk(dataset, chunk, dryRun);
+            }
+        }
+
+        report(listener, fileSize, fileSize, lastPercent);
+        plugin.getLogger().info(dataset.getKey() + (dryRun ? " içe aktarma denemesi: " : " içe aktarıldı: ") + source.getName()
+                + " (" + imported + " satır, " + invalid + " geçersiz)");
+        return new Result(source, imported, invalid, firstError, System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Bir parçayı tek transaction ile yazar
+     *
+     * @return Yazılan satır sayısı
+     */
+    private int writeChunk(Dataset dataset, List<Object[]> chunk, boolean dryRun) {
+        if (dryRun) {
+            return chunk.size();
+        }
+
+        switch (dataset) {
+            case STATS:
+                List<Map.Entry<PlayerStats, String>> batch = new ArrayList<>(chunk.size());
+                List<PlayerStats> imported = new ArrayList<>(chunk.size());
+                for (Object[] row : chunk) {
+                    PlayerStats stats = new PlayerStats((UUID) row[0], (Integer) row[2], (Integer) row[3]);
+                    stats.addMoneyWon((Double) row[4]);
+                    stats.addMoneyLost((Double) row[5]);
+                    batch.add(new AbstractMap.SimpleEntry<>(stats, (String) row[1]));
+                    imported.add(stats);
+                }
+                if (!statsRepository.savePlayerStatsBatch(batch).join()) {
+                    throw new IllegalStateException("İstatistik parçası yazılamadı, aktarım durduruldu");
+                }
+
+                Consumer<List<PlayerStats>> listener = statsImportListener;
+                if (listener != null) {
+                    listener.accept(imported);
+                }
+                return chunk.size();
+
+            case ARENAS:
+                return executor.submitWrite(connection -> connection.inTransaction(tx -> {
+                    PreparedStatement ps = tx.prepare(upsertArena);
+                    for (Object[] row : chunk) {
+                        for (int i = 0; i < row.length; i++) {
+                            ps.setObject(i + 1, row[i]);
+                        }
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    return chunk.size();
+                })).join();
+
+            default:
+                return executor.submitWrite(connection -> {
+                    // Kimlikler kendi transaction'ında çözülür (DuelHistoryWriter ile aynı sıra)
+                    Map<UUID, String> players = new HashMap<>();
+                    for (Object[] row : chunk) {
+                        for (int i = 1; i <= 3; i++) {
+                            if (row[i] != null) {
+                                players.put((UUID) row[i], null);
+                            }
+                        }
+                    }
+                    Map<UUID, Integer> ids = playerDirectory.resolveAll(connection, players);
+
+                    return connection.inTransaction(tx -> {
+                        PreparedStatement ps = tx.prepare(INSERT_HISTORY);
+                        for (Object[] row : chunk) {
+                            ps.setBytes(1, UuidCodec.toBytes((UUID) row[0]));
+                            ps.setInt(2, ids.get((UUID) row[1]));
+                            ps.setInt(3, ids.get((UUID) row[2]));
+                            if (row[3] != null) {
+                                ps.setInt(4, ids.get((UUID) row[3]));
+                            } else {
+                                ps.setNull(4, Types.INTEGER);
+                            }
+                            ps.setString(5, (String) row[4]);
+                            ps.setDouble(6, (Double) row[5]);
+                            if (row[6] != null) {
+                                ps.setLong(7, (Long) row[6]);
+                            } else {
+                                ps.setNull(7, Types.BIGINT);
+                            }
+                            ps.setLong(8, (Long) row[7]);
+                            ps.setString(9, (String) row[8]);
+                            ps.addBatch();
+                        }
+                        ps.executeBatch();
+                        return chunk.size();
+                    });
+                }).join();
+        }
+    }
+
+    private static Object[] parseJsonRow(Dataset dataset, String line) {
+        JsonElement element = JsonParser.parseString(line);
+        if (!element.isJsonObject()) {
+            throw new IllegalArgumentException("JSON nesnesi bekleniyor");
+        }
+
+        JsonObject json = element.getAsJsonObject();
+        Object[] row = new Object[dataset.columns.length];
+        for (int i = 0; i < dataset.columns.length; i++) {
+            Column column = dataset.columns[i];
+            JsonElement value = json.get(column.name);
+            row[i] = parseValue(column, value == null || value.isJsonNull() ? null : value.getAsString());
+        }
+        return row;
+    }
+
+    private static int[] mapCsvHeader(Dataset dataset, List<String> header) throws IOException {
+        int[] indexes = new int[dataset.columns.length];
+        for (int i = 0; i < dataset.columns.length; i++) {
+            indexes[i] = header.indexOf(dataset.columns[i].name);
+            if (indexes[i] < 0 && !dataset.columns[i].nullable) {
+                throw new IOException("CSV başlığında sütun eksik: " + dataset.columns[i].name);
+            }
+        }
+        return indexes;
+    }
+
+    private static Object[] parseCsvRow(Dataset dataset, int[] indexes, List<String> record) {
+        Object[] row = new Object[dataset.columns.length];
+        for (int i = 0; i < dataset.columns.length; i++) {
+            String value = indexes[i] >= 0 && indexes[i] < record.size() ? record.get(indexes[i]) : null;
+            // CSV'de boş alan ile null ayırt edilemez
+            row[i] = parseValue(dataset.columns[i], value == null || value.isEmpty() ? null : value);
+        }
+        return row;
+    }
+
+    private static Object parseValue(Column column, String value) {
+        if (value == null) {
+            if (!column.nullable) {
+                throw new IllegalArgumentException(column.name + " boş olamaz");
+            }
+            return null;
+        }
+
+        try {
+            switch (column.type) {
+                case UUID:
+                    return UUID.fromString(value);
+                case INT:
+                    return Integer.parseInt(value);
+                case LONG:
+                    return Long.parseLong(value);
+                case DOUBLE:
+                    double parsed = Double.parseDouble(value);
+                    if (Double.isNaN(parsed) || Double.isInfinite(parsed)) {
+                        throw new IllegalArgumentException(column.name + " sayı değil: " + value);
+                    }
+                    return parsed;
+                default:
+                    return value;
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column.name + " geçersiz: " + value);
+        }
+    }
+
+    /**
+     * Tırnak içinde satır sonu içerebilen tek bir CSV kaydını okur
+     *
+     * @return Alanlar, dosya sonundaysa null
+     */
+    private static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static int report(ProgressListener listener, long done, long total, int lastPercent) {
+        int percent = total > 0 ? (int) Math.min(100, done * 100 / total) : 100;
+        if (listener != null && percent != lastPercent) {
+            listener.onProgress(percent, done, total);
+        }
+        return percent;
+    }
+}
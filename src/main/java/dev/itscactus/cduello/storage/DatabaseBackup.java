@@ -0,0 +1,502 @@
+package dev.itscactus.cduello.storage;
+
+import dev.itscactus.cduello.Main;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Sunucu çalışırken veritabanının tutarlı bir kopyasını alan sınıf.
+ * <p>
+ * SQLite için kopya ayrı bir salt okunur bağlantı üzerinde tek bir okuma transaction'ı içinde alınır; WAL modunda
+ * bu transaction'ın gördüğü an sabittir ve yazıcı thread beklemeden çalışmaya devam eder. Satırlar tablo tablo,
+ * {@code database.backup.chunk-size} satırlık adımlarla yeni bir SQLite dosyasına kopyalanır ve adımlar arasında ilerleme bildirilir.
+ * Depolama yürütücüsünün thread'leri kullanılmaz, böylece uzun süren bir yedek okuma veya yazma kuyruğunu bekletmez.
+ * <p>
+ * H2 için veritabanının kendi çevrimiçi yedeği ({@code BACKUP TO}) kullanılır. MySQL/MariaDB yedekleri
+ * sunucu tarafındaki araçlarla alınmalıdır.
+ */
+public class DatabaseBackup {
+
+    /**
+     * Tamamlanan bir yedeğin bilgileri
+     */
+    public static final class Result {
+        private final File file;
+        private final long rows;
+        private final long durationMillis;
+
+        Result(File file, long rows, long durationMillis) {
+            this.file = file;
+            this.rows = rows;
+            this.durationMillis = durationMillis;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * @return Kopyalanan satır sayısı (veritabanının kendi yedeğinde -1)
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+    }
+
+    private final Main plugin;
+    private final SqlDialect dialect;
+    private final File folder;
+    private final int chunkSize;
+    private final long stepDelayTicks;
+    private final int keep;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile boolean stopped = false;
+    private volatile Result lastResult;
+    private volatile SqliteCopy current;
+    private BukkitTask scheduleTask;
+
+    /**
+     * @param plugin Plugin ana sınıfı
+     * @param dialect Arka uç lehçesi
+     */
+    public DatabaseBackup(Main plugin, SqlDialect dialect) {
+        this.plugin = plugin;
+        this.dialect = dialect;
+        this.folder = new File(plugin.getDataFolder(), plugin.getConfig().getString("database.backup.folder", "backups"));
+        this.chunkSize = Math.max(1, plugin.getConfig().getInt("database.backup.chunk-size", 1000));
+        this.stepDelayTicks = Math.max(1, plugin.getConfig().getLong("database.backup.step-delay-ticks", 1L));
+        this.keep = Math.max(0, plugin.getConfig().getInt("database.backup.keep", 7));
+    }
+
+    /**
+     * Zamanlanmış yedeklemeyi başlatır ({@code database.backup.interval-minutes}, 0 ise kapalı)
+     */
+    public void startSchedule() {
+        long intervalTicks = Math.max(0, plugin.getConfig().getLong("database.backup.interval-minutes", 0L)) * 60L * 20L;
+        if (intervalTicks <= 0) {
+            return;
+        }
+
+        scheduleTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+            if (running.get()) {
+                return;
+            }
+            start(null).whenComplete((result, ex) -> {
+                if (ex != null) {
+                    plugin.getLogger().log(Level.SEVERE, "Zamanlanmış veritabanı yedeği alınamadı!", ex);
+                }
+            });
+        }, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * Yeni bir yedek almaya başlar. Aynı anda yalnızca bir yedek alınabilir.
+     *
+     * @param listener İlerleme dinleyicisi (asenkron thread'den çağrılır), null olabilir
+     * @return Yedek tamamlandığında sonucu
+     */
+    public CompletableFuture<Result> start(ProgressListener listener) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+
+        if (dialect instanceof MySqlDialect) {
+            future.completeExceptionally(new SQLFeatureNotSupportedException(
+                    "MySQL yedekleri sunucu tarafında alınmalıdır (örn. mysqldump --single-transaction)"));
+            return future;
+        }
+
+        if (stopped) {
+            future.completeExceptionally(new IllegalStateException("Eklenti kapatılıyor"));
+            return future;
+        }
+
+        if (!running.compareAndSet(false, true)) {
+            future.completeExceptionally(new IllegalStateException("Başka bir yedekleme zaten sürüyor"));
+            return future;
+        }
+
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            running.set(false);
+            future.completeExceptionally(new IOException("Yedek klasörü oluşturulamadı: " + folder));
+            return future;
+        }
+
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        long startedAt = System.currentTimeMillis();
+        plugin.getLogger().info("Veritabanı yedeği alınıyor (" + dialect.getName() + ")...");
+
+        future.whenComplete((result, ex) -> {
+            current = null;
+            running.set(false);
+            if (result != null) {
+                lastResult = result;
+                plugin.getLogger().info("Veritabanı yedeği alındı: " + result.getFile().getName() + " ("
+                        + (result.getFile().length() / 1024) + " KiB, " + result.getDurationMillis() + " ms)");
+                pruneOldBackups();
+            }
+        });
+
+        if (dialect instanceof H2Dialect) {
+            File target = new File(folder, "database-" + stamp + ".zip");
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> runH2Backup(target, startedAt, listener, future));
+        } else {
+            File target = new File(folder, "database-" + stamp + ".db");
+            current = new SqliteCopy(target, startedAt, listener, future);
+            current.schedule();
+        }
+
+        return future;
+    }
+
+    /**
+     * H2'nin çevrimiçi yedeğini alır; yazmalar yedek sırasında devam eder
+     */
+    private void runH2Backup(File target, long startedAt, ProgressListener listener, CompletableFuture<Result> future) {
+        try (Connection connection = dialect.openConnection(true);
+             Statement statement = connection.createStatement()) {
+            reportProgress(listener, 0, 0, 0);
+            statement.execute("BACKUP TO '" + target.getAbsolutePath().replace("'", "''") + "'");
+            reportProgress(listener, 100, 0, 0);
+            future.complete(new Result(target, -1, System.currentTimeMillis() - startedAt));
+        } catch (SQLException | RuntimeException e) {
+            target.delete();
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * SQLite veritabanını tek bir okuma transaction'ı içinde parça parça yeni bir dosyaya kopyalayan iş
+     */
+    private final class SqliteCopy {
+        private final File target;
+        private final File temp;
+        private final long startedAt;
+        private final ProgressListener listener;
+        private final CompletableFuture<Result> future;
+
+        private final Deque<String> tables = new ArrayDeque<>();
+        private final List<String> deferredSchema = new ArrayList<>();
+        private Connection source;
+        private Connection destination;
+        private String table;
+        private PreparedStatement select;
+        private PreparedStatement insert;
+        private long cursor;
+        private long copied;
+        private long total;
+        private int lastPercent = -1;
+
+        SqliteCopy(File target, long startedAt, ProgressListener listener, CompletableFuture<Result> future) {
+            this.target = target;
+            this.temp = new File(target.getParentFile(), target.getName() + ".tmp");
+            this.startedAt = startedAt;
+            this.listener = listener;
+            this.future = future;
+        }
+
+        void schedule() {
+            if (stopped || !plugin.isEnabled()) {
+                fail(new IllegalStateException("Eklenti kapatılırken yedekleme durduruldu"));
+                return;
+            }
+            Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, this::step, stepDelayTicks);
+        }
+
+        private synchronized void step() {
+            if (future.isDone()) {
+                return;
+            }
+
+            try {
+                if (source == null) {
+                    prepare();
+                } else if (!copyChunk()) {
+                    finish();
+                    return;
+                }
+                schedule();
+            } catch (SQLException | IOException | RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Okuma transaction'ını açar, şemayı hedefe kurar ve toplam satır sayısını hesaplar.
+         * İlk okuma ile birlikte kopyalanacak an sabitlenir.
+         */
+        private void prepare() throws SQLException, IOException {
+            Files.deleteIfExists(temp.toPath());
+
+            source = dialect.openConnection(true);
+            source.setAutoCommit(false);
+
+            destination = DriverManager.getConnection("jdbc:sqlite:" + temp.getAbsolutePath());
+            try (Statement statement = destination.createStatement()) {
+                // Geçici dosya; yarıda kalırsa silinir
+                statement.execute("PRAGMA journal_mode = OFF");
+                statement.execute("PRAGMA synchronous = OFF");
+            }
+            destination.setAutoCommit(false);
+
+            try (Statement statement = source.createStatement();
+                 ResultSet rs = statement.executeQuery(
+                         "SELECT type, name, sql FROM sqlite_master " +
+                         "WHERE sql IS NOT NULL AND name NOT LIKE 'sqlite_%' ORDER BY rowid");
+                 Statement create = destination.createStatement()) {
+                while (rs.next()) {
+                    if ("table".equals(rs.getString("type"))) {
+                        create.execute(rs.getString("sql"));
+                        tables.add(rs.getString("name"));
+                    } else {
+                        // İndeksler veri kopyalandıktan sonra tek seferde kurulur
+                        deferredSchema.add(rs.getString("sql"));
+                    }
+                }
+            }
+
+            try (Statement statement = source.createStatement()) {
+                for (String name : tables) {
+                    try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM " + quote(name))) {
+                        total += rs.next() ? rs.getLong(1) : 0;
+                    }
+                }
+            }
+
+            destination.commit();
+            report();
+        }
+
+        /**
+         * Sıradaki parçayı kopyalar
+         *
+         * @return Kopyalanacak satır kaldıysa true
+         */
+        private boolean copyChunk() throws SQLException {
+            while (true) {
+                if (table == null) {
+                    closeStatements();
+                    table = tables.poll();
+                    if (table == null) {
+                        return false;
+                    }
+                    cursor = Long.MIN_VALUE;
+                    select = source.prepareStatement(
+                            "SELECT rowid, * FROM " + quote(table) + " WHERE rowid > ? ORDER BY rowid LIMIT ?");
+                }
+
+                select.setLong(1, cursor);
+                select.setInt(2, chunkSize);
+
+                int rows = 0;
+                try (ResultSet rs = select.executeQuery()) {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    int columns = meta.getColumnCount();
+
+                    while (rs.next()) {
+                        if (insert == null) {
+                            insert = destination.prepareStatement(insertSql(meta));
+                        }
+
+                        cursor = rs.getLong(1);
+                        for (int i = 2; i <= columns; i++) {
+                            insert.setObject(i - 1, rs.getObject(i));
+                        }
+                        insert.addBatch();
+                        rows++;
+                    }
+                }
+
+                if (rows == 0) {
+                    table = null;
+                    continue;
+                }
+
+                insert.executeBatch();
+                destination.commit();
+                copied += rows;
+                report();
+                return true;
+            }
+        }
+
+        private String insertSql(ResultSetMetaData meta) throws SQLException {
+            StringBuilder columns = new StringBuilder();
+            for (int i = 2; i <= meta.getColumnCount(); i++) {
+                if (i > 2) {
+                    columns.append(", ");
+                }
+                columns.append(quote(meta.getColumnName(i)));
+            }
+            return "INSERT INTO " + quote(table) + " (" + columns + ") VALUES ("
+                    + SqlDialect.placeholders(meta.getColumnCount() - 1) + ")";
+        }
+
+        private void finish() throws SQLException, IOException {
+            try (Statement statement = destination.createStatement()) {
+                for (String sql : deferredSchema) {
+                    statement.execute(sql);
+                }
+            }
+            destination.commit();
+            close();
+
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            future.complete(new Result(target, copied, System.currentTimeMillis() - startedAt));
+        }
+
+        /**
+         * Süren kopyayı durdurur ve geçici dosyayı siler
+         */
+        synchronized void cancel() {
+            if (!future.isDone()) {
+                fail(new IllegalStateException("Eklenti kapatılırken yedekleme durduruldu"));
+            }
+        }
+
+        private void fail(Throwable cause) {
+            close();
+            temp.delete();
+            future.completeExceptionally(cause);
+        }
+
+        private void report() {
+            int percent = total > 0 ? (int) (copied * 100 / total) : 100;
+            if (percent != lastPercent) {
+                lastPercent = percent;
+                reportProgress(listener, percent, copied, total);
+            }
+        }
+
+        private void closeStatements() {
+            try {
+                if (select != null) {
+                    select.close();
+                }
+                if (insert != null) {
+                    insert.close();
+                }
+            } catch (SQLException ignored) {
+                // Bağlantılar zaten kapatılıyor
+            }
+            select = null;
+            insert = null;
+        }
+
+        private void close() {
+            closeStatements();
+            try {
+                if (source != null) {
+                    // Okuma transaction'ını bitir, WAL kontrol noktası bu andan sonra ilerleyebilir
+                    source.rollback();
+                    source.close();
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.WARNING, "Yedek kaynak bağlantısı kapatılamadı", e);
+            }
+            try {
+                if (destination != null) {
+                    destination.close();
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.WARNING, "Yedek dosyası kapatılamadı", e);
+            }
+            source = null;
+            destination = null;
+        }
+    }
+
+    private void reportProgress(ProgressListener listener, int percent, long copiedRows, long totalRows) {
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onProgress(percent, copiedRows, totalRows);
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Yedekleme ilerlemesi bildirilemedi", e);
+        }
+    }
+
+    /**
+     * {@code database.backup.keep} sayısından eski yedekleri siler (0 = silme)
+     */
+    private void pruneOldBackups() {
+        if (keep <= 0) {
+            return;
+        }
+
+        File[] backups = folder.listFiles((dir, name) -> name.startsWith("database-")
+                && (name.endsWith(".db") || name.endsWith(".zip")));
+        if (backups == null || backups.length <= keep) {
+            return;
+        }
+
+        // Dosya adları zaman damgası taşıdığı için ada göre sıralama tarih sırasıdır
+        Arrays.sort(backups, Comparator.comparing(File::getName).reversed());
+        for (int i = keep; i < backups.length; i++) {
+            if (!backups[i].delete()) {
+                plugin.getLogger().warning("Eski yedek silinemedi: " + backups[i].getName());
+            }
+        }
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Zamanlanmış yedeklemeyi ve süren yedeği durdurur
+     */
+    public void shutdown() {
+        stopped = true;
+        if (scheduleTask != null) {
+            scheduleTask.cancel();
+        }
+
+        // Bekleyen adım görevleri eklentiyle birlikte iptal edilir, bağlantıları burada kapat
+        SqliteCopy copy = current;
+        if (copy != null) {
+            copy.cancel();
+        }
+    }
+
+    /**
+     * @return Şu anda bir yedek alınıyorsa true
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * @return Bu oturumda alınan son yedek, yoksa null
+     */
+    public Result getLastResult() {
+        return lastResult;
+    }
+}
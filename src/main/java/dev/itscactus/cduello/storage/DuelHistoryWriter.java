@@ -0,0 +1,228 @@
+package dev.itscactus.cduello.storage;
+
+import dev.itscactus.cduello.Main;
+import dev.itscactus.cduello.models.DuelRecord;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Düello geçmişini yalnızca ekleme yaparak yazan toplu yazıcı.
+ * Kayıtlar bellekte biriktirilir ve düzenli aralıklarla, her parti tek transaction olacak şekilde
+ * yazıcı thread'e gönderilir. Düello bitişi hiçbir zaman G/Ç beklemez.
+ */
+public class DuelHistoryWriter {
+    private static final String INSERT_HISTORY =
+            "INSERT INTO duel_history (duel_id, challenger_id, challenged_id, winner_id, arena_id, bet, started_at, ended_at, end_reason) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final Main plugin;
+    private final StorageExecutor executor;
+    private final PlayerDirectory playerDirectory;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Queue<DuelRecord> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicLong writtenRecords = new AtomicLong();
+    private BukkitTask flushTask;
+
+    /**
+     * @param plugin Plugin ana sınıfı
+     * @param executor Depolama yürütücüsü
+     * @param playerDirectory Oyuncu kimliği sözlüğü
+     */
+    public DuelHistoryWriter(Main plugin, StorageExecutor executor, PlayerDirectory playerDirectory) {
+        this.plugin = plugin;
+        this.executor = executor;
+        this.playerDirectory = playerDirectory;
+        this.enabled = plugin.getConfig().getBoolean("history.enabled", true);
+        this.batchSize = Math.max(1, plugin.getConfig().getInt("history.batch-size", 500));
+    }
+
+    /**
+     * Düzenli yazma görevini başlatır
+     */
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        long interval = Math.max(1, plugin.getConfig().getInt("history.flush-interval", 5)) * 20L; // Tick cinsinden
+        flushTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::flush, interval, interval);
+    }
+
+    /**
+     * Bir düello kaydını yazma kuyruğuna ekler, beklemeden döner
+     *
+     * @param record Düello kaydı
+     */
+    public void append(DuelRecord record) {
+        if (!enabled) {
+            return;
+        }
+
+        pending.add(record);
+
+        // Parti dolduysa bir sonraki turu beklemeden yaz
+        if (pendingCount.incrementAndGet() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    /**
+     * Bekleyen kayıtları partiler halinde yazıcı thread'e gönderir
+     *
+     * @return Tüm partiler yazılırsa true döner
+     */
+    public CompletableFuture<Boolean> flush() {
+        List<CompletableFuture<Boolean>> writes = new ArrayList<>();
+
+        while (true) {
+            List<DuelRecord> batch = new ArrayList<>(Math.min(batchSize, Math.max(1, pendingCount.get())));
+            DuelRecord record;
+            while (batch.size() < batchSize && (record = pending.poll()) != null) {
+                batch.add(record);
+            }
+
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            pendingCount.addAndGet(-batch.size());
+            writes.add(writeBatch(batch));
+        }
+
+        return CompletableFuture.allOf(writes.toArray(new CompletableFuture[0]))
+                .thenApply(v -> writes.stream().allMatch(CompletableFuture::join));
+    }
+
+    /**
+     * Bir partiyi tek transaction ile yazar, başarısız olursa kayıtları kuyruğa geri koyar
+     *
+     * @param batch Kayıt partisi
+     * @return İşlem başarılı olursa true döner
+     */
+    private CompletableFuture<Boolean> writeBatch(List<DuelRecord> batch) {
+        return executor.submitWrite(connection -> {
+            // Kimlikler kendi transaction'ında çözülür, kayıtlar oyunculara tamsayı kimlikle başvurur
+            Map<UUID, String> players = new HashMap<>();
+            for (DuelRecord record : batch) {
+                players.put(record.getChallenger(), null);
+                players.put(record.getChallenged(), null);
+            }
+            Map<UUID, Integer> ids = playerDirectory.resolveAll(connection, players);
+
+            return connection.inTransaction(tx -> {
+                PreparedStatement ps = tx.prepare(INSERT_HISTORY);
+                for (DuelRecord record : batch) {
+                    bindRecord(ps, record, ids);
+                    ps.addBatch();
+                }
+
+                ps.executeBatch();
+                writtenRecords.addAndGet(batch.size());
+
+                // Debug log
+                if (plugin.getConfig().getBoolean("debug", false)) {
+                    plugin.getLogger().info(batch.size() + " düello kaydı geçmişe yazıldı.");
+                }
+
+                return true;
+            });
+        }).exceptionally(ex -> {
+            plugin.getLogger().log(Level.SEVERE, "Düello geçmişi yazılırken hata oluştu!", ex);
+
+            // Bir sonraki turda tekrar dene
+            pending.addAll(batch);
+            pendingCount.addAndGet(batch.size());
+            return false;
+        });
+    }
+
+    /**
+     * Kayıt sorgusunun parametrelerini doldurur
+     *
+     * @param ps Hazırlanmış sorgu
+     * @param record Düello kaydı
+     * @param ids Oyuncu kimlikleri
+     * @throws SQLException Parametre atanamazsa
+     */
+    private void bindRecord(PreparedStatement ps, DuelRecord record, Map<UUID, Integer> ids) throws SQLException {
+        ps.setBytes(1, UuidCodec.toBytes(record.getDuelId()));
+        ps.setInt(2, ids.get(record.getChallenger()));
+        ps.setInt(3, ids.get(record.getChallenged()));
+
+        // Kazanan her zaman iki taraftan biridir
+        Integer winnerId = record.getWinner() != null ? ids.get(record.getWinner()) : null;
+        if (winnerId != null) {
+            ps.setInt(4, winnerId);
+        } else {
+            ps.setNull(4, Types.INTEGER);
+        }
+
+        if (record.getArenaId() != null) {
+            ps.setString(5, record.getArenaId());
+        } else {
+            ps.setNull(5, Types.VARCHAR);
+        }
+
+        ps.setDouble(6, record.getBetAmount());
+
+        if (record.getStartedAt() > 0) {
+            ps.setLong(7, record.getStartedAt());
+        } else {
+            ps.setNull(7, Types.BIGINT);
+        }
+
+        ps.setLong(8, record.getEndedAt());
+        ps.setString(9, record.getEndReason() != null ? record.getEndReason().name() : "UNKNOWN");
+    }
+
+    /**
+     * Yazılmayı bekleyen kayıt sayısını döndürür
+     *
+     * @return Bekleyen kayıt sayısı
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Bu oturumda yazılan kayıt sayısını döndürür
+     *
+     * @return Yazılan kayıt sayısı
+     */
+    public long getWrittenRecords() {
+        return writtenRecords.get();
+    }
+
+    /**
+     * Yazma görevini durdurur ve bekleyen kayıtları kuyruğa ekler, kuyruk kapanışta boşaltılır
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+
+        flush();
+    }
+}
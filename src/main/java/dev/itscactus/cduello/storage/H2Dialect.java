@@ -0,0 +1,82 @@
+package dev.itscactus.cduello.storage;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Eklenti ile birlikte gelen gömülü H2 arka ucu.
+ * MVStore eşzamanlı okumaları kilitsiz yürütür, bu yüzden okuyucu bağlantıları yalnızca salt okunur olarak işaretlenir.
+ */
+public class H2Dialect implements SqlDialect {
+    private final String dbFile;
+    private final ConfigurationSection config;
+
+    /**
+     * @param dbFile Veritabanı dosyasının uzantısız tam yolu
+     * @param config Eklenti yapılandırması
+     */
+    public H2Dialect(String dbFile, ConfigurationSection config) {
+        this.dbFile = dbFile;
+        this.config = config;
+    }
+
+    @Override
+    public String getName() {
+        return "H2";
+    }
+
+    @Override
+    public Connection openConnection(boolean readOnly) throws SQLException {
+        try {
+            Class.forName("org.h2.Driver");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("H2 JDBC sürücüsü bulunamadı", e);
+        }
+
+        // MySQL uyumluluk modu sütun adlarını ve LIMIT sözdizimini diğer arka uçlarla aynı tutar
+        String url = "jdbc:h2:file:" + dbFile
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE"
+                + ";CACHE_SIZE=" + config.getInt("database.h2.cache-size-kb", 16384);
+
+        Connection connection = DriverManager.getConnection(url,
+                config.getString("database.h2.username", "sa"),
+                config.getString("database.h2.password", ""));
+        connection.setReadOnly(readOnly);
+        return connection;
+    }
+
+    @Override
+    public String varchar(int length) {
+        return "VARCHAR(" + length + ")";
+    }
+
+    @Override
+    public String autoIncrementKey() {
+        return "BIGINT AUTO_INCREMENT PRIMARY KEY";
+    }
+
+    @Override
+    public String intAutoIncrementKey() {
+        return "INT AUTO_INCREMENT PRIMARY KEY";
+    }
+
+    @Override
+    public String binary(int length) {
+        return "BINARY(" + length + ")";
+    }
+
+    @Override
+    public String upsert(String table, String[] keyColumns, String[] columns) {
+        return "MERGE INTO " + table + " (" + SqlDialect.columnList(columns) + ") KEY ("
+                + SqlDialect.columnList(keyColumns) + ") VALUES (" + SqlDialect.placeholders(columns.length) + ")";
+    }
+
+    @Override
+    public long getValidationIdleMillis() {
+        // Gömülü veritabanı bağlantıları zaman aşımına uğramaz
+        return 0L;
+    }
+}
@@ -0,0 +1,157 @@
+package dev.itscactus.cduello.storage;
+
+import dev.itscactus.cduello.Main;
+import dev.itscactus.cduello.models.Arena;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Arenaları {@link SqlDialect} ile seçilen SQL üzerinden saklayan JDBC deposu
+ */
+public class JdbcArenaRepository implements ArenaRepository {
+    private static final String[] ARENA_KEY = {"id"};
+    private static final String[] ARENA_COLUMNS =
+            {"id", "name", "world", "pos1_x", "pos1_y", "pos1_z", "pos2_x", "pos2_y", "pos2_z", "enabled"};
+
+    private final Main plugin;
+    private final StorageExecutor executor;
+    private final String upsertArena;
+
+    /**
+     * @param plugin Plugin ana sınıfı
+     * @param executor Depolama yürütücüsü
+     * @param dialect Arka uç lehçesi
+     */
+    public JdbcArenaRepository(Main plugin, StorageExecutor executor, SqlDialect dialect) {
+        this.plugin = plugin;
+        this.executor = executor;
+        this.upsertArena = dialect.upsert("arenas", ARENA_KEY, ARENA_COLUMNS);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Arena>> loadArenas() {
+        return executor.submitRead(connection -> {
+            Map<String, Arena> arenas = new HashMap<>();
+
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT * FROM arenas")) {
+
+                while (resultSet.next()) {
+                    String id = resultSet.getString("id");
+                    String name = resultSet.getString("name");
+                    String worldName = resultSet.getString("world");
+
+                    double pos1X = resultSet.getDouble("pos1_x");
+                    double pos1Y = resultSet.getDouble("pos1_y");
+                    double pos1Z = resultSet.getDouble("pos1_z");
+
+                    double pos2X = resultSet.getDouble("pos2_x");
+                    double pos2Y = resultSet.getDouble("pos2_y");
+                    double pos2Z = resultSet.getDouble("pos2_z");
+
+                    boolean enabled = resultSet.getInt("enabled") == 1;
+
+                    World world = Bukkit.getWorld(worldName);
+
+                    if (world == null) {
+                        plugin.getLogger().warning("Arena için dünya bulunamadı: " + worldName);
+                        continue;
+                    }
+
+                    Location pos1 = new Location(world, pos1X, pos1Y, pos1Z);
+                    Location pos2 = new Location(world, pos2X, pos2Y, pos2Z);
+
+                    Arena arena = new Arena(id, name, world, pos1, pos2);
+                    arena.setEnabled(enabled);
+
+                    arenas.put(id, arena);
+                }
+            }
+
+            return arenas;
+        }).whenComplete((arenas, ex) -> {
+            if (ex != null) {
+                plugin.getLogger().log(Level.SEVERE, "Arenalar yüklenirken hata oluştu!", ex);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> saveArena(Arena arena) {
+        return executor.submitWrite(connection -> {
+            PreparedStatement ps = connection.prepare(upsertArena);
+            bindArena(ps, arena);
+            ps.executeUpdate();
+            return true;
+        }).exceptionally(ex -> {
+            plugin.getLogger().log(Level.SEVERE, "Arena kaydedilirken hata oluştu: " + arena.getId(), ex);
+            return false;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> saveAllArenas(Map<String, Arena> arenas) {
+        return executor.submitWrite(connection -> connection.inTransaction(tx -> {
+            PreparedStatement ps = tx.prepare(upsertArena);
+            for (Arena arena : arenas.values()) {
+                bindArena(ps, arena);
+                ps.addBatch();
+            }
+
+            ps.executeBatch();
+            return true;
+        })).exceptionally(ex -> {
+            plugin.getLogger().log(Level.SEVERE, "Arenalar toplu kaydedilirken hata oluştu!", ex);
+            return false;
+        });
+    }
+
+    /**
+     * Arena sorgusunun parametrelerini doldurur
+     *
+     * @param ps Hazırlanmış sorgu
+     * @param arena Arena
+     * @throws SQLException Parametre atanamazsa
+     */
+    private void bindArena(PreparedStatement ps, Arena arena) throws SQLException {
+        ps.setString(1, arena.getId());
+        ps.setString(2, arena.getName());
+        ps.setString(3, arena.getWorldName());
+
+        Location pos1 = arena.getPos1();
+        ps.setDouble(4, pos1.getX());
+        ps.setDouble(5, pos1.getY());
+        ps.setDouble(6, pos1.getZ());
+
+        Location pos2 = arena.getPos2();
+        ps.setDouble(7, pos2.getX());
+        ps.setDouble(8, pos2.getY());
+        ps.setDouble(9, pos2.getZ());
+
+        ps.setInt(10, arena.isEnabled() ? 1 : 0);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteArena(String arenaId) {
+        return executor.submitWrite(connection -> {
+            PreparedStatement ps = connection.prepare("DELETE FROM arenas WHERE id = ?");
+            ps.setString(1, arenaId);
+
+            int affectedRows = ps.executeUpdate();
+            return affectedRows > 0;
+        }).exceptionally(ex -> {
+            plugin.getLogger().log(Level.SEVERE, "Arena silinirken hata oluştu: " + arenaId, ex);
+            return false;
+        });
+    }
+}
@@ -0,0 +1,185 @@
+package dev.itscactus.cduello.storage;
+
+import dev.itscactus.cduello.Main;
+import dev.itscactus.cduello.models.Rating;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Oyuncu puanlarını {@link SqlDialect} ile seçilen SQL üzerinden saklayan JDBC deposu
+ */
+public class JdbcRatingRepository implements RatingRepository {
+    private static final String[] RATING_KEY = {"player_id", "ladder"};
+    private static final String[] RATING_COLUMNS =
+            {"player_id", "ladder", "rating", "deviation", "volatility", "games", "last_played"};
+    private static final String RANGE_QUERY =
+            "SELECT p.uuid AS player_uuid, p.name AS player_name, r.*" +
+            " FROM player_ratings r JOIN players p ON p.id = r.player_id" +
+            " WHERE r.ladder = ? AND r.games >= ?" +
+            " ORDER BY r.rating DESC, r.player_id ASC LIMIT ? OFFSET ?";
+    // Sıralama sırasında önde olanlar: daha yüksek puan veya eşit puanda daha küçük kimlik
+    private static final String RANK_QUERY =
+            "SELECT COUNT(*) FROM player_ratings WHERE ladder = ? AND games >= ?" +
+            " AND (rating > ? OR (rating = ? AND player_id < ?))";
+
+    private final Main plugin;
+    private final StorageExecutor executor;
+    private final PlayerDirectory playerDirectory;
+    private final String upsertRating;
+    private final int minGames;
+
+    /**
+     * @param plugin Plugin ana sınıfı
+     * @param executor Depolama yürütücüsü
+     * @param playerDirectory Oyuncu kimliği sözlüğü
+     * @param dialect Arka uç lehçesi
+     */
+    public JdbcRatingRepository(Main plugin, StorageExecutor executor, PlayerDirectory playerDirectory, SqlDialect dialect) {
+        this.plugin = plugin;
+        this.executor = executor;
+        this.playerDirectory = playerDirectory;
+        this.upsertRating = dialect.upsert("player_ratings", RATING_KEY, RATING_COLUMNS);
+        this.minGames = Math.max(0, plugin.getConfig().getInt("ratings.leaderboard.min-games", 5));
+    }
+
+    @Override
+    public CompletableFuture<Rating> loadRating(UUID uuid, String ladder) {
+        // Hata null'a çevrilmez; null "hiç oynamadı" demektir ve başlangıç puanı gerçek puanın üzerine yazılır
+        return executor.submitRead(connection -> {
+            PreparedStatement ps = connection.prepare(
+                    "SELECT r.* FROM player_ratings r JOIN players p ON p.id = r.player_id WHERE p.uuid = ? AND r.ladder = ?");
+            ps.setBytes(1, UuidCodec.toBytes(uuid));
+            ps.setString(2, ladder);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? readRating(uuid, rs) : null;
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> saveRatingsBatch(List<Rating> batch) {
+        return executor.submitWrite(connection -> {
+            // Kimlikler kendi transaction'ında çözülür, ad sözlüğü değiştirilmez
+            Map<UUID, String> players = new HashMap<>();
+            for (Rating rating : batch) {
+                players.put(rating.getPlayerUuid(), null);
+            }
+            Map<UUID, Integer> ids = playerDirectory.resolveAll(connection, players);
+
+            return connection.inTransaction(tx -> {
+                PreparedStatement ps = tx.prepare(upsertRating);
+                for (Rating rating : batch) {
+                    bindRating(ps, ids.get(rating.getPlayerUuid()), rating);
+                    ps.addBatch();
+                }
+
+                ps.executeBatch();
+
+                // Debug log
+                if (plugin.getConfig().getBoolean("debug", false)) {
+                    plugin.getLogger().info(batch.size() + " oyuncu puanı tek transaction ile kaydedildi.");
+                }
+
+                return true;
+            });
+        }).exceptionally(ex -> {
+            plugin.getLogger().log(Level.SEVERE, "Oyuncu puanları toplu kaydedilirken hata oluştu!", ex);
+            return false;
+        });
+    }
+
+    private void bindRating(PreparedStatement ps, int playerId, Rating rating) throws SQLException {
+        ps.setInt(1, playerId);
+        ps.setString(2, rating.getLadder());
+        ps.setDouble(3, rating.getRating());
+        ps.setDouble(4, rating.getDeviation());
+        ps.setDouble(5, rating.getVolatility());
+        ps.setInt(6, rating.getGames());
+        ps.setLong(7, rating.getLastPlayed());
+    }
+
+    @Override
+    public CompletableFuture<List<Map.Entry<Rating, String>>> getRankRange(String ladder, int fromRank, int toRank) {
+        int offset = Math.max(0, fromRank - 1);
+        int limit = Math.max(0, toRank - offset);
+        if (limit == 0) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        return executor.submitRead(connection -> {
+            List<Map.Entry<Rating, String>> result = new ArrayList<>();
+
+            PreparedStatement ps = connection.prepare(RANGE_QUERY);
+            ps.setString(1, ladder);
+            ps.setInt(2, minGames);
+            ps.setInt(3, limit);
+            ps.setInt(4, offset);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    UUID uuid = UuidCodec.fromBytes(rs.getBytes("player_uuid"));
+                    result.add(new AbstractMap.SimpleEntry<>(readRating(uuid, rs), rs.getString("player_name")));
+                }
+            }
+
+            return result;
+        }).exceptionally(ex -> {
+            plugin.getLogger().log(Level.SEVERE, "Puan sıralaması alınırken hata oluştu: " + ladder, ex);
+            return Collections.emptyList();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> getRank(UUID uuid, String ladder) {
+        return executor.submitRead(connection -> {
+            // Oyuncunun puanını birincil anahtardan oku
+            PreparedStatement valueStatement = connection.prepare(
+                    "SELECT r.rating, r.games, r.player_id FROM player_ratings r JOIN players p ON p.id = r.player_id" +
+                    " WHERE p.uuid = ? AND r.ladder = ?");
+            valueStatement.setBytes(1, UuidCodec.toBytes(uuid));
+            valueStatement.setString(2, ladder);
+
+            double rating;
+            int playerId;
+            try (ResultSet rs = valueStatement.executeQuery()) {
+                if (!rs.next() || rs.getInt("games") < minGames) {
+                    return -1;
+                }
+                rating = rs.getDouble("rating");
+                playerId = rs.getInt("player_id");
+            }
+
+            // Önündeki oyuncuları indeks aralığında say
+            PreparedStatement countStatement = connection.prepare(RANK_QUERY);
+            countStatement.setString(1, ladder);
+            countStatement.setInt(2, minGames);
+            countStatement.setDouble(3, rating);
+            countStatement.setDouble(4, rating);
+            countStatement.setInt(5, playerId);
+
+            try (ResultSet rs = countStatement.executeQuery()) {
+                return rs.next() ? rs.getInt(1) + 1 : -1;
+            }
+        }).exceptionally(ex -> {
+            plugin.getLogger().log(Level.SEVERE, "Oyuncu puan sırası alınırken hata oluştu: " + uuid, ex);
+            return -1;
+        });
+    }
+
+    private Rating readRating(UUID uuid, ResultSet rs) throws SQLException {
+        return new Rating(uuid, rs.getString("ladder"), rs.getDouble("rating"), rs.getDouble("deviation"),
+                rs.getDouble("volatility"), rs.getInt("games"), rs.getLong("last_played"));
+    }
+}
@@ -0,0 +1,423 @@
+package dev.itscactus.cduello.storage;
+
+import dev.itscactus.cduello.Main;
+import dev.itscactus.cduello.models.LeaderboardCategory;
+import dev.itscactus.cduello.models.PlayerStats;
+import dev.itscactus.cduello.models.Rating;
+import dev.itscactus.cduello.storage.migration.PlayerIdMigration;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Oyuncu istatistiklerini {@link SqlDialect} ile seçilen SQL üzerinden saklayan JDBC deposu
+ */
+public class JdbcStatsRepository implements StatsRepository {
+    private static final String[] STATS_KEY = {"player_id"};
+    private static final String[] STATS_COLUMNS =
+            {"player_id", "wins", "losses", "money_won", "money_lost", "last_updated",
+             "total_duels", "win_ratio", "net_earnings"};
+    private static final String JOURNAL_CHECKPOINT_KEY = "stats_journal_seq";
+    private static final String STATS_JOIN =
+            " FROM player_stats s JOIN players p ON p.id = s.player_id";
+    private static final String SELECT_STATS = "SELECT s.*" + STATS_JOIN + " WHERE p.uuid = ?";
+    // v5 taşıması sürerken tek sorgu, satır taşınırken iki tablo arasında kaybolmasın diye; yeni tablodaki satır önce gelir
+    private static final String SELECT_STATS_WITH_LEGACY =
+            "SELECT s.wins, s.losses, s.money_won, s.money_lost, 0 AS legacy" + STATS_JOIN + " WHERE p.uuid = ? " +
+            "UNION ALL SELECT wins, losses, money_won, money_lost, 1 AS legacy FROM " + PlayerIdMigration.LEGACY_STATS +
+            " WHERE uuid = ? ORDER BY legacy";
+    // Puan sıralaması varsayılan sıralamanın puan tablosundan okunur, istatistikler yanına eklenir
+    private static final String RATING_JOIN =
+            " FROM player_ratings r JOIN players p ON p.id = r.player_id LEFT JOIN player_stats s ON s.player_id = r.player_id";
+
+    private final Main plugin;
+    private final StorageExecutor executor;
+    private final PlayerDirectory playerDirectory;
+    private final RatingRepository ratingRepository;
+    private final PlayerIdMigration playerIdMigration;
+    private final String upsertPlayerStats;
+    private final String upsertMeta;
+    private final int minGames;
+    private final int minRatedGames;
+    private final Map<LeaderboardCategory, String> rangeQueries = new EnumMap<>(LeaderboardCategory.class);
+    private final Map<LeaderboardCategory, String> rankQueries = new EnumMap<>(LeaderboardCategory.class);
+
+    /**
+     * @param plugin Plugin ana sınıfı
+     * @param executor Depolama yürütücüsü
+     * @param playerDirectory Oyuncu kimliği sözlüğü
+     * @param dialect Arka uç lehçesi
+     * @param ratingRepository Puan deposu (puan sıralaması için)
+     * @param playerIdMigration v5 geçişi (taşıma sürerken eski tablodan okumak için)
+     */
+    public JdbcStatsRepository(Main plugin, StorageExecutor executor, PlayerDirectory playerDirectory, SqlDialect dialect,
+                               RatingRepository ratingRepository, PlayerIdMigration playerIdMigration) {
+        this.plugin = plugin;
+        this.executor = executor;
+        this.playerDirectory = playerDirectory;
+        this.ratingRepository = ratingRepository;
+        this.playerIdMigration = playerIdMigration;
+        this.upsertPlayerStats = dialect.upsert("player_stats", STATS_KEY, STATS_COLUMNS);
+        this.upsertMeta = dialect.upsert("storage_meta", new String[]{"meta_key"}, new String[]{"meta_key", "meta_value"});
+        this.minGames = Math.max(0, plugin.getConfig().getInt("stats.leaderboard.min-games", 10));
+        this.minRatedGames = Math.max(0, plugin.getConfig().getInt("ratings.leaderboard.min-games", 5));
+
+        rangeQueries.put(LeaderboardCategory.RATING, "SELECT p.uuid AS player_uuid, p.name AS player_name, s.*, r.rating AS ladder_rating"
+                + RATING_JOIN + " WHERE r.ladder = ? AND r.games >= ? ORDER BY r.rating DESC, r.player_id ASC LIMIT ? OFFSET ?");
+
+        // Her kategori kendi indeksini sırayla okur, oyuncu kimliği eşitlikleri kararlı şekilde bozar
+        for (LeaderboardCategory category : LeaderboardCategory.values()) {
+            if (!category.isStatsColumn()) {
+                continue;
+            }
+
+            String column = category.getColumn();
+            String minGamesFilter = category.isMinGamesRequired() ? "total_duels >= ? AND " : "";
+
+            rangeQueries.put(category, "SELECT p.uuid AS player_uuid, p.name AS player_name, s.*" + STATS_JOIN
+                    + (category.isMinGamesRequired() ? " WHERE s.total_duels >= ?" : "")
+                    + " ORDER BY s." + column + " DESC, s.player_id ASC LIMIT ? OFFSET ?");
+
+            // Sıralama sırasında önde olanlar: daha yüksek değer veya eşit değerde daha küçük kimlik
+            rankQueries.put(category, "SELECT COUNT(*) FROM player_stats WHERE " + minGamesFilter
+                    + "(" + column + " > ? OR (" + column + " = ? AND player_id < ?))");
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> savePlayerStatsBatch(List<Map.Entry<PlayerStats, String>> batch) {
+        return executor.submitWrite(connection -> {
+            // Kimlikler ve ad değişiklikleri kendi transaction'ında çözülür
+            Map<UUID, String> players = new HashMap<>();
+            for (Map.Entry<PlayerStats, String> entry : batch) {
+                players.put(entry.getKey().getPlayerUuid(), entry.getValue());
+            }
+            Map<UUID, Integer> ids = playerDirectory.resolveAll(connection, players);
+
+            return connection.inTransaction(tx -> {
+                PreparedStatement ps = tx.prepare(upsertPlayerStats);
+                for (Map.Entry<PlayerStats, String> entry : batch) {
+                    bindPlayerStats(ps, ids.get(entry.getKey().getPlayerUuid()), entry.getKey());
+                    ps.addBatch();
+                }
+
+                ps.executeBatch();
+
+                // Debug log
+                if (plugin.getConfig().getBoolean("debug", false)) {
+                    plugin.getLogger().info(batch.size() + " oyuncunun istatistikleri tek transaction ile kaydedildi.");
+                }
+
+                return true;
+            });
+        }).exceptionally(ex -> {
+            plugin.getLogger().log(Level.SEVERE, "Oyuncu istatistikleri toplu kaydedilirken hata oluştu!", ex);
+            return false;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> savePlayerName(UUID uuid, String playerName) {
+        return executor.submitWrite(connection -> {
+            playerDirectory.resolve(connection, uuid, playerName);
+            return true;
+        }).exceptionally(ex -> {
+            plugin.getLogger().log(Level.SEVERE, "Oyuncu adı kaydedilirken hata oluştu: " + playerName, ex);
+            return false;
+        });
+    }
+
+    /**
+     * İstatistik sorgusunun parametrelerini doldurur
+     *
+     * @param ps Hazırlanmış sorgu
+     * @param playerId Oyuncu kimliği
+     * @param playerStats Oyuncu istatistikleri
+     * @throws SQLException Parametre atanamazsa
+     */
+    private void bindPlayerStats(PreparedStatement ps, int playerId, PlayerStats playerStats) throws SQLException {
+        ps.setInt(1, playerId);
+        ps.setInt(2, playerStats.getWins());
+        ps.setInt(3, playerStats.getLosses());
+        ps.setDouble(4, playerStats.getMoneyWon());
+        ps.setDouble(5, playerStats.getMoneyLost());
+        ps.setTimestamp(6, new Timestamp(System.currentTimeMillis()));
+        ps.setInt(7, playerStats.getTotalDuels());
+        ps.setDouble(8, playerStats.getWinRatio());
+        ps.setDouble(9, playerStats.getNetEarnings());
+    }
+
+    @Override
+    public CompletableFuture<PlayerStats> loadPlayerStats(UUID uuid) {
+        // Hata boş bir nesneye çevrilmez; boş kayıt belleğe alınıp yazılırsa gerçek satırın üzerine yazar
+        return executor.submitRead(connection -> {
+            PlayerStats stats = selectStats(connection, uuid);
+
+            // Oyuncu veritabanında bulunamadıysa yeni istatistik nesnesi döndür
+            return stats != null ? stats : new PlayerStats(uuid);
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Map.Entry<PlayerStats, String>>> getTopPlayers(int limit, LeaderboardCategory category) {
+        return getRankRange(1, limit, category);
+    }
+
+    @Override
+    public CompletableFuture<List<Map.Entry<PlayerStats, String>>> getRankRange(int fromRank, int toRank, LeaderboardCategory category) {
+        int offset = Math.max(0, fromRank - 1);
+        int limit = Math.max(0, toRank - offset);
+        if (limit == 0) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        String query = rangeQueries.get(category);
+
+        return executor.submitRead(connection -> {
+            List<Map.Entry<PlayerStats, String>> result = new ArrayList<>();
+
+            PreparedStatement ps = connection.prepare(query);
+            int index = 1;
+            if (category == LeaderboardCategory.RATING) {
+                ps.setString(index++, Rating.DEFAULT_LADDER);
+                ps.setInt(index++, minRatedGames);
+            } else if (category.isMinGamesRequired()) {
+                ps.setInt(index++, minGames);
+            }
+            ps.setInt(index++, limit);
+            ps.setInt(index, offset);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    UUID uuid = UuidCodec.fromBytes(rs.getBytes("player_uuid"));
+                    String playerName = rs.getString("player_name");
+
+                    PlayerStats stats = readStats(uuid, rs);
+                    if (category == LeaderboardCategory.RATING) {
+                        stats.setRating(rs.getDouble("ladder_rating"));
+                    }
+                    result.add(new AbstractMap.SimpleEntry<>(stats, playerName));
+                }
+            }
+
+            return result;
+        }).exceptionally(ex -> {
+            plugin.getLogger().log(Level.SEVERE, "Sıralama aralığı alınırken hata oluştu!", ex);
+            return Collections.emptyList();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<PlayerStats, String>> getPlayerAtRank(int position, LeaderboardCategory category) {
+        // Tek satırlık aralık, OFFSET ile doğrudan o pozisyona atlar
+        return getRankRange(position, position, category).thenApply(list -> list.isEmpty() ? null : list.get(0));
+    }
+
+    @Override
+    public CompletableFuture<Integer> getRank(UUID uuid, LeaderboardCategory category) {
+        if (category == LeaderboardCategory.RATING) {
+            return ratingRepository.getRank(uuid, Rating.DEFAULT_LADDER);
+        }
+
+        String column = category.getColumn();
+
+        return executor.submitRead(connection -> {
+            // Oyuncunun sıralama değerini birincil anahtardan oku
+            PreparedStatement valueStatement = connection.prepare(
+                    "SELECT s." + column + ", s.total_duels, s.player_id" + STATS_JOIN + " WHERE p.uuid = ?");
+            valueStatement.setBytes(1, UuidCodec.toBytes(uuid));
+
+            double value;
+            int playerId;
+            try (ResultSet rs = valueStatement.executeQuery()) {
+                if (!rs.next()) {
+                    return -1;
+                }
+                if (category.isMinGamesRequired() && rs.getInt("total_duels") < minGames) {
+                    return -1;
+                }
+                value = rs.getDouble(1);
+                playerId = rs.getInt("player_id");
+            }
+
+            // Önündeki oyuncuları indeks aralığında say
+            PreparedStatement countStatement = connection.prepare(rankQueries.get(category));
+            int index = 1;
+            if (category.isMinGamesRequired()) {
+                countStatement.setInt(index++, minGames);
+            }
+            countStatement.setDouble(index++, value);
+            countStatement.setDouble(index++, value);
+            countStatement.setInt(index, playerId);
+
+            try (ResultSet rs = countStatement.executeQuery()) {
+                return rs.next() ? rs.getInt(1) + 1 : -1;
+            }
+        }).exceptionally(ex -> {
+            plugin.getLogger().log(Level.SEVERE, "Oyuncu sıralaması alınırken hata oluştu: " + uuid, ex);
+            return -1;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> loadJournalCheckpoint() {
+        return executor.submitRead(connection -> {
+            PreparedStatement ps = connection.prepare("SELECT meta_value FROM storage_meta WHERE meta_key = ?");
+            ps.setString(1, JOURNAL_CHECKPOINT_KEY);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> savePlayerStatsBatches(List<List<Map.Entry<PlayerStats, String>>> batches, long checkpoint) {
+        return executor.submitWrite(connection -> {
+            // Kimlikler ve ad değişiklikleri kendi transaction'ında çözülür
+            Map<UUID, String> players = new HashMap<>();
+            for (List<Map.Entry<PlayerStats, String>> batch : batches) {
+                for (Map.Entry<PlayerStats, String> entry : batch) {
+                    players.put(entry.getKey().getPlayerUuid(), entry.getValue());
+                }
+            }
+            Map<UUID, Integer> ids = playerDirectory.resolveAll(connection, players);
+
+            // Kontrol noktası ayrı yazılırsa arada çökme günlüğün yeniden uygulanmasına yol açar
+            return connection.inTransaction(tx -> {
+                PreparedStatement ps = tx.prepare(upsertPlayerStats);
+                for (List<Map.Entry<PlayerStats, String>> batch : batches) {
+                    for (Map.Entry<PlayerStats, String> entry : batch) {
+                        bindPlayerStats(ps, ids.get(entry.getKey().getPlayerUuid()), entry.getKey());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+
+                if (checkpoint >= 0) {
+                    writeJournalCheckpoint(tx, checkpoint);
+                }
+
+                // Debug log
+                if (plugin.getConfig().getBoolean("debug", false)) {
+                    plugin.getLogger().info(players.size() + " oyuncunun istatistikleri " + batches.size()
+                            + " parti halinde tek transaction ile kaydedildi.");
+                }
+
+                return true;
+            });
+        }).exceptionally(ex -> {
+            plugin.getLogger().log(Level.SEVERE, "Oyuncu istatistikleri toplu kaydedilirken hata oluştu!", ex);
+            return false;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> applyJournal(List<StatsJournal.Entry> entries, long checkpoint) {
+        return executor.submitWrite(connection -> {
+            // Aynı oyuncunun değişikliklerini tek satır güncellemesinde topla
+            Map<UUID, PlayerStats> deltas = new HashMap<>();
+            Map<UUID, String> players = new HashMap<>();
+            for (StatsJournal.Entry entry : entries) {
+                PlayerStats delta = deltas.computeIfAbsent(entry.getPlayerUuid(), PlayerStats::new);
+                delta.setWins(delta.getWins() + entry.getWins());
+                delta.setLosses(delta.getLosses() + entry.getLosses());
+                delta.addMoneyWon(entry.getMoneyWon());
+                delta.addMoneyLost(entry.getMoneyLost());
+                players.put(entry.getPlayerUuid(), null);
+            }
+            Map<UUID, Integer> ids = playerDirectory.resolveAll(connection, players);
+
+            return connection.inTransaction(tx -> {
+                PreparedStatement upsert = tx.prepare(upsertPlayerStats);
+
+                for (PlayerStats delta : deltas.values()) {
+                    int playerId = ids.get(delta.getPlayerUuid());
+
+                    PlayerStats current = selectStats(tx, delta.getPlayerUuid());
+                    if (current == null) {
+                        current = new PlayerStats(delta.getPlayerUuid());
+                    }
+
+                    current.setWins(current.getWins() + delta.getWins());
+                    current.setLosses(current.getLosses() + delta.getLosses());
+                    current.addMoneyWon(delta.getMoneyWon());
+                    current.addMoneyLost(delta.getMoneyLost());
+
+                    bindPlayerStats(upsert, playerId, current);
+                    upsert.addBatch();
+                }
+
+                upsert.executeBatch();
+                writeJournalCheckpoint(tx, checkpoint);
+                return true;
+            });
+        }).exceptionally(ex -> {
+            plugin.getLogger().log(Level.SEVERE, "İstatistik günlüğü veritabanına uygulanırken hata oluştu!", ex);
+            return false;
+        });
+    }
+
+    private void writeJournalCheckpoint(CachedConnection connection, long seq) throws SQLException {
+        PreparedStatement ps = connection.prepare(upsertMeta);
+        ps.setString(1, JOURNAL_CHECKPOINT_KEY);
+        ps.setLong(2, seq);
+        ps.executeUpdate();
+    }
+
+    /**
+     * Oyuncunun kayıtlı istatistiklerini okur; v5 taşıması sürüyorsa taşınmamış satır eski tablodan okunur
+     *
+     * @param connection Bağlantı
+     * @param uuid Oyuncu UUID'si
+     * @return İstatistikler, kayıt yoksa null
+     * @throws SQLException Sorgu başarısız olursa
+     */
+    private PlayerStats selectStats(CachedConnection connection, UUID uuid) throws SQLException {
+        PreparedStatement ps;
+        if (playerIdMigration.hasLegacyStats()) {
+            ps = connection.prepare(SELECT_STATS_WITH_LEGACY);
+            ps.setBytes(1, UuidCodec.toBytes(uuid));
+            ps.setString(2, uuid.toString());
+        } else {
+            ps = connection.prepare(SELECT_STATS);
+            ps.setBytes(1, UuidCodec.toBytes(uuid));
+        }
+
+        try (ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? readStats(uuid, rs) : null;
+        }
+    }
+
+    /**
+     * Sonuç satırından istatistik nesnesi oluşturur
+     *
+     * @param uuid Oyuncu UUID'si
+     * @param rs Sonuç kümesi
+     * @return Oyuncu istatistikleri
+     * @throws SQLException Sütun okunamazsa
+     */
+    private PlayerStats readStats(UUID uuid, ResultSet rs) throws SQLException {
+        int wins = rs.getInt("wins");
+        int losses = rs.getInt("losses");
+        double moneyWon = rs.getDouble("money_won");
+        double moneyLost = rs.getDouble("money_lost");
+
+        PlayerStats stats = new PlayerStats(uuid, wins, losses);
+        stats.addMoneyWon(moneyWon);
+        stats.addMoneyLost(moneyLost);
+        return stats;
+    }
+}
@@ -0,0 +1,107 @@
+package dev.itscactus.cduello.storage;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * MySQL/MariaDB uyumlu sunucular için genel JDBC arka ucu.
+ * Sürücü sınıfı yapılandırılabilir, varsayılan olarak Paper ile gelen MySQL sürücüsü kullanılır.
+ */
+public class MySqlDialect implements SqlDialect {
+    private final ConfigurationSection config;
+
+    /**
+     * @param config Eklenti yapılandırması
+     */
+    public MySqlDialect(ConfigurationSection config) {
+        this.config = config;
+    }
+
+    @Override
+    public String getName() {
+        return "MySQL";
+    }
+
+    @Override
+    public Connection openConnection(boolean readOnly) throws SQLException {
+        String driver = config.getString("database.mysql.driver", "com.mysql.cj.jdbc.Driver");
+        try {
+            Class.forName(driver);
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("JDBC sürücüsü bulunamadı: " + driver, e);
+        }
+
+        String url = config.getString("database.mysql.url", "");
+        if (url.isEmpty()) {
+            url = "jdbc:mysql://" + config.getString("database.mysql.host", "localhost")
+                    + ":" + config.getInt("database.mysql.port", 3306)
+                    + "/" + config.getString("database.mysql.database", "cduello")
+                    + "?useSSL=" + config.getBoolean("database.mysql.use-ssl", false)
+                    + "&rewriteBatchedStatements=true&cachePrepStmts=true";
+        }
+
+        Connection connection = DriverManager.getConnection(url,
+                config.getString("database.mysql.username", "root"),
+                config.getString("database.mysql.password", ""));
+
+        // Salt okunur bağlantılar replikalara yönlendirilebilir
+        connection.setReadOnly(readOnly);
+        return connection;
+    }
+
+    @Override
+    public String varchar(int length) {
+        return "VARCHAR(" + length + ")";
+    }
+
+    @Override
+    public String autoIncrementKey() {
+        return "BIGINT AUTO_INCREMENT PRIMARY KEY";
+    }
+
+    @Override
+    public String intAutoIncrementKey() {
+        return "INT AUTO_INCREMENT PRIMARY KEY";
+    }
+
+    @Override
+    public String binary(int length) {
+        return "BINARY(" + length + ")";
+    }
+
+    @Override
+    public String dropIndex(String table, String index) {
+        // MySQL'de indeks adları tabloya özeldir
+        return "DROP INDEX " + index + " ON " + table;
+    }
+
+    @Override
+    public String upsert(String table, String[] keyColumns, String[] columns) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (").append(SqlDialect.columnList(columns)).append(") VALUES (")
+                .append(SqlDialect.placeholders(columns.length)).append(") ON DUPLICATE KEY UPDATE ");
+
+        boolean first = true;
+        for (String column : columns) {
+            if (Arrays.asList(keyColumns).contains(column)) {
+                continue;
+            }
+            if (!first) {
+                sql.append(", ");
+            }
+            sql.append(column).append(" = VALUES(").append(column).append(')');
+            first = false;
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public long getValidationIdleMillis() {
+        // Sunucu wait_timeout sonrası boştaki bağlantıları kapatır
+        return config.getLong("database.mysql.validation-idle-ms", 30000L);
+    }
+}
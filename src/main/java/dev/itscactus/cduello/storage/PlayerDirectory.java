@@ -0,0 +1,250 @@
+package dev.itscactus.cduello.storage;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Oyuncu UUID'leri ile {@code players} tablosundaki tamsayı kimlikler arasındaki sözlük.
+ * Diğer tablolar oyunculara 36 karakterlik metin yerine bu kimlikle başvurur.
+ * <p>
+ * Tablo aynı zamanda kalıcı bir UUID-ad sözlüğüdür. Açılışta tamamı belleğe yüklenir ve ad değişiklikleri girişte
+ * yazılır; böylece kayıt, sıralama ve çevrimdışı oyuncu aramaları Bukkit'in çevrimdışı oyuncu verisine gitmeden
+ * O(1) olarak ad çözebilir.
+ * <p>
+ * Yeni kimlik yalnızca yazıcı thread üzerinde oluşturulur, okuyucular yalnızca mevcut kimlikleri arar.
+ */
+public class PlayerDirectory {
+    private static final String SELECT_ID = "SELECT id, name FROM players WHERE uuid = ?";
+    private static final String SELECT_UUID = "SELECT uuid FROM players WHERE id = ?";
+    private static final String INSERT_PLAYER = "INSERT INTO players (uuid, name) VALUES (?, ?)";
+    private static final String UPDATE_NAME = "UPDATE players SET name = ? WHERE id = ?";
+    private static final String SELECT_ALL = "SELECT id, uuid, name FROM players";
+
+    private final Map<UUID, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, UUID> uuids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+    // Küçük harfli ad -> UUID, çevrimdışı oyuncu araması için
+    private final Map<String, UUID> byName = new ConcurrentHashMap<>();
+
+    /**
+     * Tüm oyuncuları belleğe yükler. Açılışta, oyuncular giriş yapmadan önce çağrılır.
+     *
+     * @param connection Herhangi bir bağlantı
+     * @return Yüklenen oyuncu sayısı
+     * @throws SQLException Sorgu başarısız olursa
+     */
+    public int loadAll(CachedConnection connection) throws SQLException {
+        int count = 0;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(SELECT_ALL)) {
+            while (rs.next()) {
+                cache(UuidCodec.fromBytes(rs.getBytes("uuid")), rs.getInt("id"), rs.getString("name"));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void cache(UUID uuid, int id, String name) {
+        ids.put(uuid, id);
+        uuids.put(id, uuid);
+        if (name == null) {
+            return;
+        }
+
+        String previous = names.put(id, name);
+        if (previous != null && !previous.equalsIgnoreCase(name)) {
+            byName.remove(previous.toLowerCase(Locale.ROOT), uuid);
+        }
+        // Aynı adı sonradan alan oyuncu eski sahibinin yerine geçer
+        byName.put(name.toLowerCase(Locale.ROOT), uuid);
+    }
+
+    /**
+     * Oyuncuların kimliklerini döndürür, veritabanında olmayanları ekler ve değişen adları günceller.
+     * Yazıcı thread üzerinde, kendi transaction'ı içinde çalışır; önbellek yalnızca commit sonrasında güncellenir.
+     * Bu yüzden başka bir transaction'ın içinden çağrılmamalıdır.
+     *
+     * @param connection Yazıcı bağlantısı
+     * @param players UUID ve ad eşlemesi (ad bilinmiyorsa null)
+     * @return UUID ve kimlik eşlemesi
+     * @throws SQLException Sorgu başarısız olursa
+     */
+    public Map<UUID, Integer> resolveAll(CachedConnection connection, Map<UUID, String> players) throws SQLException {
+        Map<UUID, Integer> result = new HashMap<>();
+        Map<UUID, String> missing = new HashMap<>();
+
+        for (Map.Entry<UUID, String> entry : players.entrySet()) {
+            Integer id = ids.get(entry.getKey());
+            String name = entry.getValue();
+            if (id != null && (name == null || name.equals(names.get(id)))) {
+                result.put(entry.getKey(), id);
+            } else {
+                missing.put(entry.getKey(), name);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<UUID, Integer> resolvedIds = new HashMap<>();
+        Map<Integer, String> resolvedNames = new HashMap<>();
+
+        connection.inTransaction(tx -> {
+            for (Map.Entry<UUID, String> entry : missing.entrySet()) {
+                UUID uuid = entry.getKey();
+                String name = entry.getValue();
+
+                Integer id = null;
+                String storedName = null;
+                PreparedStatement select = tx.prepare(SELECT_ID);
+                select.setBytes(1, UuidCodec.toBytes(uuid));
+                try (ResultSet rs = select.executeQuery()) {
+                    if (rs.next()) {
+                        id = rs.getInt("id");
+                        storedName = rs.getString("name");
+                    }
+                }
+
+                if (id == null) {
+                    PreparedStatement insert = tx.prepare(INSERT_PLAYER);
+                    insert.setBytes(1, UuidCodec.toBytes(uuid));
+                    insert.setString(2, name);
+                    insert.executeUpdate();
+
+                    // Üretilen anahtarı her arka uçta aynı şekilde okumak için tekrar sorgula
+                    select = tx.prepare(SELECT_ID);
+                    select.setBytes(1, UuidCodec.toBytes(uuid));
+                    try (ResultSet rs = select.executeQuery()) {
+                        if (!rs.next()) {
+                            throw new SQLException("Oyuncu kimliği oluşturulamadı: " + uuid);
+                        }
+                        id = rs.getInt("id");
+                    }
+                    storedName = name;
+                } else if (name != null && !name.equals(storedName)) {
+                    PreparedStatement update = tx.prepare(UPDATE_NAME);
+                    update.setString(1, name);
+                    update.setInt(2, id);
+                    update.executeUpdate();
+                    storedName = name;
+                }
+
+                resolvedIds.put(uuid, id);
+                resolvedNames.put(id, storedName);
+            }
+            return null;
+        });
+
+        // Geri alınan bir transaction'ın kimlikleri önbelleğe girmemeli
+        resolvedIds.forEach((uuid, id) -> cache(uuid, id, resolvedNames.get(id)));
+
+        result.putAll(resolvedIds);
+        return result;
+    }
+
+    /**
+     * Tek bir oyuncunun kimliğini döndürür, yoksa oluşturur
+     *
+     * @param connection Yazıcı bağlantısı
+     * @param uuid Oyuncu UUID'si
+     * @param name Oyuncu adı (bilinmiyorsa null)
+     * @return Oyuncu kimliği
+     * @throws SQLException Sorgu başarısız olursa
+     */
+    public int resolve(CachedConnection connection, UUID uuid, String name) throws SQLException {
+        Map<UUID, String> players = new HashMap<>();
+        players.put(uuid, name);
+        return resolveAll(connection, players).get(uuid);
+    }
+
+    /**
+     * Mevcut bir oyuncunun kimliğini arar, yeni kayıt oluşturmaz
+     *
+     * @param connection Herhangi bir bağlantı
+     * @param uuid Oyuncu UUID'si
+     * @return Oyuncu kimliği, oyuncu hiç kaydedilmemişse -1
+     * @throws SQLException Sorgu başarısız olursa
+     */
+    public int findId(CachedConnection connection, UUID uuid) throws SQLException {
+        Integer cached = ids.get(uuid);
+        if (cached != null) {
+            return cached;
+        }
+
+        PreparedStatement ps = connection.prepare(SELECT_ID);
+        ps.setBytes(1, UuidCodec.toBytes(uuid));
+        try (ResultSet rs = ps.executeQuery()) {
+            if (!rs.next()) {
+                return -1;
+            }
+            int id = rs.getInt("id");
+            ids.put(uuid, id);
+            uuids.put(id, uuid);
+            return id;
+        }
+    }
+
+    /**
+     * Kimliğe ait UUID'yi arar
+     *
+     * @param connection Herhangi bir bağlantı
+     * @param id Oyuncu kimliği
+     * @return Oyuncu UUID'si, kimlik yoksa null
+     * @throws SQLException Sorgu başarısız olursa
+     */
+    public UUID findUuid(CachedConnection connection, int id) throws SQLException {
+        UUID cached = uuids.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        PreparedStatement ps = connection.prepare(SELECT_UUID);
+        ps.setInt(1, id);
+        try (ResultSet rs = ps.executeQuery()) {
+            if (!rs.next()) {
+                return null;
+            }
+            UUID uuid = UuidCodec.fromBytes(rs.getBytes(1));
+            ids.put(uuid, id);
+            uuids.put(id, uuid);
+            return uuid;
+        }
+    }
+
+    /**
+     * Oyuncunun bilinen son adını döndürür
+     *
+     * @param uuid Oyuncu UUID'si
+     * @return Oyuncu adı, bilinmiyorsa null
+     */
+    public String getName(UUID uuid) {
+        Integer id = ids.get(uuid);
+        return id != null ? names.get(id) : null;
+    }
+
+    /**
+     * Adı bilinen bir oyuncunun UUID'sini bulur (büyük/küçük harf duyarsız)
+     *
+     * @param name Oyuncu adı
+     * @return Oyuncu UUID'si, bilinmiyorsa null
+     */
+    public UUID findByName(String name) {
+        return byName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return Önbellekteki oyuncu sayısı
+     */
+    public int getCachedCount() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,16 @@
+package dev.itscactus.cduello.storage;
+
+/**
+ * Uzun süren depolama işlerinin (yedekleme, içe/dışa aktarma) ilerlemesini dinleyen arayüz.
+ * Asenkron bir thread'den çağrılır.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * @param percent Tamamlanan yüzde (0-100)
+     * @param done İşlenen satır sayısı
+     * @param total Toplam satır sayısı (bilinmiyorsa 0)
+     */
+    void onProgress(int percent, long done, long total);
+}
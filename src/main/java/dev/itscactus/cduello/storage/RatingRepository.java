@@ -0,0 +1,51 @@
+package dev.itscactus.cduello.storage;
+
+import dev.itscactus.cduello.models.Rating;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sıralama başına oyuncu puanlarının kalıcı depolaması.
+ * Tüm işlemler asenkron yürütülür, hata durumunda günlüğe yazılır ve güvenli bir varsayılan döner.
+ */
+public interface RatingRepository {
+
+    /**
+     * Oyuncunun bir sıralamadaki puanını yükler
+     *
+     * @param uuid Oyuncu UUID'si
+     * @param ladder Sıralama adı
+     * @return Puan, oyuncunun bu sıralamada puanı yoksa null; okuma başarısız olursa future hata ile tamamlanır
+     */
+    CompletableFuture<Rating> loadRating(UUID uuid, String ladder);
+
+    /**
+     * Birden fazla puanı tek bir transaction ile kaydeder
+     *
+     * @param batch Kaydedilecek puanlar
+     * @return İşlem başarılı olursa true döner
+     */
+    CompletableFuture<Boolean> saveRatingsBatch(List<Rating> batch);
+
+    /**
+     * Bir sıralamanın ardışık bir aralığını tek sorguyla getirir
+     *
+     * @param ladder Sıralama adı
+     * @param fromRank İlk sıra (1'den başlar, dahil)
+     * @param toRank Son sıra (dahil)
+     * @return Puanlar ve oyuncu adları, sıralama sırasıyla
+     */
+    CompletableFuture<List<Map.Entry<Rating, String>>> getRankRange(String ladder, int fromRank, int toRank);
+
+    /**
+     * Oyuncunun sıralamadaki yerini, önündeki oyuncuları sayarak bulur
+     *
+     * @param uuid Oyuncu UUID'si
+     * @param ladder Sıralama adı
+     * @return Sıra (1'den başlar), oyuncunun puanı yoksa -1
+     */
+    CompletableFuture<Integer> getRank(UUID uuid, String ladder);
+}
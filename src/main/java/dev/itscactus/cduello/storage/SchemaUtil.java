@@ -0,0 +1,141 @@
+package dev.itscactus.cduello.storage;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Arka uçtan bağımsız şema denetimleri.
+ * Tüm arka uçlar "IF NOT EXISTS" sözdizimini desteklemediği için varlık kontrolü JDBC meta verisiyle yapılır.
+ */
+public final class SchemaUtil {
+
+    private SchemaUtil() {
+    }
+
+    /**
+     * Tablonun olup olmadığını kontrol eder
+     *
+     * @param connection Bağlantı
+     * @param table Tablo adı
+     * @return Tablo varsa true
+     * @throws SQLException Meta veri okunamazsa
+     */
+    public static boolean hasTable(CachedConnection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getConnection().getMetaData();
+        try (ResultSet rs = metaData.getTables(connection.getConnection().getCatalog(), null, table, new String[]{"TABLE"})) {
+            while (rs.next()) {
+                if (table.equalsIgnoreCase(rs.getString("TABLE_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tabloda sütun olup olmadığını kontrol eder
+     *
+     * @param connection Bağlantı
+     * @param table Tablo adı
+     * @param column Sütun adı
+     * @return Sütun varsa true
+     * @throws SQLException Meta veri okunamazsa
+     */
+    public static boolean hasColumn(CachedConnection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getConnection().getMetaData();
+        try (ResultSet rs = metaData.getColumns(connection.getConnection().getCatalog(), null, table, null)) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tabloda indeks olup olmadığını kontrol eder
+     *
+     * @param connection Bağlantı
+     * @param table Tablo adı
+     * @param index İndeks adı
+     * @return İndeks varsa true
+     * @throws SQLException Meta veri okunamazsa
+     */
+    public static boolean hasIndex(CachedConnection connection, String table, String index) throws SQLException {
+        DatabaseMetaData metaData = connection.getConnection().getMetaData();
+        try (ResultSet rs = metaData.getIndexInfo(connection.getConnection().getCatalog(), null, table, false, true)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sütun yoksa tabloya ekler
+     *
+     * @param connection Bağlantı
+     * @param table Tablo adı
+     * @param column Sütun adı
+     * @param definition Sütun tipi ve kısıtları
+     * @return Sütun eklendiyse true
+     * @throws SQLException Sütun eklenemezse
+     */
+    public static boolean addColumnIfMissing(CachedConnection connection, String table, String column, String definition) throws SQLException {
+        if (hasColumn(connection, table, column)) {
+            return false;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+        return true;
+    }
+
+    /**
+     * İndeks varsa siler
+     *
+     * @param connection Bağlantı
+     * @param dialect Arka uç lehçesi
+     * @param table Tablo adı
+     * @param index İndeks adı
+     * @return İndeks silindiyse true
+     * @throws SQLException İndeks silinemezse
+     */
+    public static boolean dropIndexIfExists(CachedConnection connection, SqlDialect dialect, String table, String index) throws SQLException {
+        if (!hasIndex(connection, table, index)) {
+            return false;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(dialect.dropIndex(table, index));
+        }
+        return true;
+    }
+
+    /**
+     * İndeks yoksa oluşturur
+     *
+     * @param connection Bağlantı
+     * @param table Tablo adı
+     * @param index İndeks adı
+     * @param columns İndeks sütunları (yön belirtilebilir, örn. "wins DESC, uuid")
+     * @return İndeks oluşturulduysa true
+     * @throws SQLException İndeks oluşturulamazsa
+     */
+    public static boolean createIndexIfMissing(CachedConnection connection, String table, String index, String columns) throws SQLException {
+        if (hasIndex(connection, table, index)) {
+            return false;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX " + index + " ON " + table + " (" + columns + ")");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,127 @@
+package dev.itscactus.cduello.storage;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.logging.Logger;
+
+/**
+ * Bir veritabanı arka ucuna özgü bağlantı ve SQL farklılıklarını tanımlar.
+ * Depolar (repository) SQL'i yalnızca bu arayüz üzerinden üretir, böylece arka uç
+ * yapılandırmadan değiştirilebilir.
+ */
+public interface SqlDialect {
+
+    /**
+     * Arka ucun adını döndürür (günlük ve komut çıktıları için)
+     *
+     * @return Arka uç adı
+     */
+    String getName();
+
+    /**
+     * Yeni bir bağlantı açar ve arka uca özgü oturum ayarlarını uygular
+     *
+     * @param readOnly Bağlantı okuyucu thread'e aitse true
+     * @return Bağlantı
+     * @throws SQLException Bağlantı kurulamazsa
+     */
+    Connection openConnection(boolean readOnly) throws SQLException;
+
+    /**
+     * Değişken uzunluklu metin sütunu tipini döndürür
+     *
+     * @param length En fazla uzunluk
+     * @return Sütun tipi
+     */
+    String varchar(int length);
+
+    /**
+     * Otomatik artan vekil anahtar sütununun tipini ve kısıtını döndürür
+     *
+     * @return Sütun tanımı (örn. "BIGINT AUTO_INCREMENT PRIMARY KEY")
+     */
+    String autoIncrementKey();
+
+    /**
+     * 32 bit otomatik artan vekil anahtar sütununun tipini ve kısıtını döndürür.
+     * Başka tablolardan çok sayıda başvurulan küçük tablolar (örn. oyuncu sözlüğü) içindir.
+     *
+     * @return Sütun tanımı (örn. "INT AUTO_INCREMENT PRIMARY KEY")
+     */
+    String intAutoIncrementKey();
+
+    /**
+     * Sabit uzunluklu ikili sütun tipini döndürür
+     *
+     * @param length Bayt cinsinden uzunluk
+     * @return Sütun tipi
+     */
+    String binary(int length);
+
+    /**
+     * Birincil anahtara göre ekleme veya güncelleme sorgusu üretir.
+     * Tüm sütunlar sırasıyla parametre olarak bağlanır.
+     *
+     * @param table Tablo adı
+     * @param keyColumns Anahtar sütunları
+     * @param columns Tüm sütunlar (anahtarlar dahil)
+     * @return SQL sorgusu
+     */
+    String upsert(String table, String[] keyColumns, String[] columns);
+
+    /**
+     * İndeks silme sorgusu üretir
+     *
+     * @param table İndeksin tablosu
+     * @param index İndeks adı
+     * @return SQL sorgusu
+     */
+    default String dropIndex(String table, String index) {
+        return "DROP INDEX " + index;
+    }
+
+    /**
+     * Boşta kalan bir bağlantının kullanılmadan önce doğrulanacağı süreyi döndürür
+     *
+     * @return Milisaniye, 0 ise doğrulama yapılmaz
+     */
+    long getValidationIdleMillis();
+
+    /**
+     * Etkin bağlantı ayarlarını başlangıç günlüğüne yazar
+     *
+     * @param connection Yazıcı bağlantısı
+     * @param logger Günlükçü
+     * @throws SQLException Ayarlar okunamazsa
+     */
+    default void logSettings(Connection connection, Logger logger) throws SQLException {
+        logger.info("Veritabanı arka ucu: " + getName());
+    }
+
+    /**
+     * Sütun listesini virgülle birleştirir
+     *
+     * @param columns Sütunlar
+     * @return Sütun listesi
+     */
+    static String columnList(String[] columns) {
+        return String.join(", ", columns);
+    }
+
+    /**
+     * Sütun sayısı kadar parametre yer tutucusu üretir
+     *
+     * @param count Parametre sayısı
+     * @return "?, ?, ..." biçiminde yer tutucular
+     */
+    static String placeholders(int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append('?');
+        }
+        return builder.toString();
+    }
+}
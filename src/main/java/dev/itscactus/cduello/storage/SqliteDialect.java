@@ -0,0 +1,159 @@
+package dev.itscactus.cduello.storage;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.sqlite.SQLiteConfig;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Sunucu diskindeki tek dosyalı SQLite arka ucu.
+ * Yazıcı bağlantısı WAL günlüğünü etkinleştirir, okuyucu bağlantıları salt okunur açılır.
+ */
+public class SqliteDialect implements SqlDialect {
+    private static final Set<String> JOURNAL_MODES =
+            new HashSet<>(Arrays.asList("DELETE", "TRUNCATE", "PERSIST", "MEMORY", "WAL", "OFF"));
+    private static final Set<String> SYNCHRONOUS_MODES =
+            new HashSet<>(Arrays.asList("OFF", "NORMAL", "FULL", "EXTRA"));
+
+    private final String dbFile;
+    private final ConfigurationSection config;
+    private final Logger logger;
+
+    /**
+     * @param dbFile Veritabanı dosyasının tam yolu
+     * @param config Eklenti yapılandırması
+     * @param logger Günlükçü
+     */
+    public SqliteDialect(String dbFile, ConfigurationSection config, Logger logger) {
+        this.dbFile = dbFile;
+        this.config = config;
+        this.logger = logger;
+    }
+
+    @Override
+    public String getName() {
+        return "SQLite";
+    }
+
+    @Override
+    public Connection openConnection(boolean readOnly) throws SQLException {
+        try {
+            // SQLite JDBC sürücüsünü yükle
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("SQLite JDBC sürücüsü bulunamadı", e);
+        }
+
+        SQLiteConfig sqliteConfig = new SQLiteConfig();
+        sqliteConfig.setReadOnly(readOnly);
+
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + dbFile, sqliteConfig.toProperties());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA busy_timeout = " + config.getInt("database.sqlite.busy-timeout", 5000));
+            statement.execute("PRAGMA cache_size = " + config.getInt("database.sqlite.cache-size", -16000));
+            statement.execute("PRAGMA mmap_size = " + config.getLong("database.sqlite.mmap-size", 268435456L));
+
+            // Günlük modu veritabanı dosyasında kalıcıdır, yalnızca yazıcı bağlantısı değiştirebilir
+            if (!readOnly) {
+                statement.execute("PRAGMA journal_mode = " + pragmaValue("journal-mode", "WAL", JOURNAL_MODES));
+                statement.execute("PRAGMA synchronous = " + pragmaValue("synchronous", "NORMAL", SYNCHRONOUS_MODES));
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+
+        return connection;
+    }
+
+    /**
+     * Yapılandırmadaki pragma değerini doğrular
+     *
+     * @param key database.sqlite altındaki anahtar
+     * @param def Varsayılan değer
+     * @param allowed İzin verilen değerler
+     * @return Geçerli pragma değeri
+     */
+    private String pragmaValue(String key, String def, Set<String> allowed) {
+        String value = config.getString("database.sqlite." + key, def).toUpperCase();
+        if (!allowed.contains(value)) {
+            logger.warning("Geçersiz " + key + " değeri: " + value + ", " + def + " kullanılacak.");
+            return def;
+        }
+        return value;
+    }
+
+    @Override
+    public String varchar(int length) {
+        return "TEXT";
+    }
+
+    @Override
+    public String autoIncrementKey() {
+        // rowid takma adı, ayrı bir anahtar indeksi oluşturmaz
+        return "INTEGER PRIMARY KEY";
+    }
+
+    @Override
+    public String intAutoIncrementKey() {
+        // SQLite tamsayıları değere göre 1-8 bayt yer kaplar
+        return autoIncrementKey();
+    }
+
+    @Override
+    public String binary(int length) {
+        return "BLOB";
+    }
+
+    @Override
+    public String upsert(String table, String[] keyColumns, String[] columns) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (").append(SqlDialect.columnList(columns)).append(") VALUES (")
+                .append(SqlDialect.placeholders(columns.length)).append(") ON CONFLICT (")
+                .append(SqlDialect.columnList(keyColumns)).append(") DO UPDATE SET ");
+
+        boolean first = true;
+        for (String column : columns) {
+            if (Arrays.asList(keyColumns).contains(column)) {
+                continue;
+            }
+            if (!first) {
+                sql.append(", ");
+            }
+            sql.append(column).append(" = excluded.").append(column);
+            first = false;
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public long getValidationIdleMillis() {
+        // Yerel dosya bağlantıları zaman aşımına uğramaz
+        return 0L;
+    }
+
+    @Override
+    public void logSettings(Connection connection, Logger logger) throws SQLException {
+        StringBuilder builder = new StringBuilder();
+        try (Statement statement = connection.createStatement()) {
+            for (String pragma : new String[] {"journal_mode", "synchronous", "cache_size", "mmap_size", "busy_timeout"}) {
+                try (ResultSet rs = statement.executeQuery("PRAGMA " + pragma)) {
+                    if (builder.length() > 0) {
+                        builder.append(", ");
+                    }
+                    builder.append(pragma).append('=').append(rs.next() ? rs.getString(1) : "?");
+                }
+            }
+        }
+
+        logger.info("Veritabanı arka ucu: " + getName() + " (" + builder + ")");
+    }
+}
@@ -0,0 +1,350 @@
+package dev.itscactus.cduello.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * İstatistik değişikliklerini yalnızca ekleme yapılan, bellek eşlemeli bir dosyaya yazan günlük.
+ * Her düello sonucu sabit uzunluklu bir kayıt olarak eklenir; dosya sistemine zorlama (fsync) her kayıtta değil,
+ * birkaç milisaniyede bir toplu olarak yapılır (group commit).
+ * <p>
+ * Kayıtlar artan sıra numarası taşır. İstatistikler veritabanına yazıldığında kapsanan son sıra numarası
+ * aynı veritabanına kontrol noktası olarak kaydedilir ve günlük o noktaya kadar kesilir. Açılışta kontrol
+ * noktasından sonraki kayıtlar veritabanına yeniden uygulanır.
+ */
+public class StatsJournal {
+    private static final int MAGIC = 0x43444A31; // "CDJ1"
+    private static final int HEADER_SIZE = 16;
+    // seq(8) + uuid(16) + galibiyet(4) + mağlubiyet(4) + kazanılan(8) + kaybedilen(8) + crc(4)
+    private static final int RECORD_SIZE = 52;
+
+    /**
+     * Tek bir istatistik değişikliği
+     */
+    public static final class Entry {
+        private final long seq;
+        private final UUID playerUuid;
+        private final int wins;
+        private final int losses;
+        private final double moneyWon;
+        private final double moneyLost;
+
+        public Entry(long seq, UUID playerUuid, int wins, int losses, double moneyWon, double moneyLost) {
+            this.seq = seq;
+            this.playerUuid = playerUuid;
+            this.wins = wins;
+            this.losses = losses;
+            this.moneyWon = moneyWon;
+            this.moneyLost = moneyLost;
+        }
+
+        public long getSeq() {
+            return seq;
+        }
+
+        public UUID getPlayerUuid() {
+            return playerUuid;
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        public int getLosses() {
+            return losses;
+        }
+
+        public double getMoneyWon() {
+            return moneyWon;
+        }
+
+        public double getMoneyLost() {
+            return moneyLost;
+        }
+    }
+
+    private final File file;
+    private final Logger logger;
+    private final int capacity;
+    private final long commitIntervalMillis;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private ScheduledExecutorService committer;
+
+    // Aşağıdaki alanlar "this" kilidi ile korunur
+    private int position = HEADER_SIZE;
+    private long firstSeq = 0;
+    private long lastSeq = 0;
+    private boolean dirty = false;
+    private boolean overflowWarned = false;
+
+    /**
+     * @param file Günlük dosyası
+     * @param logger Günlükçü
+     * @param sizeBytes Dosya boyutu (bayt)
+     * @param commitIntervalMillis Toplu zorlama aralığı (milisaniye)
+     */
+    public StatsJournal(File file, Logger logger, int sizeBytes, long commitIntervalMillis) {
+        this.file = file;
+        this.logger = logger;
+        this.capacity = HEADER_SIZE + Math.max(1, (sizeBytes - HEADER_SIZE) / RECORD_SIZE) * RECORD_SIZE;
+        this.commitIntervalMillis = Math.max(1, commitIntervalMillis);
+    }
+
+    /**
+     * Dosyayı açar ve içindeki geçerli kayıtları döndürür.
+     * Kayıtlar dosyada kalır; uygulandıktan sonra {@link #truncate(long)} ile kesilmelidir.
+     *
+     * @return Dosyadaki kayıtlar, sıra numarasına göre
+     * @throws IOException Dosya açılamazsa
+     */
+    public synchronized List<Entry> open() throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+
+        List<Entry> entries = new ArrayList<>();
+        if (buffer.getInt(0) != MAGIC) {
+            if (buffer.getInt(0) != 0) {
+                logger.warning("İstatistik günlüğü tanınmıyor, yeniden oluşturuluyor: " + file.getName());
+            }
+            buffer.putInt(0, MAGIC);
+            clearSlot(HEADER_SIZE);
+            buffer.force();
+        } else {
+            entries = readEntries();
+        }
+
+        if (!entries.isEmpty()) {
+            firstSeq = entries.get(0).getSeq();
+            lastSeq = entries.get(entries.size() - 1).getSeq();
+        }
+        position = HEADER_SIZE + entries.size() * RECORD_SIZE;
+
+        committer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cDuello-Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        committer.scheduleWithFixedDelay(this::commit, commitIntervalMillis, commitIntervalMillis, TimeUnit.MILLISECONDS);
+
+        return entries;
+    }
+
+    /**
+     * Geçerli kayıtları dosya sırasıyla okur ve bozuk veya boş ilk kayıtta durur.
+     * Yarıda kalmış bir kesme işleminden kalan eski kayıtlar sıra numarası artmadığı için atlanır;
+     * bu durumda kalan kayıtlar dosyanın başına art arda yeniden yazılır.
+     */
+    private List<Entry> readEntries() {
+        List<Entry> entries = new ArrayList<>();
+        long previous = 0;
+        boolean skipped = false;
+
+        for (int offset = HEADER_SIZE; offset + RECORD_SIZE <= capacity; offset += RECORD_SIZE) {
+            long seq = buffer.getLong(offset);
+            if (seq <= 0 || crc(offset) != buffer.getInt(offset + RECORD_SIZE - 4)) {
+                break;
+            }
+            if (seq <= previous) {
+                skipped = true;
+                continue;
+            }
+            previous = seq;
+
+            entries.add(new Entry(seq,
+                    new UUID(buffer.getLong(offset + 8), buffer.getLong(offset + 16)),
+                    buffer.getInt(offset + 24),
+                    buffer.getInt(offset + 28),
+                    buffer.getDouble(offset + 32),
+                    buffer.getDouble(offset + 40)));
+        }
+
+        if (skipped) {
+            int offset = HEADER_SIZE;
+            for (Entry entry : entries) {
+                writeRecord(offset, entry.getSeq(), entry.getPlayerUuid(), entry.getWins(), entry.getLosses(),
+                        entry.getMoneyWon(), entry.getMoneyLost());
+                offset += RECORD_SIZE;
+            }
+            if (offset + RECORD_SIZE <= capacity) {
+                clearSlot(offset);
+            }
+            buffer.force();
+        }
+
+        return entries;
+    }
+
+    /**
+     * Sıra numaralarının en az bu değerden sonra devam etmesini sağlar (veritabanındaki kontrol noktası için)
+     *
+     * @param seq Kullanılmış en büyük sıra numarası
+     */
+    public synchronized void ensureSeqAfter(long seq) {
+        if (seq > lastSeq) {
+            lastSeq = seq;
+        }
+    }
+
+    /**
+     * Bir istatistik değişikliğini günlüğe ekler. Kayıt bellek eşlemesine hemen yazılır,
+     * diske zorlama bir sonraki toplu işlemde yapılır.
+     *
+     * @return Kaydın sıra numarası, günlük dolu veya kapalıysa -1 (çağıran değişikliği hemen veritabanına yazmalıdır)
+     */
+    public synchronized long append(UUID playerUuid, int wins, int losses, double moneyWon, double moneyLost) {
+        if (buffer == null) {
+            return -1;
+        }
+
+        if (position + RECORD_SIZE > capacity) {
+            // Çağıran hemen yazım başlatır, kontrol noktası yer açana kadar yalnızca veritabanı yazımına güvenilir
+            if (!overflowWarned) {
+                logger.warning("İstatistik günlüğü dolu, değişiklikler hemen yazılıyor.");
+                overflowWarned = true;
+            }
+            return -1;
+        }
+
+        long seq = ++lastSeq;
+        if (position == HEADER_SIZE) {
+            firstSeq = seq;
+        }
+
+        writeRecord(position, seq, playerUuid, wins, losses, moneyWon, moneyLost);
+
+        position += RECORD_SIZE;
+        if (position + RECORD_SIZE <= capacity) {
+            clearSlot(position);
+        }
+
+        dirty = true;
+        return seq;
+    }
+
+    /**
+     * Bu sıra numarasına kadar olan kayıtları siler, sonrakileri dosyanın başına taşır
+     *
+     * @param seq Veritabanına yazılmış son sıra numarası
+     */
+    public synchronized void truncate(long seq) {
+        if (buffer == null || position == HEADER_SIZE || seq < firstSeq) {
+            return;
+        }
+
+        if (seq >= lastSeq) {
+            position = HEADER_SIZE;
+        } else {
+            int keepFrom = HEADER_SIZE + (int) (seq - firstSeq + 1) * RECORD_SIZE;
+            int length = position - keepFrom;
+
+            ByteBuffer tail = buffer.duplicate();
+            tail.position(keepFrom).limit(position);
+            ByteBuffer head = buffer.duplicate();
+            head.position(HEADER_SIZE);
+            head.put(tail);
+
+            position = HEADER_SIZE + length;
+            firstSeq = seq + 1;
+        }
+
+        clearSlot(position);
+        overflowWarned = false;
+        dirty = true;
+    }
+
+    /**
+     * Bekleyen değişiklikleri diske zorlar (group commit)
+     */
+    private void commit() {
+        MappedByteBuffer target;
+        synchronized (this) {
+            if (!dirty || buffer == null) {
+                return;
+            }
+            dirty = false;
+            target = buffer;
+        }
+
+        try {
+            target.force();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "İstatistik günlüğü diske yazılamadı", e);
+        }
+    }
+
+    private void writeRecord(int offset, long seq, UUID playerUuid, int wins, int losses, double moneyWon, double moneyLost) {
+        buffer.putLong(offset, seq);
+        buffer.putLong(offset + 8, playerUuid.getMostSignificantBits());
+        buffer.putLong(offset + 16, playerUuid.getLeastSignificantBits());
+        buffer.putInt(offset + 24, wins);
+        buffer.putInt(offset + 28, losses);
+        buffer.putDouble(offset + 32, moneyWon);
+        buffer.putDouble(offset + 40, moneyLost);
+        buffer.putInt(offset + RECORD_SIZE - 4, crc(offset));
+    }
+
+    private void clearSlot(int offset) {
+        for (int i = 0; i < RECORD_SIZE; i += 4) {
+            buffer.putInt(offset + i, 0);
+        }
+    }
+
+    private int crc(int offset) {
+        CRC32 crc = new CRC32();
+        ByteBuffer record = buffer.duplicate();
+        record.position(offset).limit(offset + RECORD_SIZE - 4);
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * @return Verilen en son sıra numarası
+     */
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * @return Günlükteki kayıt sayısı
+     */
+    public synchronized int getEntryCount() {
+        return (position - HEADER_SIZE) / RECORD_SIZE;
+    }
+
+    /**
+     * Bekleyen değişiklikleri diske yazar ve dosyayı kapatır
+     */
+    public void close() {
+        if (committer != null) {
+            committer.shutdown();
+        }
+
+        synchronized (this) {
+            if (buffer == null) {
+                return;
+            }
+            buffer.force();
+            buffer = null;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "İstatistik günlüğü kapatılamadı", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package dev.itscactus.cduello.storage;
+
+import dev.itscactus.cduello.models.LeaderboardCategory;
+import dev.itscactus.cduello.models.PlayerStats;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Oyuncu istatistiklerinin kalıcı depolaması.
+ * Tüm işlemler asenkron yürütülür, hata durumunda günlüğe yazılır ve güvenli bir varsayılan döner.
+ */
+public interface StatsRepository {
+
+    /**
+     * Birden fazla oyuncunun istatistiklerini tek bir transaction ile kaydeder
+     *
+     * @param batch İstatistikler ve oyuncu adları
+     * @return İşlem başarılı olursa true döner
+     */
+    CompletableFuture<Boolean> savePlayerStatsBatch(List<Map.Entry<PlayerStats, String>> batch);
+
+    /**
+     * Oyuncunun adını ad sözlüğüne kaydeder, oyuncu yoksa ekler
+     *
+     * @param uuid Oyuncu UUID'si
+     * @param playerName Güncel oyuncu adı
+     * @return İşlem başarılı olursa true döner
+     */
+    CompletableFuture<Boolean> savePlayerName(UUID uuid, String playerName);
+
+    /**
+     * Oyuncu istatistiklerini yükler
+     *
+     * @param uuid Oyuncu UUID'si
+     * @return Oyuncu istatistikleri, bulunamazsa yeni bir nesne döner; okuma başarısız olursa future hata ile tamamlanır
+     */
+    CompletableFuture<PlayerStats> loadPlayerStats(UUID uuid);
+
+    /**
+     * En iyi oyuncuları sıralamaya göre getirir.
+     * En az düello şartı olan kategorilerde şartı sağlamayan oyuncular listelenmez.
+     *
+     * @param limit Maksimum oyuncu sayısı
+     * @param category Sıralama kategorisi
+     * @return İstatistikler ve oyuncu adları
+     */
+    CompletableFuture<List<Map.Entry<PlayerStats, String>>> getTopPlayers(int limit, LeaderboardCategory category);
+
+    /**
+     * Ardışık bir sıralama aralığını tek sorguyla getirir
+     *
+     * @param fromRank İlk sıra (1'den başlar, dahil)
+     * @param toRank Son sıra (dahil)
+     * @param category Sıralama kategorisi
+     * @return Sıradaki istatistikler ve oyuncu adları
+     */
+    CompletableFuture<List<Map.Entry<PlayerStats, String>>> getRankRange(int fromRank, int toRank, LeaderboardCategory category);
+
+    /**
+     * Belirli bir sıralamadaki oyuncuyu getirir
+     *
+     * @param position Sıralama pozisyonu (1'den başlar)
+     * @param category Sıralama kategorisi
+     * @return İstatistikler ve oyuncu adı, bulunamazsa null
+     */
+    CompletableFuture<Map.Entry<PlayerStats, String>> getPlayerAtRank(int position, LeaderboardCategory category);
+
+    /**
+     * Oyuncunun kategorideki sırasını, önündeki oyuncuları sayarak bulur
+     *
+     * @param uuid Oyuncu UUID'si
+     * @param category Sıralama kategorisi
+     * @return Sıra (1'den başlar), oyuncu sıralamada yoksa -1
+     */
+    CompletableFuture<Integer> getRank(UUID uuid, LeaderboardCategory category);
+
+    /**
+     * İstatistik günlüğünün veritabanına yansımış son sıra numarasını döndürür
+     *
+     * @return Kontrol noktası, hiç kaydedilmemişse 0
+     */
+    CompletableFuture<Long> loadJournalCheckpoint();
+
+    /**
+     * İstatistik partilerini ve günlüğün kontrol noktasını tek bir transaction ile kaydeder.
+     * Kontrol noktası yalnızca kapsadığı satırlarla birlikte veritabanına yansır.
+     *
+     * @param batches İstatistik partileri ve oyuncu adları
+     * @param checkpoint Partilerin kapsadığı son günlük sıra numarası, negatifse kaydedilmez
+     * @return İşlem başarılı olursa true döner
+     */
+    CompletableFuture<Boolean> savePlayerStatsBatches(List<List<Map.Entry<PlayerStats, String>>> batches, long checkpoint);
+
+    /**
+     * Günlük kayıtlarını mevcut istatistiklere ekler ve kontrol noktasını aynı transaction ile kaydeder
+     *
+     * @param entries Uygulanacak günlük kayıtları
+     * @param checkpoint Kayıtlardan sonraki kontrol noktası
+     * @return İşlem başarılı olursa true döner
+     */
+    CompletableFuture<Boolean> applyJournal(List<StatsJournal.Entry> entries, long checkpoint);
+}
@@ -0,0 +1,231 @@
+package dev.itscactus.cduello.storage;
+
+import dev.itscactus.cduello.models.LeaderboardCategory;
+import dev.itscactus.cduello.models.PlayerStats;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Bellekteki istatistik ve sıralama durumunun ikili anlık görüntüsü.
+ * Temiz kapanışta yazılır, açılışta bellek eşlemeli olarak okunur ve hemen silinir; böylece bir çökmeden
+ * sonra eski bir görüntü kullanılmaz. Görüntü bozuk, eski veya yoksa çağıran SQL'den yüklemeye döner.
+ * <p>
+ * Dosya 32 baytlık başlık ve ardından sabit uzunluklu kayıtlardan oluşur. Kayıt tipi 0 bellekteki oyuncu
+ * istatistiğidir, diğer tipler sıralama kategorisinin sırası + 1'dir. Puan sıralamasındaki puan kaydın son dört
+ * baytında float olarak tutulur.
+ */
+public class StatsSnapshot {
+    private static final int MAGIC = 0x43445331; // "CDS1"
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 80;
+    private static final int NAME_BYTES = 32;
+    private static final byte TYPE_RESIDENT = 0;
+
+    private final long createdAt;
+    private final long checkpoint;
+    private final Map<UUID, PlayerStats> residents;
+    private final Map<LeaderboardCategory, List<Map.Entry<PlayerStats, String>>> leaderboards;
+
+    private StatsSnapshot(long createdAt, long checkpoint, Map<UUID, PlayerStats> residents,
+                          Map<LeaderboardCategory, List<Map.Entry<PlayerStats, String>>> leaderboards) {
+        this.createdAt = createdAt;
+        this.checkpoint = checkpoint;
+        this.residents = residents;
+        this.leaderboards = leaderboards;
+    }
+
+    /**
+     * Anlık görüntüyü geçici bir dosyaya yazar ve yerine taşır
+     *
+     * @param file Hedef dosya
+     * @param checkpoint Görüntünün yansıttığı istatistik günlüğü kontrol noktası
+     * @param residents Bellekteki oyuncu istatistikleri
+     * @param leaderboards Kategori başına sıralama başı
+     * @throws IOException Dosya yazılamazsa
+     */
+    public static void write(File file, long checkpoint, Collection<PlayerStats> residents,
+                             Map<LeaderboardCategory, List<Map.Entry<PlayerStats, String>>> leaderboards) throws IOException {
+        int count = residents.size();
+        for (List<Map.Entry<PlayerStats, String>> entries : leaderboards.values()) {
+            count += entries.size();
+        }
+
+        ByteBuffer records = ByteBuffer.allocate(count * RECORD_SIZE);
+        for (PlayerStats stats : residents) {
+            putRecord(records, TYPE_RESIDENT, 0, stats, null);
+        }
+        for (Map.Entry<LeaderboardCategory, List<Map.Entry<PlayerStats, String>>> board : leaderboards.entrySet()) {
+            byte type = (byte) (board.getKey().ordinal() + 1);
+            int rank = 1;
+            for (Map.Entry<PlayerStats, String> entry : board.getValue()) {
+                putRecord(records, type, rank++, entry.getKey(), entry.getValue());
+            }
+        }
+        records.flip();
+
+        CRC32 crc = new CRC32();
+        crc.update(records.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putInt(count);
+        header.putLong(System.currentTimeMillis());
+        header.putLong(checkpoint);
+        header.putInt((int) crc.getValue());
+        header.flip();
+
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (records.hasRemaining()) {
+                channel.write(records);
+            }
+            channel.force(true);
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void putRecord(ByteBuffer buffer, byte type, int rank, PlayerStats stats, String name) {
+        int start = buffer.position();
+        buffer.put(type);
+
+        byte[] nameBytes = name != null ? name.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        int nameLength = Math.min(nameBytes.length, NAME_BYTES);
+        buffer.put((byte) nameLength);
+        buffer.putShort((short) rank);
+        buffer.putLong(stats.getPlayerUuid().getMostSignificantBits());
+        buffer.putLong(stats.getPlayerUuid().getLeastSignificantBits());
+        buffer.putInt(stats.getWins());
+        buffer.putInt(stats.getLosses());
+        buffer.putDouble(stats.getMoneyWon());
+        buffer.putDouble(stats.getMoneyLost());
+        buffer.put(nameBytes, 0, nameLength);
+        buffer.putFloat(start + RECORD_SIZE - 4, (float) stats.getRating());
+
+        buffer.position(start + RECORD_SIZE);
+    }
+
+    /**
+     * Anlık görüntüyü okur ve dosyayı siler
+     *
+     * @param file Görüntü dosyası
+     * @param checkpoint Veritabanının güncel günlük kontrol noktası
+     * @param maxAgeMillis En fazla görüntü yaşı (milisaniye)
+     * @return Geçerli görüntü; dosya yoksa, bozuksa veya eskiyse null
+     * @throws IOException Dosya okunamazsa
+     */
+    public static StatsSnapshot consume(File file, long checkpoint, long maxAgeMillis) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                return null;
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int count = buffer.getInt(4);
+            long createdAt = buffer.getLong(8);
+            long snapshotCheckpoint = buffer.getLong(16);
+            int expectedCrc = buffer.getInt(24);
+
+            if (buffer.getInt(0) != MAGIC || count < 0 || size != HEADER_SIZE + (long) count * RECORD_SIZE) {
+                return null;
+            }
+
+            // Görüntüden sonra veritabanına yazılmış bir değişiklik varsa kullanılamaz
+            if (snapshotCheckpoint != checkpoint || System.currentTimeMillis() - createdAt > maxAgeMillis) {
+                return null;
+            }
+
+            ByteBuffer records = buffer.duplicate();
+            records.position(HEADER_SIZE);
+            CRC32 crc = new CRC32();
+            crc.update(records.duplicate());
+            if ((int) crc.getValue() != expectedCrc) {
+                return null;
+            }
+
+            Map<UUID, PlayerStats> residents = new HashMap<>();
+            Map<LeaderboardCategory, List<Map.Entry<PlayerStats, String>>> leaderboards = new EnumMap<>(LeaderboardCategory.class);
+            LeaderboardCategory[] categories = LeaderboardCategory.values();
+
+            for (int i = 0; i < count; i++) {
+                int offset = HEADER_SIZE + i * RECORD_SIZE;
+                byte type = buffer.get(offset);
+                int nameLength = buffer.get(offset + 1) & 0xFF;
+
+                UUID uuid = new UUID(buffer.getLong(offset + 4), buffer.getLong(offset + 12));
+                PlayerStats stats = new PlayerStats(uuid, buffer.getInt(offset + 20), buffer.getInt(offset + 24));
+                stats.addMoneyWon(buffer.getDouble(offset + 28));
+                stats.addMoneyLost(buffer.getDouble(offset + 36));
+                stats.setRating(buffer.getFloat(offset + RECORD_SIZE - 4));
+
+                if (type == TYPE_RESIDENT) {
+                    residents.put(uuid, stats);
+                    continue;
+                }
+                if (type < 1 || type > categories.length) {
+                    continue;
+                }
+
+                byte[] nameBytes = new byte[Math.min(nameLength, NAME_BYTES)];
+                ByteBuffer name = buffer.duplicate();
+                name.position(offset + 44);
+                name.get(nameBytes);
+
+                leaderboards.computeIfAbsent(categories[type - 1], k -> new ArrayList<>())
+                        .add(new AbstractMap.SimpleEntry<>(stats, new String(nameBytes, StandardCharsets.UTF_8)));
+            }
+
+            return new StatsSnapshot(createdAt, snapshotCheckpoint, residents, leaderboards);
+        } finally {
+            // Tek kullanımlık: bir sonraki açılış çökme sonrası olabilir
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * @return Kapanışta bellekte olan oyuncuların istatistikleri
+     */
+    public Map<UUID, PlayerStats> getResidents() {
+        return residents;
+    }
+
+    /**
+     * @return Kategori başına sıralama başı, sıralama sırasıyla
+     */
+    public Map<LeaderboardCategory, List<Map.Entry<PlayerStats, String>>> getLeaderboards() {
+        return leaderboards;
+    }
+}
@@ -0,0 +1,341 @@
+package dev.itscactus.cduello.storage;
+
+import org.bukkit.Bukkit;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Veritabanı işlemlerini yürüten özel yürütücü.
+ * Yazma işlemleri sınırlı bir kuyruktan tek bir yazıcı thread'e akar ve bağlantının sahibi bu thread'dir.
+ * Okuma işlemleri, her biri kendi bağlantısını kullanan ayrı okuyucu thread'lerde çalışır.
+ */
+public class StorageExecutor {
+
+    /**
+     * Kuyruk dolduğunda uygulanacak politika
+     */
+    public enum BackpressurePolicy {
+        /** Asenkron gönderen thread kuyrukta yer açılması için kısa bir süre bekler, açılmazsa görev reddedilir; ana thread beklemez */
+        BLOCK,
+        /** Görev beklemeden reddedilir */
+        REJECT
+    }
+
+    /**
+     * Bir bağlantı üzerinde çalışan veritabanı görevi
+     *
+     * @param <T> Sonuç tipi
+     */
+    @FunctionalInterface
+    public interface SqlTask<T> {
+        T execute(CachedConnection connection) throws SQLException;
+    }
+
+    /**
+     * Yeni veritabanı bağlantıları açan fabrika
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        /**
+         * @param readOnly Bağlantı okuyucu thread'e aitse true
+         */
+        Connection open(boolean readOnly) throws SQLException;
+    }
+
+    private static final long BACKPRESSURE_WARNING_INTERVAL = 10_000L;
+
+    private final Logger logger;
+    private final ConnectionFactory connectionFactory;
+    private final BackpressurePolicy policy;
+    private final long offerTimeoutMillis;
+    private final int writeQueueCapacity;
+    private final int readQueueCapacity;
+    private final int statementCacheSize;
+    private final long validationIdleMillis;
+    private final ThreadPoolExecutor writer;
+    private final ThreadPoolExecutor readers;
+
+    // Yazıcı bağlantısına yalnızca yazıcı thread erişir
+    private CachedConnection writeConnection;
+    private volatile Thread writerThread;
+
+    // Her okuyucu thread kendi bağlantısını kullanır
+    private final ThreadLocal<CachedConnection> readConnection = new ThreadLocal<>();
+    private final List<CachedConnection> readConnections = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong completedWrites = new AtomicLong();
+    private final AtomicLong completedReads = new AtomicLong();
+    private final AtomicLong rejectedTasks = new AtomicLong();
+    private volatile long lastBackpressureWarning = 0;
+
+    /**
+     * Yürütücüyü oluşturur
+     *
+     * @param logger Günlükçü
+     * @param connectionFactory Bağlantı fabrikası
+     * @param writeQueueCapacity Yazma kuyruğu kapasitesi
+     * @param readThreads Okuyucu thread sayısı
+     * @param readQueueCapacity Okuma kuyruğu kapasitesi
+     * @param policy Kuyruk dolduğunda uygulanacak politika
+     * @param offerTimeoutMillis BLOCK politikasında en fazla bekleme süresi (milisaniye)
+     * @param statementCacheSize Bağlantı başına saklanacak hazırlanmış sorgu sayısı
+     * @param validationIdleMillis Bu süreden uzun boşta kalan bağlantılar kullanılmadan önce doğrulanır (0 = kapalı)
+     */
+    public StorageExecutor(Logger logger, ConnectionFactory connectionFactory,
+                           int writeQueueCapacity, int readThreads, int readQueueCapacity,
+                           BackpressurePolicy policy, long offerTimeoutMillis, int statementCacheSize,
+                           long validationIdleMillis) {
+        this.logger = logger;
+        this.connectionFactory = connectionFactory;
+        this.policy = policy;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.writeQueueCapacity = Math.max(1, writeQueueCapacity);
+        this.readQueueCapacity = Math.max(1, readQueueCapacity);
+        this.statementCacheSize = Math.max(1, statementCacheSize);
+        this.validationIdleMillis = validationIdleMillis;
+
+        int readerCount = Math.max(1, readThreads);
+
+        this.writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.writeQueueCapacity),
+                threadFactory("cDuello-DB-Writer", true),
+                backpressureHandler("Yazma"));
+        this.readers = new ThreadPoolExecutor(readerCount, readerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.readQueueCapacity),
+                threadFactory("cDuello-DB-Reader", false),
+                backpressureHandler("Okuma"));
+    }
+
+    /**
+     * Yazıcı thread üzerinde çalışacak bir görev gönderir
+     *
+     * @param task Görev
+     * @return Görevin sonucu
+     */
+    public <T> CompletableFuture<T> submitWrite(SqlTask<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable runnable = () -> {
+            try {
+                future.complete(task.execute(getWriteConnection()));
+                completedWrites.incrementAndGet();
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        };
+
+        // Yazıcı thread'in kendi kuyruğunu beklemesi kilitlenmeye yol açar, doğrudan çalıştır
+        if (Thread.currentThread() == writerThread) {
+            runnable.run();
+            return future;
+        }
+
+        enqueue(writer, runnable, future);
+        return future;
+    }
+
+    /**
+     * Okuyucu thread'lerden birinde çalışacak bir görev gönderir
+     *
+     * @param task Görev
+     * @return Görevin sonucu
+     */
+    public <T> CompletableFuture<T> submitRead(SqlTask<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable runnable = () -> {
+            try {
+                future.complete(task.execute(getReadConnection()));
+                completedReads.incrementAndGet();
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        };
+
+        enqueue(readers, runnable, future);
+        return future;
+    }
+
+    private void enqueue(ThreadPoolExecutor executor, Runnable runnable, CompletableFuture<?> future) {
+        try {
+            executor.execute(runnable);
+        } catch (RejectedExecutionException e) {
+            rejectedTasks.incrementAndGet();
+            future.completeExceptionally(e);
+        }
+    }
+
+    private CachedConnection getWriteConnection() throws SQLException {
+        if (writeConnection == null || !isUsable(writeConnection)) {
+            closeQuietly(writeConnection);
+            writeConnection = new CachedConnection(connectionFactory.open(false), statementCacheSize);
+        }
+        return writeConnection;
+    }
+
+    private CachedConnection getReadConnection() throws SQLException {
+        CachedConnection connection = readConnection.get();
+        if (connection == null || !isUsable(connection)) {
+            if (connection != null) {
+                readConnections.remove(connection);
+                closeQuietly(connection);
+            }
+            connection = new CachedConnection(connectionFactory.open(true), statementCacheSize);
+            readConnection.set(connection);
+            readConnections.add(connection);
+        }
+        return connection;
+    }
+
+    private boolean isUsable(CachedConnection connection) throws SQLException {
+        if (connection.isClosed()) {
+            return false;
+        }
+
+        // Uzak sunucular boştaki bağlantıları sessizce kapatabilir
+        long idle = connection.touch();
+        return validationIdleMillis <= 0 || idle < validationIdleMillis || connection.getConnection().isValid(2);
+    }
+
+    private RejectedExecutionHandler backpressureHandler(String name) {
+        return (runnable, executor) -> {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException(name + " kuyruğu kapatıldı");
+            }
+
+            warnBackpressure(name, executor.getQueue().size());
+
+            // Ana thread hiçbir politikada beklemez; tick'i durdurmak yerine görev hemen reddedilir
+            if (policy == BackpressurePolicy.BLOCK && !Bukkit.isPrimaryThread()) {
+                try {
+                    if (executor.getQueue().offer(runnable, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                        // Beklerken kapatıldıysa görev hiç çalışmayabilir, geri al
+                        if (executor.isShutdown() && executor.remove(runnable)) {
+                            throw new RejectedExecutionException(name + " kuyruğu kapatıldı");
+                        }
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            throw new RejectedExecutionException(name + " kuyruğu dolu (" + executor.getQueue().size() + ")");
+        };
+    }
+
+    private void warnBackpressure(String name, int depth) {
+        long now = System.currentTimeMillis();
+        if (now - lastBackpressureWarning < BACKPRESSURE_WARNING_INTERVAL) {
+            return;
+        }
+        lastBackpressureWarning = now;
+        logger.warning(name + " kuyruğu dolu (" + depth + " görev), politika: " + policy);
+    }
+
+    private ThreadFactory threadFactory(String name, boolean writerFactory) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, writerFactory ? name : name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            if (writerFactory) {
+                writerThread = thread;
+            }
+            return thread;
+        };
+    }
+
+    /**
+     * Yeni görev kabulünü durdurur, kuyruktaki görevleri bitirir ve bağlantıları kapatır
+     *
+     * @param timeoutMillis Kuyruğun boşalması için beklenecek en fazla süre (milisaniye)
+     */
+    public void shutdown(long timeoutMillis) {
+        writer.shutdown();
+        readers.shutdown();
+
+        try {
+            if (!writer.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                logger.warning("Yazma kuyruğu zamanında boşalmadı, kalan görev: " + writer.getQueue().size());
+                writer.shutdownNow();
+            }
+            if (!readers.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                readers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Thread'ler sonlandığı için bağlantılara artık bu thread'den erişmek güvenli
+        closeQuietly(writeConnection);
+        writeConnection = null;
+        for (CachedConnection connection : readConnections) {
+            closeQuietly(connection);
+        }
+        readConnections.clear();
+    }
+
+    private void closeQuietly(CachedConnection connection) {
+        try {
+            if (connection != null && !connection.isClosed()) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Veritabanı bağlantısı kapatılırken hata oluştu!", e);
+        }
+    }
+
+    /**
+     * Yazma kuyruğunda bekleyen görev sayısını döndürür
+     *
+     * @return Kuyruk derinliği
+     */
+    public int getWriteQueueDepth() {
+        return writer.getQueue().size();
+    }
+
+    /**
+     * Okuma kuyruğunda bekleyen görev sayısını döndürür
+     *
+     * @return Kuyruk derinliği
+     */
+    public int getReadQueueDepth() {
+        return readers.getQueue().size();
+    }
+
+    public int getWriteQueueCapacity() {
+        return writeQueueCapacity;
+    }
+
+    public int getReadQueueCapacity() {
+        return readQueueCapacity;
+    }
+
+    public long getCompletedWrites() {
+        return completedWrites.get();
+    }
+
+    public long getCompletedReads() {
+        return completedReads.get();
+    }
+
+    public long getRejectedTasks() {
+        return rejectedTasks.get();
+    }
+
+    public BackpressurePolicy getPolicy() {
+        return policy;
+    }
+}
@@ -0,0 +1,37 @@
+package dev.itscactus.cduello.storage;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * UUID'leri veritabanında 16 baytlık ikili değer olarak saklamak için dönüştürücü.
+ * Bayt sırası UUID'nin metin sırasıyla aynıdır (büyük uçlu).
+ */
+public final class UuidCodec {
+
+    private UuidCodec() {
+    }
+
+    /**
+     * @param uuid UUID
+     * @return 16 baytlık ikili değer
+     */
+    public static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    /**
+     * @param bytes 16 baytlık ikili değer
+     * @return UUID, değer null ise null
+     */
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
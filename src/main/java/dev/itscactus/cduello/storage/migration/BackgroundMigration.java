@@ -0,0 +1,35 @@
+package dev.itscactus.cduello.storage.migration;
+
+import dev.itscactus.cduello.storage.CachedConnection;
+
+import java.sql.SQLException;
+
+/**
+ * Uzun süren kısmı (veri doldurma, indeks oluşturma) açılıştan sonra parçalar halinde çalışan geçiş.
+ * {@link #apply} açılışta çalışır, ardından {@link #step} iş bitene kadar yazıcı kuyruğuna tekrar tekrar gönderilir.
+ * Adımlar arasında diğer yazma işlemleri çalışmaya devam eder.
+ * <p>
+ * Adımlar tekrar çalıştırılabilir olmalıdır: sunucu arada kapanırsa geçiş bir sonraki açılışta baştan devam eder.
+ */
+public interface BackgroundMigration extends Migration {
+
+    /**
+     * Sınırlı boyutta bir iş parçası çalıştırır
+     *
+     * @param connection Yazıcı bağlantısı
+     * @param chunkSize Bir adımda işlenecek en fazla satır sayısı
+     * @return Geçiş tamamlandıysa true
+     * @throws SQLException Adım başarısız olursa
+     */
+    boolean step(CachedConnection connection, int chunkSize) throws SQLException;
+
+    /**
+     * Arka plan işi bitmemiş geçiş sıraya alınırken açılışta çağrılır; geçişin bellekteki durumunu
+     * veritabanından yeniden kurar. Varsayılan olarak bir şey yapmaz.
+     *
+     * @param connection Yazıcı bağlantısı
+     * @throws SQLException Durum okunamazsa
+     */
+    default void resume(CachedConnection connection) throws SQLException {
+    }
+}
@@ -0,0 +1,61 @@
+package dev.itscactus.cduello.storage.migration;
+
+import dev.itscactus.cduello.storage.CachedConnection;
+import dev.itscactus.cduello.storage.SqlDialect;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * v1: Arena ve istatistik tabloları.
+ * Sürümlü geçişlerden önce oluşturulmuş veritabanlarında tablolar zaten vardır, bu yüzden "IF NOT EXISTS" kullanılır.
+ */
+public class BaseSchemaMigration implements Migration {
+    private final SqlDialect dialect;
+
+    public BaseSchemaMigration(SqlDialect dialect) {
+        this.dialect = dialect;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Arena ve istatistik tabloları";
+    }
+
+    @Override
+    public void apply(CachedConnection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                "CREATE TABLE IF NOT EXISTS arenas (" +
+                "id " + dialect.varchar(64) + " PRIMARY KEY, " +
+                "name " + dialect.varchar(128) + " NOT NULL, " +
+                "world " + dialect.varchar(128) + " NOT NULL, " +
+                "pos1_x DOUBLE NOT NULL, " +
+                "pos1_y DOUBLE NOT NULL, " +
+                "pos1_z DOUBLE NOT NULL, " +
+                "pos2_x DOUBLE NOT NULL, " +
+                "pos2_y DOUBLE NOT NULL, " +
+                "pos2_z DOUBLE NOT NULL, " +
+                "enabled INTEGER NOT NULL DEFAULT 1" +
+                ")"
+            );
+
+            statement.execute(
+                "CREATE TABLE IF NOT EXISTS player_stats (" +
+                "uuid " + dialect.varchar(36) + " PRIMARY KEY, " +
+                "player_name " + dialect.varchar(36) + " NOT NULL, " +
+                "wins INTEGER NOT NULL DEFAULT 0, " +
+                "losses INTEGER NOT NULL DEFAULT 0, " +
+                "money_won DOUBLE NOT NULL DEFAULT 0, " +
+                "money_lost DOUBLE NOT NULL DEFAULT 0, " +
+                "last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                ")"
+            );
+        }
+    }
+}
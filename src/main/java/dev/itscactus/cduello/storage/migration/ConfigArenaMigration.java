@@ -0,0 +1,85 @@
+package dev.itscactus.cduello.storage.migration;
+
+import dev.itscactus.cduello.storage.CachedConnection;
+import dev.itscactus.cduello.storage.SqlDialect;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.logging.Logger;
+
+/**
+ * v4: Config dosyasındaki arenaların ({@code duels.arenas.list}) veritabanına aktarılması.
+ * Eski sürümler bu aktarımı {@code database.migration-completed} bayrağıyla izliyordu;
+ * bayrak true ise arenalar zaten aktarılmıştır ve geçiş yalnızca kaydedilir.
+ * Dünyası henüz yüklenmemiş arenalar da aktarılır, yüklenirken dünya kontrolü yapılır.
+ */
+public class ConfigArenaMigration implements Migration {
+    private static final String[] ARENA_KEY = {"id"};
+    private static final String[] ARENA_COLUMNS =
+            {"id", "name", "world", "pos1_x", "pos1_y", "pos1_z", "pos2_x", "pos2_y", "pos2_z", "enabled"};
+
+    private final SqlDialect dialect;
+    private final FileConfiguration config;
+    private final Logger logger;
+
+    public ConfigArenaMigration(SqlDialect dialect, FileConfiguration config, Logger logger) {
+        this.dialect = dialect;
+        this.config = config;
+        this.logger = logger;
+    }
+
+    @Override
+    public int getVersion() {
+        return 4;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Config arenalarının aktarımı";
+    }
+
+    @Override
+    public void apply(CachedConnection connection) throws SQLException {
+        ConfigurationSection arenasSection = config.getConfigurationSection("duels.arenas.list");
+        if (config.getBoolean("database.migration-completed", false) || arenasSection == null) {
+            return;
+        }
+
+        PreparedStatement ps = connection.prepare(dialect.upsert("arenas", ARENA_KEY, ARENA_COLUMNS));
+        int count = 0;
+
+        for (String arenaId : arenasSection.getKeys(false)) {
+            ConfigurationSection arenaSection = arenasSection.getConfigurationSection(arenaId);
+            if (arenaSection == null) {
+                continue;
+            }
+
+            ConfigurationSection pos1 = arenaSection.getConfigurationSection("pos1");
+            ConfigurationSection pos2 = arenaSection.getConfigurationSection("pos2");
+            if (pos1 == null || pos2 == null) {
+                logger.warning("Arena için konum bilgisi eksik: " + arenaId);
+                continue;
+            }
+
+            ps.setString(1, arenaId);
+            ps.setString(2, arenaSection.getString("name", arenaId));
+            ps.setString(3, arenaSection.getString("world", "world"));
+            ps.setDouble(4, pos1.getDouble("x"));
+            ps.setDouble(5, pos1.getDouble("y"));
+            ps.setDouble(6, pos1.getDouble("z"));
+            ps.setDouble(7, pos2.getDouble("x"));
+            ps.setDouble(8, pos2.getDouble("y"));
+            ps.setDouble(9, pos2.getDouble("z"));
+            ps.setInt(10, arenaSection.getBoolean("enabled", true) ? 1 : 0);
+            ps.addBatch();
+            count++;
+        }
+
+        if (count > 0) {
+            ps.executeBatch();
+            logger.info(count + " arena config dosyasından veritabanına aktarıldı.");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package dev.itscactus.cduello.storage.migration;
+
+import dev.itscactus.cduello.storage.CachedConnection;
+import dev.itscactus.cduello.storage.SchemaUtil;
+import dev.itscactus.cduello.storage.SqlDialect;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * v3: Düello geçmişi tablosu.
+ * Tablo yeni oluşturulduğu için indeksleri boş tablo üzerinde hemen kurulur.
+ */
+public class DuelHistoryMigration implements Migration {
+    private final SqlDialect dialect;
+
+    public DuelHistoryMigration(SqlDialect dialect) {
+        this.dialect = dialect;
+    }
+
+    @Override
+    public int getVersion() {
+        return 3;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Düello geçmişi tablosu";
+    }
+
+    @Override
+    public void apply(CachedConnection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // Zaman damgaları epoch milisaniye olarak tutulur, satır başına yer kaplamaz ve tüm arka uçlarda aynıdır
+            statement.execute(
+                "CREATE TABLE IF NOT EXISTS duel_history (" +
+                "id " + dialect.autoIncrementKey() + ", " +
+                "duel_id " + dialect.varchar(36) + " NOT NULL, " +
+                "challenger " + dialect.varchar(36) + " NOT NULL, " +
+                "challenged " + dialect.varchar(36) + " NOT NULL, " +
+                "winner " + dialect.varchar(36) + ", " +
+                "arena_id " + dialect.varchar(64) + ", " +
+                "bet DOUBLE NOT NULL DEFAULT 0, " +
+                "started_at BIGINT, " +
+                "ended_at BIGINT NOT NULL, " +
+                "end_reason " + dialect.varchar(16) + " NOT NULL" +
+                ")"
+            );
+        }
+
+        // Oyuncu geçmişi her iki taraftan da en yeni kayıttan geriye okunur
+        SchemaUtil.createIndexIfMissing(connection, "duel_history", "idx_duel_history_challenger", "challenger, ended_at");
+        SchemaUtil.createIndexIfMissing(connection, "duel_history", "idx_duel_history_challenged", "challenged, ended_at");
+        // Zaman aralığı sorguları ve eski kayıtların temizliği için
+        SchemaUtil.createIndexIfMissing(connection, "duel_history", "idx_duel_history_ended_at", "ended_at");
+    }
+}
@@ -0,0 +1,93 @@
+package dev.itscactus.cduello.storage.migration;
+
+import dev.itscactus.cduello.models.LeaderboardCategory;
+import dev.itscactus.cduello.storage.CachedConnection;
+import dev.itscactus.cduello.storage.SchemaUtil;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * v2: Sıralama sütunları ve indeksleri.
+ * Sütunlar açılışta eklenir; mevcut satırların doldurulması uuid sırasıyla parça parça,
+ * sıralama indeksleri ise her adımda bir indeks olacak şekilde arka planda yapılır.
+ * Doldurma bitene kadar eski satırların sıralama değerleri 0 görünür.
+ */
+public class LeaderboardColumnsMigration implements BackgroundMigration {
+    private static final String BACKFILL =
+            "UPDATE player_stats SET " +
+            "total_duels = wins + losses, " +
+            "win_ratio = CASE WHEN (wins + losses) > 0 THEN wins * 1.0 / (wins + losses) ELSE 0 END, " +
+            "net_earnings = money_won - money_lost " +
+            "WHERE uuid > ? AND uuid <= ?";
+
+    // Yalnızca yazıcı thread üzerinde okunur ve yazılır
+    private String cursor = "";
+    private boolean backfilled = false;
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Sıralama sütunları ve indeksleri";
+    }
+
+    @Override
+    public void apply(CachedConnection connection) throws SQLException {
+        SchemaUtil.addColumnIfMissing(connection, "player_stats", "total_duels", "INTEGER NOT NULL DEFAULT 0");
+        SchemaUtil.addColumnIfMissing(connection, "player_stats", "win_ratio", "DOUBLE NOT NULL DEFAULT 0");
+        SchemaUtil.addColumnIfMissing(connection, "player_stats", "net_earnings", "DOUBLE NOT NULL DEFAULT 0");
+    }
+
+    @Override
+    public boolean step(CachedConnection connection, int chunkSize) throws SQLException {
+        // v5 tabloyu oyuncu kimlikleriyle yeniden kurduysa sütunlar ve indeksler orada hesaplanmıştır
+        if (!SchemaUtil.hasColumn(connection, "player_stats", "uuid")) {
+            return true;
+        }
+
+        if (!backfilled) {
+            backfillChunk(connection, chunkSize);
+            return false;
+        }
+
+        // Her adımda en fazla bir indeks oluştur
+        for (LeaderboardCategory category : LeaderboardCategory.values()) {
+            if (category.isStatsColumn() && SchemaUtil.createIndexIfMissing(connection, "player_stats",
+                    "idx_player_stats_" + category.getColumn(), category.getColumn() + " DESC, uuid")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void backfillChunk(CachedConnection connection, int chunkSize) throws SQLException {
+        // Parçanın üst sınırını bul; alt sorguda LIMIT her arka uçta desteklenmez
+        PreparedStatement select = connection.prepare(
+                "SELECT uuid FROM player_stats WHERE uuid > ? ORDER BY uuid LIMIT ?");
+        select.setString(1, cursor);
+        select.setInt(2, chunkSize);
+
+        String last = null;
+        try (ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                last = rs.getString(1);
+            }
+        }
+
+        if (last == null) {
+            backfilled = true;
+            return;
+        }
+
+        PreparedStatement update = connection.prepare(BACKFILL);
+        update.setString(1, cursor);
+        update.setString(2, last);
+        update.executeUpdate();
+        cursor = last;
+    }
+}
@@ -0,0 +1,31 @@
+package dev.itscactus.cduello.storage.migration;
+
+import dev.itscactus.cduello.storage.CachedConnection;
+
+import java.sql.SQLException;
+
+/**
+ * Sürümlü şema geçişi.
+ * Geçişler sürüm sırasıyla, yazıcı thread üzerinde ve tek bir transaction içinde bir kez uygulanır;
+ * uygulanan sürümler {@code schema_version} tablosuna kaydedilir.
+ */
+public interface Migration {
+
+    /**
+     * @return Benzersiz ve artan şema sürümü
+     */
+    int getVersion();
+
+    /**
+     * @return Günlükte ve {@code schema_version} tablosunda görünen kısa açıklama
+     */
+    String getDescription();
+
+    /**
+     * Geçişi uygular. Açılışı beklettiği için yalnızca kısa süren işlemler içermelidir.
+     *
+     * @param connection Yazıcı bağlantısı
+     * @throws SQLException Geçiş başarısız olursa
+     */
+    void apply(CachedConnection connection) throws SQLException;
+}
@@ -0,0 +1,217 @@
+package dev.itscactus.cduello.storage.migration;
+
+import dev.itscactus.cduello.Main;
+import dev.itscactus.cduello.storage.CachedConnection;
+import dev.itscactus.cduello.storage.SqlDialect;
+import dev.itscactus.cduello.storage.StorageExecutor;
+import org.bukkit.Bukkit;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+
+/**
+ * Şema geçişlerini sürüm sırasıyla uygulayan sınıf.
+ * Kısa geçişler açılışta yazıcı thread üzerinde uygulanır. {@link BackgroundMigration} geçişlerinin
+ * uzun süren kısmı açılıştan sonra parça parça yazıcı kuyruğuna gönderilir, böylece eklenti bu sırada istek karşılamaya devam eder.
+ * <p>
+ * Bir geçiş arka planda sürerken sonraki geçişler uygulanabilir; bu nedenle hiçbir geçiş
+ * önceki bir geçişin arka plan işinin bitmiş olmasına dayanmamalıdır.
+ */
+public class MigrationRunner {
+    private static final String STATE_APPLIED = "APPLIED";
+    private static final String STATE_BACKGROUND = "BACKGROUND";
+
+    private final Main plugin;
+    private final StorageExecutor executor;
+    private final SqlDialect dialect;
+    private final List<Migration> migrations;
+    private final int chunkSize;
+    private final long chunkDelayTicks;
+    private final Queue<BackgroundMigration> backgroundQueue = new ConcurrentLinkedQueue<>();
+    private volatile int schemaVersion = 0;
+    private volatile boolean stopped = false;
+
+    /**
+     * @param plugin Plugin ana sınıfı
+     * @param executor Depolama yürütücüsü
+     * @param dialect Arka uç lehçesi
+     * @param migrations Bilinen tüm geçişler
+     */
+    public MigrationRunner(Main plugin, StorageExecutor executor, SqlDialect dialect, List<Migration> migrations) {
+        this.plugin = plugin;
+        this.executor = executor;
+        this.dialect = dialect;
+        this.migrations = new ArrayList<>(migrations);
+        this.migrations.sort(Comparator.comparingInt(Migration::getVersion));
+        this.chunkSize = Math.max(1, plugin.getConfig().getInt("database.migrations.chunk-size", 1000));
+        this.chunkDelayTicks = Math.max(1, plugin.getConfig().getLong("database.migrations.chunk-delay-ticks", 1L));
+    }
+
+    /**
+     * Bekleyen geçişleri uygular. Yazıcı thread üzerinde, açılışta çağrılır.
+     * Arka plan işi kalan geçişler {@link #startBackground()} için sıraya alınır.
+     *
+     * @param connection Yazıcı bağlantısı
+     * @throws SQLException Bir geçiş uygulanamazsa (sonraki geçişler uygulanmaz)
+     */
+    public void migrate(CachedConnection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                "CREATE TABLE IF NOT EXISTS schema_version (" +
+                "version INTEGER PRIMARY KEY, " +
+                "description " + dialect.varchar(128) + " NOT NULL, " +
+                "state " + dialect.varchar(16) + " NOT NULL, " +
+                "applied_at BIGINT NOT NULL" +
+                ")"
+            );
+        }
+
+        Map<Integer, String> applied = loadAppliedVersions(connection);
+        int latestKnown = migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).getVersion();
+        int latestApplied = applied.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+
+        if (latestApplied > latestKnown) {
+            plugin.getLogger().warning("Veritabanı şeması bu sürümden daha yeni (v" + latestApplied
+                    + " > v" + latestKnown + "). Eklentinin eski bir sürümü çalışıyor olabilir.");
+        }
+
+        for (Migration migration : migrations) {
+            String state = applied.get(migration.getVersion());
+
+            if (state == null) {
+                boolean background = migration instanceof BackgroundMigration;
+                connection.inTransaction(tx -> {
+                    migration.apply(tx);
+                    insertVersion(tx, migration, background ? STATE_BACKGROUND : STATE_APPLIED);
+                    return null;
+                });
+                state = background ? STATE_BACKGROUND : STATE_APPLIED;
+
+                plugin.getLogger().info("Şema geçişi uygulandı: v" + migration.getVersion() + " (" + migration.getDescription() + ")");
+            }
+
+            if (STATE_BACKGROUND.equals(state) && migration instanceof BackgroundMigration) {
+                ((BackgroundMigration) migration).resume(connection);
+                backgroundQueue.add((BackgroundMigration) migration);
+            }
+
+            schemaVersion = migration.getVersion();
+        }
+    }
+
+    private Map<Integer, String> loadAppliedVersions(CachedConnection connection) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT version, state FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("state"));
+            }
+        }
+
+        return applied;
+    }
+
+    private void insertVersion(CachedConnection connection, Migration migration, String state) throws SQLException {
+        PreparedStatement ps = connection.prepare(
+                "INSERT INTO schema_version (version, description, state, applied_at) VALUES (?, ?, ?, ?)");
+        ps.setInt(1, migration.getVersion());
+        ps.setString(2, migration.getDescription());
+        ps.setString(3, state);
+        ps.setLong(4, System.currentTimeMillis());
+        ps.executeUpdate();
+    }
+
+    private void markApplied(CachedConnection connection, Migration migration) throws SQLException {
+        PreparedStatement ps = connection.prepare(
+                "UPDATE schema_version SET state = ?, applied_at = ? WHERE version = ?");
+        ps.setString(1, STATE_APPLIED);
+        ps.setLong(2, System.currentTimeMillis());
+        ps.setInt(3, migration.getVersion());
+        ps.executeUpdate();
+    }
+
+    /**
+     * Sıradaki arka plan geçişlerini çalıştırmaya başlar
+     */
+    public void startBackground() {
+        if (backgroundQueue.isEmpty()) {
+            return;
+        }
+
+        plugin.getLogger().info(backgroundQueue.size() + " şema geçişi arka planda tamamlanacak.");
+        schedule(this::runNext);
+    }
+
+    private void runNext() {
+        BackgroundMigration migration = backgroundQueue.peek();
+        if (migration == null || stopped) {
+            return;
+        }
+
+        executor.submitWrite(connection -> {
+            boolean done = migration.step(connection, chunkSize);
+            if (done) {
+                markApplied(connection, migration);
+            }
+            return done;
+        }).whenComplete((done, ex) -> {
+            if (ex != null) {
+                // Kuyruk doluysa daha sonra tekrar dene, diğer hatalarda bir sonraki açılışa bırak
+                if (ex instanceof RejectedExecutionException) {
+                    schedule(this::runNext);
+                } else {
+                    plugin.getLogger().log(Level.SEVERE, "Arka plan şema geçişi başarısız oldu, bir sonraki açılışta devam edilecek: v"
+                            + migration.getVersion(), ex);
+                }
+                return;
+            }
+
+            if (done) {
+                backgroundQueue.poll();
+                plugin.getLogger().info("Arka plan şema geçişi tamamlandı: v" + migration.getVersion() + " (" + migration.getDescription() + ")");
+            }
+
+            schedule(this::runNext);
+        });
+    }
+
+    private void schedule(Runnable task) {
+        if (stopped || !plugin.isEnabled()) {
+            return;
+        }
+        Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, task, chunkDelayTicks);
+    }
+
+    /**
+     * Arka plan geçişlerini durdurur, kalan iş bir sonraki açılışta devam eder
+     */
+    public void shutdown() {
+        stopped = true;
+    }
+
+    /**
+     * @return Uygulanan en yüksek şema sürümü
+     */
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    /**
+     * @return Arka plan işi henüz bitmemiş geçiş sayısı
+     */
+    public int getPendingBackgroundCount() {
+        return backgroundQueue.size();
+    }
+}
@@ -0,0 +1,363 @@
+package dev.itscactus.cduello.storage.migration;
+
+import dev.itscactus.cduello.models.LeaderboardCategory;
+import dev.itscactus.cduello.storage.CachedConnection;
+import dev.itscactus.cduello.storage.PlayerDirectory;
+import dev.itscactus.cduello.storage.SchemaUtil;
+import dev.itscactus.cduello.storage.SqlDialect;
+import dev.itscactus.cduello.storage.UuidCodec;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * v5: Oyuncu sözlüğü ve tamsayı oyuncu kimlikleri.
+ * UUID'ler {@code players} tablosunda 16 baytlık ikili değer olarak bir kez saklanır,
+ * {@code player_stats} ve {@code duel_history} oyunculara tamsayı kimlikle başvurur.
+ * <p>
+ * Açılışta eski tablolar {@code _v4} ekiyle yeniden adlandırılır ve yeni şemayla boş tablolar kurulur; eklenti
+ * hemen yeni tablolarla çalışır. Satırlar arka planda parça parça taşınır: her parça yeni tabloya eklenir ve eski
+ * tablodan aynı transaction ile silinir, böylece sunucu arada kapanırsa geçiş kaldığı yerden devam eder.
+ * Taşıma sürerken bir oyuncunun istatistiği yeni tabloda yoksa eski tablodan okunur ({@link #hasLegacyStats()}).
+ * Taşınmamış oyuncular sıralamalarda ve taşınmamış kayıtlar düello geçmişinde görünmez.
+ * <p>
+ * MySQL'de DDL transaction'ı örtük olarak kapattığı için açılış adımlarının her biri tekrar çalıştırılabilir.
+ */
+public class PlayerIdMigration implements BackgroundMigration {
+    public static final String LEGACY_STATS = "player_stats_v4";
+    public static final String LEGACY_HISTORY = "duel_history_v4";
+
+    private final SqlDialect dialect;
+    private final PlayerDirectory playerDirectory;
+    private final Logger logger;
+
+    // Okuyucular eski tabloya yalnızca bu bayrak açıkken bakar
+    private volatile boolean legacyStats = false;
+
+    // Yalnızca yazıcı thread üzerinde okunur ve yazılır
+    private int movedStats = 0;
+    private int movedHistory = 0;
+
+    public PlayerIdMigration(SqlDialect dialect, PlayerDirectory playerDirectory, Logger logger) {
+        this.dialect = dialect;
+        this.playerDirectory = playerDirectory;
+        this.logger = logger;
+    }
+
+    @Override
+    public int getVersion() {
+        return 5;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Oyuncu sözlüğü ve tamsayı kimlikler";
+    }
+
+    @Override
+    public void apply(CachedConnection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                "CREATE TABLE IF NOT EXISTS players (" +
+                "id " + dialect.intAutoIncrementKey() + ", " +
+                "uuid " + dialect.binary(16) + " NOT NULL UNIQUE, " +
+                "name " + dialect.varchar(36) +
+                ")"
+            );
+        }
+
+        // İndeks adları SQLite ve H2'de veritabanı genelinde benzersizdir, yeni tablolarda aynı adlar kullanılır
+        if (SchemaUtil.hasColumn(connection, "player_stats", "uuid")) {
+            for (LeaderboardCategory category : LeaderboardCategory.values()) {
+                if (category.isStatsColumn()) {
+                    SchemaUtil.dropIndexIfExists(connection, dialect, "player_stats", "idx_player_stats_" + category.getColumn());
+                }
+            }
+            renameIfMissing(connection, "player_stats", LEGACY_STATS);
+        }
+        if (SchemaUtil.hasColumn(connection, "duel_history", "challenger")) {
+            SchemaUtil.dropIndexIfExists(connection, dialect, "duel_history", "idx_duel_history_challenger");
+            SchemaUtil.dropIndexIfExists(connection, dialect, "duel_history", "idx_duel_history_challenged");
+            SchemaUtil.dropIndexIfExists(connection, dialect, "duel_history", "idx_duel_history_ended_at");
+            renameIfMissing(connection, "duel_history", LEGACY_HISTORY);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                "CREATE TABLE IF NOT EXISTS player_stats (" +
+                "player_id INTEGER PRIMARY KEY, " +
+                "wins INTEGER NOT NULL DEFAULT 0, " +
+                "losses INTEGER NOT NULL DEFAULT 0, " +
+                "money_won DOUBLE NOT NULL DEFAULT 0, " +
+                "money_lost DOUBLE NOT NULL DEFAULT 0, " +
+                "last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                "total_duels INTEGER NOT NULL DEFAULT 0, " +
+                "win_ratio DOUBLE NOT NULL DEFAULT 0, " +
+                "net_earnings DOUBLE NOT NULL DEFAULT 0" +
+                ")"
+            );
+
+            statement.execute(
+                "CREATE TABLE IF NOT EXISTS duel_history (" +
+                "id " + dialect.autoIncrementKey() + ", " +
+                "duel_id " + dialect.binary(16) + " NOT NULL, " +
+                "challenger_id INTEGER NOT NULL, " +
+                "challenged_id INTEGER NOT NULL, " +
+                "winner_id INTEGER, " +
+                "arena_id " + dialect.varchar(64) + ", " +
+                "bet DOUBLE NOT NULL DEFAULT 0, " +
+                "started_at BIGINT, " +
+                "ended_at BIGINT NOT NULL, " +
+                "end_reason " + dialect.varchar(16) + " NOT NULL" +
+                ")"
+            );
+        }
+
+        // Tablolar boş olduğu için indeksler açılışı bekletmez
+        for (LeaderboardCategory category : LeaderboardCategory.values()) {
+            if (category.isStatsColumn()) {
+                SchemaUtil.createIndexIfMissing(connection, "player_stats",
+                        "idx_player_stats_" + category.getColumn(), category.getColumn() + " DESC, player_id");
+            }
+        }
+        SchemaUtil.createIndexIfMissing(connection, "duel_history", "idx_duel_history_challenger", "challenger_id, ended_at");
+        SchemaUtil.createIndexIfMissing(connection, "duel_history", "idx_duel_history_challenged", "challenged_id, ended_at");
+        SchemaUtil.createIndexIfMissing(connection, "duel_history", "idx_duel_history_ended_at", "ended_at");
+    }
+
+    /**
+     * Tabloyu yeniden adlandırır; hedef zaten varsa (önceki deneme yarıda kaldıysa) bir şey yapmaz
+     */
+    private void renameIfMissing(CachedConnection connection, String table, String target) throws SQLException {
+        if (SchemaUtil.hasTable(connection, target)) {
+            return;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " RENAME TO " + target);
+        }
+    }
+
+    @Override
+    public void resume(CachedConnection connection) throws SQLException {
+        legacyStats = SchemaUtil.hasTable(connection, LEGACY_STATS);
+    }
+
+    @Override
+    public boolean step(CachedConnection connection, int chunkSize) throws SQLException {
+        if (SchemaUtil.hasTable(connection, LEGACY_STATS)) {
+            if (moveStatsChunk(connection, chunkSize) > 0) {
+                return false;
+            }
+
+            // Okuyucular eski tabloya bakmayı bir adım önce bırakır, tablo okunurken silinmez
+            if (legacyStats) {
+                legacyStats = false;
+                return false;
+            }
+            dropTable(connection, LEGACY_STATS);
+            return false;
+        }
+
+        if (SchemaUtil.hasTable(connection, LEGACY_HISTORY)) {
+            if (moveHistoryChunk(connection, chunkSize) > 0) {
+                return false;
+            }
+            dropTable(connection, LEGACY_HISTORY);
+            return false;
+        }
+
+        logger.info("Oyuncu kimliği geçişi tamamlandı: " + movedStats + " istatistik ve " + movedHistory + " geçmiş kaydı taşındı.");
+        return true;
+    }
+
+    /**
+     * Taşıma sürerken yeni tabloda olmayan istatistiklerin eski tablodan okunması gerekip gerekmediğini döndürür
+     *
+     * @return Eski istatistik tablosunda taşınmamış satır olabilirse true
+     */
+    public boolean hasLegacyStats() {
+        return legacyStats;
+    }
+
+    /**
+     * İstatistiklerin bir parçasını uuid sırasıyla yeni tabloya taşır.
+     * Sıralama sütunları satırın kendi değerlerinden yeniden hesaplanır, böylece
+     * v2'nin arka plan doldurmasının bitmiş olması gerekmez. Oyuncunun yeni tabloda satırı varsa
+     * (taşınmadan önce eski tablodan okunup yazıldıysa) o satır zaten eski değerleri içerir ve korunur.
+     *
+     * @return Taşınan satır sayısı
+     */
+    private int moveStatsChunk(CachedConnection connection, int chunkSize) throws SQLException {
+        PreparedStatement select = connection.prepare(
+                "SELECT uuid, player_name, wins, losses, money_won, money_lost, last_updated " +
+                "FROM " + LEGACY_STATS + " ORDER BY uuid LIMIT ?");
+        select.setInt(1, chunkSize);
+
+        List<Object[]> rows = new ArrayList<>();
+        Map<UUID, String> players = new HashMap<>();
+        try (ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                UUID uuid = UUID.fromString(rs.getString("uuid"));
+                rows.add(new Object[]{uuid, rs.getInt("wins"), rs.getInt("losses"),
+                        rs.getDouble("money_won"), rs.getDouble("money_lost"), rs.getTimestamp("last_updated"),
+                        rs.getString("uuid")});
+                // Taşıma sırasında giriş yapan oyuncunun güncel adı eski adla ezilmez
+                players.put(uuid, playerDirectory.getName(uuid) == null ? rs.getString("player_name") : null);
+            }
+        }
+
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // Kimlikler kendi transaction'ında çözülür, tekrar çalıştırıldığında mevcut kimlikler kullanılır
+        Map<UUID, Integer> ids = playerDirectory.resolveAll(connection, players);
+        String last = (String) rows.get(rows.size() - 1)[6];
+
+        connection.inTransaction(tx -> {
+            PreparedStatement exists = tx.prepare("SELECT 1 FROM player_stats WHERE player_id = ?");
+            PreparedStatement insert = tx.prepare(
+                    "INSERT INTO player_stats (player_id, wins, losses, money_won, money_lost, last_updated, " +
+                    "total_duels, win_ratio, net_earnings) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+
+            boolean batched = false;
+            for (Object[] row : rows) {
+                int playerId = ids.get((UUID) row[0]);
+                exists.setInt(1, playerId);
+                try (ResultSet rs = exists.executeQuery()) {
+                    if (rs.next()) {
+                        continue;
+                    }
+                }
+
+                int wins = (Integer) row[1];
+                int losses = (Integer) row[2];
+                double moneyWon = (Double) row[3];
+                double moneyLost = (Double) row[4];
+                int total = wins + losses;
+
+                insert.setInt(1, playerId);
+                insert.setInt(2, wins);
+                insert.setInt(3, losses);
+                insert.setDouble(4, moneyWon);
+                insert.setDouble(5, moneyLost);
+                insert.setTimestamp(6, (Timestamp) row[5]);
+                insert.setInt(7, total);
+                insert.setDouble(8, total > 0 ? (double) wins / total : 0);
+                insert.setDouble(9, moneyWon - moneyLost);
+                insert.addBatch();
+                batched = true;
+            }
+
+            if (batched) {
+                insert.executeBatch();
+            }
+
+            PreparedStatement delete = tx.prepare("DELETE FROM " + LEGACY_STATS + " WHERE uuid <= ?");
+            delete.setString(1, last);
+            delete.executeUpdate();
+            return null;
+        });
+
+        movedStats += rows.size();
+        return rows.size();
+    }
+
+    /**
+     * Geçmiş kayıtlarının bir parçasını kimlik sırasıyla yeni tabloya taşır.
+     * Yeni tablo açılıştan beri kayıt aldığı için taşınan kayıtlara yeni kimlik verilir; geçmiş bitiş zamanına göre okunur.
+     *
+     * @return Taşınan satır sayısı
+     */
+    private int moveHistoryChunk(CachedConnection connection, int chunkSize) throws SQLException {
+        PreparedStatement select = connection.prepare(
+                "SELECT id, duel_id, challenger, challenged, winner, arena_id, bet, started_at, ended_at, end_reason " +
+                "FROM " + LEGACY_HISTORY + " ORDER BY id LIMIT ?");
+        select.setInt(1, chunkSize);
+
+        List<Object[]> rows = new ArrayList<>();
+        Map<UUID, String> players = new HashMap<>();
+        long last = 0;
+        try (ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                last = rs.getLong("id");
+
+                UUID challenger = UUID.fromString(rs.getString("challenger"));
+                UUID challenged = UUID.fromString(rs.getString("challenged"));
+                String winnerText = rs.getString("winner");
+                UUID winner = winnerText != null ? UUID.fromString(winnerText) : null;
+                players.put(challenger, null);
+                players.put(challenged, null);
+                if (winner != null) {
+                    players.put(winner, null);
+                }
+
+                long startedAt = rs.getLong("started_at");
+                Long started = rs.wasNull() ? null : startedAt;
+                rows.add(new Object[]{UUID.fromString(rs.getString("duel_id")), challenger, challenged, winner,
+                        rs.getString("arena_id"), rs.getDouble("bet"), started,
+                        rs.getLong("ended_at"), rs.getString("end_reason")});
+            }
+        }
+
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, Integer> ids = playerDirectory.resolveAll(connection, players);
+        long lastId = last;
+
+        connection.inTransaction(tx -> {
+            PreparedStatement insert = tx.prepare(
+                    "INSERT INTO duel_history (duel_id, challenger_id, challenged_id, winner_id, arena_id, bet, " +
+                    "started_at, ended_at, end_reason) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+
+            for (Object[] row : rows) {
+                insert.setBytes(1, UuidCodec.toBytes((UUID) row[0]));
+                insert.setInt(2, ids.get((UUID) row[1]));
+                insert.setInt(3, ids.get((UUID) row[2]));
+                if (row[3] != null) {
+                    insert.setInt(4, ids.get((UUID) row[3]));
+                } else {
+                    insert.setNull(4, Types.INTEGER);
+                }
+                insert.setString(5, (String) row[4]);
+                insert.setDouble(6, (Double) row[5]);
+                if (row[6] != null) {
+                    insert.setLong(7, (Long) row[6]);
+                } else {
+                    insert.setNull(7, Types.BIGINT);
+                }
+                insert.setLong(8, (Long) row[7]);
+                insert.setString(9, (String) row[8]);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+
+            PreparedStatement delete = tx.prepare("DELETE FROM " + LEGACY_HISTORY + " WHERE id <= ?");
+            delete.setLong(1, lastId);
+            delete.executeUpdate();
+            return null;
+        });
+
+        movedHistory += rows.size();
+        return rows.size();
+    }
+
+    private void dropTable(CachedConnection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+        }
+    }
+}
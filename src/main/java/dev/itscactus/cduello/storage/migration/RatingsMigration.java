@@ -0,0 +1,50 @@
+package dev.itscactus.cduello.storage.migration;
+
+import dev.itscactus.cduello.storage.CachedConnection;
+import dev.itscactus.cduello.storage.SchemaUtil;
+import dev.itscactus.cduello.storage.SqlDialect;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * v7: Sıralama (ladder) başına oyuncu puanları.
+ * Her oyuncunun her sıralamada bir satırı olur; sıralama sorguları (ladder, rating) indeksini sırayla okur.
+ */
+public class RatingsMigration implements Migration {
+    private final SqlDialect dialect;
+
+    public RatingsMigration(SqlDialect dialect) {
+        this.dialect = dialect;
+    }
+
+    @Override
+    public int getVersion() {
+        return 7;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Sıralama başına oyuncu puanları";
+    }
+
+    @Override
+    public void apply(CachedConnection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                "CREATE TABLE IF NOT EXISTS player_ratings (" +
+                "player_id INTEGER NOT NULL, " +
+                "ladder " + dialect.varchar(32) + " NOT NULL, " +
+                "rating DOUBLE NOT NULL, " +
+                "deviation DOUBLE NOT NULL, " +
+                "volatility DOUBLE NOT NULL, " +
+                "games INTEGER NOT NULL DEFAULT 0, " +
+                "last_played BIGINT NOT NULL DEFAULT 0, " +
+                "PRIMARY KEY (player_id, ladder)" +
+                ")"
+            );
+        }
+
+        SchemaUtil.createIndexIfMissing(connection, "player_ratings", "idx_player_ratings_ladder_rating", "ladder, rating");
+    }
+}
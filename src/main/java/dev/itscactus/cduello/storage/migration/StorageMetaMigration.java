@@ -0,0 +1,41 @@
+package dev.itscactus.cduello.storage.migration;
+
+import dev.itscactus.cduello.storage.CachedConnection;
+import dev.itscactus.cduello.storage.SqlDialect;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * v6: Depolama meta verileri (örn. istatistik günlüğünün kontrol noktası).
+ * Değerler veriyle aynı transaction içinde güncellenebilsin diye veritabanında tutulur.
+ */
+public class StorageMetaMigration implements Migration {
+    private final SqlDialect dialect;
+
+    public StorageMetaMigration(SqlDialect dialect) {
+        this.dialect = dialect;
+    }
+
+    @Override
+    public int getVersion() {
+        return 6;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Depolama meta verileri";
+    }
+
+    @Override
+    public void apply(CachedConnection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                "CREATE TABLE IF NOT EXISTS storage_meta (" +
+                "meta_key " + dialect.varchar(64) + " PRIMARY KEY, " +
+                "meta_value BIGINT NOT NULL" +
+                ")"
+            );
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package dev.itscactus.cduello.utils;
 
 import dev.itscactus.cduello.Main;
+import dev.itscactus.cduello.models.LeaderboardCategory;
 import dev.itscactus.cduello.models.PlayerStats;
+import dev.itscactus.cduello.storage.StatsRepository;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
@@ -22,8 +23,8 @@ import java.util.Map;
  */
 public class LeaderboardGUI {
     private final Main plugin;
-    private final DatabaseManager databaseManager;
-    private final String orderType;
+    private final StatsRepository statsRepository;
+    private final LeaderboardCategory category;
     private final DecimalFormat decimalFormat = new DecimalFormat("#,##0.00");
     private final DecimalFormat percentFormat = new DecimalFormat("#0.0%");
 
@@ -31,13 +32,13 @@ public class LeaderboardGUI {
      * GUI yapıcı
      * 
      * @param plugin Plugin
-     * @param databaseManager Veritabanı yöneticisi
-     * @param orderType Sıralama tipi (wins, money_won, win_ratio)
+     * @param statsRepository İstatistik deposu
+     * @param category Sıralama kategorisi
      */
-    public LeaderboardGUI(Main plugin, DatabaseManager databaseManager, String orderType) {
+    public LeaderboardGUI(Main plugin, StatsRepository statsRepository, LeaderboardCategory category) {
         this.plugin = plugin;
-        this.databaseManager = databaseManager;
-        this.orderType = orderType;
+        this.statsRepository = statsRepository;
+        this.category = category;
     }
 
     /**
@@ -47,7 +48,7 @@ public class LeaderboardGUI {
      */
     public void open(Player player) {
         // Asenkron olarak verileri çek
-        databaseManager.getTopPlayers(10, orderType).thenAccept(topPlayers -> {
+        statsRepository.getTopPlayers(10, category).thenAccept(topPlayers -> {
             // Ana thread'e geri dön
             Bukkit.getScheduler().runTask(plugin, () -> {
                 // Eğer oyuncu çevrimiçi değilse
@@ -72,21 +73,7 @@ public class LeaderboardGUI {
      */
     private Inventory createInventory(List<Map.Entry<PlayerStats, String>> topPlayers) {
         // Başlık belirle
-        String title;
-        switch (orderType.toLowerCase()) {
-            case "wins":
-                title = ChatColor.GOLD + "En Çok Galibiyet";
-                break;
-            case "money_won":
-                title = ChatColor.GOLD + "En Çok Para Kazananlar";
-                break;
-            case "win_ratio":
-                title = ChatColor.GOLD + "En İyi Oran";
-                break;
-            default:
-                title = ChatColor.GOLD + "Düello Sıralaması";
-                break;
-        }
+        String title = ChatColor.GOLD + category.getTitle();
         
         // 9x3 envanter oluştur (27 slot)
         Inventory inventory = Bukkit.createInventory(null, 27, title);
@@ -118,10 +105,11 @@ public class LeaderboardGUI {
             inventory.setItem(slot, createPlayerHead(i + 1, stats, playerName));
         }
         
-        // Filtre butonlarını ekle
-        inventory.setItem(22, createFilterItem(Material.DIAMOND_SWORD, "Galibiyet Sıralaması", "wins"));
-        inventory.setItem(23, createFilterItem(Material.GOLD_INGOT, "Para Sıralaması", "money_won"));
-        inventory.setItem(24, createFilterItem(Material.EXPERIENCE_BOTTLE, "Oran Sıralaması", "win_ratio"));
+        // Filtre butonlarını ekle (alt satırın ortası)
+        int filterSlot = 20;
+        for (LeaderboardCategory filter : LeaderboardCategory.values()) {
+            inventory.setItem(filterSlot++, createFilterItem(filter));
+        }
         
         return inventory;
     }
@@ -139,9 +127,8 @@ public class LeaderboardGUI {
         ItemStack head = new ItemStack(Material.PLAYER_HEAD);
         SkullMeta meta = (SkullMeta) head.getItemMeta();
         
-        // Oyuncuyu bul ve başı ayarla
-        OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(stats.getPlayerUuid());
-        meta.setOwningPlayer(offlinePlayer);
+        // Başı ad sözlüğünden gelen adla ayarla, çevrimdışı oyuncu verisi okunmaz
+        meta.setPlayerProfile(Bukkit.createProfile(stats.getPlayerUuid(), playerName));
         
         // Meta'yı ayarla
         String positionColor;
@@ -172,6 +159,11 @@ public class LeaderboardGUI {
         lore.add(ChatColor.WHITE + "Kazanılan Para: " + ChatColor.GOLD + decimalFormat.format(stats.getMoneyWon()));
         lore.add(ChatColor.WHITE + "Kaybedilen Para: " + ChatColor.RED + decimalFormat.format(stats.getMoneyLost()));
         
+        if (category == LeaderboardCategory.RATING) {
+            lore.add("");
+            lore.add(ChatColor.WHITE + "Puan: " + ChatColor.LIGHT_PURPLE + Math.round(stats.getRating()));
+        }
+        
         meta.setLore(lore);
         head.setItemMeta(meta);
         
@@ -181,24 +173,27 @@ public class LeaderboardGUI {
     /**
      * Filtre butonu öğesi oluşturur
      * 
-     * @param material Materyal
-     * @param displayName Görünen isim
-     * @param filterType Filtre tipi
+     * @param filter Butonun kategorisi
      * @return Oluşturulan öğe
      */
-    private ItemStack createFilterItem(Material material, String displayName, String filterType) {
-        ItemStack item = new ItemStack(material);
+    private ItemStack createFilterItem(LeaderboardCategory filter) {
+        ItemStack item = new ItemStack(filter.getIcon());
         ItemMeta meta = item.getItemMeta();
         
         // Aktif filtre ise vurgula
-        if (orderType.equalsIgnoreCase(filterType)) {
-            meta.setDisplayName(ChatColor.GREEN + "▶ " + displayName + " ◀");
+        if (category == filter) {
+            meta.setDisplayName(ChatColor.GREEN + "▶ " + filter.getButtonName() + " ◀");
         } else {
-            meta.setDisplayName(ChatColor.YELLOW + displayName);
+            meta.setDisplayName(ChatColor.YELLOW + filter.getButtonName());
         }
         
         List<String> lore = new ArrayList<>();
         lore.add(ChatColor.GRAY + "Bu filtreyi uygulamak için tıkla");
+        if (filter.isMinGamesRequired()) {
+            lore.add(ChatColor.DARK_GRAY + "En az " + plugin.getConfig().getInt("stats.leaderboard.min-games", 10) + " düello gerekir");
+        } else if (filter == LeaderboardCategory.RATING) {
+            lore.add(ChatColor.DARK_GRAY + "En az " + plugin.getConfig().getInt("ratings.leaderboard.min-games", 5) + " puanlı düello gerekir");
+        }
         
         meta.setLore(lore);
         item.setItemMeta(meta);
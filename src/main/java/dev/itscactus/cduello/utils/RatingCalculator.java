@@ -0,0 +1,189 @@
+package dev.itscactus.cduello.utils;
+
+import dev.itscactus.cduello.models.Rating;
+
+import java.util.UUID;
+
+/**
+ * Tek bir düello sonucundan iki oyuncunun puanını güncelleyen hesaplayıcı.
+ * <p>
+ * Glicko-2'de her düello tek oyunluk bir derecelendirme dönemi sayılır; oyuncunun son düellosundan bu yana geçen
+ * dönem sayısı kadar sapma önce büyütülür, sonra sonuç uygulanır. Oynaklık Illinois yöntemiyle bulunur ve
+ * yineleme sayısı sınırlı olduğu için bir sonucun maliyeti sabittir. Elo'da yalnızca puan değişir.
+ * <p>
+ * Sınıf durumsuzdur; aynı oyuncunun puanına aynı anda erişimi çağıran kilitlemelidir.
+ */
+public class RatingCalculator {
+
+    /**
+     * Puanlama sistemi
+     */
+    public enum Algorithm {
+        ELO,
+        GLICKO2
+    }
+
+    // Glicko ölçeğinden Glicko-2 ölçeğine dönüşüm katsayısı
+    private static final double SCALE = 173.7178;
+    private static final double CONVERGENCE = 0.000001;
+    private static final int MAX_ITERATIONS = 100;
+
+    private final Algorithm algorithm;
+    private final double initialRating;
+    private final double initialDeviation;
+    private final double initialVolatility;
+    private final double minDeviation;
+    private final double tau;
+    private final double kFactor;
+    private final long periodMillis;
+
+    /**
+     * @param algorithm Puanlama sistemi
+     * @param initialRating Yeni oyuncunun puanı
+     * @param initialDeviation Yeni oyuncunun sapması (aynı zamanda üst sınır)
+     * @param initialVolatility Yeni oyuncunun oynaklığı
+     * @param minDeviation Sapmanın alt sınırı
+     * @param tau Oynaklığın değişim hızını sınırlayan sabit
+     * @param kFactor Elo K katsayısı
+     * @param periodMillis Hareketsizlikte sapmanın büyüdüğü dönem uzunluğu (0 = büyümez)
+     */
+    public RatingCalculator(Algorithm algorithm, double initialRating, double initialDeviation, double initialVolatility,
+                            double minDeviation, double tau, double kFactor, long periodMillis) {
+        this.algorithm = algorithm;
+        this.initialRating = initialRating;
+        this.initialDeviation = initialDeviation;
+        this.initialVolatility = initialVolatility;
+        this.minDeviation = Math.min(minDeviation, initialDeviation);
+        this.tau = tau;
+        this.kFactor = kFactor;
+        this.periodMillis = periodMillis;
+    }
+
+    /**
+     * @return Etkin puanlama sistemi
+     */
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Hiç puanlı düello yapmamış bir oyuncu için başlangıç puanı oluşturur
+     *
+     * @param uuid Oyuncu UUID'si
+     * @param ladder Sıralama adı
+     * @return Başlangıç puanı
+     */
+    public Rating createInitial(UUID uuid, String ladder) {
+        return new Rating(uuid, ladder, initialRating, initialDeviation, initialVolatility, 0, 0L);
+    }
+
+    /**
+     * Sonucu iki oyuncuya uygular. Her iki taraf da rakibin düello öncesi puanıyla hesaplanır.
+     *
+     * @param winner Kazananın puanı
+     * @param loser Kaybedenin puanı
+     * @param now Düellonun bittiği an (epoch milisaniye)
+     */
+    public void apply(Rating winner, Rating loser, long now) {
+        if (algorithm == Algorithm.ELO) {
+            double expected = 1.0 / (1.0 + Math.pow(10, (loser.getRating() - winner.getRating()) / 400.0));
+            double change = kFactor * (1.0 - expected);
+            winner.update(winner.getRating() + change, winner.getDeviation(), winner.getVolatility(), now);
+            loser.update(loser.getRating() - change, loser.getDeviation(), loser.getVolatility(), now);
+            return;
+        }
+
+        double winnerPhi = inflatedPhi(winner, now);
+        double loserPhi = inflatedPhi(loser, now);
+        double winnerMu = toMu(winner.getRating());
+        double loserMu = toMu(loser.getRating());
+
+        double[] winnerResult = glicko2(winnerMu, winnerPhi, winner.getVolatility(), loserMu, loserPhi, 1.0);
+        double[] loserResult = glicko2(loserMu, loserPhi, loser.getVolatility(), winnerMu, winnerPhi, 0.0);
+
+        winner.update(winnerResult[0], winnerResult[1], winnerResult[2], now);
+        loser.update(loserResult[0], loserResult[1], loserResult[2], now);
+    }
+
+    private static double toMu(double rating) {
+        return (rating - 1500.0) / SCALE;
+    }
+
+    /**
+     * Son düellodan bu yana geçen her dönem için sapmayı oynaklık kadar büyütür
+     */
+    private double inflatedPhi(Rating rating, long now) {
+        double phi = rating.getDeviation() / SCALE;
+        if (periodMillis <= 0 || rating.getLastPlayed() <= 0 || now <= rating.getLastPlayed()) {
+            return phi;
+        }
+
+        double periods = (double) (now - rating.getLastPlayed()) / periodMillis;
+        double sigma = rating.getVolatility();
+        return Math.min(Math.sqrt(phi * phi + periods * sigma * sigma), initialDeviation / SCALE);
+    }
+
+    /**
+     * Tek oyunluk Glicko-2 güncellemesi
+     *
+     * @return {puan, sapma, oynaklık} Glicko ölçeğinde
+     */
+    private double[] glicko2(double mu, double phi, double sigma, double opponentMu, double opponentPhi, double score) {
+        double g = 1.0 / Math.sqrt(1.0 + 3.0 * opponentPhi * opponentPhi / (Math.PI * Math.PI));
+        double expected = 1.0 / (1.0 + Math.exp(-g * (mu - opponentMu)));
+        double v = 1.0 / (g * g * expected * (1.0 - expected));
+        double delta = v * g * (score - expected);
+
+        double newSigma = volatility(phi, sigma, v, delta);
+        double phiStar = Math.sqrt(phi * phi + newSigma * newSigma);
+        double newPhi = 1.0 / Math.sqrt(1.0 / (phiStar * phiStar) + 1.0 / v);
+        double newMu = mu + newPhi * newPhi * g * (score - expected);
+
+        double deviation = Math.max(minDeviation, Math.min(initialDeviation, newPhi * SCALE));
+        return new double[]{newMu * SCALE + 1500.0, deviation, newSigma};
+    }
+
+    /**
+     * Yeni oynaklığı Illinois yöntemiyle bulur
+     */
+    private double volatility(double phi, double sigma, double v, double delta) {
+        double a = Math.log(sigma * sigma);
+        double phi2 = phi * phi;
+        double delta2 = delta * delta;
+
+        double upper = a;
+        double lower;
+        if (delta2 > phi2 + v) {
+            lower = Math.log(delta2 - phi2 - v);
+        } else {
+            int k = 1;
+            while (volatilityFunction(a - k * tau, a, phi2, v, delta2) < 0 && k < MAX_ITERATIONS) {
+                k++;
+            }
+            lower = a - k * tau;
+        }
+
+        double fUpper = volatilityFunction(upper, a, phi2, v, delta2);
+        double fLower = volatilityFunction(lower, a, phi2, v, delta2);
+        for (int i = 0; i < MAX_ITERATIONS && Math.abs(lower - upper) > CONVERGENCE; i++) {
+            double c = upper + (upper - lower) * fUpper / (fLower - fUpper);
+            double fC = volatilityFunction(c, a, phi2, v, delta2);
+            if (fC * fLower <= 0) {
+                upper = lower;
+                fUpper = fLower;
+            } else {
+                fUpper /= 2.0;
+            }
+            lower = c;
+            fLower = fC;
+        }
+
+        return Math.exp(upper / 2.0);
+    }
+
+    private double volatilityFunction(double x, double a, double phi2, double v, double delta2) {
+        double ex = Math.exp(x);
+        double denominator = phi2 + v + ex;
+        return ex * (delta2 - phi2 - v - ex) / (2.0 * denominator * denominator) - (x - a) / (tau * tau);
+    }
+}
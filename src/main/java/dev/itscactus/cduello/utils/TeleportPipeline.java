@@ -0,0 +1,218 @@
+package dev.itscactus.cduello.utils;
+
+import dev.itscactus.cduello.Main;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Oyuncuları ana thread'i bekletmeden ışınlayan ve hedef chunk'ları önceden yükleyen sınıf.
+ * <p>
+ * Işınlanmada hedef chunk önce {@code getChunkAtAsync} ile arka planda yüklenir, ardından oyuncu
+ * {@code teleportAsync} ile taşınır; her ışınlanmanın chunk bekleme ve toplam süresi kaydedilir.
+ * Düello sonunda dönülecek konumların chunk'ları düello boyunca eklenti bileti ile yüklü tutulur, böylece
+ * dönüş ışınlanması chunk yüklemesi beklemez. Aynı chunk'ı tutan düellolar için bilet sayılır ve son düello
+ * bıraktığında kaldırılır.
+ * <p>
+ * Tüm metotlar ana thread'den çağrılmalıdır.
+ */
+public class TeleportPipeline {
+
+    private static final class ChunkTicket {
+        private final World world;
+        private final int x;
+        private final int z;
+
+        private ChunkTicket(World world, int x, int z) {
+            this.world = world;
+            this.x = x;
+            this.z = z;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ChunkTicket)) {
+                return false;
+            }
+            ChunkTicket other = (ChunkTicket) o;
+            return x == other.x && z == other.z && world.getUID().equals(other.world.getUID());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(world.getUID(), x, z);
+        }
+    }
+
+    private final Main plugin;
+    // Sahip (düello) -> tuttuğu chunk biletleri
+    private final Map<UUID, List<ChunkTicket>> heldTickets = new HashMap<>();
+    // Chunk -> onu tutan sahip sayısı
+    private final Map<ChunkTicket, Integer> ticketCounts = new HashMap<>();
+
+    private final AtomicLong teleports = new AtomicLong();
+    private final AtomicLong failedTeleports = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong chunkWaitNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLong lastNanos = new AtomicLong();
+
+    public TeleportPipeline(Main plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Hedef chunk'ı arka planda yükler ve oyuncuyu ışınlar
+     *
+     * @param player Oyuncu
+     * @param location Hedef konum
+     * @return Işınlanma başarılıysa true ile tamamlanır
+     */
+    public CompletableFuture<Boolean> teleport(Player player, Location location) {
+        World world = location.getWorld();
+        if (world == null) {
+            failedTeleports.incrementAndGet();
+            return CompletableFuture.completedFuture(false);
+        }
+
+        long start = System.nanoTime();
+        long[] chunkReady = new long[1];
+        return world.getChunkAtAsync(location.getBlockX() >> 4, location.getBlockZ() >> 4)
+                .thenCompose(chunk -> {
+                    chunkReady[0] = System.nanoTime();
+                    // Chunk beklenirken oyuncu çıkmış olabilir
+                    return player.isOnline() ? player.teleportAsync(location) : CompletableFuture.completedFuture(false);
+                })
+                .handle((success, ex) -> {
+                    long elapsed = System.nanoTime() - start;
+                    if (ex != null || !Boolean.TRUE.equals(success)) {
+                        failedTeleports.incrementAndGet();
+                        if (ex != null) {
+                            plugin.getLogger().log(Level.WARNING, "Oyuncu ışınlanamadı: " + player.getName(), ex);
+                        }
+                        return false;
+                    }
+
+                    record(elapsed, chunkReady[0] - start);
+
+                    // Debug log
+                    if (plugin.getConfig().getBoolean("debug", false)) {
+                        plugin.getLogger().info(String.format("%s ışınlandı: %.2f ms (chunk bekleme: %.2f ms)",
+                                player.getName(), elapsed / 1_000_000.0, (chunkReady[0] - start) / 1_000_000.0));
+                    }
+                    return true;
+                });
+    }
+
+    private void record(long elapsed, long chunkWait) {
+        teleports.incrementAndGet();
+        totalNanos.addAndGet(elapsed);
+        chunkWaitNanos.addAndGet(chunkWait);
+        lastNanos.set(elapsed);
+        maxNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    /**
+     * Konumun chunk'ını arka planda yükler ve sahip bırakana kadar yüklü tutar
+     *
+     * @param owner Bileti tutan (düello ID'si)
+     * @param location Konum
+     */
+    public void hold(UUID owner, Location location) {
+        World world = location != null ? location.getWorld() : null;
+        if (world == null) {
+            return;
+        }
+
+        ChunkTicket ticket = new ChunkTicket(world, location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        heldTickets.computeIfAbsent(owner, k -> new ArrayList<>()).add(ticket);
+        if (ticketCounts.merge(ticket, 1, Integer::sum) == 1) {
+            // Bilet chunk'ı yükleme sırasına alır, yüklemenin kendisi arka planda yapılır
+            world.addPluginChunkTicket(ticket.x, ticket.z, plugin);
+            world.getChunkAtAsync(ticket.x, ticket.z);
+        }
+    }
+
+    /**
+     * Sahibin tuttuğu tüm chunk'ları bırakır; başka sahibi kalmayan chunk'ların bileti kaldırılır
+     *
+     * @param owner Bileti tutan (düello ID'si)
+     */
+    public void releaseAll(UUID owner) {
+        List<ChunkTicket> tickets = heldTickets.remove(owner);
+        if (tickets == null) {
+            return;
+        }
+
+        for (ChunkTicket ticket : tickets) {
+            Integer remaining = ticketCounts.computeIfPresent(ticket, (k, count) -> count > 1 ? count - 1 : null);
+            if (remaining == null) {
+                ticket.world.removePluginChunkTicket(ticket.x, ticket.z, plugin);
+            }
+        }
+    }
+
+    /**
+     * @return Başarılı ışınlanma sayısı
+     */
+    public long getTeleportCount() {
+        return teleports.get();
+    }
+
+    /**
+     * @return Başarısız ışınlanma sayısı
+     */
+    public long getFailedCount() {
+        return failedTeleports.get();
+    }
+
+    /**
+     * @return Ortalama ışınlanma süresi (milisaniye)
+     */
+    public double getAverageMillis() {
+        long count = teleports.get();
+        return count > 0 ? totalNanos.get() / 1_000_000.0 / count : 0.0;
+    }
+
+    /**
+     * @return Ortalama chunk bekleme süresi (milisaniye)
+     */
+    public double getAverageChunkWaitMillis() {
+        long count = teleports.get();
+        return count > 0 ? chunkWaitNanos.get() / 1_000_000.0 / count : 0.0;
+    }
+
+    /**
+     * @return En uzun ışınlanma süresi (milisaniye)
+     */
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * @return Son ışınlanmanın süresi (milisaniye)
+     */
+    public double getLastMillis() {
+        return lastNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * @return Yüklü tutulan chunk sayısı
+     */
+    public int getHeldChunkCount() {
+        return ticketCounts.size();
+    }
+}
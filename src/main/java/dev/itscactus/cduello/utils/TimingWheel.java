@@ -0,0 +1,216 @@
+package dev.itscactus.cduello.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Eklentinin tüm kısa süreli zamanlayıcılarını (istek zaman aşımı, geri sayım, düello süresi, bekleme süreleri)
+ * tek bir Bukkit görevinde toplayan karma zaman çarkı.
+ * <p>
+ * Çark her sunucu tick'inde bir yuva ilerler; her yuva çift yönlü bir bağlı listedir. Ekleme ve iptal sabit
+ * zamanlıdır ve iptal edilen görev listeden hemen çıkarılır. Çark boyunu aşan gecikmeler için görev kaç tur
+ * daha bekleyeceğini sayar.
+ * <p>
+ * Tüm metotlar ana thread'den çağrılmalıdır.
+ */
+public class TimingWheel {
+
+    /**
+     * Zamanlanmış bir görev
+     */
+    public final class Timeout {
+        private final Runnable task;
+        private long rounds;
+        private int slot = -1;
+        private Timeout prev;
+        private Timeout next;
+        private boolean done;
+
+        private Timeout(Runnable task) {
+            this.task = task;
+        }
+
+        /**
+         * Görevi iptal eder ve çarktan çıkarır
+         *
+         * @return Görev henüz çalışmamışsa ve şimdi iptal edildiyse true
+         */
+        public boolean cancel() {
+            if (done) {
+                return false;
+            }
+
+            done = true;
+            unlink(this);
+            return true;
+        }
+
+        /**
+         * @return Görev hâlâ çalışmayı bekliyorsa true
+         */
+        public boolean isPending() {
+            return !done;
+        }
+    }
+
+    private final Logger logger;
+    private final Timeout[] slots;
+    private final int mask;
+    private long tick = 0;
+    private int size = 0;
+    private BukkitTask task;
+
+    /**
+     * @param logger Görev hataları için günlükçü
+     * @param wheelSize Yuva sayısı (ikinin kuvvetine yuvarlanır)
+     */
+    public TimingWheel(Logger logger, int wheelSize) {
+        int slotCount = Integer.highestOneBit(Math.max(16, wheelSize));
+        if (slotCount < wheelSize) {
+            slotCount <<= 1;
+        }
+        this.logger = logger;
+        this.slots = new Timeout[slotCount];
+        this.mask = slotCount - 1;
+    }
+
+    /**
+     * Çarkı her tick'te ilerletecek Bukkit görevini başlatır
+     *
+     * @param plugin Eklenti
+     */
+    public void start(Plugin plugin) {
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Bukkit görevini durdurur ve bekleyen tüm görevleri çalıştırmadan bırakır
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        for (int i = 0; i < slots.length; i++) {
+            for (Timeout timeout = slots[i]; timeout != null; timeout = timeout.next) {
+                timeout.done = true;
+                timeout.slot = -1;
+            }
+            slots[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Bir görevi verilen gecikmeden sonra çalıştırılmak üzere zamanlar
+     *
+     * @param delayTicks Gecikme (tick, en az 1)
+     * @param runnable Görev
+     * @return İptal için kullanılabilecek zamanlayıcı
+     */
+    public Timeout schedule(long delayTicks, Runnable runnable) {
+        long delay = Math.max(1, delayTicks);
+        Timeout timeout = new Timeout(runnable);
+        timeout.rounds = (delay - 1) / slots.length;
+        link(timeout, (int) ((tick + delay) & mask));
+        return timeout;
+    }
+
+    /**
+     * Çarkı bir tick ilerletir ve süresi dolan görevleri çalıştırır
+     */
+    public void tick() {
+        tick++;
+        int index = (int) (tick & mask);
+
+        // Yuvayı ayır; turu bitmeyenler geri bağlanır, görevler çalışırken eklenenler güvenle yeni listeye girer
+        Timeout head = slots[index];
+        slots[index] = null;
+
+        List<Timeout> expired = null;
+        while (head != null) {
+            Timeout timeout = head;
+            head = head.next;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.slot = -1;
+            size--;
+
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                link(timeout, index);
+            } else {
+                if (expired == null) {
+                    expired = new ArrayList<>();
+                }
+                expired.add(timeout);
+            }
+        }
+
+        if (expired == null) {
+            return;
+        }
+
+        for (Timeout timeout : expired) {
+            // Aynı tick'te önceki bir görev tarafından iptal edilmiş olabilir
+            if (timeout.done) {
+                continue;
+            }
+
+            timeout.done = true;
+            try {
+                timeout.task.run();
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Zamanlanmış görev çalıştırılırken hata oluştu", e);
+            }
+        }
+    }
+
+    /**
+     * @return Bekleyen görev sayısı
+     */
+    public int size() {
+        return size;
+    }
+
+    private void link(Timeout timeout, int index) {
+        Timeout head = slots[index];
+        timeout.slot = index;
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        slots[index] = timeout;
+        size++;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.slot < 0) {
+            return;
+        }
+
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.slot = -1;
+        size--;
+    }
+}